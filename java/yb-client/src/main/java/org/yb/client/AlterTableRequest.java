@@ -86,7 +86,7 @@ class AlterTableRequest extends YRpc<AlterTableResponse> {
     final AlterTableResponsePB.Builder respBuilder = AlterTableResponsePB.newBuilder();
     readProtobuf(callResponse.getPBMessage(), respBuilder);
     AlterTableResponse response = new AlterTableResponse(deadlineTracker.getElapsedMillis(),
-        tsUUID);
+        tsUUID, respBuilder.getSchemaVersion());
     return new Pair<AlterTableResponse, Object>(
         response, respBuilder.hasError() ? respBuilder.getError() : null);
   }
@@ -38,10 +38,22 @@ import org.yb.annotations.InterfaceStability;
 @InterfaceStability.Evolving
 public class AlterTableResponse extends YRpcResponse {
 
+  private final int schemaVersion;
+
   /**
    * @param ellapsedMillis Time in milliseconds since RPC creation to now.
+   * @param schemaVersion the version of the table's schema after the alter.
    */
-  AlterTableResponse(long ellapsedMillis, String tsUUID) {
+  AlterTableResponse(long ellapsedMillis, String tsUUID, int schemaVersion) {
     super(ellapsedMillis, tsUUID);
+    this.schemaVersion = schemaVersion;
+  }
+
+  /**
+   * Get the version of the table's schema after the alter.
+   * @return the table's schema version
+   */
+  public int getSchemaVersion() {
+    return schemaVersion;
   }
 }
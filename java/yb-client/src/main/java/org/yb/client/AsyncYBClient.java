@@ -44,6 +44,7 @@ package org.yb.client;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.Lists;
 import com.google.common.net.HostAndPort;
@@ -55,10 +56,14 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.*;
+import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.util.HashedWheelTimer;
@@ -90,12 +95,19 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
@@ -187,6 +199,20 @@ public class AsyncYBClient implements AutoCloseable {
 
   private static final int SHUTDOWN_TIMEOUT_SEC = 15;
   public static final int SLEEP_TIME = 500;
+
+  // Initial and maximum delay between two checks of a condition being waited for. The actual
+  // delay is jittered between half and all of the backoff.
+  static final long WAIT_INITIAL_BACKOFF_MS = 100;
+  static final long WAIT_MAX_BACKOFF_MS = 5000;
+
+  // Number of retryable errors to tolerate while waiting for a condition.
+  private static final int WAIT_MAX_ERRORS_TO_IGNORE = 2500;
+
+  // Log errors every so many errors while waiting for a condition.
+  private static final int WAIT_LOG_ERRORS_EVERY_NUM_ITERS = 100;
+
+  // Log info after these many checks of a condition.
+  private static final int WAIT_LOG_EVERY_NUM_ITERS = 200;
   public static final byte[] EMPTY_ARRAY = new byte[0];
   public static final long NO_TIMESTAMP = -1;
   public static final long DEFAULT_OPERATION_TIMEOUT_MS = 10000;
@@ -201,6 +227,15 @@ public class AsyncYBClient implements AutoCloseable {
       .getDefaultInstance()
       .getMaxReturnedLocations();
 
+  // Number of GetTableSchema calls that bulk schema fetches keep in flight by default.
+  public static final int DEFAULT_MAX_SCHEMAS_IN_FLIGHT = 16;
+
+  // Number of table schemas kept in the schema cache by default.
+  public static final int DEFAULT_TABLE_SCHEMA_CACHE_SIZE = 10000;
+
+  // Number of threads resolving tablet server addresses by default.
+  public static final int DEFAULT_DNS_RESOLVER_THREADS = 8;
+
   private final Bootstrap bootstrap;
   private final EventLoopGroup eventLoopGroup;
   private final Executor executor;
@@ -219,10 +254,15 @@ public class AsyncYBClient implements AutoCloseable {
    * of every requests that need to locate a tablet. The third map
    * is only used to handle TabletServer disconnections gracefully.
    *
-   * This map is keyed by table ID.
+   * This map is keyed by table ID. Its values are immutable snapshots that are replaced
+   * copy-on-write when new tablets are discovered, so lookups never take a lock.
    */
-  private final ConcurrentHashMap<String, ConcurrentSkipListMap<byte[],
-      RemoteTablet>> tabletsCache = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, TableLocations> tabletsCache = new ConcurrentHashMap<>();
+
+  // Lookups in tabletsCache that found a tablet with a live client, and those that had to ask
+  // the master.
+  private final LongAdder tabletLocationCacheHits = new LongAdder();
+  private final LongAdder tabletLocationCacheMisses = new LongAdder();
 
   /**
    * Maps a tablet ID to the RemoteTablet that knows where all the replicas are served.
@@ -279,6 +319,23 @@ public class AsyncYBClient implements AutoCloseable {
   // table IDs.
   private final Set<String> tablesNotServed = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
+  /**
+   * Schemas of the tables fetched by ID, keyed by table ID, when schema caching is enabled.
+   * An entry is only replaced by a schema with the same or a higher version, and never re-added
+   * by a fetch sent before the latest invalidation. Entries are dropped when the table is altered
+   * or deleted through this client, or when a caller reports a newer version. The least recently
+   * used entries are evicted above the configured size.
+   * @see AsyncYBClientBuilder#cacheTableSchemas(boolean)
+   */
+  private final ConcurrentMap<String, GetTableSchemaResponse> tableSchemaCache;
+
+  /**
+   * Bumped by every invalidation of {@link #tableSchemaCache}. A fetched schema is only cached
+   * if no invalidation happened since its request was sent, as a request sent before an alter
+   * may answer with the old schema after the entry of the table was dropped.
+   */
+  private final AtomicLong tableSchemaCacheGeneration = new AtomicLong();
+
   /**
    * Semaphore used to rate-limit master lookups
    * Once we have more than this number of concurrent master lookups, we'll
@@ -287,6 +344,13 @@ public class AsyncYBClient implements AutoCloseable {
    */
   private final Semaphore masterLookups = new Semaphore(50);
 
+  /**
+   * Resolves the tablet server addresses returned by master lookups, so that neither the event
+   * loop nor any lock is held while waiting on DNS. The number of threads is bounded, so a slow
+   * DNS server queues the lookups instead of spawning a thread for each of them.
+   */
+  private final ThreadPoolExecutor dnsResolver;
+
   private final Random sleepRandomizer = new Random();
 
   private final long defaultOperationTimeoutMs;
@@ -305,8 +369,20 @@ public class AsyncYBClient implements AutoCloseable {
 
   private volatile boolean closed;
 
+  // Simple way to inject an error on Wait based APIs. If enabled, after first inject,
+  // it will be turned off. We can enhance it to use more options like every-N etc.
+  private volatile boolean injectWaitError = false;
+
   private final int numTabletsInTable;
 
+  private final int maxFlushesToConsolidate;
+
+  private final Executor callbackExecutor;
+
+  private final long slowCallbackThresholdMs;
+
+  private final boolean cacheTableSchemas;
+
   private AsyncYBClient(AsyncYBClientBuilder b) {
     this.executor = b.getOrCreateWorker();
     this.eventLoopGroup = b.createEventLoopGroup(executor);
@@ -323,6 +399,22 @@ public class AsyncYBClient implements AutoCloseable {
     this.clientPort = b.clientPort;
     this.defaultSocketReadTimeoutMs = b.defaultSocketReadTimeoutMs;
     this.numTabletsInTable = b.numTablets;
+    this.maxFlushesToConsolidate = b.maxFlushesToConsolidate;
+    this.callbackExecutor = b.callbackExecutor;
+    this.slowCallbackThresholdMs = b.slowCallbackThresholdMs;
+    this.cacheTableSchemas = b.cacheTableSchemas;
+    this.tableSchemaCache = CacheBuilder.newBuilder()
+        .maximumSize(b.tableSchemaCacheSize)
+        .<String, GetTableSchemaResponse>build()
+        .asMap();
+    this.dnsResolver = new ThreadPoolExecutor(
+        b.dnsResolverThreads, b.dnsResolverThreads, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder()
+          .setNameFormat("yb-dns-resolver-%d")
+          .setDaemon(true)
+          .build());
+    this.dnsResolver.allowCoreThreadTimeOut(true);
   }
 
   /**
@@ -747,7 +839,14 @@ public class AsyncYBClient implements AutoCloseable {
     checkIsClosed();
     DeleteNamespaceRequest delete = new DeleteNamespaceRequest(this.masterTable, keyspaceName);
     delete.setTimeoutMillis(defaultAdminOperationTimeoutMs);
-    return sendRpcToTablet(delete);
+    return sendRpcToTablet(delete).addCallback(
+        new Callback<DeleteNamespaceResponse, DeleteNamespaceResponse>() {
+          @Override
+          public DeleteNamespaceResponse call(DeleteNamespaceResponse response) {
+            invalidateTableSchemas(keyspaceName, null);
+            return response;
+          }
+        });
   }
 
   /**
@@ -760,7 +859,15 @@ public class AsyncYBClient implements AutoCloseable {
     checkIsClosed();
     DeleteTableRequest delete = new DeleteTableRequest(this.masterTable, name, keyspace);
     delete.setTimeoutMillis(defaultAdminOperationTimeoutMs);
-    return sendRpcToTablet(delete);
+    invalidateTableSchemas(keyspace, name);
+    return sendRpcToTablet(delete).addCallback(
+        new Callback<DeleteTableResponse, DeleteTableResponse>() {
+          @Override
+          public DeleteTableResponse call(DeleteTableResponse response) {
+            invalidateTableSchemas(keyspace, name);
+            return response;
+          }
+        });
   }
 
   /**
@@ -779,7 +886,17 @@ public class AsyncYBClient implements AutoCloseable {
     checkIsClosed();
     AlterTableRequest alter = new AlterTableRequest(this.masterTable, name, ato, keyspace);
     alter.setTimeoutMillis(defaultAdminOperationTimeoutMs);
-    return sendRpcToTablet(alter);
+    // Schemas fetched while the alter is in flight may be either version, so the table is
+    // dropped from the cache both before and after the alter.
+    invalidateTableSchemas(keyspace, name);
+    return sendRpcToTablet(alter).addCallback(
+        new Callback<AlterTableResponse, AlterTableResponse>() {
+          @Override
+          public AlterTableResponse call(AlterTableResponse response) {
+            invalidateTableSchemas(keyspace, name);
+            return response;
+          }
+        });
   }
 
   /**
@@ -1462,9 +1579,161 @@ public class AsyncYBClient implements AutoCloseable {
    * @return a deferred object that yields the schema of the specified table
    */
   Deferred<GetTableSchemaResponse> getTableSchemaByUUID(final String tableUUID) {
+    if (cacheTableSchemas) {
+      GetTableSchemaResponse cached = tableSchemaCache.get(tableUUID);
+      if (cached != null) {
+        return Deferred.fromResult(cached);
+      }
+    }
+    final long generation = tableSchemaCacheGeneration.get();
     GetTableSchemaRequest rpc = new GetTableSchemaRequest(this.masterTable, null, tableUUID);
     rpc.setTimeoutMillis(defaultAdminOperationTimeoutMs);
-    return sendRpcToTablet(rpc);
+    Deferred<GetTableSchemaResponse> d = sendRpcToTablet(rpc);
+    if (!cacheTableSchemas) {
+      return d;
+    }
+    return d.addCallback(new Callback<GetTableSchemaResponse, GetTableSchemaResponse>() {
+      @Override
+      public GetTableSchemaResponse call(GetTableSchemaResponse response) {
+        // Tables still being created may change their schema, so they are not cached.
+        if (response.isCreateTableDone() && tableSchemaCacheGeneration.get() == generation) {
+          tableSchemaCache.merge(tableUUID, response,
+              (cached, fetched) -> fetched.getVersion() >= cached.getVersion() ? fetched : cached);
+          // An invalidation which raced with the merge may have missed the schema.
+          if (tableSchemaCacheGeneration.get() != generation) {
+            tableSchemaCache.remove(tableUUID, response);
+          }
+        }
+        return response;
+      }
+    });
+  }
+
+  /**
+   * Get the schemas of many tables given their uuids. Up to {@code maxInFlight} GetTableSchema
+   * calls are sent to the master at a time, and each completed call starts the next one, so
+   * that the round trips overlap without flooding the master. Schemas found in the schema cache
+   * are not fetched.
+   * @param tableUUIDs the uuids of the tables to get the schemas of
+   * @param maxInFlight the maximum number of calls to have in flight at a time
+   * @return a deferred object that yields the schemas keyed by table uuid, in the order of
+   *         {@code tableUUIDs}, or the error of the first call which failed
+   */
+  public Deferred<Map<String, GetTableSchemaResponse>> getTableSchemasByUUID(
+      Collection<String> tableUUIDs, int maxInFlight) {
+    checkIsClosed();
+    Preconditions.checkArgument(maxInFlight > 0, "maxInFlight should be greater than 0");
+    Map<String, GetTableSchemaResponse> schemas = new ConcurrentHashMap<>();
+    List<String> toFetch = new ArrayList<>();
+    for (String tableUUID : new LinkedHashSet<>(tableUUIDs)) {
+      GetTableSchemaResponse cached = cacheTableSchemas ? tableSchemaCache.get(tableUUID) : null;
+      if (cached != null) {
+        schemas.put(tableUUID, cached);
+      } else {
+        toFetch.add(tableUUID);
+      }
+    }
+    Deferred<Map<String, GetTableSchemaResponse>> result = new Deferred<>();
+    new TableSchemaFetch(tableUUIDs, toFetch, schemas, result).start(maxInFlight);
+    return result;
+  }
+
+  /**
+   * Drops the cached schema of a table if it is older than the given version, for example when
+   * a server reported a schema version mismatch for the table.
+   * @param tableUUID the uuid of the table
+   * @param version the version known to be current, or a negative value to always drop it
+   */
+  public void invalidateTableSchema(String tableUUID, int version) {
+    tableSchemaCacheGeneration.incrementAndGet();
+    tableSchemaCache.computeIfPresent(
+        tableUUID, (id, cached) -> version < 0 || cached.getVersion() < version ? null : cached);
+  }
+
+  // Drops the cached schemas of the tables with the given name, or of all the tables of the
+  // keyspace if the name is null.
+  private void invalidateTableSchemas(String keyspace, String name) {
+    tableSchemaCacheGeneration.incrementAndGet();
+    tableSchemaCache.values().removeIf(
+        schema -> (name == null || name.equals(schema.getTableName()))
+            && (keyspace == null || keyspace.equals(schema.getNamespace())));
+  }
+
+  /**
+   * Fetches the schemas of tables keeping a bounded number of calls in flight.
+   */
+  private final class TableSchemaFetch {
+    private final Collection<String> tableUUIDs;
+    private final Iterator<String> remaining;
+    private final Map<String, GetTableSchemaResponse> schemas;
+    private final Deferred<Map<String, GetTableSchemaResponse>> result;
+    private final AtomicInteger pending;
+    private boolean failed = false;
+
+    TableSchemaFetch(Collection<String> tableUUIDs, List<String> toFetch,
+        Map<String, GetTableSchemaResponse> schemas,
+        Deferred<Map<String, GetTableSchemaResponse>> result) {
+      this.tableUUIDs = tableUUIDs;
+      this.remaining = toFetch.iterator();
+      this.schemas = schemas;
+      this.result = result;
+      this.pending = new AtomicInteger(toFetch.size());
+    }
+
+    void start(int maxInFlight) {
+      if (pending.get() == 0) {
+        complete();
+        return;
+      }
+      for (int i = 0; i < maxInFlight; i++) {
+        fetchNext();
+      }
+    }
+
+    private void fetchNext() {
+      final String tableUUID;
+      synchronized (this) {
+        if (failed || !remaining.hasNext()) {
+          return;
+        }
+        tableUUID = remaining.next();
+      }
+      getTableSchemaByUUID(tableUUID).addCallbacks(
+          new Callback<Void, GetTableSchemaResponse>() {
+            @Override
+            public Void call(GetTableSchemaResponse response) {
+              schemas.put(tableUUID, response);
+              if (pending.decrementAndGet() == 0) {
+                complete();
+              } else {
+                fetchNext();
+              }
+              return null;
+            }
+          },
+          new Callback<Void, Exception>() {
+            @Override
+            public Void call(Exception e) {
+              synchronized (TableSchemaFetch.this) {
+                if (failed) {
+                  return null;
+                }
+                failed = true;
+              }
+              LOG.warn("Failed to get the schema of table {}", tableUUID, e);
+              result.callback(e);
+              return null;
+            }
+          });
+    }
+
+    private void complete() {
+      Map<String, GetTableSchemaResponse> ordered = new LinkedHashMap<>();
+      for (String tableUUID : tableUUIDs) {
+        ordered.put(tableUUID, schemas.get(tableUUID));
+      }
+      result.callback(ordered);
+    }
   }
 
   /**
@@ -1767,6 +2036,62 @@ public class AsyncYBClient implements AutoCloseable {
     return defaultSocketReadTimeoutMs;
   }
 
+  /**
+   * Returns the executor on which RPC callbacks are run, or {@code null} if they are run
+   * directly on the Netty IO threads.
+   * @return the callback executor, possibly {@code null}
+   */
+  public Executor getCallbackExecutor() {
+    return callbackExecutor;
+  }
+
+  /**
+   * Returns how long an RPC callback may run before it is counted as slow.
+   * @return a threshold in milliseconds, 0 if slow callbacks are not counted
+   */
+  public long getSlowCallbackThresholdMs() {
+    return slowCallbackThresholdMs;
+  }
+
+  /**
+   * Returns the RPC callback counters for every server this client is connected to: callbacks
+   * waiting on the callback executor, their high watermark, and callbacks which ran longer than
+   * the slow callback threshold. The client has no metrics registry of its own, so applications
+   * are expected to export these as metrics.
+   * @return a map of server UUID to its callback statistics
+   */
+  public Map<String, CallbackStatistics> getCallbackStatistics() {
+    Map<String, CallbackStatistics> statistics = new HashMap<>();
+    for (TabletClient client : getTableClients()) {
+      statistics.put(client.getUuid(), client.getCallbackStatistics());
+    }
+    return statistics;
+  }
+
+  /**
+   * @return the number of RPCs whose tablet was found in the tablet location cache
+   */
+  public long getTabletLocationCacheHits() {
+    return tabletLocationCacheHits.sum();
+  }
+
+  /**
+   * @return the number of RPCs that had to look up their tablet on the master
+   */
+  public long getTabletLocationCacheMisses() {
+    return tabletLocationCacheMisses.sum();
+  }
+
+  /**
+   * @return the fraction of RPCs whose tablet was found in the tablet location cache, or 0 if
+   *         no RPC was sent yet
+   */
+  public double getTabletLocationCacheHitRate() {
+    long hits = tabletLocationCacheHits.sum();
+    long total = hits + tabletLocationCacheMisses.sum();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
   <R> Deferred<R> sendRpcToTablet(final YRpc<R> request) {
     if (cannotRetryRequest(request)) {
       return tooManyAttemptsOrTimeout(request, null);
@@ -1821,12 +2146,14 @@ public class AsyncYBClient implements AutoCloseable {
       TabletClient tabletClient = clientFor(tablet);
 
       if (tabletClient != null) {
+        tabletLocationCacheHits.increment();
         request.setTablet(tablet);
         final Deferred<R> d = request.getDeferred();
         tabletClient.sendRpc(request);
         return d;
       }
     }
+    tabletLocationCacheMisses.increment();
 
     // Right after creating a table a request will fall into locateTablet since we don't know yet
     // if the table is ready or not. If discoverTablets() didn't get any tablets back,
@@ -2199,7 +2526,7 @@ public class AsyncYBClient implements AutoCloseable {
     } else {
       d = sendRpcToTablet(rpc);
     }
-    d.addCallback(new MasterLookupCB(table));
+    d.addCallbackDeferring(new MasterLookupCB(table));
     if (has_permit) {
       d.addBoth(new ReleaseMasterLookupPermit<GetTableLocationsResponsePB>());
     }
@@ -2322,6 +2649,78 @@ public class AsyncYBClient implements AutoCloseable {
     return loopLocateTable(tableId, startPartitionKey, endPartitionKey, ret, deadlineTracker);
   }
 
+  /**
+   * Loads the locations of all the tablets of the given tables into the tablet location cache,
+   * so that the first operations on these tables don't each have to go to the master. Each
+   * table is read in batches of up to {@link #DEFAULT_MAX_TABLETS} tablets per GetTableLocations
+   * call, and the tables are read concurrently.
+   * @param tables the tables to load the locations of
+   * @param deadline max time spent in milliseconds for the deferred result of this method to
+   *         get called back, if deadline is reached, the deferred result will get erred back
+   * @return a deferred object that yields the number of tablet locations loaded
+   */
+  public Deferred<Integer> prefetchTabletLocations(Collection<YBTable> tables, long deadline) {
+    checkIsClosed();
+    final DeadlineTracker deadlineTracker = new DeadlineTracker();
+    deadlineTracker.setDeadline(deadline);
+    List<Deferred<Integer>> deferreds = new ArrayList<>(tables.size());
+    for (YBTable table : tables) {
+      deferreds.add(loopPrefetchTabletLocations(table, null, 0, deadlineTracker));
+    }
+    return Deferred.group(deferreds).addCallback(
+        new Callback<Integer, ArrayList<Integer>>() {
+          @Override
+          public Integer call(ArrayList<Integer> counts) {
+            int total = 0;
+            for (Integer count : counts) {
+              total += count;
+            }
+            return total;
+          }
+        });
+  }
+
+  private Deferred<Integer> loopPrefetchTabletLocations(final YBTable table,
+      final byte[] startPartitionKey, final int numLoaded, final DeadlineTracker deadlineTracker) {
+    if (deadlineTracker.timedOut()) {
+      return Deferred.fromError(new NonRecoverableException(
+          "Took too long prefetching the tablet locations of table " + table.getName() + ", " +
+          deadlineTracker));
+    }
+    GetTableLocationsRequest rpc = new GetTableLocationsRequest(masterTable, startPartitionKey,
+        null, table.getTableId(), DEFAULT_MAX_TABLETS);
+    rpc.setTimeoutMillis(defaultAdminOperationTimeoutMs);
+    return sendRpcToTablet(rpc).addCallbackDeferring(
+        new Callback<Deferred<Integer>, GetTableLocationsResponsePB>() {
+          @Override
+          public Deferred<Integer> call(final GetTableLocationsResponsePB response) {
+            if (response.hasError()) {
+              return Deferred.fromError(
+                  new NonRecoverableException(response.getError().toString()));
+            }
+            return resolveHostsAsync(getReplicaHosts(response)).addCallbackDeferring(
+                new Callback<Deferred<Integer>, Map<String, String>>() {
+                  @Override
+                  public Deferred<Integer> call(Map<String, String> resolvedHosts)
+                      throws Exception {
+                    discoverTablets(table, response, resolvedHosts);
+                    int count = response.getTabletLocationsCount();
+                    if (count == 0) {
+                      return Deferred.fromResult(numLoaded);
+                    }
+                    byte[] lastEndPartition = response.getTabletLocations(count - 1)
+                        .getPartition().getPartitionKeyEnd().toByteArray();
+                    if (lastEndPartition.length == 0) {
+                      return Deferred.fromResult(numLoaded + count);
+                    }
+                    return loopPrefetchTabletLocations(table, lastEndPartition, numLoaded + count,
+                        deadlineTracker);
+                  }
+                });
+          }
+        });
+  }
+
   /**
    * We're handling a tablet server that's telling us it doesn't have the tablet we're asking for.
    * We're in the context of decode() meaning we need to either callback or retry later.
@@ -2379,25 +2778,34 @@ public class AsyncYBClient implements AutoCloseable {
     tablet.removeTabletServer(server);
   }
 
-  /** Callback executed when a master lookup completes.  */
-  private final class MasterLookupCB implements Callback<Object, GetTableLocationsResponsePB> {
+  /**
+   * Callback executed when a master lookup completes. The addresses of the replicas are resolved
+   * on {@link #dnsResolver} before the tablets are added to the cache.
+   */
+  private final class MasterLookupCB
+      implements Callback<Deferred<Object>, GetTableLocationsResponsePB> {
     final YBTable table;
     MasterLookupCB(YBTable table) {
       this.table = table;
     }
-    public Object call(final GetTableLocationsResponsePB arg) {
+    public Deferred<Object> call(final GetTableLocationsResponsePB arg) {
       if (arg.hasError()) {
         //Status status = Status.fromMasterErrorPB(arg.getError());
-        return new NonRecoverableException(arg.getError().toString());
-      } else {
-        try {
-          discoverTablets(table, arg);
-        } catch (NonRecoverableException e) {
-          // Returning the exception means we early out and errback to the user.
-          return e;
-        }
-        return null;
+        return Deferred.fromError(new NonRecoverableException(arg.getError().toString()));
       }
+      return resolveHostsAsync(getReplicaHosts(arg)).addCallback(
+          new Callback<Object, Map<String, String>>() {
+            @Override
+            public Object call(Map<String, String> resolvedHosts) {
+              try {
+                discoverTablets(table, arg, resolvedHosts);
+              } catch (NonRecoverableException e) {
+                // Returning the exception means we early out and errback to the user.
+                return e;
+              }
+              return null;
+            }
+          });
     }
     public String toString() {
       return "get tablet locations from the master for table " + table.getName();
@@ -2426,6 +2834,19 @@ public class AsyncYBClient implements AutoCloseable {
   @VisibleForTesting
   void discoverTablets(YBTable table, GetTableLocationsResponsePB response)
       throws NonRecoverableException {
+    discoverTablets(table, response, resolveHosts(getReplicaHosts(response)));
+  }
+
+  /**
+   * Adds the tablets of a master lookup response to the cache.
+   * @param table the table the response is for
+   * @param response the master lookup response
+   * @param resolvedHosts the IP of every replica host in the response that could be resolved
+   * @throws NonRecoverableException if none of the replicas of a tablet could be resolved
+   */
+  private void discoverTablets(YBTable table, GetTableLocationsResponsePB response,
+                               Map<String, String> resolvedHosts)
+      throws NonRecoverableException {
     String tableId = table.getTableId();
     String tableName = table.getName();
     if (response.getTabletLocationsCount() == 0) {
@@ -2436,18 +2857,8 @@ public class AsyncYBClient implements AutoCloseable {
       tablesNotServed.add(tableId);
       return;
     }
-    // Doing a get first instead of putIfAbsent to avoid creating unnecessary CSLMs because in
-    // the most common case the table should already be present
-    ConcurrentSkipListMap<byte[], RemoteTablet> tablets = tabletsCache.get(tableId);
-    if (tablets == null) {
-      tablets = new ConcurrentSkipListMap<>(Bytes.MEMCMP);
-      ConcurrentSkipListMap<byte[], RemoteTablet> oldTablets = tabletsCache.putIfAbsent
-          (tableId, tablets);
-      if (oldTablets != null) {
-        tablets = oldTablets;
-      }
-    }
 
+    List<RemoteTablet> discovered = new ArrayList<>(response.getTabletLocationsCount());
     for (MasterClientOuterClass.TabletLocationsPB tabletPb : response.getTabletLocationsList()) {
       // Early creating the tablet so that it parses out the pb
       RemoteTablet rt = createTabletFromPb(tableId, tabletPb);
@@ -2458,7 +2869,7 @@ public class AsyncYBClient implements AutoCloseable {
       // tablet, but we still need to update the relevant table to tablet mapping.
       RemoteTablet currentTablet = tablet2client.get(tabletId);
       if (currentTablet != null) {
-        currentTablet.refreshServers(tabletPb);
+        currentTablet.refreshServers(tabletPb, resolvedHosts);
         // Only in case the current tablet ID matches the one in request, it would mean that the
         // fetched tablet is a duplicate tablet, otherwise consider it the colocated case and move
         // ahead with processing.
@@ -2481,12 +2892,69 @@ public class AsyncYBClient implements AutoCloseable {
       }
       LOG.info("Discovered tablet {} for table {} with partition {}",
                tabletId.toString(Charset.defaultCharset()), tableName, rt.getPartition());
-      rt.refreshServers(tabletPb);
-      // This is making this tablet available
-      // Even if two clients were racing in this method they are putting the same RemoteTablet
-      // with the same start key in the CSLM in the end
-      tablets.put(rt.getPartition().getPartitionKeyStart(), rt);
+      rt.refreshServers(tabletPb, resolvedHosts);
+      discovered.add(rt);
+    }
+
+    // This is making these tablets available. Even if two clients were racing in this method they
+    // are putting the same RemoteTablets with the same start keys in the snapshot in the end.
+    tabletsCache.compute(tableId, (id, locations) ->
+        (locations == null ? TableLocations.EMPTY : locations).withTablets(discovered));
+  }
+
+  /**
+   * @return the hosts of every replica in the master lookup response
+   */
+  private static Set<String> getReplicaHosts(GetTableLocationsResponsePB response) {
+    Set<String> hosts = new HashSet<>();
+    for (MasterClientOuterClass.TabletLocationsPB tabletPb : response.getTabletLocationsList()) {
+      for (MasterClientOuterClass.TabletLocationsPB.ReplicaPB replica :
+               tabletPb.getReplicasList()) {
+        for (CommonNet.HostPortPB address : getReplicaAddresses(replica)) {
+          hosts.add(address.getHost());
+        }
+      }
+    }
+    return hosts;
+  }
+
+  private static List<CommonNet.HostPortPB> getReplicaAddresses(
+      MasterClientOuterClass.TabletLocationsPB.ReplicaPB replica) {
+    List<CommonNet.HostPortPB> addresses = replica.getTsInfo().getBroadcastAddressesList();
+    if (addresses.isEmpty()) {
+      addresses = replica.getTsInfo().getPrivateRpcAddressesList();
+    }
+    return addresses;
+  }
+
+  /**
+   * Resolves each of the given hosts once.
+   * @return the IP of every host that could be resolved
+   */
+  private static Map<String, String> resolveHosts(Set<String> hosts) {
+    Map<String, String> resolved = new HashMap<>(hosts.size());
+    for (String host : hosts) {
+      String ip = getIP(host);
+      if (ip != null) {
+        resolved.put(host, ip);
+      }
+    }
+    return resolved;
+  }
+
+  /**
+   * Resolves the given hosts on {@link #dnsResolver}.
+   * @return a deferred object that yields the IP of every host that could be resolved
+   */
+  private Deferred<Map<String, String>> resolveHostsAsync(Set<String> hosts) {
+    final Deferred<Map<String, String>> d = new Deferred<>();
+    try {
+      dnsResolver.execute(() -> d.callback(resolveHosts(hosts)));
+    } catch (RejectedExecutionException e) {
+      // The client is shutting down, there's no point in handing off the lookups.
+      d.callback(resolveHosts(hosts));
     }
+    return d;
   }
 
   RemoteTablet createTabletFromPb(
@@ -2503,7 +2971,7 @@ public class AsyncYBClient implements AutoCloseable {
    * @return a tablet ID as a slice or null if not found
    */
   RemoteTablet getTablet(String tableId, byte[] partitionKey) {
-    ConcurrentSkipListMap<byte[], RemoteTablet> tablets = tabletsCache.get(tableId);
+    TableLocations tablets = tabletsCache.get(tableId);
 
     if (tablets == null) {
       return null;
@@ -2511,19 +2979,16 @@ public class AsyncYBClient implements AutoCloseable {
 
     // We currently only have one master tablet.
     if (isMasterTable(tableId)) {
-      if (tablets.firstEntry() == null) {
-        return null;
-      }
-      return tablets.firstEntry().getValue();
+      return tablets.first();
     }
 
-    Map.Entry<byte[], RemoteTablet> tabletPair = tablets.floorEntry(partitionKey);
+    RemoteTablet tablet = tablets.floor(partitionKey);
 
-    if (tabletPair == null) {
+    if (tablet == null) {
       return null;
     }
 
-    Partition partition = tabletPair.getValue().getPartition();
+    Partition partition = tablet.getPartition();
 
     // If the partition is not the end partition, but it doesn't include the key
     // we are looking for, then we have not yet found the correct tablet.
@@ -2532,33 +2997,26 @@ public class AsyncYBClient implements AutoCloseable {
       return null;
     }
 
-    return tabletPair.getValue();
+    return tablet;
   }
 
   RemoteTablet getFirstTablet(String tableId) {
-    ConcurrentSkipListMap<byte[], RemoteTablet> tablets = tabletsCache.get(tableId);
+    TableLocations tablets = tabletsCache.get(tableId);
 
     if (tablets == null) {
       return null;
     }
-    if (tablets.firstEntry() == null) {
-      return null;
-    }
-    return tablets.firstEntry().getValue();
-
+    return tablets.first();
   }
 
   RemoteTablet getTablet(String tableId, String tabletId) {
-    ConcurrentSkipListMap<byte[], RemoteTablet> tablets = tabletsCache.get(tableId);
+    TableLocations tablets = tabletsCache.get(tableId);
     if (tablets == null) {
       return null;
     }
     // We currently only have one master tablet.
     if (isMasterTable(tableId)) {
-      if (tablets.firstEntry() == null) {
-        return null;
-      }
-      return tablets.firstEntry().getValue();
+      return tablets.first();
     }
     RemoteTablet rT = this.tablet2client.get(new Slice(tabletId.getBytes()));
     return rT;
@@ -2635,6 +3093,14 @@ public class AsyncYBClient implements AutoCloseable {
               new ReadTimeoutHandler(defaultSocketReadTimeoutMs,
                 TimeUnit.MILLISECONDS));
           }
+          if (maxFlushesToConsolidate > 0) {
+            // Coalesces the flushes of RPCs sent in a burst into a single socket write. Writes
+            // issued from outside of the event loop are flushed by a task scheduled on it, so a
+            // lone RPC is still sent out without waiting for more to arrive.
+            channel.pipeline().addLast("flush-consolidation",
+              new FlushConsolidationHandler(maxFlushesToConsolidate, true));
+          }
+          channel.pipeline().addLast("frame-decoder", TabletClient.newFrameDecoder());
           channel.pipeline().addLast("yb-handler", newClient);
         }
       });
@@ -2696,6 +3162,7 @@ public class AsyncYBClient implements AutoCloseable {
         timer.stop();
         eventLoopGroup.shutdownGracefully(0, SHUTDOWN_TIMEOUT_SEC, TimeUnit.SECONDS);
         SystemUtil.forceShutdownExecutor(executor);
+        SystemUtil.forceShutdownExecutor(dnsResolver);
         return arg;
       }
       public String toString() {
@@ -3048,6 +3515,417 @@ public class AsyncYBClient implements AutoCloseable {
     return port;
   }
 
+  /**
+   * A condition that is checked, without blocking, by
+   * {@link #waitForCondition(AsyncCondition, long)}.
+   */
+  public interface AsyncCondition {
+    /**
+     * @return a deferred which yields whether the condition holds, or an exception if it could
+     * not be checked
+     */
+    Deferred<Boolean> get() throws Exception;
+  }
+
+  /**
+   * Quick and dirty error injection on Wait based API's.
+   * After every use, for now, will get automatically disabled.
+   */
+  @VisibleForTesting
+  void injectWaitError() {
+    injectWaitError = true;
+  }
+
+  /**
+   * Checks a condition until it holds or the operation times out, without blocking any thread
+   * in between checks. Checks are scheduled on the client's timer with a jittered exponential
+   * backoff. Errors hit while checking are retried until the timeout, as the servers being
+   * waited for are often not reachable yet, except for the ones a retry can't fix, such as an
+   * invalid argument, which fail the wait right away.
+   * @param condition the condition to check
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @return a deferred which yields true if the condition held within the time frame, false if
+   * it timed out or hit too many errors, or the non-retryable exception it failed with
+   */
+  public Deferred<Boolean> waitForCondition(AsyncCondition condition, long timeoutMs) {
+    checkIsClosed();
+    ConditionWaiter waiter = new ConditionWaiter(condition, timeoutMs);
+    waiter.check();
+    return waiter.result;
+  }
+
+  /**
+   * Returns whether an error hit while checking a condition is worth checking again for. Network
+   * errors, master leader changes and servers not being up yet are, while invalid requests,
+   * missing entities and authorization errors keep failing the same way.
+   */
+  @VisibleForTesting
+  static boolean isRetryableWaitError(Exception e) {
+    if (e instanceof InvalidResponseException || e instanceof IllegalArgumentException) {
+      return false;
+    }
+    if (e instanceof YBServerException) {
+      YBServerException serverError = (YBServerException) e;
+      if (serverError.getStatusCode() != null) {
+        switch (serverError.getStatusCode()) {
+          case NOT_FOUND:
+          case INVALID_ARGUMENT:
+          case NOT_SUPPORTED:
+          case NOT_AUTHORIZED:
+          case INVALID_COMMAND:
+            return false;
+          default:
+            return true;
+        }
+      }
+      if (serverError.getRpcErrorCode() != null) {
+        switch (serverError.getRpcErrorCode()) {
+          case ERROR_NO_SUCH_METHOD:
+          case ERROR_NO_SUCH_SERVICE:
+          case ERROR_INVALID_REQUEST:
+          case FATAL_VERSION_MISMATCH:
+          case FATAL_UNAUTHORIZED:
+            return false;
+          default:
+            return true;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Drives the checks of one condition being waited for. Each check is started either by the
+   * caller, by the timer, or by the callback of the previous check, so there is at most one
+   * check in flight at any time.
+   */
+  private final class ConditionWaiter implements TimerTask {
+    private final AsyncCondition condition;
+    private final long timeoutMs;
+    private final long startMs = System.currentTimeMillis();
+    private final Deferred<Boolean> result = new Deferred<>();
+    private int numIters = 0;
+    private int numErrors = 0;
+    private Exception lastException = null;
+
+    ConditionWaiter(AsyncCondition condition, long timeoutMs) {
+      this.condition = condition;
+      this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void run(final Timeout timeout) {
+      check();
+    }
+
+    void check() {
+      numIters++;
+      if (numIters % WAIT_LOG_EVERY_NUM_ITERS == 0) {
+        LOG.info("Tried operation {} times so far.", numIters);
+      }
+      if (injectWaitError) {
+        injectWaitError = false;
+        String msg = "Simulated expection due to injected error.";
+        LOG.info(msg);
+        onError(new ConnectionResetException(msg));
+        return;
+      }
+      final Deferred<Boolean> d;
+      try {
+        d = condition.get();
+      } catch (Exception e) {
+        onError(e);
+        return;
+      }
+      d.addCallbacks(
+          (Boolean done) -> {
+            if (Boolean.TRUE.equals(done)) {
+              result.callback(true);
+            } else {
+              scheduleNextCheck();
+            }
+            return null;
+          },
+          (Exception e) -> {
+            onError(e);
+            return null;
+          });
+    }
+
+    private void onError(Exception e) {
+      // We will get exceptions if we cannot connect to the other end. Save them for final debug
+      // if we never succeed.
+      lastException = e;
+      numErrors++;
+      if (!isRetryableWaitError(e)) {
+        LOG.error("Returning failure after {} iterations, non-retryable error is {}.",
+                  numIters, e.toString());
+        result.callback(e);
+        return;
+      }
+      if (numErrors % WAIT_LOG_ERRORS_EVERY_NUM_ITERS == 0) {
+        LOG.warn("Hit {} errors so far. Latest is : {}.", numErrors, e.toString());
+      }
+      if (numErrors >= WAIT_MAX_ERRORS_TO_IGNORE) {
+        LOG.error("Hit too many errors, final exception is {}.", e.toString());
+        LOG.error("Returning failure after {} iterations, num errors = {}.", numIters, numErrors);
+        result.callback(false);
+        return;
+      }
+      scheduleNextCheck();
+    }
+
+    private void scheduleNextCheck() {
+      final long elapsedMs = System.currentTimeMillis() - startMs;
+      if (elapsedMs >= timeoutMs) {
+        LOG.error("Timed out waiting for operation. Final exception was {}.",
+                  lastException != null ? lastException.toString() : "none");
+        LOG.error("Returning failure after {} iterations, num errors = {}.", numIters, numErrors);
+        result.callback(false);
+        return;
+      }
+      if (closed) {
+        result.callback(new NonRecoverableException(
+            "Client closed while waiting for operation after " + numIters + " iterations"));
+        return;
+      }
+      final long backoffMs =
+          Math.min(WAIT_MAX_BACKOFF_MS, WAIT_INITIAL_BACKOFF_MS << Math.min(numIters - 1, 16));
+      final long delayMs = backoffMs / 2 + sleepRandomizer.nextInt((int) (backoffMs / 2) + 1);
+      newTimeout(this, Math.min(delayMs, timeoutMs - elapsedMs));
+    }
+  }
+
+  /**
+   * Adapts a deferred to a {@link CompletableFuture}, for callers which compose futures rather
+   * than callback chains.
+   * @param d the deferred to adapt
+   * @return a future completed with the result or the exception of the deferred
+   */
+  public static <T> CompletableFuture<T> toCompletableFuture(Deferred<T> d) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    d.addCallbacks(
+        (T result) -> future.complete(result),
+        (Exception e) -> future.completeExceptionally(e));
+    return future;
+  }
+
+  /**
+   * Wait for the specific server to come online.
+   * @param hp the HostAndPort of the server
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @return a deferred which yields true if the server responded to pings in the given time
+   */
+  public Deferred<Boolean> waitForServer(final HostAndPort hp, final long timeoutMs) {
+    return waitForCondition(() -> ping(hp).addCallback(resp -> true), timeoutMs);
+  }
+
+  /**
+   * Wait for the master server to be running and initialized.
+   * @param hp the host and port for the master
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @return a deferred which yields true if the master is properly initialized
+   */
+  public Deferred<Boolean> waitForMaster(final HostAndPort hp, final long timeoutMs) {
+    final long start = System.currentTimeMillis();
+    return waitForServer(hp, timeoutMs).addCallbackDeferring(serverUp -> {
+      if (!serverUp) {
+        return Deferred.fromResult(false);
+      }
+      // Both waits share the deadline.
+      final long remainingMs = Math.max(0, timeoutMs - (System.currentTimeMillis() - start));
+      return waitForCondition(() -> {
+        TabletClient masterClient = newMasterClient(hp);
+        if (masterClient == null) {
+          throw new NonRecoverableException("Couldn't resolve master's address at " + hp);
+        }
+        return getMasterRegistration(masterClient).addCallback(resp ->
+            !resp.getInstanceId().getPermanentUuid().isEmpty());
+      }, remainingMs);
+    });
+  }
+
+  /**
+   * Find the uuid of the leader master, asking all the masters in parallel.
+   * @return a deferred which yields the leader master uuid, or null if no master is the leader
+   */
+  public Deferred<String> getLeaderMasterUUID() {
+    checkIsClosed();
+    final List<Deferred<String>> uuids = new ArrayList<>(masterAddresses.size());
+    for (final HostAndPort hostAndPort : masterAddresses) {
+      TabletClient clientForHostAndPort = newMasterClient(hostAndPort);
+      if (clientForHostAndPort == null) {
+        LOG.warn("Couldn't resolve this master's address " + hostAndPort.toString());
+        continue;
+      }
+      uuids.add(getMasterRegistration(clientForHostAndPort).addCallbacks(
+          (GetMasterRegistrationResponse resp) ->
+              resp.getRole() == CommonTypes.PeerRole.LEADER ?
+                  resp.getInstanceId().getPermanentUuid().toStringUtf8() : null,
+          (Exception e) -> {
+            LOG.warn("Couldn't get registration info for master {} due to error '{}'.",
+                     hostAndPort.toString(), e.getMessage());
+            return null;
+          }));
+    }
+    if (uuids.isEmpty()) {
+      return Deferred.fromResult(null);
+    }
+    return Deferred.group(uuids).addCallback(results -> {
+      for (String uuid : results) {
+        if (uuid != null) {
+          return uuid;
+        }
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Wait for the cluster to have successfully elected a Master Leader. This takes care of waiting
+   * for any election in progress.
+   * @param timeoutMs the amount of time, in MS, to wait until a Leader is present
+   * @return a deferred which yields the leader master uuid, or null if it timed out
+   */
+  public Deferred<String> waitForMasterLeader(final long timeoutMs) {
+    LOG.info("Waiting for master leader (timeout: " + timeoutMs + " ms)");
+    final long start = System.currentTimeMillis();
+    final AtomicReference<String> leaderUuid = new AtomicReference<>();
+    AsyncCondition hasLeader = () -> getLeaderMasterUUID().addCallback(uuid -> {
+      leaderUuid.set(uuid);
+      return uuid != null;
+    });
+    return waitForCondition(hasLeader, timeoutMs).addCallback(found -> {
+      if (!found) {
+        LOG.error("Timed out getting leader uuid.");
+        return null;
+      }
+      LOG.info("Finished waiting for master leader in " + (System.currentTimeMillis() - start) +
+               " ms. Leader UUID: " + leaderUuid.get());
+      return leaderUuid.get();
+    });
+  }
+
+  /**
+   * Wait for the table to have a specific number of replicas.
+   * @param table the table to check the condition on
+   * @param numReplicas the number of replicas we expect the table to have
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @return a deferred which yields true if the table has the expected number of replicas
+   */
+  public Deferred<Boolean> waitForReplicaCount(final YBTable table, final int numReplicas,
+                                               final long timeoutMs) {
+    return waitForCondition(
+        () -> table.asyncGetTabletsLocations(defaultAdminOperationTimeoutMs).addCallback(tablets -> {
+          for (LocatedTablet tablet : tablets) {
+            if (tablet.getReplicas().size() != numReplicas) {
+              return false;
+            }
+          }
+          return true;
+        }),
+        timeoutMs);
+  }
+
+  /**
+   * Wait for the tablet load to be balanced by master leader.
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @param numServers expected number of servers which need to balanced.
+   * @return a deferred which yields true if the master leader does not return any error
+   * balance check.
+   */
+  public Deferred<Boolean> waitForLoadBalance(final long timeoutMs, final int numServers) {
+    return waitForCondition(
+        () -> getIsLoadBalanced(numServers).addCallback(resp -> !resp.hasError()), timeoutMs);
+  }
+
+  /**
+   * Wait for the Load Balancer to become active.
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @return a deferred which yields true if the load balancer is currently running.
+   */
+  public Deferred<Boolean> waitForLoadBalancerActive(final long timeoutMs) {
+    return waitForCondition(() -> getIsLoadBalancerIdle().addCallbacks(
+        (IsLoadBalancerIdleResponse resp) -> false,
+        (Exception e) -> {
+          if (e instanceof MasterErrorException) {
+            // TODO (deepthi.srinivasan) Instead of writing if-else
+            // with Exceptions, find a way to receive the error code
+            // neatly.
+            return e.toString().contains("LOAD_BALANCER_RECENTLY_ACTIVE");
+          }
+          throw e;
+        }), timeoutMs);
+  }
+
+  /**
+   * Wait for the tablet load to be balanced by master leader.
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @return a deferred which yields true if the master leader does not return any error
+   * balance check.
+   */
+  public Deferred<Boolean> waitForLoadBalancerIdle(final long timeoutMs) {
+    return waitForCondition(
+        () -> getIsLoadBalancerIdle().addCallback(resp -> !resp.hasError()), timeoutMs);
+  }
+
+  /**
+   * Wait for the leader load to be balanced by master leader.
+   * @param timeoutMs the amount of time, in MS, to wait.
+   * @return a deferred which yields true iff the leader count is balanced within timeoutMs.
+   */
+  public Deferred<Boolean> waitForAreLeadersOnPreferredOnlyCondition(final long timeoutMs) {
+    return waitForCondition(
+        () -> getAreLeadersOnPreferredOnly().addCallback(resp -> !resp.hasError()), timeoutMs);
+  }
+
+  /**
+   * Wait for the replica count per ts to match the expected one.
+   * @param timeoutMs number of milliseconds before timing out.
+   * @param table the table to wait for load balancing.
+   * @param replicaMapExpected the expected map between cluster uuid and live, read replica count.
+   * @return a deferred which yields true if the read only replica count for the table matches
+   * the expected within the expected time frame.
+   */
+  public Deferred<Boolean> waitForExpectedReplicaMap(
+      final long timeoutMs, final YBTable table,
+      final Map<String, List<List<Integer>>> replicaMapExpected) {
+    return waitForCondition(
+        () -> table.asyncGetMemberTypeCountsForEachTSType(timeoutMs)
+            .addCallback(replicaMap -> replicaMap.equals(replicaMapExpected)),
+        timeoutMs);
+  }
+
+  /**
+   * Wait for the given master to have the universe key in memory.
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @param universeKeyId the id of the universe key
+   * @param hp the host and port of the master
+   * @return a deferred which yields true if the master has the key in memory
+   */
+  public Deferred<Boolean> waitForMasterHasUniverseKeyInMemory(
+      final long timeoutMs, final String universeKeyId, final HostAndPort hp) {
+    return waitForCondition(
+        () -> hasUniverseKeyInMemory(universeKeyId, hp).addCallback(resp -> {
+          if (resp.getServerError() != null) {
+            throw new MasterErrorException(hp.toString(), resp.getServerError());
+          }
+          return resp.hasKey();
+        }),
+        timeoutMs);
+  }
+
+  /**
+   * Wait for no table to match the given name filter anymore.
+   * @param timeoutMs the amount of time, in MS, to wait
+   * @param name the table name filter
+   * @return a deferred which yields true if no table matches the filter
+   */
+  public Deferred<Boolean> waitForTableRemoval(final long timeoutMs, final String name) {
+    return waitForCondition(
+        () -> getTablesList(name).addCallback(tl -> tl.getTablesList().isEmpty()), timeoutMs);
+  }
+
   void newTimeout(final TimerTask task, final long timeout_ms) {
     try {
       timer.newTimeout(task, timeout_ms, MILLISECONDS);
@@ -3102,19 +3980,24 @@ public class AsyncYBClient implements AutoCloseable {
       this.partition = partition;
     }
 
-    void refreshServers(MasterClientOuterClass.TabletLocationsPB tabletLocations)
+    /**
+     * Replaces the tablet servers of this tablet with the replicas in the given locations.
+     * @param tabletLocations the locations returned by the master
+     * @param resolvedHosts the IP of every replica host that could be resolved, resolution is
+     *                      done beforehand so that it doesn't happen under the lock
+     * @throws NonRecoverableException if none of the replicas could be resolved
+     */
+    void refreshServers(MasterClientOuterClass.TabletLocationsPB tabletLocations,
+                        Map<String, String> resolvedHosts)
         throws NonRecoverableException {
-      synchronized (tabletServers) { // TODO not a fat lock with IP resolving in it
+      synchronized (tabletServers) {
         tabletServers.clear();
         leaderIndex = NO_LEADER_INDEX;
         List<UnknownHostException> lookupExceptions =
             new ArrayList<>(tabletLocations.getReplicasCount());
         for (MasterClientOuterClass.TabletLocationsPB.ReplicaPB replica :
                  tabletLocations.getReplicasList()) {
-          List<CommonNet.HostPortPB> addresses = replica.getTsInfo().getBroadcastAddressesList();
-          if (addresses.isEmpty()) {
-            addresses = replica.getTsInfo().getPrivateRpcAddressesList();
-          }
+          List<CommonNet.HostPortPB> addresses = getReplicaAddresses(replica);
           if (addresses.isEmpty()) {
             LOG.warn("Tablet server for tablet " + getTabletIdAsString() + " doesn't have any " +
                 "address");
@@ -3127,17 +4010,17 @@ public class AsyncYBClient implements AutoCloseable {
           // iterating over the list and connecting to the one which is reachable.
           // TODO: Implement some policy so that the correct TS host/port can be picked.
           for (CommonNet.HostPortPB address : addresses) {
-            try {
-              addTabletClient(uuid, address.getHost(), address.getPort(),
-                  replica.getRole().equals(CommonTypes.PeerRole.LEADER));
-
-              // If connection is successful, do not retry on any other host address.
-              break;
-            } catch (UnknownHostException ex) {
-              lookupExceptions.add(ex);
-            } catch (IOException e) {
-              throw new RuntimeException("Network error occurred while trying to reach host", e);
+            String ip = resolvedHosts.get(address.getHost());
+            if (ip == null) {
+              lookupExceptions.add(new UnknownHostException(
+                  "Failed to resolve the IP of `" + address.getHost() + "'"));
+              continue;
             }
+            addTabletClient(uuid, ip, address.getPort(),
+                replica.getRole().equals(CommonTypes.PeerRole.LEADER));
+
+            // If connection is successful, do not retry on any other host address.
+            break;
           }
         }
         leaderIndex = 0;
@@ -3156,12 +4039,7 @@ public class AsyncYBClient implements AutoCloseable {
     }
 
     // Must be called with tabletServers synchronized
-    void addTabletClient(String uuid, String host, int port, boolean isLeader)
-        throws UnknownHostException {
-      String ip = getIP(host);
-      if (ip == null) {
-        throw new UnknownHostException("Failed to resolve the IP of `" + host + "'");
-      }
+    void addTabletClient(String uuid, String ip, int port, boolean isLeader) {
       TabletClient client = newClient(uuid, ip, port);
 
       final ArrayList<RemoteTablet> tablets = client2tablets.get(client);
@@ -3169,7 +4047,7 @@ public class AsyncYBClient implements AutoCloseable {
       if (tablets == null) {
         // We raced with removeClientFromCache and lost. The client we got was just disconnected.
         // Reconnect.
-        addTabletClient(uuid, host, port, isLeader);
+        addTabletClient(uuid, ip, port, isLeader);
       } else {
         synchronized (tablets) {
           if (isLeader) {
@@ -3307,6 +4185,7 @@ public class AsyncYBClient implements AutoCloseable {
   public final static class AsyncYBClientBuilder {
     private static final int DEFAULT_MASTER_PORT = 7100;
     private static final int DEFAULT_WORKER_COUNT = 2 * Runtime.getRuntime().availableProcessors();
+    private static final long DEFAULT_SLOW_CALLBACK_THRESHOLD_MS = 1000;
 
     private final List<HostAndPort> masterAddresses;
     private long defaultAdminOperationTimeoutMs = DEFAULT_OPERATION_TIMEOUT_MS;
@@ -3324,6 +4203,15 @@ public class AsyncYBClient implements AutoCloseable {
 
     private int numTablets = DEFAULT_MAX_TABLETS;
 
+    private boolean useNativeTransport = false;
+    private int maxFlushesToConsolidate = 0;
+
+    private Executor callbackExecutor = null;
+    private long slowCallbackThresholdMs = DEFAULT_SLOW_CALLBACK_THRESHOLD_MS;
+    private boolean cacheTableSchemas = false;
+    private int tableSchemaCacheSize = DEFAULT_TABLE_SCHEMA_CACHE_SIZE;
+    private int dnsResolverThreads = DEFAULT_DNS_RESOLVER_THREADS;
+
     /**
      * Creates a new builder for a client that will connect to the specified masters.
      * @param masterAddresses comma-separated list of "host:port" pairs of the masters
@@ -3491,6 +4379,110 @@ public class AsyncYBClient implements AutoCloseable {
       return this;
     }
 
+    /**
+     * Use the native epoll transport for client IO instead of NIO.
+     * Optional.
+     * If not provided, NIO is used. When epoll is not available on this platform (e.g. on
+     * MacOS, or when the native library cannot be loaded), falls back to NIO.
+     * @param useNativeTransport whether to use the native transport when available
+     * @return this builder
+     */
+    public AsyncYBClientBuilder useNativeTransport(boolean useNativeTransport) {
+      this.useNativeTransport = useNativeTransport;
+      return this;
+    }
+
+    /**
+     * Consolidate the flushes of RPCs sent to the same server in a burst, so that they go out
+     * in a single write. Up to {@code maxFlushes} consecutive flushes are merged before one is
+     * forced.
+     * Optional.
+     * If not provided, defaults to 0, which flushes every RPC as soon as it is written.
+     * @param maxFlushes the maximum number of flushes to consolidate, 0 disables consolidation
+     * @return this builder
+     */
+    public AsyncYBClientBuilder maxFlushesToConsolidate(int maxFlushes) {
+      Preconditions.checkArgument(maxFlushes >= 0, "maxFlushes should not be negative");
+      this.maxFlushesToConsolidate = maxFlushes;
+      return this;
+    }
+
+    /**
+     * Set the executor on which the callbacks of the {@link Deferred}s returned by this client
+     * are run.
+     * Optional.
+     * If not provided, or null, callbacks are run directly on the Netty IO thread which read the
+     * response. This has the lowest latency, but a slow callback stalls every connection sharing
+     * that IO thread, so it should only be used with callbacks that never block.
+     * Note: callbacks of different RPCs may run concurrently and out of order on the executor.
+     * @param callbackExecutor the executor to run callbacks on, null to run them directly
+     * @return this builder
+     */
+    public AsyncYBClientBuilder callbackExecutor(Executor callbackExecutor) {
+      this.callbackExecutor = callbackExecutor;
+      return this;
+    }
+
+    /**
+     * Sets how long an RPC callback may run before it is counted as slow.
+     * Optional.
+     * If not provided, defaults to 1s.
+     * A value of 0 disables the counting.
+     * Slow callbacks are logged at most once per 10 seconds for each server.
+     * @param thresholdMs a threshold in milliseconds
+     * @return this builder
+     */
+    public AsyncYBClientBuilder slowCallbackThresholdMs(long thresholdMs) {
+      Preconditions.checkArgument(thresholdMs >= 0, "thresholdMs should not be negative");
+      this.slowCallbackThresholdMs = thresholdMs;
+      return this;
+    }
+
+    /**
+     * Cache the schemas of tables fetched by ID, so that repeated schema lookups of the same
+     * tables don't go to the master.
+     * Optional.
+     * If not provided, defaults to false. A cached schema is dropped when the table is altered
+     * or deleted through this client, or with
+     * {@link AsyncYBClient#invalidateTableSchema(String, int)}.
+     * Schema changes made through other clients are not seen until then, so this should only be
+     * enabled by clients which can tolerate or detect stale schemas.
+     * @param cacheTableSchemas whether to cache table schemas
+     * @return this builder
+     */
+    public AsyncYBClientBuilder cacheTableSchemas(boolean cacheTableSchemas) {
+      this.cacheTableSchemas = cacheTableSchemas;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of table schemas to cache when schema caching is enabled. The least
+     * recently used schemas are evicted above it.
+     * Optional.
+     * If not provided, defaults to {@link AsyncYBClient#DEFAULT_TABLE_SCHEMA_CACHE_SIZE}.
+     * @param size the maximum number of cached schemas
+     * @return this builder
+     */
+    public AsyncYBClientBuilder tableSchemaCacheSize(int size) {
+      Preconditions.checkArgument(size > 0, "size should be greater than 0");
+      this.tableSchemaCacheSize = size;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of threads resolving the addresses of tablet servers returned by
+     * master lookups. Lookups wait in a queue when all of them are busy.
+     * Optional.
+     * If not provided, defaults to {@link AsyncYBClient#DEFAULT_DNS_RESOLVER_THREADS}.
+     * @param threads the maximum number of resolver threads
+     * @return this builder
+     */
+    public AsyncYBClientBuilder dnsResolverThreads(int threads) {
+      Preconditions.checkArgument(threads > 0, "threads should be greater than 0");
+      this.dnsResolverThreads = threads;
+      return this;
+    }
+
     private Executor getOrCreateWorker() {
       Executor worker = executor;
       if (worker == null) {
@@ -3505,6 +4497,13 @@ public class AsyncYBClient implements AutoCloseable {
     }
 
     private EventLoopGroup createEventLoopGroup(Executor worker) {
+      if (useNativeTransport) {
+        if (Epoll.isAvailable()) {
+          return new EpollEventLoopGroup(workerCount, worker);
+        }
+        LOG.warn("Native epoll transport is not available, falling back to NIO",
+            Epoll.unavailabilityCause());
+      }
       return new NioEventLoopGroup(workerCount, worker);
     }
 
@@ -3513,9 +4512,12 @@ public class AsyncYBClient implements AutoCloseable {
      * if they don't, we'll use a simple thread pool.
      */
     private Bootstrap createBootstrap(EventLoopGroup eventLoopGroup) {
+      Class<? extends SocketChannel> channelClass =
+          eventLoopGroup instanceof EpollEventLoopGroup ?
+              EpollSocketChannel.class : NioSocketChannel.class;
       Bootstrap bootstrap = new Bootstrap()
         .group(eventLoopGroup)
-        .channel(NioSocketChannel.class)
+        .channel(channelClass)
         .option(ChannelOption.SO_KEEPALIVE, true)
         .option(ChannelOption.TCP_NODELAY, true)
         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TCP_CONNECT_TIMEOUT_MILLIS)
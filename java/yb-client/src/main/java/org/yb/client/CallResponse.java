@@ -35,26 +35,29 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.DefaultByteBufHolder;
 import org.yb.annotations.InterfaceAudience;
 import org.yb.rpc.RpcHeader;
-import org.yb.util.Slice;
 
 import java.util.List;
 
 /**
- * This class handles information received from an RPC response, providing
- * access to sidecars and decoded protobufs from the message.
+ * A single framed RPC response.
+ * <p>
+ * The header and the main message are parsed straight from the (usually pooled and direct)
+ * buffer handed to us by the frame decoder, without copying it to the heap first. The buffer is
+ * owned by this holder and is only valid until it gets released by {@link TabletClient} after the
+ * RPC has been deserialized, so anything that needs to outlive that has to be retained.
  */
 @InterfaceAudience.Private
 final class CallResponse extends DefaultByteBufHolder {
   private final RpcHeader.ResponseHeader header;
   private final int totalResponseSize;
 
-  // Non-header main message slice is generated upon request and cached.
-  private Slice message = null;
+  // Non-header main message (including sidecars), located upon request and cached.
+  private ByteBuf message = null;
 
   /**
    * Performs some sanity checks on the sizes recorded in the packet
-   * referred to by {@code buf}. Assumes that {@code buf} has not been
-   * read from yet, and will only be accessed by this class.
+   * referred to by {@code buf}. Assumes that {@code buf} holds exactly one
+   * frame, has not been read from yet, and will only be accessed by this class.
    *
    * Afterwards, this constructs the RpcHeader from the buffer.
    * @param buf Channel buffer which call response reads from.
@@ -70,12 +73,15 @@ final class CallResponse extends DefaultByteBufHolder {
     this.totalResponseSize = buf.readInt();
     if (this.totalResponseSize > 0) {
       YRpc.checkArrayLength(buf, this.totalResponseSize);
-      TabletClient.ensureReadable(buf, this.totalResponseSize);
+      if (buf.readableBytes() < this.totalResponseSize) {
+        throw new IndexOutOfBoundsException("Response frame has " + buf.readableBytes()
+            + " readable bytes, expected " + this.totalResponseSize);
+      }
 
       final int headerSize = Bytes.readVarInt32(buf);
-      final Slice headerSlice = nextBytes(buf, headerSize);
+      final ByteBuf headerBuf = nextBytes(buf, headerSize);
       RpcHeader.ResponseHeader.Builder builder = RpcHeader.ResponseHeader.newBuilder();
-      YRpc.readProtobuf(headerSlice, builder);
+      YRpc.readProtobuf(headerBuf, builder);
       this.header = builder.build();
     } else {
       this.header = null;
@@ -100,28 +106,31 @@ final class CallResponse extends DefaultByteBufHolder {
 
   /**
    * @return A slice pointing to the section of the packet reserved for the main
-   * protobuf message.
+   * protobuf message. The slice is not retained, so it is only valid while this
+   * response is.
    * @throws IllegalArgumentException If the recorded size for the main message
    * is not within reasonable limits as defined by
    * {@link YRpc#checkArrayLength(ByteBuf, long)}.
    * @throws IllegalStateException If the offset for the main protobuf message
    * is not valid.
    */
-  public Slice getPBMessage() {
+  public ByteBuf getPBMessage() {
     cacheMessage();
+    final int messageLength = this.message.readableBytes();
     final int mainLength = this.header.getSidecarOffsetsCount() == 0 ?
-        this.message.length() : this.header.getSidecarOffsets(0);
-    if (mainLength < 0 || mainLength > this.message.length()) {
+        messageLength : this.header.getSidecarOffsets(0);
+    if (mainLength < 0 || mainLength > messageLength) {
       throw new IllegalStateException("Main protobuf message invalid. "
           + "Length is " + mainLength + " while the size of the message "
-          + "excluding the header is " + this.message.length());
+          + "excluding the header is " + messageLength);
     }
-    return subslice(this.message, 0, mainLength);
+    return this.message.slice(this.message.readerIndex(), mainLength);
   }
 
   /**
    * @param sidecar The index of the sidecar to retrieve.
-   * @return A slice pointing to the desired sidecar.
+   * @return A retained slice pointing to the desired sidecar. The caller owns
+   * the returned buffer and must release it once done with it.
    * @throws IllegalStateException If the sidecar offsets specified in the
    * header response PB are not valid offsets for the array.
    * @throws IllegalArgumentException If the sidecar with the specified index
@@ -130,30 +139,31 @@ final class CallResponse extends DefaultByteBufHolder {
    * is not within reasonable limits as defined by
    * {@link YRpc#checkArrayLength(ByteBuf, long)}.
    */
-  public Slice getSidecar(int sidecar) {
+  public ByteBuf getSidecar(int sidecar) {
     cacheMessage();
 
     List<Integer> sidecarList = this.header.getSidecarOffsetsList();
-    if (sidecar < 0 || sidecar > sidecarList.size()) {
+    if (sidecar < 0 || sidecar >= sidecarList.size()) {
       throw new IllegalArgumentException("Sidecar " + sidecar
           + " not valid, response has " + sidecarList.size() + " sidecars");
     }
 
+    final int messageLength = this.message.readableBytes();
     final int prevOffset = sidecarList.get(sidecar);
     final int nextOffset = sidecar + 1 == sidecarList.size() ?
-        this.message.length() : sidecarList.get(sidecar + 1);
+        messageLength : sidecarList.get(sidecar + 1);
     final int length = nextOffset - prevOffset;
 
-    if (prevOffset < 0 || length < 0 || prevOffset + length > this.message.length()) {
+    if (prevOffset < 0 || length < 0 || prevOffset + length > messageLength) {
       throw new IllegalStateException("Sidecar " + sidecar + " invalid "
           + "(offset = " + prevOffset + ", length = " + length + "). The size "
-          + "of the message " + "excluding the header is " + this.message.length());
+          + "of the message " + "excluding the header is " + messageLength);
     }
 
-    return subslice(this.message, prevOffset, length);
+    return this.message.retainedSlice(this.message.readerIndex() + prevOffset, length);
   }
 
-  // Reads the message after the header if not read yet
+  // Locates the message after the header if not done yet.
   private void cacheMessage() {
     if (this.message != null) return;
     ByteBuf content = content();
@@ -161,25 +171,10 @@ final class CallResponse extends DefaultByteBufHolder {
     this.message = nextBytes(content, length);
   }
 
-  // Accounts for a parent slice's offset when making a new one with relative offsets.
-  private static Slice subslice(Slice parent, int offset, int length) {
-    return new Slice(parent.getRawArray(), parent.getRawOffset() + offset, length);
-  }
-
-  // After checking the length, generates a slice for the next 'length'
-  // bytes of 'buf'.
-  private static Slice nextBytes(final ByteBuf buf, final int length) {
+  // After checking the length, returns a slice over the next 'length' bytes
+  // of 'buf' and advances its reader index past them. No bytes are copied.
+  private static ByteBuf nextBytes(final ByteBuf buf, final int length) {
     YRpc.checkArrayLength(buf, length);
-    byte[] payload;
-    int offset;
-    if (buf.hasArray()) {  // Zero copy.
-      payload = buf.array();
-      offset = buf.arrayOffset() + buf.readerIndex();
-    } else {  // We have to copy the entire payload out of the buffer :(
-      payload = new byte[length];
-      buf.readBytes(payload);
-      offset = 0;
-    }
-    return new Slice(payload, offset, length);
+    return buf.readSlice(length);
   }
 }
@@ -0,0 +1,62 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import org.yb.annotations.InterfaceAudience;
+
+/**
+ * Snapshot of the RPC callback counters of a connection to one server, meant to be exported as
+ * metrics by the application.
+ */
+@InterfaceAudience.Public
+public final class CallbackStatistics {
+  private final int pendingCallbacks;
+  private final int maxPendingCallbacks;
+  private final long slowCallbacks;
+
+  CallbackStatistics(int pendingCallbacks, int maxPendingCallbacks, long slowCallbacks) {
+    this.pendingCallbacks = pendingCallbacks;
+    this.maxPendingCallbacks = maxPendingCallbacks;
+    this.slowCallbacks = slowCallbacks;
+  }
+
+  /**
+   * @return the number of callbacks waiting to run on the callback executor, always 0 when
+   * callbacks run on the IO threads
+   */
+  public int getPendingCallbacks() {
+    return pendingCallbacks;
+  }
+
+  /**
+   * @return the highest number of callbacks ever waiting on the callback executor at once
+   */
+  public int getMaxPendingCallbacks() {
+    return maxPendingCallbacks;
+  }
+
+  /**
+   * @return the number of callbacks which ran longer than the slow callback threshold
+   */
+  public long getSlowCallbacks() {
+    return slowCallbacks;
+  }
+
+  @Override
+  public String toString() {
+    return "CallbackStatistics(pendingCallbacks=" + pendingCallbacks
+        + ", maxPendingCallbacks=" + maxPendingCallbacks
+        + ", slowCallbacks=" + slowCallbacks + ")";
+  }
+}
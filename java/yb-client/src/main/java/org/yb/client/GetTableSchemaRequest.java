@@ -112,7 +112,8 @@ public class GetTableSchemaRequest extends YRpc<GetTableSchemaResponse> {
         respBuilder.getCreateTableDone(),
         respBuilder.getTableType(),
         indexes,
-        respBuilder.getColocated());
+        respBuilder.getColocated(),
+        respBuilder.getVersion());
     return new Pair<GetTableSchemaResponse, Object>(
         response, respBuilder.hasError() ? respBuilder.getError() : null);
   }
@@ -53,6 +53,8 @@ public class GetTableSchemaResponse extends YRpcResponse {
 
   private final boolean colocated;
 
+  private final int version;
+
   /**
    * @param ellapsedMillis Time in milliseconds since RPC creation to now
    * @param schema the table's schema
@@ -71,6 +73,30 @@ public class GetTableSchemaResponse extends YRpcResponse {
       TableType tableType,
       List<IndexInfo> indexes,
       boolean colocated) {
+    this(ellapsedMillis, tsUUID, schema, namespace, tableName, tableId, partitionSchema,
+        createTableDone, tableType, indexes, colocated, 0);
+  }
+
+  /**
+   * @param ellapsedMillis Time in milliseconds since RPC creation to now
+   * @param schema the table's schema
+   * @param partitionSchema the table's partition schema
+   * @param version the version of the table's schema
+   */
+  @VisibleForTesting
+  public GetTableSchemaResponse(
+      long ellapsedMillis,
+      String tsUUID,
+      Schema schema,
+      String namespace,
+      String tableName,
+      String tableId,
+      PartitionSchema partitionSchema,
+      boolean createTableDone,
+      TableType tableType,
+      List<IndexInfo> indexes,
+      boolean colocated,
+      int version) {
     super(ellapsedMillis, tsUUID);
     this.schema = schema;
     this.partitionSchema = partitionSchema;
@@ -81,6 +107,7 @@ public class GetTableSchemaResponse extends YRpcResponse {
     this.tableType = tableType;
     this.indexes = indexes;
     this.colocated = colocated;
+    this.version = version;
   }
 
   /**
@@ -154,4 +181,12 @@ public class GetTableSchemaResponse extends YRpcResponse {
   public TableType getTableType() {
     return tableType;
   }
+
+  /**
+   * Get the version of the table's schema, which is bumped by every alter of the table.
+   * @return the table's schema version
+   */
+  public int getVersion() {
+    return version;
+  }
 }
@@ -0,0 +1,80 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import org.yb.annotations.InterfaceAudience;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the tablets known for a table, keyed by partition key start.
+ * <p>
+ * Lookups never lock: the tablet location cache publishes a new snapshot built with
+ * {@link #withTablets} every time it learns about new tablets, and readers keep using whichever
+ * snapshot they got.
+ */
+@InterfaceAudience.Private
+final class TableLocations {
+
+  static final TableLocations EMPTY =
+      new TableLocations(new TreeMap<byte[], AsyncYBClient.RemoteTablet>(Bytes.MEMCMP));
+
+  private final NavigableMap<byte[], AsyncYBClient.RemoteTablet> tablets;
+
+  private TableLocations(NavigableMap<byte[], AsyncYBClient.RemoteTablet> tablets) {
+    this.tablets = Collections.unmodifiableNavigableMap(tablets);
+  }
+
+  /**
+   * Returns a copy of this snapshot with the given tablets added to it. A tablet replaces the
+   * one previously cached with the same partition key start.
+   * @param added the tablets to add
+   * @return a new snapshot, or this one if there is nothing to add
+   */
+  TableLocations withTablets(Collection<AsyncYBClient.RemoteTablet> added) {
+    if (added.isEmpty()) {
+      return this;
+    }
+    TreeMap<byte[], AsyncYBClient.RemoteTablet> copy = new TreeMap<>(Bytes.MEMCMP);
+    copy.putAll(tablets);
+    for (AsyncYBClient.RemoteTablet tablet : added) {
+      copy.put(tablet.getPartition().getPartitionKeyStart(), tablet);
+    }
+    return new TableLocations(copy);
+  }
+
+  /**
+   * @return the tablet with the lowest partition key start, or null if there is none
+   */
+  AsyncYBClient.RemoteTablet first() {
+    Map.Entry<byte[], AsyncYBClient.RemoteTablet> entry = tablets.firstEntry();
+    return entry == null ? null : entry.getValue();
+  }
+
+  /**
+   * @return the tablet with the greatest partition key start less than or equal to the given
+   *         key, or null if there is none
+   */
+  AsyncYBClient.RemoteTablet floor(byte[] partitionKey) {
+    Map.Entry<byte[], AsyncYBClient.RemoteTablet> entry = tablets.floorEntry(partitionKey);
+    return entry == null ? null : entry.getValue();
+  }
+
+  int size() {
+    return tablets.size();
+  }
+}
@@ -41,6 +41,7 @@
 //
 package org.yb.client;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.stumbleupon.async.Deferred;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -48,7 +49,8 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.timeout.ReadTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,10 +65,12 @@ import org.yb.util.Pair;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 /**
@@ -77,6 +81,10 @@ import java.util.function.BiConsumer;
  * a response is currently awaited, as well as temporarily buffered RPCs that
  * are awaiting to be sent to the network.
  * <p>
+ * Responses are split into frames by the decoder returned by {@link #newFrameDecoder()}, which
+ * must be installed right before this handler in the pipeline. Each frame is parsed in place and
+ * released once its RPC has been called back.
+ * <p>
  * This class needs careful synchronization. It's a non-sharable handler,
  * meaning there is one instance of it per Netty {@link Channel} and each
  * instance is only used by one Netty IO thread at a time.  At the same time,
@@ -89,7 +97,7 @@ import java.util.function.BiConsumer;
  * channel isn't connected.
  */
 @InterfaceAudience.Private
-public class TabletClient extends ReplayingDecoder<Void> {
+public class TabletClient extends SimpleChannelInboundHandler<ByteBuf> {
 
   public static final Logger LOG = LoggerFactory.getLogger(TabletClient.class);
 
@@ -99,6 +107,9 @@ public class TabletClient extends ReplayingDecoder<Void> {
   private static final byte[] RPC_HEADER = new byte[] { 'Y', 'B', 1 };
   public static final int CONNECTION_CTX_CALL_ID = -3;
 
+  /** Minimum time between two slow callback warnings of the same connection. */
+  private static final long SLOW_CALLBACK_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
   /**
    * A monotonically increasing counter for RPC IDs.
    * RPCs can be sent out from any thread, so we need an atomic integer.
@@ -141,12 +152,46 @@ public class TabletClient extends ReplayingDecoder<Void> {
 
   private final long socketReadTimeoutMs;
 
+  /**
+   * Executor on which the RPC callbacks are run, or {@code null} to run them directly on the
+   * Netty IO thread that decoded the response.
+   */
+  private final Executor callbackExecutor;
+
+  private final long slowCallbackThresholdMs;
+
+  /** Number of callbacks handed to the callback executor which haven't started running yet. */
+  private final AtomicInteger pendingCallbacks = new AtomicInteger();
+
+  /** High watermark of {@link #pendingCallbacks}. */
+  private final AtomicInteger maxPendingCallbacks = new AtomicInteger();
+
+  /** Number of callbacks which took longer than {@link #slowCallbackThresholdMs} to run. */
+  private final AtomicLong slowCallbacks = new AtomicLong();
+
+  /** Earliest time the next slow callback warning may be logged. */
+  private final AtomicLong nextSlowCallbackLogNanos = new AtomicLong(System.nanoTime());
+
+  /** Value of {@link #slowCallbacks} when the last slow callback warning was logged. */
+  private final AtomicLong loggedSlowCallbacks = new AtomicLong();
+
   private BiConsumer<TabletClient, Channel> disconnectListener;
 
   public TabletClient(AsyncYBClient client, String uuid) {
     this.ybClient = client;
     this.uuid = uuid;
     this.socketReadTimeoutMs = client.getDefaultSocketReadTimeoutMs();
+    this.callbackExecutor = client.getCallbackExecutor();
+    this.slowCallbackThresholdMs = client.getSlowCallbackThresholdMs();
+  }
+
+  /**
+   * Creates the decoder which splits the inbound stream into responses, based on the 4 bytes
+   * total size that prefixes each of them. The size prefix is kept in the frame. A new instance
+   * is needed for every channel.
+   */
+  static LengthFieldBasedFrameDecoder newFrameDecoder() {
+    return new LengthFieldBasedFrameDecoder((int) ~YRpc.MAX_BYTE_ARRAY_MASK + 4, 0, 4, 0, 0);
   }
 
   public void setDisconnectListener(BiConsumer<TabletClient, Channel> disconnectListener) {
@@ -168,6 +213,7 @@ public class TabletClient extends ReplayingDecoder<Void> {
         chan.writeAndFlush(serialized);
         return;
       }
+      serialized.release();  // The buffer is pooled, give it back before queuing the RPC.
     }
     boolean tryagain = false;
     boolean copyOfDead;
@@ -319,16 +365,13 @@ public class TabletClient extends ReplayingDecoder<Void> {
    */
   @Override
   @SuppressWarnings("unchecked")
-  protected void decode(ChannelHandlerContext ctx, ByteBuf buf,
-                        List<Object> list) {
+  protected void channelRead0(ChannelHandlerContext ctx, ByteBuf buf) {
     final long start = System.nanoTime();
-    final int rdx = buf.readerIndex();
+    final int frameSize = buf.readableBytes();
     LOG.debug("------------------>> ENTERING DECODE >>------------------");
 
-    if (buf == null) {
-      return;
-    }
-
+    // The frame is released by SimpleChannelInboundHandler once we return, so the response must
+    // not be referenced after that.
     CallResponse response = new CallResponse(buf);
     if (response.isEmpty()) {
       // Skip empty messages which we are using as heartbeats.
@@ -353,12 +396,10 @@ public class TabletClient extends ReplayingDecoder<Void> {
           + buf + '=' + Bytes.pretty(buf);
       LOG.error(msg);
       // The problem here is that we don't know which Deferred corresponds to
-      // this RPC, since we don't have a valid ID.  So we're hopeless, we'll
-      // never be able to recover because responses are not framed, we don't
-      // know where the next response will start...  We have to give up here
-      // and throw this outside of our Netty handler, so Netty will call our
-      // exception handler where we'll close this channel, which will cause
-      // all RPCs in flight to be failed.
+      // this RPC, since we don't have a valid ID.  Something is seriously wrong
+      // with this connection, so we give up here and throw this outside of our
+      // Netty handler, so Netty will call our exception handler where we'll
+      // close this channel, which will cause all RPCs in flight to be failed.
       throw new NonRecoverableException(msg);
     }
 
@@ -388,8 +429,7 @@ public class TabletClient extends ReplayingDecoder<Void> {
     }
     if (LOG.isDebugEnabled()) {
       LOG.debug(getPeerUuidLoggingString() + "rpcid=" + rpcid
-          + ", response size=" + (buf.readerIndex() - rdx) + " bytes"
-          + ", " + actualReadableBytes() + " readable bytes left"
+          + ", response size=" + frameSize + " bytes"
           + ", rpc=" + rpc);
     }
 
@@ -445,17 +485,14 @@ public class TabletClient extends ReplayingDecoder<Void> {
       }
     }
 
-    try {
-      if (decoded != null) {
-        assert !(decoded.getFirst() instanceof Exception);
-        rpc.callback(decoded.getFirst());
-      } else {
-        rpc.errback(exception);
-      }
-    } catch (Exception e) {
-      LOG.debug(getPeerUuidLoggingString() + "Unexpected exception while handling RPC #" + rpcid
-          + ", rpc=" + rpc + ", buf=" + Bytes.pretty(buf), e);
+    final Object result;
+    if (decoded != null) {
+      assert !(decoded.getFirst() instanceof Exception);
+      result = decoded.getFirst();
+    } else {
+      result = exception;
     }
+    dispatchCallback(rpcid, rpc, result);
     if (LOG.isDebugEnabled()) {
       LOG.debug("------------------<< LEAVING  DECODE <<------------------"
           + " time elapsed: " + ((System.nanoTime() - start) / 1000) + "us");
@@ -463,6 +500,73 @@ public class TabletClient extends ReplayingDecoder<Void> {
     return;  // Stop processing here.  The Deferred does everything else.
   }
 
+  /**
+   * Completes the given RPC with its result, either on the callback executor or, if there is
+   * none, directly on the current thread.
+   * @param rpcid The ID of the RPC, for logging.
+   * @param rpc The RPC to complete.
+   * @param result The deserialized response, or an exception to errback with.
+   */
+  @SuppressWarnings("unchecked")
+  @VisibleForTesting
+  void dispatchCallback(final int rpcid, final YRpc rpc, final Object result) {
+    if (callbackExecutor == null) {
+      runCallback(rpcid, rpc, result);
+      return;
+    }
+    final int depth = pendingCallbacks.incrementAndGet();
+    maxPendingCallbacks.accumulateAndGet(depth, Math::max);
+    try {
+      callbackExecutor.execute(() -> {
+        pendingCallbacks.decrementAndGet();
+        runCallback(rpcid, rpc, result);
+      });
+    } catch (RejectedExecutionException e) {
+      pendingCallbacks.decrementAndGet();
+      LOG.warn(getPeerUuidLoggingString() + "Callback executor rejected RPC #" + rpcid
+          + ", running its callback on the IO thread", e);
+      runCallback(rpcid, rpc, result);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void runCallback(final int rpcid, final YRpc rpc, final Object result) {
+    final long start = System.nanoTime();
+    try {
+      if (result instanceof Exception) {
+        rpc.errback((Exception) result);
+      } else {
+        rpc.callback(result);
+      }
+    } catch (Exception e) {
+      LOG.debug(getPeerUuidLoggingString() + "Unexpected exception while handling RPC #" + rpcid
+          + ", rpc=" + rpc, e);
+    }
+    final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    if (slowCallbackThresholdMs > 0 && elapsedMs >= slowCallbackThresholdMs) {
+      final long slow = slowCallbacks.incrementAndGet();
+      // A slow consumer makes every callback slow, so only log one warning per interval.
+      final long now = System.nanoTime();
+      final long next = nextSlowCallbackLogNanos.get();
+      if (now - next >= 0
+          && nextSlowCallbackLogNanos.compareAndSet(next, now + SLOW_CALLBACK_LOG_INTERVAL_NANOS)) {
+        final long notLogged = slow - loggedSlowCallbacks.getAndSet(slow) - 1;
+        LOG.warn(getPeerUuidLoggingString() + "Callback of RPC #" + rpcid + " took " + elapsedMs
+            + "ms on thread " + Thread.currentThread().getName()
+            + (callbackExecutor == null ? ", stalling the event loop" : "") + ", rpc=" + rpc
+            + (notLogged > 0 ? ", " + notLogged + " more slow callbacks since last warning" : ""));
+      }
+    }
+  }
+
+  /**
+   * @return the callback counters of this connection
+   */
+  CallbackStatistics getCallbackStatistics() {
+    return new CallbackStatistics(
+        pendingCallbacks.get(), maxPendingCallbacks.get(), slowCallbacks.get());
+  }
+
   /**
    * Takes care of a few kinds of TS errors that we handle differently, like tablets or leaders
    * moving. Builds and returns an exception if we don't know what to do with it.
@@ -560,40 +664,6 @@ public class TabletClient extends ReplayingDecoder<Void> {
     return null;
   }
 
-  /**
-   * Decodes the response of an RPC and triggers its {@link Deferred}.
-   * <p>
-   * This method is used by FrameDecoder when the channel gets
-   * disconnected.  The buffer for that channel is passed to this method in
-   * case there's anything left in it.
-   * @param ctx Unused.
-   * @param buf The buffer containing the raw RPC response.
-   * @param out output objects list.
-   *
-   */
-  @Override
-  protected void decodeLast(final ChannelHandlerContext ctx,
-                            final ByteBuf buf,
-                            final List<Object> out) {
-    // When we disconnect, decodeLast is called instead of decode.
-    // We simply check whether there's any data left in the buffer, in which
-    // case we attempt to process it.  But if there's no data left, then we
-    // don't even bother calling decode() as it'll complain that the buffer
-    // doesn't contain enough data, which unnecessarily pollutes the logs.
-    if (buf.isReadable()) {
-      try {
-        decode(ctx, buf, out);
-      } finally {
-        if (buf.isReadable()) {
-          LOG.error(getPeerUuidLoggingString() + "After decoding the last message on " + chan
-              + ", there was still some undecoded bytes in the channel's"
-              + " buffer (which are going to be lost): "
-              + buf + '=' + Bytes.pretty(buf));
-        }
-      }
-    }
-  }
-
   /**
    * Tells whether or not this handler should be used.
    * <p>
@@ -616,20 +686,6 @@ public class TabletClient extends ReplayingDecoder<Void> {
     return !dead;
   }
 
-  /**
-   * Ensures that at least a {@code nbytes} are readable from the given buffer.
-   * If there aren't enough bytes in the buffer this will raise an exception
-   * and cause the {@link ReplayingDecoder} to undo whatever we did thus far
-   * so we can wait until we read more from the socket.
-   * @param buf Buffer to check.
-   * @param nbytes Number of bytes desired.
-   */
-  static void ensureReadable(final ByteBuf buf, final int nbytes) {
-    buf.markReaderIndex();
-    buf.skipBytes(nbytes); // can puke with Throwable
-    buf.resetReaderIndex();
-  }
-
   @Override
   public void channelActive(final ChannelHandlerContext ctx) {
     final Channel chan = ctx.channel();
@@ -718,7 +774,7 @@ public class TabletClient extends ReplayingDecoder<Void> {
     } else if (cause instanceof ReadTimeoutException) {
       LOG.debug(getPeerUuidLoggingString() + "Encountered a read timeout");
       // Doing the cleanup here since we want to invalidate all the RPCs right _now_, and not let
-      // the ReplayingDecoder continue decoding through Channels.close() below.
+      // the frame decoder continue decoding through Channels.close() below.
       cleanup(c);
     } else {
       LOG.debug(getPeerUuidLoggingString() + "Unexpected exception " + cause.getMessage() +
@@ -773,7 +829,8 @@ public class TabletClient extends ReplayingDecoder<Void> {
   }
 
   public String toString() {
-    final StringBuilder buf = new StringBuilder(13 + 10 + 6 + 64 + 7 + 32 + 16 + 1 + 17 + 2 + 1);
+    final StringBuilder buf = new StringBuilder(13 + 10 + 6 + 64 + 7 + 32 + 16 + 1 + 17 + 2 +
+                                                20 + 2 + 1);
     buf.append("TabletClient@")           // =13
         .append(hashCode())                 // ~10
         .append("(chan=")                   // = 6
@@ -788,6 +845,8 @@ public class TabletClient extends ReplayingDecoder<Void> {
     buf.append(npending_rpcs);             // = 1
     buf.append(", #rpcs_inflight=")       // =17
         .append(rpcs_inflight.size())       // ~ 2
+        .append(", #pending_callbacks=")    // =20
+        .append(pendingCallbacks.get())     // ~ 2
         .append(')');                       // = 1
     return buf.toString();
   }
@@ -94,19 +94,6 @@ public class YBClient implements AutoCloseable {
   // Redis key column name.
   public static final String REDIS_KEY_COLUMN_NAME = "key";
 
-  // Number of response errors to tolerate.
-  private static final int MAX_ERRORS_TO_IGNORE = 2500;
-
-  // Log errors every so many errors.
-  private static final int LOG_ERRORS_EVERY_NUM_ITERS = 100;
-
-  // Log info after these many iterations.
-  private static final int LOG_EVERY_NUM_ITERS = 200;
-
-  // Simple way to inject an error on Wait based APIs. If enabled, after first inject,
-  // it will be turned off. We can enhance it to use more options like every-N etc.
-  private boolean injectWaitError = false;
-
   public YBClient(AsyncYBClient asyncClient) {
     this.asyncClient = asyncClient;
   }
@@ -501,16 +488,7 @@ public class YBClient implements AutoCloseable {
    * @return returns true if the master is properly initialized, false otherwise.
    */
   public boolean waitForMaster(HostAndPort hp, long timeoutMS) throws Exception {
-    if (!waitForServer(hp, timeoutMS)) {
-      return false;
-    }
-
-    long start = System.currentTimeMillis();
-    while (System.currentTimeMillis() - start < timeoutMS &&
-      getMasterUUID(hp.getHost(), hp.getPort()) == null) {
-      Thread.sleep(AsyncYBClient.SLEEP_TIME);
-    }
-    return getMasterUUID(hp.getHost(), hp.getPort()) != null;
+    return joinCondition(asyncClient.waitForMaster(hp, timeoutMS), timeoutMS);
   }
 
   /**
@@ -637,26 +615,7 @@ public class YBClient implements AutoCloseable {
    * @return Master leader uuid on success, null otherwise.
    */
   private String waitAndGetLeaderMasterUUID(long timeoutMs) throws Exception {
-    LOG.info("Waiting for master leader (timeout: " + timeoutMs + " ms)");
-    long start = System.currentTimeMillis();
-    // Retry till we get a valid UUID (or timeout) for the new leader.
-    do {
-      String leaderUuid = getLeaderMasterUUID();
-
-      long elapsedTimeMs = System.currentTimeMillis() - start;
-      // Done if we got a valid one.
-      if (leaderUuid != null) {
-        LOG.info("Fininshed waiting for master leader in " + elapsedTimeMs + " ms. Leader UUID: " +
-                 leaderUuid);
-        return leaderUuid;
-      }
-
-      Thread.sleep(asyncClient.SLEEP_TIME);
-    } while (System.currentTimeMillis() - start < timeoutMs);
-
-    LOG.error("Timed out getting leader uuid.");
-
-    return null;
+    return asyncClient.waitForMasterLeader(timeoutMs).join();
   }
 
  /**
@@ -1008,208 +967,28 @@ public class YBClient implements AutoCloseable {
     boolean get() throws Exception;
   }
 
-  private class ReplicaCountCondition implements Condition {
-    private int numReplicas;
-    private YBTable table;
-    public ReplicaCountCondition(YBTable table, int numReplicas) {
-      this.numReplicas = numReplicas;
-      this.table = table;
-    }
-    @Override
-    public boolean get() throws Exception {
-      for (LocatedTablet tablet : table.getTabletsLocations(getDefaultAdminOperationTimeoutMs())) {
-        if (tablet.getReplicas().size() != numReplicas) {
-          return false;
-        }
-      }
-      return true;
-    }
-  }
-
-  private class TableDoesNotExistCondition implements Condition {
-    private String nameFilter;
-    public TableDoesNotExistCondition(String nameFilter) {
-      this.nameFilter = nameFilter;
-    }
-    @Override
-    public boolean get() throws Exception {
-      ListTablesResponse tl = getTablesList(nameFilter);
-      return tl.getTablesList().isEmpty();
-    }
-  }
-
-  /**
-   * Checks the ping of the given ip and port.
-   */
-  private class ServerCondition implements Condition {
-    private HostAndPort hp;
-    public ServerCondition(HostAndPort hp) {
-      this.hp = hp;
-    }
-    @Override
-    public boolean get() throws Exception {
-      return ping(hp.getHost(), hp.getPort());
-    }
-  }
-
-  /**
-   * Checks whether the IsLoadBalancedResponse has no error.
-   */
-  private class LoadBalanceCondition implements Condition {
-    private int numServers;
-    public LoadBalanceCondition(int numServers) {
-      this.numServers = numServers;
-    }
-    @Override
-    public boolean get() throws Exception {
-      IsLoadBalancedResponse resp = getIsLoadBalanced(numServers);
-      return !resp.hasError();
-    }
-  }
-
-  /**
-   * Checks whether the IsLoadBalancerIdleResponse has no error.
-   */
-  private class LoadBalancerIdleCondition implements Condition {
-    public LoadBalancerIdleCondition() {
-    }
-    @Override
-    public boolean get() throws Exception {
-      IsLoadBalancerIdleResponse resp = getIsLoadBalancerIdle();
-      return !resp.hasError();
-    }
-  }
-
-  /**
-   * Checks whether the LoadBalancer is currently running.
-   */
-  private class LoadBalancerActiveCondition implements Condition {
-    public LoadBalancerActiveCondition() {
-    }
-    @Override
-    public boolean get() throws Exception {
-      try {
-        IsLoadBalancerIdleResponse resp = getIsLoadBalancerIdle();
-      } catch (MasterErrorException e) {
-        // TODO (deepthi.srinivasan) Instead of writing if-else
-        // with Exceptions, find a way to receive the error code
-        // neatly.
-        return e.toString().contains("LOAD_BALANCER_RECENTLY_ACTIVE");
-      }
-      return false;
-    }
-  }
-
-
-  private class AreLeadersOnPreferredOnlyCondition implements Condition {
-    @Override
-    public boolean get() throws Exception {
-      AreLeadersOnPreferredOnlyResponse resp = getAreLeadersOnPreferredOnly();
-      return !resp.hasError();
-    }
-  }
-
-  private class ReplicaMapCondition implements Condition {
-    private YBTable table;
-    Map<String, List<List<Integer>>> replicaMapExpected;
-    private long deadline;
-    public ReplicaMapCondition(YBTable table,
-                               Map<String, List<List<Integer>>> replicaMapExpected,
-                               long deadline) {
-      this.table = table;
-      this.replicaMapExpected = replicaMapExpected;
-      this.deadline = deadline;
-    }
-    @Override
-    public boolean get() throws Exception {
-      Map<String, List<List<Integer>>> replicaMap =
-          table.getMemberTypeCountsForEachTSType(deadline);
-      return replicaMap.equals(replicaMapExpected);
-    }
-  }
-
-  private class MasterHasUniverseKeyInMemoryCondition implements Condition {
-    private String universeKeyId;
-    private HostAndPort hp;
-    public MasterHasUniverseKeyInMemoryCondition(String universeKeyId, HostAndPort hp) {
-      this.universeKeyId = universeKeyId;
-      this.hp = hp;
-    }
-
-    @Override
-    public boolean get() throws Exception {
-      return hasUniverseKeyInMemory(universeKeyId, hp);
-    }
-  }
-
   /**
    * Quick and dirty error injection on Wait based API's.
    * After every use, for now, will get automatically disabled.
    */
   public void injectWaitError() {
-    injectWaitError = true;
+    asyncClient.injectWaitError();
   }
 
   /**
-   * Helper method that loops on a condition every 500ms until it returns true or the
-   * operation times out.
-   * @param condition the Condition which implements a boolean get() method.
-   * @param timeoutMs the amount of time, in MS, to wait.
-   * @return true if the condition is true within the time frame, false otherwise.
+   * Blocks until a wait started on the asynchronous client completes. The wait may outlive its
+   * timeout by the check in flight at the deadline, hence the admin operation timeout of slack.
+   * @param d the deferred result of the wait
+   * @param timeoutMs the timeout of the wait, in MS
+   * @return true if the condition held within the time frame, false otherwise.
    */
-  private boolean waitForCondition(Condition condition, final long timeoutMs) {
-    Exception finalException = null;
-    long start = System.currentTimeMillis();
-    int numErrors = 0;
-    int numIters = 0;
-    String errorMessage = null;
-    do {
-      try {
-        if (injectWaitError) {
-          Thread.sleep(AsyncYBClient.SLEEP_TIME);
-          injectWaitError = false;
-          String msg = "Simulated expection due to injected error.";
-          LOG.info(msg);
-          throw new RuntimeException(msg);
-        }
-        if (condition.get()) {
-          return true;
-        }
-      } catch (Exception e) {
-        // We will get exceptions if we cannot connect to the other end. Catch them and save for
-        // final debug if we never succeed.
-        finalException = e;
-        numErrors++;
-        if (numErrors % LOG_ERRORS_EVERY_NUM_ITERS == 0) {
-          LOG.warn("Hit {} errors so far. Latest is : {}.", numErrors, finalException.toString());
-        }
-        if (numErrors >= MAX_ERRORS_TO_IGNORE) {
-          errorMessage = "Hit too many errors, final exception is " + finalException.toString();
-          break;
-        }
-      }
-
-      numIters++;
-      if (numIters % LOG_EVERY_NUM_ITERS == 0) {
-        LOG.info("Tried operation {} times so far.", numIters);
-      }
-
-      // Need to wait even when ping has an exception, so the sleep is outside the above try block.
-      try {
-        Thread.sleep(AsyncYBClient.SLEEP_TIME);
-      } catch (Exception e) {}
-    } while (System.currentTimeMillis() - start < timeoutMs);
-
-    if (errorMessage == null) {
-      LOG.error("Timed out waiting for operation. Final exception was {}.",
-                finalException != null ? finalException.toString() : "none");
-    } else {
-      LOG.error(errorMessage);
+  private boolean joinCondition(Deferred<Boolean> d, long timeoutMs) {
+    try {
+      return d.join(timeoutMs + getDefaultAdminOperationTimeoutMs());
+    } catch (Exception e) {
+      LOG.error("Failed waiting for operation: {}", e.toString());
+      return false;
     }
-
-    LOG.error("Returning failure after {} iterations, num errors = {}.", numIters, numErrors);
-
-    return false;
   }
 
   /**
@@ -1221,8 +1000,8 @@ public class YBClient implements AutoCloseable {
   */
   public boolean waitForReplicaCount(final YBTable table, final int numReplicas,
                                      final long timeoutMs) {
-    Condition replicaCountCondition = new ReplicaCountCondition(table, numReplicas);
-    return waitForCondition(replicaCountCondition, timeoutMs);
+    return joinCondition(
+        asyncClient.waitForReplicaCount(table, numReplicas, timeoutMs), timeoutMs);
   }
 
   /**
@@ -1232,8 +1011,7 @@ public class YBClient implements AutoCloseable {
   * @return true if the server responded to pings in the given time, false otherwise
   */
   public boolean waitForServer(final HostAndPort hp, final long timeoutMs) {
-    Condition serverCondition = new ServerCondition(hp);
-    return waitForCondition(serverCondition, timeoutMs);
+    return joinCondition(asyncClient.waitForServer(hp, timeoutMs), timeoutMs);
   }
 
   /**
@@ -1243,8 +1021,7 @@ public class YBClient implements AutoCloseable {
   * @return true if the master leader does not return any error balance check.
   */
   public boolean waitForLoadBalance(final long timeoutMs, int numServers) {
-    Condition loadBalanceCondition = new LoadBalanceCondition(numServers);
-    return waitForCondition(loadBalanceCondition, timeoutMs);
+    return joinCondition(asyncClient.waitForLoadBalance(timeoutMs, numServers), timeoutMs);
   }
 
   /**
@@ -1253,8 +1030,7 @@ public class YBClient implements AutoCloseable {
   * @return true if the load balancer is currently running.
   */
   public boolean waitForLoadBalancerActive(final long timeoutMs) {
-    Condition loadBalancerActiveCondition = new LoadBalancerActiveCondition();
-    return waitForCondition(loadBalancerActiveCondition, timeoutMs);
+    return joinCondition(asyncClient.waitForLoadBalancerActive(timeoutMs), timeoutMs);
   }
 
   /**
@@ -1263,8 +1039,7 @@ public class YBClient implements AutoCloseable {
   * @return true if the master leader does not return any error balance check.
   */
   public boolean waitForLoadBalancerIdle(final long timeoutMs) {
-    Condition loadBalancerIdleCondition = new LoadBalancerIdleCondition();
-    return waitForCondition(loadBalancerIdleCondition, timeoutMs);
+    return joinCondition(asyncClient.waitForLoadBalancerIdle(timeoutMs), timeoutMs);
   }
 
   /**
@@ -1273,9 +1048,8 @@ public class YBClient implements AutoCloseable {
    * @return true iff the leader count is balanced within timeoutMs.
    */
   public boolean waitForAreLeadersOnPreferredOnlyCondition(final long timeoutMs) {
-    Condition areLeadersOnPreferredOnlyCondition =
-        new AreLeadersOnPreferredOnlyCondition();
-    return waitForCondition(areLeadersOnPreferredOnlyCondition, timeoutMs);
+    return joinCondition(
+        asyncClient.waitForAreLeadersOnPreferredOnlyCondition(timeoutMs), timeoutMs);
   }
 
   /**
@@ -1291,14 +1065,14 @@ public class YBClient implements AutoCloseable {
    */
   public boolean waitForExpectedReplicaMap(final long timeoutMs, YBTable table,
                                             Map<String, List<List<Integer>>> replicaMapExpected) {
-    Condition replicaMapCondition = new ReplicaMapCondition(table, replicaMapExpected, timeoutMs);
-    return waitForCondition(replicaMapCondition, timeoutMs);
+    return joinCondition(
+        asyncClient.waitForExpectedReplicaMap(timeoutMs, table, replicaMapExpected), timeoutMs);
   }
 
   public boolean waitForMasterHasUniverseKeyInMemory(
           final long timeoutMs, String universeKeyId, HostAndPort hp) {
-    Condition universeKeyCondition = new MasterHasUniverseKeyInMemoryCondition(universeKeyId, hp);
-    return waitForCondition(universeKeyCondition, timeoutMs);
+    return joinCondition(
+        asyncClient.waitForMasterHasUniverseKeyInMemory(timeoutMs, universeKeyId, hp), timeoutMs);
   }
 
   /**
@@ -1428,8 +1202,7 @@ public class YBClient implements AutoCloseable {
   }
 
   public boolean waitForTableRemoval(final long timeoutMs, String name) {
-    Condition TableDoesNotExistCondition = new TableDoesNotExistCondition(name);
-    return waitForCondition(TableDoesNotExistCondition, timeoutMs);
+    return joinCondition(asyncClient.waitForTableRemoval(timeoutMs, name), timeoutMs);
   }
 
   /**
@@ -1484,6 +1257,40 @@ public class YBClient implements AutoCloseable {
     return d.join(getDefaultAdminOperationTimeoutMs());
   }
 
+  /**
+   * It is the same as {@link AsyncYBClient#getTableSchemasByUUID(Collection, int)}
+   * except that it is synchronous, and keeps up to
+   * {@link AsyncYBClient#DEFAULT_MAX_SCHEMAS_IN_FLIGHT} calls in flight.
+   *
+   * @see AsyncYBClient#getTableSchemasByUUID(Collection, int)
+   */
+  public Map<String, GetTableSchemaResponse> getTableSchemasByUUID(
+      Collection<String> tableUUIDs) throws Exception {
+    return getTableSchemasByUUID(tableUUIDs, AsyncYBClient.DEFAULT_MAX_SCHEMAS_IN_FLIGHT);
+  }
+
+  /**
+   * It is the same as {@link AsyncYBClient#getTableSchemasByUUID(Collection, int)}
+   * except that it is synchronous.
+   *
+   * @see AsyncYBClient#getTableSchemasByUUID(Collection, int)
+   */
+  public Map<String, GetTableSchemaResponse> getTableSchemasByUUID(
+      Collection<String> tableUUIDs, int maxInFlight) throws Exception {
+    Deferred<Map<String, GetTableSchemaResponse>> d =
+        asyncClient.getTableSchemasByUUID(tableUUIDs, maxInFlight);
+    // Each call may take up to the admin timeout, and calls run maxInFlight at a time.
+    long rounds = Math.max(1, (tableUUIDs.size() + maxInFlight - 1) / maxInFlight);
+    return d.join(getDefaultAdminOperationTimeoutMs() * rounds);
+  }
+
+  /**
+   * @see AsyncYBClient#invalidateTableSchema(String, int)
+   */
+  public void invalidateTableSchema(String tableUUID, int version) {
+    asyncClient.invalidateTableSchema(tableUUID, version);
+  }
+
   /**
    * Open the table with the given name. If the table was just created, this method will block until
    * all its tablets have also been created.
@@ -1530,6 +1337,18 @@ public class YBClient implements AutoCloseable {
     return d.join(getDefaultAdminOperationTimeoutMs());
   }
 
+  /**
+   * It is the same as {@link AsyncYBClient#prefetchTabletLocations(Collection, long)}
+   * except that it is synchronous.
+   *
+   * @see AsyncYBClient#prefetchTabletLocations(Collection, long)
+   */
+  public int prefetchTabletLocations(Collection<YBTable> tables) throws Exception {
+    Deferred<Integer> d = asyncClient.prefetchTabletLocations(tables,
+        getDefaultAdminOperationTimeoutMs());
+    return d.join(getDefaultAdminOperationTimeoutMs());
+  }
+
   /**
    * It is the same as {@link AsyncYBClient#setupUniverseReplication(String, Map, Set)}
    * except that it is synchronous.
@@ -2003,6 +1822,15 @@ public class YBClient implements AutoCloseable {
     return asyncClient.getDefaultAdminOperationTimeoutMs();
   }
 
+  /**
+   * Get the RPC callback counters for every server this client is connected to.
+   * @return a map of server UUID to its callback statistics
+   * @see AsyncYBClient#getCallbackStatistics()
+   */
+  public Map<String, CallbackStatistics> getCallbackStatistics() {
+    return asyncClient.getCallbackStatistics();
+  }
+
   /**
    * Builder class to use in order to connect to YB.
    * All the parameters beyond those in the constructors are optional.
@@ -2160,6 +1988,95 @@ public class YBClient implements AutoCloseable {
       return this;
     }
 
+    /**
+     * Use the native epoll transport for client IO instead of NIO.
+     * Optional.
+     * If not provided, NIO is used. Falls back to NIO when epoll is not available.
+     * @param useNativeTransport whether to use the native transport when available
+     * @return this builder
+     */
+    public YBClientBuilder useNativeTransport(boolean useNativeTransport) {
+      clientBuilder.useNativeTransport(useNativeTransport);
+      return this;
+    }
+
+    /**
+     * Consolidate the flushes of RPCs sent to the same server in a burst.
+     * Optional.
+     * If not provided, defaults to 0, which flushes every RPC as soon as it is written.
+     * @param maxFlushes the maximum number of flushes to consolidate, 0 disables consolidation
+     * @return this builder
+     */
+    public YBClientBuilder maxFlushesToConsolidate(int maxFlushes) {
+      clientBuilder.maxFlushesToConsolidate(maxFlushes);
+      return this;
+    }
+
+    /**
+     * Set the executor on which the callbacks of RPCs are run.
+     * Optional.
+     * If not provided, or null, callbacks are run directly on the Netty IO threads.
+     * @param callbackExecutor the executor to run callbacks on, null to run them directly
+     * @return this builder
+     */
+    public YBClientBuilder callbackExecutor(Executor callbackExecutor) {
+      clientBuilder.callbackExecutor(callbackExecutor);
+      return this;
+    }
+
+    /**
+     * Sets how long an RPC callback may run before it is counted as slow.
+     * Optional.
+     * If not provided, defaults to 1s.
+     * A value of 0 disables the counting.
+     * Slow callbacks are logged at most once per 10 seconds for each server.
+     * @param thresholdMs a threshold in milliseconds
+     * @return this builder
+     */
+    public YBClientBuilder slowCallbackThresholdMs(long thresholdMs) {
+      clientBuilder.slowCallbackThresholdMs(thresholdMs);
+      return this;
+    }
+
+    /**
+     * Cache the schemas of tables fetched by ID.
+     * Optional.
+     * If not provided, defaults to false.
+     * @see AsyncYBClient.AsyncYBClientBuilder#cacheTableSchemas(boolean)
+     * @param cacheTableSchemas whether to cache table schemas
+     * @return this builder
+     */
+    public YBClientBuilder cacheTableSchemas(boolean cacheTableSchemas) {
+      clientBuilder.cacheTableSchemas(cacheTableSchemas);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of table schemas to cache.
+     * Optional.
+     * If not provided, defaults to {@link AsyncYBClient#DEFAULT_TABLE_SCHEMA_CACHE_SIZE}.
+     * @see AsyncYBClient.AsyncYBClientBuilder#tableSchemaCacheSize(int)
+     * @param size the maximum number of cached schemas
+     * @return this builder
+     */
+    public YBClientBuilder tableSchemaCacheSize(int size) {
+      clientBuilder.tableSchemaCacheSize(size);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of threads resolving tablet server addresses.
+     * Optional.
+     * If not provided, defaults to {@link AsyncYBClient#DEFAULT_DNS_RESOLVER_THREADS}.
+     * @see AsyncYBClient.AsyncYBClientBuilder#dnsResolverThreads(int)
+     * @param threads the maximum number of resolver threads
+     * @return this builder
+     */
+    public YBClientBuilder dnsResolverThreads(int threads) {
+      clientBuilder.dnsResolverThreads(threads);
+      return this;
+    }
+
     /**
      * Creates a new client that connects to the masters.
      * Doesn't block and won't throw an exception if the masters don't exist.
@@ -44,19 +44,48 @@ import org.yb.rpc.RpcHeader;
 @SuppressWarnings("serial")
 public class YBServerException extends YBException {
 
+  // Status code of the error, null for errors of the RPC layer.
+  private final WireProtocol.AppStatusPB.ErrorCode statusCode;
+
+  // Code of the RPC layer error, null for application errors.
+  private final RpcHeader.ErrorStatusPB.RpcErrorCodePB rpcErrorCode;
+
 YBServerException(String serverUuid, RpcHeader.ErrorStatusPB errorStatus) {
     this(serverUuid, errorStatus.getMessage(), errorStatus.getCode().toString(),
-        errorStatus.getCode().getNumber(), null);
+        errorStatus.getCode().getNumber(), null, null, errorStatus.getCode());
   }
 
   YBServerException(String serverUuid, WireProtocol.AppStatusPB appStatus) {
     this(serverUuid, appStatus.getMessage(), appStatus.getCode().toString(),
-        appStatus.getCode().getNumber(), null);
+        appStatus.getCode().getNumber(), null, appStatus.getCode(), null);
   }
 
   YBServerException(String serverUuid, String message, String errorDesc,
                       int errCode, Throwable cause) {
+    this(serverUuid, message, errorDesc, errCode, cause, null, null);
+  }
+
+  private YBServerException(String serverUuid, String message, String errorDesc,
+                            int errCode, Throwable cause,
+                            WireProtocol.AppStatusPB.ErrorCode statusCode,
+                            RpcHeader.ErrorStatusPB.RpcErrorCodePB rpcErrorCode) {
     super("Server[" + serverUuid + "] "
         + errorDesc + "[code " + errCode + "]: "  + message, cause);
+    this.statusCode = statusCode;
+    this.rpcErrorCode = rpcErrorCode;
+  }
+
+  /**
+   * @return the status code of the error, or null if the RPC layer failed the call
+   */
+  public WireProtocol.AppStatusPB.ErrorCode getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * @return the code of the RPC layer error, or null if the application failed the call
+   */
+  public RpcHeader.ErrorStatusPB.RpcErrorCodePB getRpcErrorCode() {
+    return rpcErrorCode;
   }
 }
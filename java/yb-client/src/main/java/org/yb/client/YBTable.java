@@ -238,11 +238,27 @@ public class YBTable {
    */
   public Map<String, List<List<Integer>>> getMemberTypeCountsForEachTSType(long deadline)
       throws Exception {
+    return getMemberTypeCountsForEachTSType(getTabletsLocations(deadline));
+  }
+
+  /**
+   * Asynchronously compute the same map as {@link #getMemberTypeCountsForEachTSType(long)}.
+   * @param deadline deadline in milliseconds for getTabletsLocations rpc.
+   * @return a {@link Deferred} object that yields a map from placement zone to a list of lists
+   * of integers.
+   */
+  public Deferred<Map<String, List<List<Integer>>>> asyncGetMemberTypeCountsForEachTSType(
+      long deadline) throws Exception {
+    return asyncGetTabletsLocations(deadline).addCallback(
+        tablets -> getMemberTypeCountsForEachTSType(tablets));
+  }
+
+  private static Map<String, List<List<Integer>>> getMemberTypeCountsForEachTSType(
+      List<LocatedTablet> tablets) {
     // Intermediate map which contains an internal map from ts uuid to live and
     // read replica counts.
     Map<String, Map<String, List<Integer>>> intermediateMap =
         new HashMap<String, Map<String, List<Integer>>>();
-    List<LocatedTablet> tablets = getTabletsLocations(deadline);
     for (LocatedTablet tablet : tablets) {
       for (LocatedTablet.Replica replica : tablet.getReplicas()) {
         String placementUuid = replica.getTsPlacementUuid();
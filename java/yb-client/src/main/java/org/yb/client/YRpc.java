@@ -40,19 +40,20 @@
 //
 package org.yb.client;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.stumbleupon.async.Deferred;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.PooledByteBufAllocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.annotations.InterfaceAudience;
 import org.yb.util.Pair;
-import org.yb.util.Slice;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Abstract base class for all RPC requests going out to YB.
@@ -262,42 +263,65 @@ public abstract class YRpc<R> {
     return buf.toString();
   }
 
-  static void readProtobuf(final Slice slice,
+  static void readProtobuf(final ByteBuf buf,
                            final Message.Builder builder) {
-    final int length = slice.length();
-    final byte[] payload = slice.getRawArray();
-    final int offset = slice.getRawOffset();
+    final int length = buf.readableBytes();
     try {
-      builder.mergeFrom(payload, offset, length);
+      builder.mergeFrom(newCodedInputStream(buf));
       if (!builder.isInitialized()) {
         throw new RuntimeException("Could not deserialize the response," +
                 " incompatible RPC? Error is: " + builder.getInitializationErrorString());
       }
     } catch (InvalidProtocolBufferException e) {
       final String msg = "Invalid RPC response: length=" + length
-              + ", payload=" + Bytes.pretty(payload);
+              + ", payload=" + Bytes.pretty(buf);
       throw new InvalidResponseException(msg, e);
+    } catch (IOException e) {
+      // Reading from an in-memory buffer can only fail on malformed input.
+      throw new InvalidResponseException("Invalid RPC response: length=" + length, e);
     }
   }
 
+  /**
+   * Creates a protobuf input stream over the readable bytes of {@code buf} without copying them
+   * to the heap. Aliasing is left disabled, so the parsed message does not reference the buffer
+   * and stays valid once it is released.
+   */
+  private static CodedInputStream newCodedInputStream(final ByteBuf buf) {
+    if (buf.hasArray()) {
+      return CodedInputStream.newInstance(
+          buf.array(), buf.arrayOffset() + buf.readerIndex(), buf.readableBytes());
+    }
+    if (buf.nioBufferCount() == 1) {
+      return CodedInputStream.newInstance(buf.nioBuffer());
+    }
+    return CodedInputStream.newInstance(Arrays.asList(buf.nioBuffers()));
+  }
+
+  /**
+   * Serializes the given header and message into a pooled direct buffer, prefixed by the total
+   * size. The returned buffer is owned by the caller, and is released by Netty once written to
+   * the channel.
+   */
   static ByteBuf toChannelBuffer(Message header, Message pb) {
     int totalSize = IPCUtil.getTotalSizeWhenWrittenDelimited(header, pb);
-    byte[] buf = new byte[totalSize+4];
-    ByteBuf chanBuf = Unpooled.wrappedBuffer(buf);
-    chanBuf.clear();
-    chanBuf.writeInt(totalSize);
-    final CodedOutputStream out = CodedOutputStream.newInstance(buf, 4, totalSize);
+    ByteBuf chanBuf = PooledByteBufAllocator.DEFAULT.directBuffer(totalSize + 4, totalSize + 4);
     try {
-      out.writeRawVarint32(header.getSerializedSize());
+      chanBuf.writeInt(totalSize);
+      final CodedOutputStream out =
+          CodedOutputStream.newInstance(chanBuf.nioBuffer(chanBuf.writerIndex(), totalSize));
+      out.writeUInt32NoTag(header.getSerializedSize());
       header.writeTo(out);
 
-      out.writeRawVarint32(pb.getSerializedSize());
+      out.writeUInt32NoTag(pb.getSerializedSize());
       pb.writeTo(out);
+      out.flush();
       out.checkNoSpaceLeft();
     } catch (IOException e) {
+      chanBuf.release();
       throw new NonRecoverableException("Cannot serialize the following message " + pb, e);
     }
-    chanBuf.writerIndex(buf.length);
+    chanBuf.writerIndex(totalSize + 4);
     return chanBuf;
   }
 
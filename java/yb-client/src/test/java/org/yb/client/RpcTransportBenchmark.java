@@ -0,0 +1,180 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import com.google.common.net.HostAndPort;
+import com.stumbleupon.async.Deferred;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yb.rpc.RpcHeader;
+import org.yb.server.ServerBase;
+
+/**
+ * Measures Ping throughput of {@link AsyncYBClient} against a local mock RPC server with the
+ * different transport settings. The number of socket reads done by the server for every RPC is
+ * reported as an approximation of the write syscalls issued by the client per RPC.
+ *
+ * <p>It is not part of the test suite, run it manually on the test classpath with an optional
+ * number of RPCs per transport setting:
+ *
+ * <pre>java -cp ... org.yb.client.RpcTransportBenchmark [numRpcs]</pre>
+ */
+public class RpcTransportBenchmark {
+  private static final Logger LOG = LoggerFactory.getLogger(RpcTransportBenchmark.class);
+
+  private static final int BURST_SIZE = 128;
+  private static final long JOIN_TIMEOUT_MS = 30000;
+
+  private EventLoopGroup serverGroup;
+  private Channel serverChannel;
+  private final AtomicLong serverReads = new AtomicLong();
+  private final AtomicLong serverRequests = new AtomicLong();
+
+  public static void main(String[] args) throws Exception {
+    int numRpcs = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+    RpcTransportBenchmark benchmark = new RpcTransportBenchmark();
+    benchmark.startMockServer();
+    try {
+      benchmark.runBenchmark("nio", false, 0, numRpcs);
+      benchmark.runBenchmark("nio+flush-consolidation", false, 256, numRpcs);
+      benchmark.runBenchmark("native", true, 0, numRpcs);
+      benchmark.runBenchmark("native+flush-consolidation", true, 256, numRpcs);
+    } finally {
+      benchmark.stopMockServer();
+    }
+  }
+
+  private void startMockServer() throws Exception {
+    serverGroup = new NioEventLoopGroup(1);
+    serverChannel = new ServerBootstrap()
+        .group(serverGroup)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          protected void initChannel(SocketChannel channel) {
+            channel.pipeline().addLast(new MockRpcHandler());
+          }
+        })
+        .bind("127.0.0.1", 0).sync().channel();
+  }
+
+  private void stopMockServer() throws Exception {
+    if (serverChannel != null) {
+      serverChannel.close().sync();
+    }
+    if (serverGroup != null) {
+      serverGroup.shutdownGracefully().sync();
+    }
+  }
+
+  private void runBenchmark(String name, boolean nativeTransport, int maxFlushes, int numRpcs)
+      throws Exception {
+    HostAndPort hp = HostAndPort.fromParts("127.0.0.1",
+        ((InetSocketAddress) serverChannel.localAddress()).getPort());
+    try (AsyncYBClient client = new AsyncYBClient.AsyncYBClientBuilder(hp.toString())
+        .useNativeTransport(nativeTransport)
+        .maxFlushesToConsolidate(maxFlushes)
+        .build()) {
+      // Warm up the connection before taking measurements.
+      sendBursts(client, hp, BURST_SIZE * 10);
+
+      serverReads.set(0);
+      serverRequests.set(0);
+      long startNanos = System.nanoTime();
+      sendBursts(client, hp, numRpcs);
+      long elapsedNanos = System.nanoTime() - startNanos;
+
+      if (serverRequests.get() != numRpcs) {
+        throw new IllegalStateException(
+            "Server got " + serverRequests.get() + " RPCs, expected " + numRpcs);
+      }
+      LOG.info(String.format("%s: %.0f RPCs/sec, %.3f server reads per RPC",
+          name, numRpcs * 1e9 / elapsedNanos, (double) serverReads.get() / numRpcs));
+    }
+  }
+
+  private static void sendBursts(AsyncYBClient client, HostAndPort hp, int numRpcs)
+      throws Exception {
+    List<Deferred<PingResponse>> burst = new ArrayList<>(BURST_SIZE);
+    for (int i = 0; i < numRpcs; i++) {
+      burst.add(client.ping(hp));
+      if (burst.size() == BURST_SIZE || i == numRpcs - 1) {
+        Deferred.group(burst).join(JOIN_TIMEOUT_MS);
+        burst.clear();
+      }
+    }
+  }
+
+  /**
+   * Answers every framed request with an empty PingResponsePB, flushing once per read.
+   */
+  private class MockRpcHandler extends ByteToMessageDecoder {
+    private boolean preambleRead = false;
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+      serverReads.incrementAndGet();
+      super.channelRead(ctx, msg);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out)
+        throws IOException {
+      if (!preambleRead) {
+        if (in.readableBytes() < 3) {
+          return;
+        }
+        in.skipBytes(3);
+        preambleRead = true;
+      }
+      while (in.readableBytes() >= 4 && in.readableBytes() >= 4 + in.getInt(in.readerIndex())) {
+        int frameSize = in.readInt();
+        ByteBuf frame = in.readSlice(frameSize);
+        RpcHeader.RequestHeader header =
+            RpcHeader.RequestHeader.parseDelimitedFrom(new ByteBufInputStream(frame));
+        serverRequests.incrementAndGet();
+
+        RpcHeader.ResponseHeader responseHeader = RpcHeader.ResponseHeader.newBuilder()
+            .setCallId(header.getCallId())
+            .build();
+        ByteBuf response = ctx.alloc().buffer();
+        IPCUtil.write(new ByteBufOutputStream(response), responseHeader,
+            ServerBase.PingResponsePB.getDefaultInstance());
+        ctx.write(response);
+      }
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+      ctx.flush();
+      super.channelReadComplete(ctx);
+    }
+  }
+}
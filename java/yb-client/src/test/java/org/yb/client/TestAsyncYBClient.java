@@ -35,12 +35,16 @@ import com.google.common.base.Charsets;
 import com.google.protobuf.ByteString;
 import com.stumbleupon.async.Deferred;
 import com.stumbleupon.async.TimeoutException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.yb.Common;
 import org.yb.CommonNet;
 import org.yb.CommonTypes;
+import org.yb.Type;
 import org.yb.consensus.Metadata;
 import org.yb.master.MasterClientOuterClass;
 
@@ -116,4 +120,104 @@ public class TestAsyncYBClient extends BaseYBClientTest {
       assertTrue(ex.getMessage().contains(badHostname));
     }
   }
+
+  @Test
+  public void testPrefetchTabletLocations() throws Exception {
+    int numTablets = table.getTabletsLocations(DEFAULT_SLEEP).size();
+    client.emptyTabletsCacheForTable(table.getTableId());
+    assertNull(client.getFirstTablet(table.getTableId()));
+
+    int numLoaded = client.prefetchTabletLocations(Collections.singletonList(table), DEFAULT_SLEEP)
+        .join(DEFAULT_SLEEP);
+    assertEquals(numTablets, numLoaded);
+    assertNotNull(client.getFirstTablet(table.getTableId()));
+  }
+
+  @Test
+  public void testGetTableSchemasByUUID() throws Exception {
+    YBTable otherTable = createTable(TABLE_NAME + "-schemas", hashKeySchema,
+        new CreateTableOptions());
+    Map<String, GetTableSchemaResponse> schemas = client.getTableSchemasByUUID(
+        Arrays.asList(table.getTableId(), otherTable.getTableId(), table.getTableId()), 1)
+        .join(DEFAULT_SLEEP);
+    assertEquals(2, schemas.size());
+    assertEquals(table.getName(), schemas.get(table.getTableId()).getTableName());
+    assertEquals(otherTable.getName(), schemas.get(otherTable.getTableId()).getTableName());
+  }
+
+  @Test
+  public void testTableSchemaCache() throws Exception {
+    String tableName = TABLE_NAME + "-cached";
+    YBTable cachedTable = createTable(tableName, hashKeySchema, new CreateTableOptions());
+    try (AsyncYBClient cachingClient = new AsyncYBClient.AsyncYBClientBuilder(masterAddresses)
+        .defaultAdminOperationTimeoutMs(DEFAULT_SLEEP)
+        .sslCertFile(certFile)
+        .sslClientCertFiles(clientCertFile, clientKeyFile)
+        .cacheTableSchemas(true)
+        .build()) {
+      GetTableSchemaResponse first =
+          cachingClient.getTableSchemaByUUID(cachedTable.getTableId()).join(DEFAULT_SLEEP);
+      assertSame(first,
+          cachingClient.getTableSchemaByUUID(cachedTable.getTableId()).join(DEFAULT_SLEEP));
+
+      // Altering the table drops its schema from the cache.
+      cachingClient.alterTable(DEFAULT_KEYSPACE_NAME, tableName,
+          new AlterTableOptions().addColumn("added", Type.INT32)).join(DEFAULT_SLEEP);
+      GetTableSchemaResponse altered =
+          cachingClient.getTableSchemaByUUID(cachedTable.getTableId()).join(DEFAULT_SLEEP);
+      assertNotSame(first, altered);
+
+      // A newer version reported by a caller drops the schema as well, an older one doesn't.
+      cachingClient.invalidateTableSchema(cachedTable.getTableId(), altered.getVersion());
+      assertSame(altered,
+          cachingClient.getTableSchemaByUUID(cachedTable.getTableId()).join(DEFAULT_SLEEP));
+      cachingClient.invalidateTableSchema(cachedTable.getTableId(), altered.getVersion() + 1);
+      GetTableSchemaResponse refetched =
+          cachingClient.getTableSchemaByUUID(cachedTable.getTableId()).join(DEFAULT_SLEEP);
+      assertNotSame(altered, refetched);
+
+      // A fetch sent before an invalidation doesn't cache the schema it gets. Had it been
+      // answered before the invalidation, the invalidation would have dropped it anyway.
+      Deferred<GetTableSchemaResponse> inFlight =
+          cachingClient.getTableSchemaByUUID(cachedTable.getTableId());
+      cachingClient.invalidateTableSchema(cachedTable.getTableId(), -1);
+      GetTableSchemaResponse stale = inFlight.join(DEFAULT_SLEEP);
+      assertNotSame(stale,
+          cachingClient.getTableSchemaByUUID(cachedTable.getTableId()).join(DEFAULT_SLEEP));
+
+      // Deleting the table drops its schema, so the lookup goes to the master again.
+      cachingClient.deleteTable(DEFAULT_KEYSPACE_NAME, tableName).join(DEFAULT_SLEEP);
+      try {
+        assertNotSame(refetched,
+            cachingClient.getTableSchemaByUUID(cachedTable.getTableId()).join(DEFAULT_SLEEP));
+      } catch (MasterErrorException e) {
+        // The table is already gone.
+      }
+    }
+  }
+
+  @Test
+  public void testTableSchemaCacheBounded() throws Exception {
+    YBTable firstTable = createTable(TABLE_NAME + "-bounded-1", hashKeySchema,
+        new CreateTableOptions());
+    YBTable secondTable = createTable(TABLE_NAME + "-bounded-2", hashKeySchema,
+        new CreateTableOptions());
+    try (AsyncYBClient cachingClient = new AsyncYBClient.AsyncYBClientBuilder(masterAddresses)
+        .defaultAdminOperationTimeoutMs(DEFAULT_SLEEP)
+        .sslCertFile(certFile)
+        .sslClientCertFiles(clientCertFile, clientKeyFile)
+        .cacheTableSchemas(true)
+        .tableSchemaCacheSize(1)
+        .build()) {
+      GetTableSchemaResponse first =
+          cachingClient.getTableSchemaByUUID(firstTable.getTableId()).join(DEFAULT_SLEEP);
+      GetTableSchemaResponse second =
+          cachingClient.getTableSchemaByUUID(secondTable.getTableId()).join(DEFAULT_SLEEP);
+      // The second schema evicted the first one.
+      assertSame(second,
+          cachingClient.getTableSchemaByUUID(secondTable.getTableId()).join(DEFAULT_SLEEP));
+      assertNotSame(first,
+          cachingClient.getTableSchemaByUUID(firstTable.getTableId()).join(DEFAULT_SLEEP));
+    }
+  }
 }
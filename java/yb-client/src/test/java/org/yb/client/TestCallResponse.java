@@ -0,0 +1,124 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import static org.yb.AssertionWrappers.assertEquals;
+import static org.yb.AssertionWrappers.assertFalse;
+import static org.yb.AssertionWrappers.assertNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+import org.yb.rpc.RpcHeader;
+
+@RunWith(value=YBTestRunner.class)
+public class TestCallResponse {
+
+  private static final String SIDECAR_0 = "first sidecar";
+  private static final String SIDECAR_1 = "second";
+
+  // Builds a framed response whose main message is an ErrorStatusPB followed by two sidecars.
+  private static ByteBuf newResponseFrame(int callId) {
+    RpcHeader.ErrorStatusPB body = RpcHeader.ErrorStatusPB.newBuilder()
+        .setMessage("hello")
+        .build();
+    int bodySize = body.getSerializedSize();
+    RpcHeader.ResponseHeader header = RpcHeader.ResponseHeader.newBuilder()
+        .setCallId(callId)
+        .addSidecarOffsets(bodySize)
+        .addSidecarOffsets(bodySize + SIDECAR_0.length())
+        .build();
+
+    ByteBuf message = PooledByteBufAllocator.DEFAULT.directBuffer();
+    message.writeBytes(body.toByteArray());
+    message.writeCharSequence(SIDECAR_0, StandardCharsets.UTF_8);
+    message.writeCharSequence(SIDECAR_1, StandardCharsets.UTF_8);
+
+    ByteBuf frame = PooledByteBufAllocator.DEFAULT.directBuffer();
+    frame.writeInt(0);
+    writeVarInt32(frame, header.getSerializedSize());
+    frame.writeBytes(header.toByteArray());
+    writeVarInt32(frame, message.readableBytes());
+    frame.writeBytes(message);
+    message.release();
+    frame.setInt(0, frame.readableBytes() - 4);
+    return frame;
+  }
+
+  private static void writeVarInt32(ByteBuf buf, int value) {
+    while ((value & ~0x7F) != 0) {
+      buf.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buf.writeByte(value);
+  }
+
+  @Test
+  public void testParseFromDirectBuffer() {
+    CallResponse response = new CallResponse(newResponseFrame(42));
+    try {
+      assertEquals(42, response.getHeader().getCallId());
+
+      RpcHeader.ErrorStatusPB.Builder builder = RpcHeader.ErrorStatusPB.newBuilder();
+      YRpc.readProtobuf(response.getPBMessage(), builder);
+      assertEquals("hello", builder.getMessage());
+
+      ByteBuf sidecar0 = response.getSidecar(0);
+      ByteBuf sidecar1 = response.getSidecar(1);
+      assertEquals(SIDECAR_0, sidecar0.toString(StandardCharsets.UTF_8));
+      assertEquals(SIDECAR_1, sidecar1.toString(StandardCharsets.UTF_8));
+
+      // Sidecars are retained, so they outlive the response.
+      response.release();
+      assertEquals(SIDECAR_0, sidecar0.toString(StandardCharsets.UTF_8));
+      sidecar0.release();
+      sidecar1.release();
+      assertEquals(0, response.refCnt());
+    } finally {
+      if (response.refCnt() > 0) {
+        response.release();
+      }
+    }
+  }
+
+  @Test
+  public void testFrameDecoderSplitsResponses() {
+    EmbeddedChannel channel = new EmbeddedChannel(TabletClient.newFrameDecoder());
+    ByteBuf stream = PooledByteBufAllocator.DEFAULT.directBuffer();
+    ByteBuf first = newResponseFrame(1);
+    ByteBuf second = newResponseFrame(2);
+    stream.writeBytes(first);
+    stream.writeBytes(second);
+    first.release();
+    second.release();
+
+    // Feed the two responses split at an arbitrary point in the middle of the second one.
+    int split = stream.readableBytes() - 7;
+    channel.writeInbound(stream.readRetainedSlice(split));
+    channel.writeInbound(stream.readRetainedSlice(stream.readableBytes()));
+    stream.release();
+
+    for (int callId = 1; callId <= 2; callId++) {
+      ByteBuf frame = channel.readInbound();
+      CallResponse response = new CallResponse(frame);
+      assertEquals(callId, response.getHeader().getCallId());
+      response.release();
+    }
+    assertNull(channel.readInbound());
+    assertFalse(channel.finish());
+  }
+}
@@ -0,0 +1,179 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import static org.yb.AssertionWrappers.*;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.stumbleupon.async.Deferred;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+
+@RunWith(value=YBTestRunner.class)
+public class TestTabletClientCallbacks {
+
+  private static final String CALLBACK_THREAD = "test-callback-executor";
+
+  private AsyncYBClient client;
+  private ExecutorService executor;
+
+  @After
+  public void tearDown() throws Exception {
+    if (client != null) {
+      client.close();
+    }
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  private TabletClient createTabletClient(
+      ExecutorService callbackExecutor, long slowCallbackThresholdMs) {
+    client = new AsyncYBClient.AsyncYBClientBuilder("127.0.0.1:7100")
+        .callbackExecutor(callbackExecutor)
+        .slowCallbackThresholdMs(slowCallbackThresholdMs)
+        .build();
+    return new TabletClient(client, "ts-1");
+  }
+
+  private static Deferred<PingResponse> addCallback(
+      PingRequest rpc, List<String> threads, long sleepMs) {
+    return rpc.getDeferred().addCallback(response -> {
+      synchronized (threads) {
+        threads.add(Thread.currentThread().getName());
+      }
+      if (sleepMs > 0) {
+        Thread.sleep(sleepMs);
+      }
+      return response;
+    });
+  }
+
+  @Test
+  public void testCallbacksRunOnExecutor() throws Exception {
+    executor = Executors.newSingleThreadExecutor(r -> new Thread(r, CALLBACK_THREAD));
+    TabletClient tabletClient = createTabletClient(executor, 0);
+    // Block the executor, so that the callbacks queue up.
+    CountDownLatch blocked = new CountDownLatch(1);
+    executor.execute(() -> {
+      try {
+        blocked.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    List<String> threads = new ArrayList<>();
+    List<Deferred<PingResponse>> results = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      PingRequest rpc = new PingRequest();
+      results.add(addCallback(rpc, threads, 0));
+      tabletClient.dispatchCallback(i, rpc, null);
+    }
+    assertEquals(3, tabletClient.getCallbackStatistics().getPendingCallbacks());
+    assertEquals(3, tabletClient.getCallbackStatistics().getMaxPendingCallbacks());
+    assertTrue(threads.isEmpty());
+
+    blocked.countDown();
+    for (Deferred<PingResponse> result : results) {
+      result.join(TimeUnit.SECONDS.toMillis(10));
+    }
+    CallbackStatistics statistics = tabletClient.getCallbackStatistics();
+    assertEquals(0, statistics.getPendingCallbacks());
+    assertEquals(3, statistics.getMaxPendingCallbacks());
+    assertEquals(0L, statistics.getSlowCallbacks());
+    for (String thread : threads) {
+      assertEquals(CALLBACK_THREAD, thread);
+    }
+  }
+
+  @Test
+  public void testCallbacksRunInlineWithoutExecutor() throws Exception {
+    TabletClient tabletClient = createTabletClient(null, 0);
+    List<String> threads = new ArrayList<>();
+    PingRequest rpc = new PingRequest();
+    addCallback(rpc, threads, 0);
+    tabletClient.dispatchCallback(1, rpc, null);
+
+    assertEquals(1, threads.size());
+    assertEquals(Thread.currentThread().getName(), threads.get(0));
+    assertEquals(0, tabletClient.getCallbackStatistics().getMaxPendingCallbacks());
+  }
+
+  @Test
+  public void testSlowCallbacksCounted() throws Exception {
+    TabletClient tabletClient = createTabletClient(null, 50);
+    List<String> threads = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      PingRequest rpc = new PingRequest();
+      addCallback(rpc, threads, 100);
+      tabletClient.dispatchCallback(i, rpc, null);
+    }
+    // Fast callbacks are not counted.
+    PingRequest rpc = new PingRequest();
+    addCallback(rpc, threads, 0);
+    tabletClient.dispatchCallback(3, rpc, null);
+
+    assertEquals(4, threads.size());
+    assertEquals(3L, tabletClient.getCallbackStatistics().getSlowCallbacks());
+  }
+
+  @Test
+  public void testSlowCallbackWarningsRateLimited() throws Exception {
+    Logger logger = (Logger) TabletClient.LOG;
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    appender.start();
+    logger.addAppender(appender);
+    try {
+      TabletClient tabletClient = createTabletClient(null, 10);
+      List<String> threads = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        PingRequest rpc = new PingRequest();
+        addCallback(rpc, threads, 20);
+        tabletClient.dispatchCallback(i, rpc, null);
+      }
+      assertEquals(3L, tabletClient.getCallbackStatistics().getSlowCallbacks());
+    } finally {
+      logger.detachAppender(appender);
+    }
+    long warnings = appender.list.stream()
+        .filter(event -> event.getLevel() == Level.WARN)
+        .filter(event -> event.getFormattedMessage().contains("Callback of RPC"))
+        .count();
+    assertEquals(1L, warnings);
+  }
+
+  @Test
+  public void testSlowCallbacksNotCountedWhenDisabled() throws Exception {
+    TabletClient tabletClient = createTabletClient(null, 0);
+    List<String> threads = new ArrayList<>();
+    PingRequest rpc = new PingRequest();
+    addCallback(rpc, threads, 5);
+    tabletClient.dispatchCallback(1, rpc, null);
+
+    assertEquals(1, threads.size());
+    assertEquals(0L, tabletClient.getCallbackStatistics().getSlowCallbacks());
+  }
+}
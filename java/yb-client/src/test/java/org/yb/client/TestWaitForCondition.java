@@ -0,0 +1,188 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import static org.yb.AssertionWrappers.assertEquals;
+import static org.yb.AssertionWrappers.assertFalse;
+import static org.yb.AssertionWrappers.assertTrue;
+import static org.yb.AssertionWrappers.fail;
+
+import com.google.common.net.HostAndPort;
+import com.stumbleupon.async.Deferred;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.WireProtocol;
+import org.yb.YBTestRunner;
+import org.yb.master.MasterTypes;
+import org.yb.rpc.RpcHeader;
+
+/**
+ * Tests the condition waits of {@link AsyncYBClient}, which don't need a cluster as the
+ * conditions are checked on the client's timer.
+ */
+@RunWith(value=YBTestRunner.class)
+public class TestWaitForCondition {
+  private static final long JOIN_TIMEOUT_MS = 30000;
+
+  private AsyncYBClient client;
+
+  @Before
+  public void setUp() {
+    client = new AsyncYBClient.AsyncYBClientBuilder("127.0.0.1:" + getUnusedPort())
+        .defaultAdminOperationTimeoutMs(1000)
+        .defaultOperationTimeoutMs(1000)
+        .build();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    client.close();
+  }
+
+  private static MasterErrorException masterError(WireProtocol.AppStatusPB.ErrorCode code) {
+    return new MasterErrorException("master", MasterTypes.MasterErrorPB.newBuilder()
+        .setCode(MasterTypes.MasterErrorPB.Code.UNKNOWN_ERROR)
+        .setStatus(WireProtocol.AppStatusPB.newBuilder().setCode(code).setMessage("error"))
+        .build());
+  }
+
+  private static MasterErrorException rpcError(RpcHeader.ErrorStatusPB.RpcErrorCodePB code) {
+    return new MasterErrorException("master", RpcHeader.ErrorStatusPB.newBuilder()
+        .setCode(code)
+        .setMessage("error")
+        .build());
+  }
+
+  private static int getUnusedPort() {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Test
+  public void testConditionHoldsAfterChecks() throws Exception {
+    AtomicInteger checks = new AtomicInteger();
+    boolean result = client.waitForCondition(
+        () -> Deferred.fromResult(checks.incrementAndGet() >= 3), 10000).join(JOIN_TIMEOUT_MS);
+    assertTrue(result);
+    assertEquals(3, checks.get());
+  }
+
+  @Test
+  public void testErrorsAreRetried() throws Exception {
+    AtomicInteger checks = new AtomicInteger();
+    boolean result = client.waitForCondition(() -> {
+      switch (checks.incrementAndGet()) {
+        case 1:
+          // Such as ping failing to create a client.
+          throw new IllegalStateException("Could not create a client");
+        case 2:
+          // Such as a master address not resolving yet.
+          return Deferred.fromError(new NonRecoverableException("Couldn't resolve address"));
+        case 3:
+          return Deferred.fromError(new ConnectionResetException("Connection reset"));
+        case 4:
+          // Such as a master leader election in progress.
+          return Deferred.fromError(new NoLeaderMasterFoundException("No leader master"));
+        case 5:
+          return Deferred.fromError(
+              masterError(WireProtocol.AppStatusPB.ErrorCode.SERVICE_UNAVAILABLE));
+        case 6:
+          return Deferred.fromError(
+              rpcError(RpcHeader.ErrorStatusPB.RpcErrorCodePB.ERROR_SERVER_TOO_BUSY));
+        default:
+          return Deferred.fromResult(true);
+      }
+    }, 10000).join(JOIN_TIMEOUT_MS);
+    assertTrue(result);
+    assertEquals(7, checks.get());
+  }
+
+  @Test
+  public void testNonRetryableErrorsFailFast() throws Exception {
+    List<Exception> errors = Arrays.asList(
+        new InvalidResponseException("Unexpected response", null),
+        new IllegalArgumentException("Invalid table"),
+        masterError(WireProtocol.AppStatusPB.ErrorCode.INVALID_ARGUMENT),
+        masterError(WireProtocol.AppStatusPB.ErrorCode.NOT_FOUND),
+        masterError(WireProtocol.AppStatusPB.ErrorCode.NOT_AUTHORIZED),
+        rpcError(RpcHeader.ErrorStatusPB.RpcErrorCodePB.FATAL_UNAUTHORIZED));
+    for (Exception error : errors) {
+      AtomicInteger checks = new AtomicInteger();
+      long start = System.currentTimeMillis();
+      Deferred<Boolean> result = client.waitForCondition(() -> {
+        checks.incrementAndGet();
+        return Deferred.fromError(error);
+      }, 10000);
+      try {
+        result.join(JOIN_TIMEOUT_MS);
+        fail("Expected the wait to fail with " + error);
+      } catch (Exception e) {
+        assertEquals(error, e);
+      }
+      assertEquals(1, checks.get());
+      assertTrue(System.currentTimeMillis() - start < 10000);
+    }
+  }
+
+  @Test
+  public void testInjectedWaitErrorIsRetried() throws Exception {
+    AtomicInteger checks = new AtomicInteger();
+    client.injectWaitError();
+    boolean result = client.waitForCondition(
+        () -> Deferred.fromResult(checks.incrementAndGet() > 0), 10000).join(JOIN_TIMEOUT_MS);
+    assertTrue(result);
+    assertEquals(1, checks.get());
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    long start = System.currentTimeMillis();
+    boolean result = client.waitForCondition(
+        () -> Deferred.fromResult(false), 1000).join(JOIN_TIMEOUT_MS);
+    long elapsedMs = System.currentTimeMillis() - start;
+    assertFalse(result);
+    assertTrue(elapsedMs >= 1000);
+    // The last check is not scheduled past the deadline.
+    assertTrue(elapsedMs < 1000 + AsyncYBClient.WAIT_MAX_BACKOFF_MS);
+  }
+
+  @Test
+  public void testTimeoutWithErrors() throws Exception {
+    boolean result = client.waitForCondition(() -> {
+      throw new IllegalStateException("Not ready");
+    }, 1000).join(JOIN_TIMEOUT_MS);
+    assertFalse(result);
+  }
+
+  @Test
+  public void testWaitForUnreachableServer() throws Exception {
+    HostAndPort hp = HostAndPort.fromParts("127.0.0.1", getUnusedPort());
+    assertFalse(client.waitForServer(hp, 1000).join(JOIN_TIMEOUT_MS));
+
+    YBClient syncClient = new YBClient(client);
+    long start = System.currentTimeMillis();
+    assertFalse(syncClient.waitForServer(hp, 1000));
+    assertFalse(syncClient.waitForMaster(hp, 1000));
+    // Both waits are bounded by their timeout plus the admin operation timeout.
+    assertTrue(System.currentTimeMillis() - start < 2 * (1000 + 1000) + 1000);
+  }
+}
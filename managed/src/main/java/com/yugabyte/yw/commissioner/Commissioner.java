@@ -18,10 +18,14 @@ import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.ProviderEditRestrictionManager;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
+import com.yugabyte.yw.controllers.RequestContext;
+import com.yugabyte.yw.controllers.TokenAuthenticator;
 import com.yugabyte.yw.forms.ITaskParams;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
+import com.yugabyte.yw.forms.UniverseTaskParams;
 import com.yugabyte.yw.models.Backup;
 import com.yugabyte.yw.models.Backup.BackupState;
+import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.CustomerTask;
 import com.yugabyte.yw.models.TaskInfo;
 import com.yugabyte.yw.models.Universe;
@@ -38,6 +42,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
@@ -58,6 +63,8 @@ public class Commissioner {
 
   private final TaskExecutor taskExecutor;
 
+  private final TaskAdmissionController taskAdmissionController;
+
   // A map of all task UUID's to the task runnable objects for all the user tasks that are currently
   // active. Recently completed tasks are also in this list, their completion percentage should be
   // persisted before removing the task from this map.
@@ -74,10 +81,12 @@ public class Commissioner {
       ApplicationLifecycle lifecycle,
       PlatformExecutorFactory platformExecutorFactory,
       TaskExecutor taskExecutor,
+      TaskAdmissionController taskAdmissionController,
       ProviderEditRestrictionManager providerEditRestrictionManager) {
     ThreadFactory namedThreadFactory =
         new ThreadFactoryBuilder().setNameFormat("TaskPool-%d").build();
     this.taskExecutor = taskExecutor;
+    this.taskAdmissionController = taskAdmissionController;
     this.providerEditRestrictionManager = providerEditRestrictionManager;
     executor = platformExecutorFactory.createExecutor("commissioner", namedThreadFactory);
     LOG.info("Started Commissioner TaskPool.");
@@ -119,7 +128,11 @@ public class Commissioner {
       // Add the consumer to handle before task if available.
       taskRunnable.setTaskExecutionListener(getTaskExecutionListener());
       onTaskCreated(taskRunnable, taskParams);
-      UUID taskUUID = taskExecutor.submit(taskRunnable, executor);
+      UUID taskUUID =
+          taskExecutor.submit(
+              taskRunnable,
+              taskAdmissionController.getExecutor(
+                  executor, getCustomerUUID(taskParams), taskType));
       // Add this task to our queue.
       runningTasks.put(taskUUID, taskRunnable);
       return taskRunnable.getTaskUUID();
@@ -142,6 +155,24 @@ public class Commissioner {
     }
   }
 
+  // Returns the customer the task is run for, or null if it is not known.
+  private UUID getCustomerUUID(ITaskParams taskParams) {
+    Customer customer = RequestContext.getIfPresent(TokenAuthenticator.CUSTOMER);
+    if (customer != null) {
+      return customer.getUuid();
+    }
+    if (taskParams instanceof UniverseTaskParams) {
+      UUID universeUUID = ((UniverseTaskParams) taskParams).getUniverseUUID();
+      if (universeUUID != null) {
+        return Universe.maybeGet(universeUUID)
+            .map(universe -> Customer.get(universe.getCustomerId()))
+            .map(Customer::getUuid)
+            .orElse(null);
+      }
+    }
+    return null;
+  }
+
   private void onTaskCreated(RunnableTask taskRunnable, ITaskParams taskParams) {
     providerEditRestrictionManager.onTaskCreated(
         taskRunnable.getTaskUUID(), taskRunnable.task, taskParams);
@@ -224,7 +255,16 @@ public class Commissioner {
     // Find out the state of the task.
     responseJson.put("status", taskInfo.getTaskState().toString());
     // Get the percentage of subtasks that ran and completed
-    responseJson.put("percent", taskInfo.getPercentCompleted());
+    double percent = taskInfo.getPercentCompleted();
+    responseJson.put("percent", percent);
+    if (taskInfo.getTaskState() == TaskInfo.State.Running && percent > 0 && percent < 100) {
+      // Assume the remaining subtasks take as long on average as the completed ones, which holds
+      // well for tasks repeating the same steps like rolling upgrades.
+      long elapsedMs = System.currentTimeMillis() - taskInfo.getCreateTime().getTime();
+      responseJson.put(
+          "estimatedRemainingSecs",
+          TimeUnit.MILLISECONDS.toSeconds(Math.round(elapsedMs * (100 - percent) / percent)));
+    }
     String correlationId = task.getCorrelationId();
     if (!Strings.isNullOrEmpty(correlationId)) {
       responseJson.put("correlationId", correlationId);
@@ -13,8 +13,11 @@ package com.yugabyte.yw.commissioner;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.net.HostAndPort;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.kms.EncryptionAtRestManager;
 import com.yugabyte.yw.common.kms.util.EncryptionAtRestUtil;
@@ -24,9 +27,17 @@ import com.yugabyte.yw.models.HighAvailabilityConfig;
 import com.yugabyte.yw.models.KmsHistory;
 import com.yugabyte.yw.models.Universe;
 import java.time.Duration;
-import java.util.Arrays;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.yb.client.YBClient;
 
@@ -34,22 +45,46 @@ import org.yb.client.YBClient;
 @Slf4j
 public class SetUniverseKey {
 
+  private static final String POOL_NAME = "set_universe_key";
+
+  private static final String HEALTHY_RECHECK_INTERVAL =
+      "yb.kms.set_universe_key.healthy_recheck_interval";
+
   private final PlatformScheduler platformScheduler;
 
   private final EncryptionAtRestManager keyManager;
 
   private final YBClientService ybService;
 
+  private final ExecutorService executor;
+
+  private final Duration healthyRecheckInterval;
+
+  // Universes, which had the active key in memory of all the masters at the last check.
+  private final Map<UUID, KeyStatus> lastSuccess = new ConcurrentHashMap<>();
+
   private static final int YB_SET_UNIVERSE_KEY_INTERVAL = 2;
 
+  // Scheduled runs may start a bit early, which must not skip the check of the run after the
+  // last one.
+  private static final Duration RECHECK_SLACK = Duration.ofSeconds(10);
+
   @Inject
   public SetUniverseKey(
       EncryptionAtRestManager keyManager,
       PlatformScheduler platformScheduler,
-      YBClientService ybService) {
+      YBClientService ybService,
+      PlatformExecutorFactory platformExecutorFactory,
+      Config config) {
     this.keyManager = keyManager;
     this.platformScheduler = platformScheduler;
     this.ybService = ybService;
+    this.executor =
+        platformExecutorFactory.createFixedExecutor(
+            POOL_NAME,
+            config.getInt("yb.kms.set_universe_key.threads"),
+            new ThreadFactoryBuilder().setNameFormat("SetUniverseKey-%d").build());
+    this.healthyRecheckInterval = config.getDuration(HEALTHY_RECHECK_INTERVAL);
   }
 
   public void start() {
@@ -60,45 +95,48 @@ public class SetUniverseKey {
         this::scheduleRunner);
   }
 
-  private void setKeyInMaster(Universe u, HostAndPort masterAddr, byte[] keyRef, byte[] keyVal) {
-
-    YBClient client = null;
-
-    // If the resume task is in progress the universe keys must be set for encryption to work.
-    // Today on a paused universe, the only task which can run is Resume.
-    if (u.getUniverseDetails().universePaused && !(u.getUniverseDetails().updateInProgress)) {
-      log.info(
-          "Skipping setting universe keys as {} is paused and no task is running",
-          u.getUniverseUUID().toString());
-      return;
-    }
-
+  /**
+   * Checks which masters have the key in memory and sends the key to the rest of them.
+   *
+   * @return true if all the masters have the key in memory after the call.
+   */
+  private boolean setKeyInMasters(Universe u, String dbKeyId, byte[] keyVal) {
     String hostPorts = u.getMasterAddresses();
     String certificate = u.getCertificateNodetoNode();
+    YBClient client = null;
+    boolean allMastersHaveKey = true;
     try {
-      String dbKeyId = EncryptionAtRestUtil.getKmsHistory(u.getUniverseUUID(), keyRef).dbKeyId;
       client = ybService.getClient(hostPorts, certificate);
-      if (!client.hasUniverseKeyInMemory(dbKeyId, masterAddr)) {
-        client.addUniverseKeys(ImmutableMap.of(dbKeyId, keyVal), masterAddr);
-        log.info(
-            "Sent universe key to universe '{}' and DB node '{}' with key ID: '{}'.",
-            u.getUniverseUUID(),
-            masterAddr,
-            dbKeyId);
-      } else {
-        log.info(
-            "DB node '{}' from universe '{}' already has universe key in memory with key ID: '{}'.",
-            masterAddr,
-            u.getUniverseUUID(),
-            dbKeyId);
+      for (String masterAddress : hostPorts.split(",")) {
+        HostAndPort masterAddr = HostAndPort.fromString(masterAddress);
+        try {
+          if (client.hasUniverseKeyInMemory(dbKeyId, masterAddr)) {
+            log.debug(
+                "DB node '{}' from universe '{}' already has universe key in memory with key ID:"
+                    + " '{}'.",
+                masterAddr,
+                u.getUniverseUUID(),
+                dbKeyId);
+            continue;
+          }
+          client.addUniverseKeys(ImmutableMap.of(dbKeyId, keyVal), masterAddr);
+          log.info(
+              "Sent universe key to universe '{}' and DB node '{}' with key ID: '{}'.",
+              u.getUniverseUUID(),
+              masterAddr,
+              dbKeyId);
+        } catch (Exception e) {
+          allMastersHaveKey = false;
+          String errMsg =
+              String.format(
+                  "Error sending universe encryption key to node %s", masterAddr.toString());
+          log.error(errMsg, e);
+        }
       }
-    } catch (Exception e) {
-      String errMsg =
-          String.format("Error sending universe encryption key to node %s", masterAddr.toString());
-      log.error(errMsg, e);
     } finally {
       ybService.closeClient(client, hostPorts);
     }
+    return allMastersHaveKey;
   }
 
   public void setUniverseKey(Universe u) {
@@ -106,46 +144,82 @@ public class SetUniverseKey {
   }
 
   public void setUniverseKey(Universe u, boolean force) {
+    UUID universeUUID = u.getUniverseUUID();
     try {
       if ((!u.universeIsLocked() || force)
-          && EncryptionAtRestUtil.getNumUniverseKeys(u.getUniverseUUID()) > 0) {
+          && EncryptionAtRestUtil.getNumUniverseKeys(universeUUID) > 0) {
         log.debug(
             String.format(
-                "Setting universe encryption key for universe %s", u.getUniverseUUID().toString()));
+                "Setting universe encryption key for universe %s", universeUUID.toString()));
 
-        KmsHistory activeKey = EncryptionAtRestUtil.getActiveKey(u.getUniverseUUID());
+        KmsHistory activeKey = EncryptionAtRestUtil.getActiveKey(universeUUID);
         if (activeKey == null
             || activeKey.getUuid().keyRef == null
             || activeKey.getUuid().keyRef.length() == 0) {
           final String errMsg =
-              String.format("No active key found for universe %s", u.getUniverseUUID().toString());
+              String.format("No active key found for universe %s", universeUUID.toString());
           log.debug(errMsg);
           return;
         }
 
+        // If the resume task is in progress the universe keys must be set for encryption to work.
+        // Today on a paused universe, the only task which can run is Resume.
+        if (u.getUniverseDetails().universePaused && !(u.getUniverseDetails().updateInProgress)) {
+          log.info(
+              "Skipping setting universe keys as {} is paused and no task is running",
+              universeUUID.toString());
+          return;
+        }
+
+        KeyStatus status =
+            new KeyStatus(activeKey.getUuid().keyRef, u.getMasterAddresses(), Instant.now());
+        if (!force && isRecentlyVerified(universeUUID, status)) {
+          log.trace("Universe {} had the active key on all the masters recently", universeUUID);
+          return;
+        }
+
         byte[] keyRef = Base64.getDecoder().decode(activeKey.getUuid().keyRef);
-        byte[] keyVal =
-            keyManager.getUniverseKey(u.getUniverseUUID(), activeKey.getConfigUuid(), keyRef);
-        Arrays.stream(u.getMasterAddresses().split(","))
-            .map(HostAndPort::fromString)
-            .forEach(addr -> setKeyInMaster(u, addr, keyRef, keyVal));
+        String dbKeyId = EncryptionAtRestUtil.getKmsHistory(universeUUID, keyRef).dbKeyId;
+        byte[] keyVal = keyManager.getUniverseKey(universeUUID, activeKey.getConfigUuid(), keyRef);
+        if (setKeyInMasters(u, dbKeyId, keyVal)) {
+          lastSuccess.put(universeUUID, status);
+        } else {
+          lastSuccess.remove(universeUUID);
+        }
       }
     } catch (Exception e) {
+      lastSuccess.remove(universeUUID);
       String errMsg =
           String.format(
-              "Error setting universe encryption key for universe %s",
-              u.getUniverseUUID().toString());
+              "Error setting universe encryption key for universe %s", universeUUID.toString());
       log.error(errMsg, e);
     }
   }
 
+  private boolean isRecentlyVerified(UUID universeUUID, KeyStatus current) {
+    KeyStatus last = lastSuccess.get(universeUUID);
+    return last != null
+        && last.getKeyRef().equals(current.getKeyRef())
+        && last.getMasterAddresses().equals(current.getMasterAddresses())
+        && last.getVerifiedAt()
+            .plus(healthyRecheckInterval)
+            .isAfter(current.getVerifiedAt().plus(RECHECK_SLACK));
+  }
+
   public void handleCustomerError(UUID cUUID, Exception e) {
     log.error(
         String.format("Error detected running universe key setter for customer %s", cUUID), e);
   }
 
-  public void setCustomerUniverseKeys(Customer c) {
-    c.getUniverses().forEach(this::setUniverseKey);
+  /**
+   * Schedules setting the keys for all the customer universes in parallel.
+   *
+   * @return futures, which complete when the keys are set for the corresponding universe.
+   */
+  public List<CompletableFuture<Void>> setCustomerUniverseKeys(Customer c) {
+    return c.getUniverses().stream()
+        .map(u -> CompletableFuture.runAsync(() -> setUniverseKey(u), executor))
+        .collect(Collectors.toList());
   }
 
   @VisibleForTesting
@@ -156,17 +230,28 @@ public class SetUniverseKey {
         return;
       }
       log.debug("Running universe key setter");
+      List<CompletableFuture<Void>> universeFutures = new ArrayList<>();
       Customer.getAll()
           .forEach(
               c -> {
                 try {
-                  setCustomerUniverseKeys(c);
+                  universeFutures.addAll(setCustomerUniverseKeys(c));
                 } catch (Exception e) {
                   handleCustomerError(c.getUuid(), e);
                 }
               });
+      // Wait for the whole pass, so that the next run doesn't start before this one completes.
+      CompletableFuture.allOf(universeFutures.toArray(new CompletableFuture[0])).join();
+      lastSuccess.keySet().retainAll(Universe.getAllUUIDs());
     } catch (Exception e) {
       log.error("Error running universe key setter", e);
     }
   }
+
+  @Value
+  private static class KeyStatus {
+    String keyRef;
+    String masterAddresses;
+    Instant verifiedAt;
+  }
 }
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.commissioner;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.logging.MDCAwareRunnable;
+import com.yugabyte.yw.models.helpers.KnownAlertLabels;
+import com.yugabyte.yw.models.helpers.TaskType;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admits the user tasks to their executor with weighted fair queuing across customers. At most
+ * max_running_tasks tasks run at a time, and at most the configured count of each type in
+ * max_running_tasks_per_type. The tasks which cannot run yet are queued. Each queued task gets a
+ * virtual finish time, which grows by 1 / weight of its customer with each task of the customer,
+ * and the queued task with the lowest one is run first. A customer submitting many tasks thus
+ * gets its share of the slots without starving the others.
+ *
+ * <p>Admitted tasks run on the commissioner pool, which only grows past its core threads once its
+ * FIFO queue is full. Tasks admitted beyond the core threads would thus wait in that queue, in
+ * submission order and unseen by the admission metrics, so max_running_tasks is capped at the
+ * core threads of the pool.
+ */
+@Slf4j
+@Singleton
+public class TaskAdmissionController {
+
+  private static final String CONFIG_PREFIX = "yb.commissioner.admission.";
+
+  private static final String CORE_THREADS_PATH = "yb.commissioner.core_threads";
+
+  private static final double DEFAULT_WEIGHT = 1.0;
+
+  private static final Histogram TASK_ADMISSION_WAIT_SEC =
+      Histogram.build("ybp_task_admission_wait_seconds", "Time tasks are queued for admission")
+          .labelNames(KnownAlertLabels.TASK_TYPE.labelName())
+          .buckets(0.01, 0.1, 1, 5, 10, 30, 60, 300, 600, 1800, 3600)
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Gauge TASK_ADMISSION_QUEUED =
+      Gauge.build("ybp_task_admission_queued_tasks", "Number of tasks queued for admission")
+          .labelNames(KnownAlertLabels.TASK_TYPE.labelName())
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Gauge TASK_ADMISSION_RUNNING =
+      Gauge.build("ybp_task_admission_running_tasks", "Number of admitted tasks")
+          .labelNames(KnownAlertLabels.TASK_TYPE.labelName())
+          .register(CollectorRegistry.defaultRegistry);
+
+  private final int maxRunningTasks;
+  private final Map<TaskType, Integer> maxRunningTasksPerType;
+  private final Map<UUID, Double> customerWeights;
+
+  // Queued tasks ordered by their virtual finish time.
+  private final NavigableSet<QueuedTask> queue =
+      new TreeSet<>(
+          Comparator.comparingDouble((QueuedTask t) -> t.finishTime)
+              .thenComparingLong(t -> t.sequence));
+  private final Map<UUID, Double> lastFinishTimes = new HashMap<>();
+  private final Map<TaskType, Integer> runningTasksPerType = new EnumMap<>(TaskType.class);
+  private int runningTasks;
+  private double virtualTime;
+  private long sequence;
+
+  @Inject
+  public TaskAdmissionController(Config config) {
+    this(
+        getMaxRunningTasks(config),
+        getMaxRunningTasksPerType(config.getConfig(CONFIG_PREFIX + "max_running_tasks_per_type")),
+        getCustomerWeights(config.getConfig(CONFIG_PREFIX + "customer_weights")));
+  }
+
+  public TaskAdmissionController(
+      int maxRunningTasks,
+      Map<TaskType, Integer> maxRunningTasksPerType,
+      Map<UUID, Double> customerWeights) {
+    this.maxRunningTasks = maxRunningTasks;
+    this.maxRunningTasksPerType = maxRunningTasksPerType;
+    this.customerWeights = customerWeights;
+  }
+
+  private static int getMaxRunningTasks(Config config) {
+    int maxRunningTasks = config.getInt(CONFIG_PREFIX + "max_running_tasks");
+    int coreThreads = config.getInt(CORE_THREADS_PATH);
+    if (maxRunningTasks > coreThreads) {
+      log.warn(
+          "Limiting the admitted tasks to the {} commissioner core threads instead of {}",
+          coreThreads,
+          maxRunningTasks);
+      return coreThreads;
+    }
+    return maxRunningTasks;
+  }
+
+  private static Map<TaskType, Integer> getMaxRunningTasksPerType(Config config) {
+    Map<TaskType, Integer> result = new EnumMap<>(TaskType.class);
+    for (String key : config.root().keySet()) {
+      try {
+        result.put(TaskType.valueOf(key), config.getInt(key));
+      } catch (IllegalArgumentException e) {
+        log.warn("Ignoring the admission limit of unknown task type {}", key);
+      }
+    }
+    return result;
+  }
+
+  private static Map<UUID, Double> getCustomerWeights(Config config) {
+    Map<UUID, Double> result = new HashMap<>();
+    for (String key : config.root().keySet()) {
+      try {
+        double weight = config.getDouble("\"" + key + "\"");
+        if (weight <= 0) {
+          log.warn("Ignoring the non-positive admission weight of customer {}", key);
+          continue;
+        }
+        result.put(UUID.fromString(key), weight);
+      } catch (IllegalArgumentException e) {
+        log.warn("Ignoring the admission weight of invalid customer UUID {}", key);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns an ExecutorService which runs the submitted tasks on the given executor once they are
+   * admitted.
+   *
+   * @param executor the executor to run the tasks.
+   * @param customerUUID the customer the tasks are run for, or null for platform tasks.
+   * @param taskType the type of the tasks.
+   */
+  public ExecutorService getExecutor(
+      ExecutorService executor, UUID customerUUID, TaskType taskType) {
+    return new AdmittingExecutor(executor, customerUUID, taskType);
+  }
+
+  @VisibleForTesting
+  int getMaxRunningTasks() {
+    return maxRunningTasks;
+  }
+
+  @VisibleForTesting
+  synchronized int getQueuedCount() {
+    return queue.size();
+  }
+
+  private synchronized void enqueue(QueuedTask queuedTask) {
+    double weight = customerWeights.getOrDefault(queuedTask.customerUUID, DEFAULT_WEIGHT);
+    double startTime =
+        Math.max(virtualTime, lastFinishTimes.getOrDefault(queuedTask.customerUUID, 0.0));
+    queuedTask.finishTime = startTime + 1.0 / weight;
+    queuedTask.sequence = sequence++;
+    lastFinishTimes.put(queuedTask.customerUUID, queuedTask.finishTime);
+    queue.add(queuedTask);
+    TASK_ADMISSION_QUEUED.labels(queuedTask.taskType.name()).inc();
+  }
+
+  // Removes and returns the queued task to run next, or null if none can run.
+  private synchronized QueuedTask admit() {
+    if (runningTasks >= maxRunningTasks) {
+      return null;
+    }
+    Iterator<QueuedTask> iter = queue.iterator();
+    while (iter.hasNext()) {
+      QueuedTask queuedTask = iter.next();
+      int runningOfType = runningTasksPerType.getOrDefault(queuedTask.taskType, 0);
+      int maxRunningOfType =
+          maxRunningTasksPerType.getOrDefault(queuedTask.taskType, maxRunningTasks);
+      if (runningOfType >= maxRunningOfType) {
+        continue;
+      }
+      iter.remove();
+      virtualTime = Math.max(virtualTime, queuedTask.finishTime);
+      runningTasks++;
+      runningTasksPerType.put(queuedTask.taskType, runningOfType + 1);
+      TASK_ADMISSION_QUEUED.labels(queuedTask.taskType.name()).dec();
+      TASK_ADMISSION_RUNNING.labels(queuedTask.taskType.name()).inc();
+      return queuedTask;
+    }
+    return null;
+  }
+
+  private synchronized void release(TaskType taskType) {
+    runningTasks--;
+    runningTasksPerType.merge(taskType, -1, Integer::sum);
+    TASK_ADMISSION_RUNNING.labels(taskType.name()).dec();
+  }
+
+  // Runs the queued tasks as long as there are free slots.
+  private void runQueuedTasks() {
+    while (true) {
+      QueuedTask queuedTask = admit();
+      if (queuedTask == null) {
+        return;
+      }
+      try {
+        queuedTask.executor.execute(queuedTask.runnable);
+      } catch (RejectedExecutionException e) {
+        // The task stays at the head of the queue and is retried when a slot is freed.
+        log.warn("Executor rejected task of type {}, requeueing it", queuedTask.taskType, e);
+        synchronized (this) {
+          release(queuedTask.taskType);
+          queue.add(queuedTask);
+          TASK_ADMISSION_QUEUED.labels(queuedTask.taskType.name()).inc();
+        }
+        return;
+      }
+      TASK_ADMISSION_WAIT_SEC
+          .labels(queuedTask.taskType.name())
+          .observe((System.nanoTime() - queuedTask.queuedNanos) / 1e9);
+    }
+  }
+
+  private static class QueuedTask {
+    final ExecutorService executor;
+    final UUID customerUUID;
+    final TaskType taskType;
+    final long queuedNanos = System.nanoTime();
+    Runnable runnable;
+    double finishTime;
+    long sequence;
+
+    QueuedTask(ExecutorService executor, UUID customerUUID, TaskType taskType) {
+      this.executor = executor;
+      this.customerUUID = customerUUID;
+      this.taskType = taskType;
+    }
+  }
+
+  private class AdmittingExecutor extends AbstractExecutorService {
+    private final ExecutorService executor;
+    private final UUID customerUUID;
+    private final TaskType taskType;
+
+    AdmittingExecutor(ExecutorService executor, UUID customerUUID, TaskType taskType) {
+      this.executor = executor;
+      this.customerUUID = customerUUID;
+      this.taskType = taskType;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      if (executor.isShutdown()) {
+        throw new RejectedExecutionException("Executor is shut down");
+      }
+      QueuedTask queuedTask = new QueuedTask(executor, customerUUID, taskType);
+      // The context of the submitter is captured as the task can be run from another thread.
+      Runnable runnable = new MDCAwareRunnable(command);
+      queuedTask.runnable =
+          () -> {
+            try {
+              runnable.run();
+            } finally {
+              release(taskType);
+              runQueuedTasks();
+            }
+          };
+      enqueue(queuedTask);
+      runQueuedTasks();
+    }
+
+    @Override
+    public void shutdown() {
+      throw new UnsupportedOperationException("Shutdown the underlying executor");
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      throw new UnsupportedOperationException("Shutdown the underlying executor");
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return executor.awaitTermination(timeout, unit);
+    }
+  }
+}
@@ -4,6 +4,7 @@ package com.yugabyte.yw.commissioner;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static com.yugabyte.yw.models.helpers.CommonUtils.getDurationSeconds;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -11,6 +12,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.api.client.util.Throwables;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Provider;
 import com.yugabyte.yw.commissioner.ITask.Abortable;
 import com.yugabyte.yw.commissioner.ITask.Retryable;
@@ -19,6 +21,7 @@ import com.yugabyte.yw.common.DrainableMap;
 import com.yugabyte.yw.common.ShutdownHookHandler;
 import com.yugabyte.yw.common.Util;
 import com.yugabyte.yw.common.ha.PlatformReplicationManager;
+import com.yugabyte.yw.common.logging.MDCAwareRunnable;
 import com.yugabyte.yw.common.password.RedactingService;
 import com.yugabyte.yw.forms.ITaskParams;
 import com.yugabyte.yw.models.CustomerTask;
@@ -30,11 +33,14 @@ import com.yugabyte.yw.models.helpers.CommonUtils;
 import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.TaskType;
 import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Histogram;
 import io.prometheus.client.Summary;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -42,13 +48,16 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -143,6 +152,14 @@ public class TaskExecutor {
 
   private final AtomicBoolean isShutdown = new AtomicBoolean();
 
+  // Waits for the subtask groups run concurrently when the groups have dependencies.
+  private final ExecutorService subTaskGroupWaiter =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setNameFormat("SubTaskGroupWaiter-%d")
+              .setDaemon(true)
+              .build());
+
   private final String taskOwner;
 
   // Skip or perform abortable check for subtasks.
@@ -169,6 +186,29 @@ public class TaskExecutor {
           KnownAlertLabels.TASK_TYPE.labelName(),
           KnownAlertLabels.RESULT.labelName());
 
+  // Per task type and per subtask class, so that the time of a long task can be broken down.
+  private static final Histogram TASK_DURATION_SEC =
+      buildHistogram(
+          "ybp_task_duration_seconds",
+          "Duration of task execution",
+          KnownAlertLabels.TASK_TYPE.labelName(),
+          KnownAlertLabels.RESULT.labelName());
+
+  private static final Histogram SUBTASK_DURATION_SEC =
+      buildHistogram(
+          "ybp_subtask_duration_seconds",
+          "Duration of subtask execution",
+          "subtask",
+          KnownAlertLabels.RESULT.labelName());
+
+  private static Histogram buildHistogram(
+      String name, String description, String... labelNames) {
+    return Histogram.build(name, description)
+        .buckets(0.1, 0.5, 1, 5, 10, 30, 60, 300, 600, 1800, 3600, 7200)
+        .labelNames(labelNames)
+        .register(CollectorRegistry.defaultRegistry);
+  }
+
   private static Summary buildSummary(String name, String description, String... labelNames) {
     return Summary.build(name, description)
         .quantile(0.5, 0.05)
@@ -519,6 +559,8 @@ public class TaskExecutor {
     // Optional executor service for the subtasks.
     private ExecutorService executorService;
     private SubTaskGroupType subTaskGroupType = SubTaskGroupType.Invalid;
+    // Groups to run before this one if dependencies are declared, else null.
+    private Set<SubTaskGroup> dependencies;
 
     // It is instantiated internally.
     private SubTaskGroup(String name, SubTaskGroupType subTaskGroupType, boolean ignoreErrors) {
@@ -562,6 +604,26 @@ public class TaskExecutor {
       return name;
     }
 
+    /**
+     * Declares the groups this group depends on. If any group of a task declares dependencies,
+     * the groups are run as a graph, each one as soon as its dependencies are done. A group
+     * without declared dependencies then depends on all the groups added before it, so the
+     * groups of existing tasks keep running in order. The dependencies must be added to the task
+     * before this group. Passing no group lets this group run right away.
+     *
+     * @param groups the groups which must be done before this group is run.
+     * @return this group.
+     */
+    public SubTaskGroup dependsOn(SubTaskGroup... groups) {
+      if (dependencies == null) {
+        dependencies = new HashSet<>();
+      }
+      for (SubTaskGroup group : groups) {
+        dependencies.add(checkNotNull(group, "Dependency must be non-null"));
+      }
+      return this;
+    }
+
     /** Returns the optional ExecutorService for the subtasks in this group. */
     private ExecutorService getSubTaskExecutorService() {
       return executorService;
@@ -582,6 +644,27 @@ public class TaskExecutor {
       }
     }
 
+    // Runs the subtasks and waits for them. A submission error is thrown after the wait.
+    private void runSubTasks(boolean abortOnFailure) {
+      try {
+        // This can throw rare exception on task submission error.
+        submitSubTasks();
+      } finally {
+        // Wait for already submitted subtasks.
+        waitForSubTasks(abortOnFailure);
+      }
+    }
+
+    // Cancels the submitted subtasks, which are then reported as aborted by the wait.
+    private void cancelSubTasks() {
+      for (RunnableSubTask runnable : subTasks) {
+        Future<?> future = runnable.future;
+        if (future != null) {
+          future.cancel(true);
+        }
+      }
+    }
+
     // Removes the completed subtask from the iterator.
     private void removeCompletedSubTask(
         Iterator<RunnableSubTask> taskIterator,
@@ -759,7 +842,7 @@ public class TaskExecutor {
     Instant taskCompletionTime;
 
     // Future of the task that is set after it is submitted to the ExecutorService.
-    Future<?> future = null;
+    volatile Future<?> future = null;
 
     protected AbstractRunnableTask(ITask task, TaskInfo taskInfo) {
       this.task = task;
@@ -845,6 +928,7 @@ public class TaskExecutor {
               getDurationSeconds(taskStartTime, taskCompletionTime));
         }
         writeTaskStateMetric(taskType, taskStartTime, taskCompletionTime, getTaskState());
+        writeDurationMetric(getDurationSeconds(taskStartTime, taskCompletionTime), getTaskState());
         task.terminate();
         publishAfterTask(t);
       }
@@ -879,6 +963,8 @@ public class TaskExecutor {
 
     protected abstract TaskExecutionListener getTaskExecutionListener();
 
+    protected abstract void writeDurationMetric(double durationSeconds, TaskInfo.State state);
+
     Duration getTimeLimit() {
       return timeLimit;
     }
@@ -1090,6 +1176,11 @@ public class TaskExecutor {
       return taskExecutionListenerRef.get();
     }
 
+    @Override
+    protected void writeDurationMetric(double durationSeconds, TaskInfo.State state) {
+      TASK_DURATION_SEC.labels(getTaskType().name(), state.name()).observe(durationSeconds);
+    }
+
     public synchronized void doHeartbeat() {
       log.trace("Heartbeating task {}", getTaskUUID());
       TaskInfo taskInfo = TaskInfo.getOrBadRequest(getTaskUUID());
@@ -1125,6 +1216,10 @@ public class TaskExecutor {
      * @param abortOnFailure boolean whether to abort peer subtasks on failure of one subtask.
      */
     public void runSubTasks(boolean abortOnFailure) {
+      if (subTaskGroups.stream().anyMatch(g -> g.dependencies != null)) {
+        runSubTaskGraph(abortOnFailure);
+        return;
+      }
       RuntimeException anyRe = null;
       Throwable throwable = null;
       try {
@@ -1142,15 +1237,9 @@ public class TaskExecutor {
           }
           checkNotNull(executorService, "ExecutorService must be set");
           try {
-            try {
-              // This can throw rare exception on task submission error.
-              subTaskGroup.submitSubTasks();
-            } finally {
-              // TODO Does it make sense to abort the task?
-              // There can be conflicts between aborted and failed task states.
-              // Wait for already submitted subtasks.
-              subTaskGroup.waitForSubTasks(abortOnFailure);
-            }
+            // TODO Does it make sense to abort the task?
+            // There can be conflicts between aborted and failed task states.
+            subTaskGroup.runSubTasks(abortOnFailure);
           } catch (CancellationException e) {
             throwable = e;
             throw new CancellationException(subTaskGroup.toString() + " is cancelled.");
@@ -1177,6 +1266,131 @@ public class TaskExecutor {
       }
     }
 
+    // Runs the subtask groups as a graph. Each group is run as soon as its dependencies are done,
+    // with a waiter thread per running group. Once a group fails without ignoreErrors, the groups
+    // not yet started are skipped and the running ones are waited for.
+    private void runSubTaskGraph(boolean abortOnFailure) {
+      List<SubTaskGroup> pendingGroups = new ArrayList<>(subTaskGroups);
+      Set<SubTaskGroup> doneGroups = new HashSet<>();
+      Set<SubTaskGroup> runningGroups = new HashSet<>();
+      BlockingQueue<SubTaskGroup> completedGroups = new LinkedBlockingQueue<>();
+      Map<SubTaskGroup, RuntimeException> groupErrors = new ConcurrentHashMap<>();
+      RuntimeException anyRe = null;
+      RuntimeException failure = null;
+      Throwable throwable = null;
+      try {
+        Map<SubTaskGroup, Set<SubTaskGroup>> dependencies = getDependencies(pendingGroups);
+        while (!runningGroups.isEmpty() || (failure == null && !pendingGroups.isEmpty())) {
+          boolean skippedEmptyGroup = false;
+          Iterator<SubTaskGroup> iter = pendingGroups.iterator();
+          while (failure == null && iter.hasNext()) {
+            SubTaskGroup subTaskGroup = iter.next();
+            if (!doneGroups.containsAll(dependencies.get(subTaskGroup))) {
+              continue;
+            }
+            iter.remove();
+            if (subTaskGroup.getSubTaskCount() == 0) {
+              doneGroups.add(subTaskGroup);
+              skippedEmptyGroup = true;
+              continue;
+            }
+            if (subTaskGroup.getSubTaskExecutorService() == null) {
+              subTaskGroup.setSubTaskExecutor(
+                  executorServiceProvider.getExecutorServiceFor(getTaskType()));
+            }
+            runningGroups.add(subTaskGroup);
+            subTaskGroupWaiter.execute(
+                new MDCAwareRunnable(
+                    () -> {
+                      try {
+                        subTaskGroup.runSubTasks(abortOnFailure);
+                      } catch (RuntimeException e) {
+                        groupErrors.put(subTaskGroup, e);
+                      } catch (Throwable t) {
+                        groupErrors.put(subTaskGroup, new RuntimeException(t));
+                      } finally {
+                        completedGroups.add(subTaskGroup);
+                      }
+                    }));
+          }
+          if (skippedEmptyGroup) {
+            // Groups depending on the empty groups can be ready now.
+            continue;
+          }
+          if (runningGroups.isEmpty()) {
+            break;
+          }
+          SubTaskGroup subTaskGroup;
+          try {
+            subTaskGroup = completedGroups.take();
+          } catch (InterruptedException e) {
+            // The running groups report their cancelled subtasks.
+            runningGroups.forEach(SubTaskGroup::cancelSubTasks);
+            if (failure == null) {
+              failure = new CancellationException(e.getMessage());
+            }
+            continue;
+          }
+          runningGroups.remove(subTaskGroup);
+          RuntimeException e = groupErrors.get(subTaskGroup);
+          try {
+            if (e == null) {
+              doneGroups.add(subTaskGroup);
+            } else if (e instanceof CancellationException) {
+              throwable = e;
+              if (failure == null) {
+                failure = new CancellationException(subTaskGroup.toString() + " is cancelled.");
+              }
+            } else {
+              throwable = e;
+              if (subTaskGroup.ignoreErrors) {
+                log.error("Ignoring error for " + subTaskGroup, e);
+                doneGroups.add(subTaskGroup);
+                anyRe = e;
+              } else if (failure == null) {
+                failure = new RuntimeException(subTaskGroup + " failed.", e);
+              }
+            }
+          } finally {
+            publishAfterSubtaskGroup(subTaskGroup.name, taskInfo, throwable);
+          }
+        }
+      } finally {
+        // Clear the subtasks so that new subtasks can be run from the clean state.
+        subTaskGroups.clear();
+        publishAfterParentTask(task.getClass().getSimpleName(), taskInfo, throwable);
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      if (anyRe != null) {
+        throw new RuntimeException("One or more SubTaskGroups failed while running.", anyRe);
+      }
+    }
+
+    // Returns the groups each group depends on. A group without declared dependencies depends on
+    // all the groups before it.
+    private Map<SubTaskGroup, Set<SubTaskGroup>> getDependencies(List<SubTaskGroup> groups) {
+      Map<SubTaskGroup, Set<SubTaskGroup>> dependencies = new HashMap<>();
+      Set<SubTaskGroup> previousGroups = new HashSet<>();
+      for (SubTaskGroup subTaskGroup : groups) {
+        if (subTaskGroup.dependencies == null) {
+          dependencies.put(subTaskGroup, new HashSet<>(previousGroups));
+        } else {
+          for (SubTaskGroup dependency : subTaskGroup.dependencies) {
+            checkState(
+                previousGroups.contains(dependency),
+                "%s depends on %s which is not added before it",
+                subTaskGroup,
+                dependency);
+          }
+          dependencies.put(subTaskGroup, subTaskGroup.dependencies);
+        }
+        previousGroups.add(subTaskGroup);
+      }
+      return dependencies;
+    }
+
     /**
      * Abort-aware wait function makes the current thread to wait until the timeout or the abort
      * signal is received. It can be a replacement for Thread.sleep in subtasks.
@@ -1261,6 +1475,13 @@ public class TaskExecutor {
       return parentRunnableTask == null ? null : parentRunnableTask.getTaskExecutionListener();
     }
 
+    @Override
+    protected void writeDurationMetric(double durationSeconds, TaskInfo.State state) {
+      SUBTASK_DURATION_SEC
+          .labels(task.getClass().getSimpleName(), state.name())
+          .observe(durationSeconds);
+    }
+
     public synchronized void setSubTaskGroupType(SubTaskGroupType subTaskGroupType) {
       if (taskInfo.getSubTaskGroupType() != subTaskGroupType) {
         taskInfo.setSubTaskGroupType(subTaskGroupType);
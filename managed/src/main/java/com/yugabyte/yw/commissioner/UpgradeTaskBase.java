@@ -15,6 +15,7 @@ import com.yugabyte.yw.common.PlacementInfoUtil;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.gflags.GFlagsUtil;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.Cluster;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.UserIntent;
 import com.yugabyte.yw.forms.UpgradeTaskParams;
 import com.yugabyte.yw.forms.UpgradeTaskParams.UpgradeOption;
@@ -25,6 +26,7 @@ import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.models.helpers.NodeDetails.NodeState;
 import com.yugabyte.yw.models.helpers.PlacementInfo.PlacementAZ;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -261,67 +263,88 @@ public abstract class UpgradeTaskBase extends UniverseDefinitionTaskBase {
       }
     }
 
-    for (NodeDetails node : nodes) {
-      Set<ServerType> processTypes = typesByNode.get(node);
-      List<NodeDetails> singletonNodeList = Collections.singletonList(node);
-      createSetNodeStateTask(node, nodeState).setSubTaskGroupType(subGroupType);
+    List<List<NodeDetails>> batches = getRollingUpgradeBatches(nodes, typesByNode);
+    if (batches.size() < nodes.size()) {
+      log.info("Restarting {} nodes in {} batches", nodes.size(), batches.size());
+    }
+    boolean skipWaitIfReady = taskParams().skipRestartWaitIfReady;
+    for (List<NodeDetails> batch : batches) {
+      // All the nodes of a batch run the same processes.
+      Set<ServerType> processTypes = typesByNode.get(batch.get(0));
+      createSetNodeStateTasks(batch, nodeState).setSubTaskGroupType(subGroupType);
       // Run pre node upgrade hooks
-      createHookTriggerTasks(singletonNodeList, true, true);
+      createHookTriggerTasks(batch, true, true);
       if (context.runBeforeStopping) {
-        rollingUpgradeLambda.run(singletonNodeList, processTypes);
+        rollingUpgradeLambda.run(batch, processTypes);
       }
 
-      stopProcessesOnNode(
-          node, processTypes, false, context.reconfigureMaster && activeRole, subGroupType);
+      if (batch.size() == 1) {
+        stopProcessesOnNode(
+            batch.get(0),
+            processTypes,
+            false,
+            context.reconfigureMaster && activeRole,
+            subGroupType);
+      } else {
+        // Batches never contain masters, so there is no quorum change to make.
+        if (processTypes.contains(ServerType.TSERVER)) {
+          addLeaderBlackListIfAvailable(batch, subGroupType);
+        }
+        for (ServerType processType : processTypes) {
+          createServerControlTasks(batch, processType, "stop").setSubTaskGroupType(subGroupType);
+        }
+      }
 
       if (!context.runBeforeStopping) {
-        rollingUpgradeLambda.run(singletonNodeList, processTypes);
+        rollingUpgradeLambda.run(batch, processTypes);
       }
 
       if (activeRole) {
         for (ServerType processType : processTypes) {
           if (!context.skipStartingProcesses) {
-            createServerControlTask(node, processType, "start").setSubTaskGroupType(subGroupType);
+            createServerControlTasks(batch, processType, "start")
+                .setSubTaskGroupType(subGroupType);
           }
           if (processType == ServerType.CONTROLLER) {
-            createWaitForYbcServerTask(new HashSet<>(singletonNodeList))
-                .setSubTaskGroupType(subGroupType);
+            createWaitForYbcServerTask(new HashSet<>(batch)).setSubTaskGroupType(subGroupType);
           } else {
-            createWaitForServersTasks(singletonNodeList, processType)
-                .setSubTaskGroupType(subGroupType);
-            if (processType.equals(ServerType.TSERVER) && node.isYsqlServer) {
-              createWaitForServersTasks(singletonNodeList, ServerType.YSQLSERVER)
+            createWaitForServersTasks(batch, processType).setSubTaskGroupType(subGroupType);
+            List<NodeDetails> ysqlNodes =
+                batch.stream().filter(node -> node.isYsqlServer).collect(Collectors.toList());
+            if (processType.equals(ServerType.TSERVER) && !ysqlNodes.isEmpty()) {
+              createWaitForServersTasks(ysqlNodes, ServerType.YSQLSERVER)
                   .setSubTaskGroupType(subGroupType);
             }
           }
 
           if (processType == ServerType.MASTER && context.reconfigureMaster) {
             // Add stopped master to the quorum.
-            createChangeConfigTask(node, true /* isAdd */, subGroupType);
+            createChangeConfigTask(batch.get(0), true /* isAdd */, subGroupType);
           }
           if (processType != ServerType.CONTROLLER) {
-            createWaitForServerReady(node, processType, getSleepTimeForProcess(processType))
+            createWaitForServersReadyTasks(
+                    batch, processType, getSleepTimeForProcess(processType), skipWaitIfReady)
                 .setSubTaskGroupType(subGroupType);
           }
         }
-        createWaitForKeyInMemoryTask(node).setSubTaskGroupType(subGroupType);
+        createWaitForKeyInMemoryTasks(batch).setSubTaskGroupType(subGroupType);
         // remove leader blacklist
         if (processTypes.contains(ServerType.TSERVER)) {
-          removeFromLeaderBlackListIfAvailable(Collections.singletonList(node), subGroupType);
+          removeFromLeaderBlackListIfAvailable(batch, subGroupType);
         }
         for (ServerType processType : processTypes) {
           if (processType != ServerType.CONTROLLER) {
-            createWaitForFollowerLagTask(node, processType).setSubTaskGroupType(subGroupType);
+            createWaitForFollowerLagTasks(batch, processType).setSubTaskGroupType(subGroupType);
           }
         }
       }
 
       if (context.postAction != null) {
-        context.postAction.accept(node);
+        batch.forEach(context.postAction);
       }
       // Run post node upgrade hooks
-      createHookTriggerTasks(singletonNodeList, false, true);
-      createSetNodeStateTask(node, NodeState.Live).setSubTaskGroupType(subGroupType);
+      createHookTriggerTasks(batch, false, true);
+      createSetNodeStateTasks(batch, NodeState.Live).setSubTaskGroupType(subGroupType);
     }
 
     if (!isLoadBalancerOn) {
@@ -330,6 +353,59 @@ public abstract class UpgradeTaskBase extends UniverseDefinitionTaskBase {
     }
   }
 
+  /**
+   * Splits the nodes of a rolling upgrade into batches of nodes restarted together. A batch holds
+   * up to maxParallelTServersPerAz nodes of the same zone running the same processes, and only
+   * tserver nodes of clusters where every zone holds at most one replica of a tablet (RF > 1 and at
+   * least RF zones) are batched, so a batch never takes more than one replica of a tablet down.
+   * Nodes running a master are always restarted alone. Batches follow the order of the nodes.
+   */
+  private List<List<NodeDetails>> getRollingUpgradeBatches(
+      Collection<NodeDetails> nodes, Map<NodeDetails, Set<ServerType>> typesByNode) {
+    int maxBatchSize = taskParams().maxParallelTServersPerAz;
+    if (maxBatchSize <= 1) {
+      return nodes.stream().map(Collections::singletonList).collect(Collectors.toList());
+    }
+    UniverseDefinitionTaskParams universeDetails = getUniverse().getUniverseDetails();
+    Map<UUID, Boolean> batchableClusters = new HashMap<>();
+    Map<List<Object>, List<NodeDetails>> batchByKey = new HashMap<>();
+    List<List<NodeDetails>> batches = new ArrayList<>();
+    for (NodeDetails node : nodes) {
+      Set<ServerType> processTypes = typesByNode.get(node);
+      boolean batchable =
+          !processTypes.contains(ServerType.MASTER)
+              && batchableClusters.computeIfAbsent(
+                  node.placementUuid, uuid -> isZoneFaultTolerant(universeDetails, uuid));
+      if (!batchable) {
+        batches.add(Collections.singletonList(node));
+        continue;
+      }
+      List<Object> key = Arrays.asList(node.placementUuid, node.azUuid, processTypes);
+      List<NodeDetails> batch = batchByKey.get(key);
+      if (batch == null || batch.size() >= maxBatchSize) {
+        batch = new ArrayList<>();
+        batchByKey.put(key, batch);
+        batches.add(batch);
+      }
+      batch.add(node);
+    }
+    return batches;
+  }
+
+  private boolean isZoneFaultTolerant(
+      UniverseDefinitionTaskParams universeDetails, UUID clusterUuid) {
+    Cluster cluster = universeDetails.getClusterByUuid(clusterUuid);
+    if (cluster == null || cluster.userIntent.replicationFactor <= 1) {
+      return false;
+    }
+    long zoneCount =
+        universeDetails.getNodesInCluster(clusterUuid).stream()
+            .map(node -> node.azUuid)
+            .distinct()
+            .count();
+    return zoneCount >= cluster.userIntent.replicationFactor;
+  }
+
   public void createNonRollingUpgradeTaskFlow(
       IUpgradeSubTask nonRollingUpgradeLambda,
       Pair<List<NodeDetails>, List<NodeDetails>> mastersAndTServers,
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ *     https://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1
+ * .0.0.txt
+ */
+
+package com.yugabyte.yw.commissioner;
+
+import static com.yugabyte.yw.common.metrics.MetricService.STATUS_NOT_OK;
+import static com.yugabyte.yw.common.metrics.MetricService.STATUS_OK;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.commissioner.tasks.XClusterConfigTaskBase;
+import com.yugabyte.yw.common.PlatformScheduler;
+import com.yugabyte.yw.common.metrics.MetricService;
+import com.yugabyte.yw.common.services.YBClientService;
+import com.yugabyte.yw.metrics.MetricQueryHelper;
+import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.XClusterConfig;
+import com.yugabyte.yw.models.XClusterTableConfig;
+import com.yugabyte.yw.models.filters.MetricFilter;
+import com.yugabyte.yw.models.helpers.KnownAlertLabels;
+import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import play.libs.Json;
+
+/**
+ * Refreshes replication lag and bootstrap required state of xCluster configs in the background,
+ * so that reads of the configs don't have to query Prometheus and the source universe masters.
+ * Configs which are healthy and unchanged are refreshed less and less often, up to the max
+ * refresh interval. Configs with problems, including replication lag above the alert threshold, or
+ * read recently, are refreshed on every run. Only running configs, whose universes exist, are
+ * refreshed in the background. Bootstrap required state is also saved as a platform metric, which
+ * the xCluster config alert is based on.
+ */
+@Singleton
+@Slf4j
+public class XClusterStatusMonitor {
+
+  static final String LAG_METRIC = "tserver_async_replication_lag_micros";
+
+  private static final String RUN_INTERVAL = "yb.xcluster.status_monitor.run_interval";
+  private static final String MAX_REFRESH_INTERVAL =
+      "yb.xcluster.status_monitor.max_refresh_interval";
+  private static final String MAX_STALENESS = "yb.xcluster.status_monitor.max_staleness";
+  private static final String MAX_HEALTHY_LAG_MS = "yb.alert.replication_lag_ms";
+
+  private final PlatformScheduler platformScheduler;
+  private final MetricQueryHelper metricQueryHelper;
+  private final YBClientService ybService;
+  private final MetricService metricService;
+  private final Config config;
+
+  private final Map<UUID, XClusterStatus> statuses = new ConcurrentHashMap<>();
+
+  // Time when each config was last read, to keep configs being looked at fresh.
+  private final Map<UUID, Long> readTimes = new ConcurrentHashMap<>();
+
+  @Inject
+  public XClusterStatusMonitor(
+      PlatformScheduler platformScheduler,
+      MetricQueryHelper metricQueryHelper,
+      YBClientService ybService,
+      MetricService metricService,
+      Config config) {
+    this.platformScheduler = platformScheduler;
+    this.metricQueryHelper = metricQueryHelper;
+    this.ybService = ybService;
+    this.metricService = metricService;
+    this.config = config;
+  }
+
+  public void start() {
+    platformScheduler.schedule(
+        getClass().getSimpleName(),
+        Duration.ZERO,
+        config.getDuration(RUN_INTERVAL),
+        this::scheduleRunner);
+  }
+
+  /**
+   * Returns the status of the config from the cache. The status is refreshed first when it is
+   * missing, older than the max staleness, or was collected for other tables or streams.
+   */
+  public XClusterStatus getStatus(XClusterConfig xClusterConfig) {
+    long now = System.currentTimeMillis();
+    readTimes.put(xClusterConfig.getUuid(), now);
+    XClusterStatus status = statuses.get(xClusterConfig.getUuid());
+    if (status == null
+        || now - status.getUpdateTime().getTime() > config.getDuration(MAX_STALENESS).toMillis()
+        || !status.getTableIds().equals(getRunningTableIds(xClusterConfig))
+        || !status.getStreamIds().equals(xClusterConfig.getStreamIdsWithReplicationSetup())) {
+      status = refresh(xClusterConfig, status, now);
+    }
+    return status;
+  }
+
+  private void scheduleRunner() {
+    scheduleRunner(System.currentTimeMillis());
+  }
+
+  @VisibleForTesting
+  void scheduleRunner(long now) {
+    List<XClusterConfig> xClusterConfigs = XClusterConfig.getAll();
+    Set<UUID> configUuids =
+        xClusterConfigs.stream().map(XClusterConfig::getUuid).collect(Collectors.toSet());
+    statuses.keySet().retainAll(configUuids);
+    readTimes.keySet().retainAll(configUuids);
+
+    List<Metric> metrics = new ArrayList<>();
+    for (XClusterConfig xClusterConfig : xClusterConfigs) {
+      if (!shouldRefresh(xClusterConfig)) {
+        // Paused, being changed or failed configs are only refreshed when read.
+        statuses.remove(xClusterConfig.getUuid());
+        continue;
+      }
+      try {
+        XClusterStatus status = statuses.get(xClusterConfig.getUuid());
+        if (status == null || status.getNextRefreshTime() <= now) {
+          status = refresh(xClusterConfig, status, now);
+        }
+        buildMetric(xClusterConfig, status).ifPresent(metrics::add);
+      } catch (Exception e) {
+        log.error("Failed to refresh status of XClusterConfig({})", xClusterConfig.getUuid(), e);
+      }
+    }
+    MetricFilter toClean =
+        MetricFilter.builder()
+            .metricNames(Collections.singletonList(PlatformMetrics.XCLUSTER_CONFIG_STATUS))
+            .build();
+    metricService.cleanAndSave(metrics, toClean);
+  }
+
+  private XClusterStatus refresh(
+      XClusterConfig xClusterConfig, XClusterStatus previous, long now) {
+    Set<String> tableIds = getRunningTableIds(xClusterConfig);
+    Set<String> streamIds = xClusterConfig.getStreamIdsWithReplicationSetup();
+    JsonNode lag = queryLag(xClusterConfig, streamIds);
+    Map<String, Boolean> isBootstrapRequiredMap = null;
+    try {
+      isBootstrapRequiredMap =
+          XClusterConfigTaskBase.isBootstrapRequired(ybService, tableIds, xClusterConfig);
+    } catch (Exception e) {
+      log.error("XClusterConfigTaskBase.isBootstrapRequired hit error : {}", e.getMessage());
+    }
+
+    boolean healthy = isLagHealthy(lag) && isHealthy(xClusterConfig, isBootstrapRequiredMap);
+    long runInterval = config.getDuration(RUN_INTERVAL).toMillis();
+    long refreshInterval = runInterval;
+    Long readTime = readTimes.get(xClusterConfig.getUuid());
+    boolean readRecently =
+        readTime != null
+            && now - readTime < config.getDuration(MAX_REFRESH_INTERVAL).toMillis();
+    if (healthy
+        && !readRecently
+        && previous != null
+        && previous.isHealthy()
+        && Objects.equals(previous.getIsBootstrapRequiredMap(), isBootstrapRequiredMap)) {
+      refreshInterval =
+          Math.min(
+              previous.getRefreshInterval() * 2,
+              config.getDuration(MAX_REFRESH_INTERVAL).toMillis());
+    }
+
+    XClusterStatus status =
+        new XClusterStatus(
+            tableIds,
+            streamIds,
+            lag,
+            isBootstrapRequiredMap,
+            healthy,
+            new Date(now),
+            refreshInterval,
+            now + refreshInterval);
+    statuses.put(xClusterConfig.getUuid(), status);
+    return status;
+  }
+
+  private JsonNode queryLag(XClusterConfig xClusterConfig, Set<String> streamIds) {
+    try {
+      log.info(
+          "Querying lag metrics for XClusterConfig({}) using CDC stream IDs: {}",
+          xClusterConfig.getUuid(),
+          streamIds);
+
+      // Query for replication lag
+      Map<String, String> metricParams = new HashMap<>();
+      metricParams.put("metrics[0]", LAG_METRIC);
+      String startTime = Long.toString(Instant.now().minus(Duration.ofMinutes(1)).getEpochSecond());
+      metricParams.put("start", startTime);
+      ObjectNode filterJson = Json.newObject();
+      Universe sourceUniverse = Universe.getOrBadRequest(xClusterConfig.getSourceUniverseUUID());
+      String nodePrefix = sourceUniverse.getUniverseDetails().nodePrefix;
+      filterJson.put("node_prefix", nodePrefix);
+      String streamIdFilter = String.join("|", streamIds);
+      filterJson.put("stream_id", streamIdFilter);
+      metricParams.put("filters", Json.stringify(filterJson));
+      return metricQueryHelper.query(
+          Collections.singletonList(LAG_METRIC), metricParams, Collections.emptyMap());
+    } catch (Exception e) {
+      String errorMsg =
+          String.format(
+              "Failed to get lag metric data for XClusterConfig(%s): %s",
+              xClusterConfig.getUuid(), e.getMessage());
+      log.error(errorMsg);
+      return Json.newObject().put("error", errorMsg);
+    }
+  }
+
+  private static boolean shouldRefresh(XClusterConfig xClusterConfig) {
+    return xClusterConfig.getStatus() == XClusterConfig.XClusterConfigStatusType.Running
+        && xClusterConfig.getSourceUniverseUUID() != null
+        && xClusterConfig.getTargetUniverseUUID() != null
+        && Universe.maybeGet(xClusterConfig.getSourceUniverseUUID()).isPresent()
+        && Universe.maybeGet(xClusterConfig.getTargetUniverseUUID()).isPresent();
+  }
+
+  /** Lag is healthy if it was fetched and none of the values is above the lag alert threshold. */
+  private boolean isLagHealthy(JsonNode lag) {
+    JsonNode lagMetric = lag.path(LAG_METRIC);
+    if (lag.has("error") || lagMetric.has("error")) {
+      return false;
+    }
+    long maxHealthyLagMs = config.getLong(MAX_HEALTHY_LAG_MS);
+    for (JsonNode series : lagMetric.path("data")) {
+      for (JsonNode value : series.path("y")) {
+        try {
+          if (Double.parseDouble(value.asText()) > maxHealthyLagMs) {
+            return false;
+          }
+        } catch (NumberFormatException e) {
+          // Missing samples are not a sign of lag.
+        }
+      }
+    }
+    return true;
+  }
+
+  private Optional<Metric> buildMetric(XClusterConfig xClusterConfig, XClusterStatus status) {
+    // Unknown state is not reported, so that failures to reach the masters don't raise the alert.
+    if (status.getIsBootstrapRequiredMap() == null) {
+      return Optional.empty();
+    }
+    Optional<Universe> sourceUniverse =
+        Universe.maybeGet(xClusterConfig.getSourceUniverseUUID());
+    if (!sourceUniverse.isPresent()) {
+      return Optional.empty();
+    }
+    boolean bootstrapRequired = isBootstrapRequired(xClusterConfig, status);
+    return Optional.of(
+        MetricService.buildMetricTemplate(
+                PlatformMetrics.XCLUSTER_CONFIG_STATUS, sourceUniverse.get())
+            .setKeyLabel(KnownAlertLabels.XCLUSTER_CONFIG_UUID, xClusterConfig.getUuid().toString())
+            .setLabel(KnownAlertLabels.XCLUSTER_CONFIG_NAME, xClusterConfig.getName())
+            .setValue(bootstrapRequired ? STATUS_NOT_OK : STATUS_OK));
+  }
+
+  private static boolean isHealthy(
+      XClusterConfig xClusterConfig, Map<String, Boolean> isBootstrapRequiredMap) {
+    return isBootstrapRequiredMap != null
+        && !getTableIdsInErrorStatus(xClusterConfig, isBootstrapRequiredMap).isPresent();
+  }
+
+  private static boolean isBootstrapRequired(XClusterConfig xClusterConfig, XClusterStatus status) {
+    return getTableIdsInErrorStatus(xClusterConfig, status.getIsBootstrapRequiredMap())
+        .isPresent();
+  }
+
+  /**
+   * Returns the ids of the tables, which require bootstrap, or empty if there are none. All the
+   * running tables of a transactional config are in error if its transaction status table is.
+   */
+  public static Optional<Set<String>> getTableIdsInErrorStatus(
+      XClusterConfig xClusterConfig, Map<String, Boolean> isBootstrapRequiredMap) {
+    boolean isTxnTableInErrorStatus =
+        xClusterConfig.getType().equals(XClusterConfig.ConfigType.Txn)
+            && (Objects.isNull(
+                    isBootstrapRequiredMap.get(xClusterConfig.getTxnTableConfig().getTableId()))
+                || isBootstrapRequiredMap.get(xClusterConfig.getTxnTableConfig().getTableId()));
+    Set<String> tableIdsInErrorStatus =
+        isBootstrapRequiredMap.entrySet().stream()
+            .filter(e -> e.getValue() || isTxnTableInErrorStatus)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+    return tableIdsInErrorStatus.isEmpty()
+        ? Optional.empty()
+        : Optional.of(tableIdsInErrorStatus);
+  }
+
+  private static Set<String> getRunningTableIds(XClusterConfig xClusterConfig) {
+    return xClusterConfig.getTableIdsInStatus(
+        xClusterConfig.getTableIds(true /* includeTxnTableIfExists */),
+        XClusterTableConfig.Status.Running);
+  }
+
+  /** Lag and bootstrap required state of an xCluster config, as of the update time. */
+  @Value
+  public static class XClusterStatus {
+    Set<String> tableIds;
+    Set<String> streamIds;
+    JsonNode lag;
+    // Null when it could not be fetched from the source universe.
+    Map<String, Boolean> isBootstrapRequiredMap;
+    boolean healthy;
+    Date updateTime;
+    long refreshInterval;
+    long nextRefreshTime;
+  }
+}
@@ -129,6 +129,7 @@ import com.yugabyte.yw.forms.EncryptionAtRestConfig.OpType;
 import com.yugabyte.yw.forms.ITaskParams;
 import com.yugabyte.yw.forms.RestoreBackupParams;
 import com.yugabyte.yw.forms.RestoreBackupParams.BackupStorageInfo;
+import com.yugabyte.yw.forms.RestoreBackupParams.ParallelRestoreState;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.Cluster;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.UserIntent;
@@ -1371,14 +1372,20 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
   }
 
   public SubTaskGroup createWaitForKeyInMemoryTask(NodeDetails node) {
+    return createWaitForKeyInMemoryTasks(Collections.singletonList(node));
+  }
+
+  public SubTaskGroup createWaitForKeyInMemoryTasks(Collection<NodeDetails> nodes) {
     SubTaskGroup subTaskGroup = createSubTaskGroup("WaitForEncryptionKeyInMemory");
-    WaitForEncryptionKeyInMemory.Params params = new WaitForEncryptionKeyInMemory.Params();
-    params.setUniverseUUID(taskParams().getUniverseUUID());
-    params.nodeAddress = HostAndPort.fromParts(node.cloudInfo.private_ip, node.masterRpcPort);
-    params.nodeName = node.nodeName;
-    WaitForEncryptionKeyInMemory task = createTask(WaitForEncryptionKeyInMemory.class);
-    task.initialize(params);
-    subTaskGroup.addSubTask(task);
+    for (NodeDetails node : nodes) {
+      WaitForEncryptionKeyInMemory.Params params = new WaitForEncryptionKeyInMemory.Params();
+      params.setUniverseUUID(taskParams().getUniverseUUID());
+      params.nodeAddress = HostAndPort.fromParts(node.cloudInfo.private_ip, node.masterRpcPort);
+      params.nodeName = node.nodeName;
+      WaitForEncryptionKeyInMemory task = createTask(WaitForEncryptionKeyInMemory.class);
+      task.initialize(params);
+      subTaskGroup.addSubTask(task);
+    }
     getRunnableTask().addSubTaskGroup(subTaskGroup);
     return subTaskGroup;
   }
@@ -1417,15 +1424,37 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
    */
   public SubTaskGroup createWaitForServerReady(
       NodeDetails node, ServerType serverType, int sleepTimeMs) {
+    return createWaitForServersReadyTasks(
+        Collections.singletonList(node), serverType, sleepTimeMs, false);
+  }
+
+  /**
+   * Create tasks to check in parallel if a specific process is ready to serve requests on the given
+   * nodes.
+   *
+   * @param nodes nodes for which the check needs to be executed.
+   * @param serverType server process type on the nodes to the check.
+   * @param sleepTimeMs default sleep time if server does not support check for readiness.
+   * @param skipWaitIfReady do not sleep for the rest of sleepTimeMs once the server is ready.
+   * @return SubTaskGroup
+   */
+  public SubTaskGroup createWaitForServersReadyTasks(
+      Collection<NodeDetails> nodes,
+      ServerType serverType,
+      int sleepTimeMs,
+      boolean skipWaitIfReady) {
     SubTaskGroup subTaskGroup = createSubTaskGroup("WaitForServerReady");
-    WaitForServerReady.Params params = new WaitForServerReady.Params();
-    params.setUniverseUUID(taskParams().getUniverseUUID());
-    params.nodeName = node.nodeName;
-    params.serverType = serverType;
-    params.waitTimeMs = sleepTimeMs;
-    WaitForServerReady task = createTask(WaitForServerReady.class);
-    task.initialize(params);
-    subTaskGroup.addSubTask(task);
+    for (NodeDetails node : nodes) {
+      WaitForServerReady.Params params = new WaitForServerReady.Params();
+      params.setUniverseUUID(taskParams().getUniverseUUID());
+      params.nodeName = node.nodeName;
+      params.serverType = serverType;
+      params.waitTimeMs = sleepTimeMs;
+      params.skipWaitIfReady = skipWaitIfReady;
+      WaitForServerReady task = createTask(WaitForServerReady.class);
+      task.initialize(params);
+      subTaskGroup.addSubTask(task);
+    }
     getRunnableTask().addSubTaskGroup(subTaskGroup);
     return subTaskGroup;
   }
@@ -1438,15 +1467,30 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
    * @return SubTaskGroup
    */
   public SubTaskGroup createWaitForFollowerLagTask(NodeDetails node, ServerType serverType) {
+    return createWaitForFollowerLagTasks(Collections.singletonList(node), serverType);
+  }
+
+  /**
+   * Create tasks to check in parallel if a specific process is caught up to other processes on the
+   * given nodes.
+   *
+   * @param nodes nodes for which the check needs to be executed.
+   * @param serverType server process type on the nodes to the check.
+   * @return SubTaskGroup
+   */
+  public SubTaskGroup createWaitForFollowerLagTasks(
+      Collection<NodeDetails> nodes, ServerType serverType) {
     SubTaskGroup subTaskGroup = createSubTaskGroup("WaitForLeaderBlacklistCompletion");
-    WaitForFollowerLag.Params params = new WaitForFollowerLag.Params();
-    params.setUniverseUUID(taskParams().getUniverseUUID());
-    params.serverType = serverType;
-    params.node = node;
-    params.nodeName = node.nodeName;
-    WaitForFollowerLag task = createTask(WaitForFollowerLag.class);
-    task.initialize(params);
-    subTaskGroup.addSubTask(task);
+    for (NodeDetails node : nodes) {
+      WaitForFollowerLag.Params params = new WaitForFollowerLag.Params();
+      params.setUniverseUUID(taskParams().getUniverseUUID());
+      params.serverType = serverType;
+      params.node = node;
+      params.nodeName = node.nodeName;
+      WaitForFollowerLag task = createTask(WaitForFollowerLag.class);
+      task.initialize(params);
+      subTaskGroup.addSubTask(task);
+    }
     getRunnableTask().addSubTaskGroup(subTaskGroup);
     return subTaskGroup;
   }
@@ -2399,7 +2443,24 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
       }
     }
 
-    if (isYbc) {
+    if (isYbc && restoreBackupParams.parallelDBRestores > 1) {
+      // Keys of all the keyspaces are restored first, as data restores of any of them may need
+      // them, and data restores then run in a single group.
+      for (BackupStorageInfo backupStorageInfo : restoreBackupParams.backupStorageInfoList) {
+        ParallelRestoreState restoreState =
+            restoreBackupParams.restoreDBStates.get(backupStorageInfo.storageLocation);
+        if (restoreState == null
+            || (restoreState.currentYbcTaskId == null && !restoreState.completed)) {
+          RestoreBackupParams restoreKeyParams =
+              BackupUtil.createRestoreKeyParams(restoreBackupParams, backupStorageInfo);
+          if (restoreKeyParams != null) {
+            createEncryptedUniverseKeyRestoreTaskYbc(restoreKeyParams)
+                .setSubTaskGroupType(subTaskGroupType);
+          }
+        }
+      }
+      createRestoreBackupYbcTasks(restoreBackupParams).setSubTaskGroupType(subTaskGroupType);
+    } else if (isYbc) {
       String currentYbcTaskId = restoreBackupParams.currentYbcTaskId;
       int idx = 0;
       for (BackupStorageInfo backupStorageInfo : restoreBackupParams.backupStorageInfoList) {
@@ -2568,6 +2629,40 @@ public abstract class UniverseTaskBase extends AbstractTaskBase {
     return subTaskGroup;
   }
 
+  public SubTaskGroup createRestoreBackupYbcTasks(RestoreBackupParams restoreBackupParams) {
+    SubTaskGroup subTaskGroup = createSubTaskGroup("RestoreBackupYbc");
+    YbcBackupNodeRetriever nodeRetriever =
+        new YbcBackupNodeRetriever(
+            restoreBackupParams.getUniverseUUID(), restoreBackupParams.parallelDBRestores);
+    nodeRetriever.initializeNodePoolForRestores(restoreBackupParams.restoreDBStates);
+    int idx = 0;
+    for (BackupStorageInfo backupStorageInfo : restoreBackupParams.backupStorageInfoList) {
+      ParallelRestoreState restoreState =
+          restoreBackupParams.restoreDBStates.get(backupStorageInfo.storageLocation);
+      if (restoreState == null || !restoreState.completed) {
+        RestoreBackupYbc task = createTask(RestoreBackupYbc.class);
+        RestoreBackupYbc.Params restoreParams =
+            new RestoreBackupYbc.Params(
+                new RestoreBackupParams(
+                    restoreBackupParams,
+                    backupStorageInfo,
+                    RestoreBackupParams.ActionType.RESTORE));
+        restoreParams.index = idx;
+        restoreParams.nodeRetriever = nodeRetriever;
+        if (restoreState != null) {
+          restoreParams.nodeIp = restoreState.nodeIp;
+          restoreParams.currentYbcTaskId = restoreState.currentYbcTaskId;
+        }
+        task.initialize(restoreParams);
+        task.setUserTaskUUID(userTaskUUID);
+        subTaskGroup.addSubTask(task);
+      }
+      idx++;
+    }
+    getRunnableTask().addSubTaskGroup(subTaskGroup);
+    return subTaskGroup;
+  }
+
   public SubTaskGroup createDeleteBackupTasks(List<Backup> backups, UUID customerUUID) {
     SubTaskGroup subTaskGroup = createSubTaskGroup("DeleteBackup");
     for (Backup backup : backups) {
@@ -14,13 +14,12 @@ import com.google.inject.Inject;
 import com.yugabyte.yw.commissioner.AbstractTaskBase;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
 import com.yugabyte.yw.commissioner.UserTaskDetails;
+import com.yugabyte.yw.common.KubernetesManager;
 import com.yugabyte.yw.common.KubernetesManagerFactory;
 import com.yugabyte.yw.forms.AbstractTaskParams;
 import com.yugabyte.yw.models.Provider;
 import com.yugabyte.yw.models.helpers.CloudInfoInterface;
 import io.fabric8.kubernetes.api.model.Pod;
-import io.fabric8.kubernetes.api.model.PodCondition;
-import io.fabric8.kubernetes.api.model.PodStatus;
 import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
@@ -80,59 +79,47 @@ public class KubernetesWaitForPod extends AbstractTaskBase {
     // TODO: add checks for the shell process handler return values.
     switch (taskParams().commandType) {
       case WAIT_FOR_POD:
-        int iters = 0;
+        KubernetesManager kubernetesManager = kubernetesManagerFactory.getManager();
         boolean podReady;
-        do {
-          podReady = isPodReady();
-          iters++;
-          if (podReady) {
-            break;
-          }
-
-          waitFor(Duration.ofSeconds(getSleepMultiplier() * SLEEP_TIME));
-        } while ((!podReady) && (iters < MAX_ITERS));
-        if (iters > MAX_ITERS) {
+        if (kubernetesManager.canWatchPods()) {
+          // Completes as soon as an event shows the pod ready instead of polling for it.
+          Duration timeout = Duration.ofSeconds(getSleepMultiplier() * SLEEP_TIME * MAX_ITERS);
+          podReady =
+              kubernetesManager.waitForPodReady(
+                  getConfig(), taskParams().namespace, taskParams().podName, timeout);
+        } else {
+          // Polled here rather than in the manager, so that the wait can be aborted.
+          int iters = 0;
+          do {
+            podReady = isPodReady(kubernetesManager);
+            iters++;
+            if (podReady) {
+              break;
+            }
+
+            waitFor(Duration.ofSeconds(getSleepMultiplier() * SLEEP_TIME));
+          } while (iters < MAX_ITERS);
+        }
+        if (!podReady) {
           throw new RuntimeException("Pod " + taskParams().podName + " creation taking too long.");
         }
         break;
     }
   }
 
-  // Waits for pods as well as the containers inside the pod.
-  private boolean isPodReady() {
+  private Map<String, String> getConfig() {
     Map<String, String> config = taskParams().config;
     if (taskParams().config == null) {
       Provider provider = Provider.getOrBadRequest(taskParams().providerUUID);
       config = CloudInfoInterface.fetchEnvVars(provider);
     }
+    return config;
+  }
 
+  // Waits for pods as well as the containers inside the pod.
+  private boolean isPodReady(KubernetesManager kubernetesManager) {
     Pod podObject =
-        kubernetesManagerFactory
-            .getManager()
-            .getPodObject(config, taskParams().namespace, taskParams().podName);
-    if (podObject == null) {
-      return false;
-    }
-    PodStatus podStatus = podObject.getStatus();
-
-    // This is to verify that we are not getting pods that are already
-    // marked for deletion but in Running state.
-    if (podObject.getMetadata().getDeletionTimestamp() != null) {
-      // Relevant post: https://issue.k8s.io/61376#issuecomment-374437926
-      LOG.info("Pod has valid deletion timestamp");
-      return false;
-    }
-    String status = podStatus.getPhase();
-    if (!("Running".equalsIgnoreCase(status))) {
-      return false;
-    }
-
-    for (PodCondition condition : podStatus.getConditions()) {
-      if (condition.getStatus().equals("False")) {
-        return false;
-      }
-    }
-
-    return true;
+        kubernetesManager.getPodObject(getConfig(), taskParams().namespace, taskParams().podName);
+    return KubernetesManager.isPodReady(podObject);
   }
 }
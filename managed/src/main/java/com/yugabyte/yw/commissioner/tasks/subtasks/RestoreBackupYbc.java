@@ -3,26 +3,31 @@ package com.yugabyte.yw.commissioner.tasks.subtasks;
 import static play.mvc.Http.Status.BAD_REQUEST;
 import static play.mvc.Http.Status.INTERNAL_SERVER_ERROR;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.client.util.Throwables;
 import com.yugabyte.yw.commissioner.BaseTaskDependencies;
 import com.yugabyte.yw.commissioner.TaskExecutor;
+import com.yugabyte.yw.commissioner.TaskExecutor.RunnableTask;
 import com.yugabyte.yw.commissioner.YbcTaskBase;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.services.YbcClientService;
 import com.yugabyte.yw.common.utils.Pair;
+import com.yugabyte.yw.common.ybc.YbcBackupNodeRetriever;
 import com.yugabyte.yw.common.ybc.YbcBackupUtil;
 import com.yugabyte.yw.common.ybc.YbcBackupUtil.YbcBackupResponse;
 import com.yugabyte.yw.common.ybc.YbcManager;
 import com.yugabyte.yw.forms.RestoreBackupParams;
 import com.yugabyte.yw.forms.RestoreBackupParams.BackupStorageInfo;
+import com.yugabyte.yw.forms.RestoreBackupParams.ParallelRestoreState;
 import com.yugabyte.yw.models.Restore;
 import com.yugabyte.yw.models.RestoreKeyspace;
 import com.yugabyte.yw.models.TaskInfo;
 import com.yugabyte.yw.models.helpers.TaskType;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -56,6 +61,9 @@ public class RestoreBackupYbc extends YbcTaskBase {
   public static class Params extends RestoreBackupParams {
     public int index;
 
+    // Set when keyspaces are restored in parallel, to take the orchestrator node from.
+    @JsonIgnore public YbcBackupNodeRetriever nodeRetriever;
+
     public Params(RestoreBackupParams params) {
       super(params);
     }
@@ -82,13 +90,24 @@ public class RestoreBackupYbc extends YbcTaskBase {
 
     RestoreBackupParams restoreBackupParams =
         Json.fromJson(taskInfo.getDetails(), RestoreBackupParams.class);
-    if (isResumable) {
+    boolean isParallel = taskParams().nodeRetriever != null;
+    if (isParallel) {
+      taskId = taskParams().currentYbcTaskId;
+      nodeIp = taskParams().nodeIp;
+    } else if (isResumable) {
       taskId = restoreBackupParams.currentYbcTaskId;
       nodeIp = restoreBackupParams.nodeIp;
     }
 
     try {
-      if (StringUtils.isBlank(nodeIp)) {
+      if (isParallel) {
+        // Wait on node-ip
+        if (StringUtils.isBlank(nodeIp)) {
+          nodeIp = taskParams().nodeRetriever.getNodeIpForBackup();
+        }
+        taskParams().nodeIp = nodeIp;
+        ybcClient = ybcManager.getYbcClient(taskParams().getUniverseUUID(), nodeIp);
+      } else if (StringUtils.isBlank(nodeIp)) {
         Pair<YbcClient, String> clientIPPair =
             ybcManager.getAvailableYbcClientIpPair(taskParams().getUniverseUUID(), null);
         ybcClient = clientIPPair.getFirst();
@@ -98,6 +117,9 @@ public class RestoreBackupYbc extends YbcTaskBase {
       }
     } catch (PlatformServiceException e) {
       log.error("Could not generate YB-Controller client, error: %s", e.getMessage());
+      if (isParallel) {
+        taskParams().nodeRetriever.putNodeIPBackToPool(nodeIp);
+      }
       Throwables.propagate(e);
     }
 
@@ -179,7 +201,13 @@ public class RestoreBackupYbc extends YbcTaskBase {
           Throwables.propagate(e);
         }
       }
-      if (isResumable) {
+      if (isParallel && isResumable) {
+        String submittedTaskId = taskId;
+        String submittedNodeIp = nodeIp;
+        updateRestoreDBState(
+            backupStorageInfo.storageLocation,
+            state -> state.setIntermediate(submittedNodeIp, submittedTaskId));
+      } else if (isResumable) {
         restoreBackupParams.currentYbcTaskId = taskId;
         restoreBackupParams.currentIdx = taskParams().index;
         restoreBackupParams.nodeIp = nodeIp;
@@ -190,7 +218,10 @@ public class RestoreBackupYbc extends YbcTaskBase {
       try {
         pollTaskProgress(ybcClient, taskId);
         handleBackupResult(taskId);
-        if (isResumable) {
+        if (isParallel && isResumable) {
+          updateRestoreDBState(
+              backupStorageInfo.storageLocation, ParallelRestoreState::resetOnComplete);
+        } else if (isResumable) {
           restoreBackupParams.currentYbcTaskId = null;
           restoreBackupParams.nodeIp = null;
           restoreBackupParams.currentIdx++;
@@ -230,6 +261,24 @@ public class RestoreBackupYbc extends YbcTaskBase {
       if (ybcClient != null) {
         ybcService.closeClient(ybcClient);
       }
+      if (isParallel && StringUtils.isNotBlank(taskParams().nodeIp)) {
+        taskParams().nodeRetriever.putNodeIPBackToPool(taskParams().nodeIp);
+      }
+    }
+  }
+
+  // Keyspaces restored in parallel share the details of the user task, so the details are read
+  // again and updated while holding the lock of the task.
+  private void updateRestoreDBState(String storageLocation, Consumer<ParallelRestoreState> update) {
+    RunnableTask runnableTask = getRunnableTask();
+    synchronized (runnableTask) {
+      RestoreBackupParams restoreBackupParams =
+          Json.fromJson(
+              TaskInfo.getOrBadRequest(userTaskUUID).getDetails(), RestoreBackupParams.class);
+      update.accept(
+          restoreBackupParams.restoreDBStates.computeIfAbsent(
+              storageLocation, k -> new ParallelRestoreState()));
+      runnableTask.setTaskDetails(Json.toJson(restoreBackupParams));
     }
   }
 
@@ -43,6 +43,8 @@ public class WaitForServerReady extends ServerSubTaskBase {
   public static class Params extends ServerSubTaskParams {
     // Time to wait (as a backup) in case the server does not support is-ready check rpc.
     public int waitTimeMs;
+    // Skip the backup wait once the server reports all its tablets running.
+    public boolean skipWaitIfReady;
   }
 
   @Override
@@ -77,6 +79,7 @@ public class WaitForServerReady extends ServerSubTaskBase {
     boolean isMasterTask = taskParams().serverType == ServerType.MASTER;
 
     IsServerReadyResponse response = null;
+    boolean ready = false;
     YBClient client = getClient();
     try {
       while (true) {
@@ -94,6 +97,7 @@ public class WaitForServerReady extends ServerSubTaskBase {
               taskParams().serverType,
               taskParams().nodeName,
               numIters);
+          ready = true;
           break;
         }
 
@@ -128,6 +132,9 @@ public class WaitForServerReady extends ServerSubTaskBase {
       closeClient(client);
     }
 
+    if (ready && taskParams().skipWaitIfReady) {
+      return;
+    }
     // Sleep for the remaining portion of user specified time, if any.
     sleepRemaining(userWaitTimeMs, numIters);
   }
@@ -150,6 +150,15 @@ public class AccessKeyRotationUtil {
   // returns null if expiration is disabled and not set
   // calculates minimum over all clusters
   public Double getSSHKeyExpiryDays(Universe universe, Map<AccessKeyId, AccessKey> allAccessKeys) {
+    Long expiryTime = getSSHKeyExpiryTime(universe, allAccessKeys);
+    if (expiryTime == null) {
+      return null;
+    }
+    return (double) TimeUnit.MILLISECONDS.toDays(expiryTime - System.currentTimeMillis());
+  }
+
+  /** @return time in millis when the first of the universe SSH keys expires, or null. */
+  public Long getSSHKeyExpiryTime(Universe universe, Map<AccessKeyId, AccessKey> allAccessKeys) {
 
     boolean expirationEnabled =
         confGetter.getConfForScope(universe, UniverseConfKeys.enableSshKeyExpiration);
@@ -169,19 +178,17 @@ public class AccessKeyRotationUtil {
       return null;
     }
 
-    long timeToExpiry = Long.MAX_VALUE;
-    long currentTime = System.currentTimeMillis();
+    long expiryTime = Long.MAX_VALUE;
     for (AccessKey clusterAccessKey : universeAccessKeys) {
       if (clusterAccessKey.getExpirationDate() != null) {
-        timeToExpiry =
-            Math.min(timeToExpiry, clusterAccessKey.getExpirationDate().getTime() - currentTime);
+        expiryTime = Math.min(expiryTime, clusterAccessKey.getExpirationDate().getTime());
       } else if (expirationEnabled) {
         Date expirationDate =
             DateUtils.addDays(clusterAccessKey.getCreationDate(), expirationThresholdDays);
-        timeToExpiry = Math.min(timeToExpiry, expirationDate.getTime() - currentTime);
+        expiryTime = Math.min(expiryTime, expirationDate.getTime());
       }
     }
-    return (double) TimeUnit.MILLISECONDS.toDays(timeToExpiry);
+    return expiryTime;
   }
 
   // ideally a universe should have the same access key for all clusters
@@ -22,6 +22,7 @@ import com.yugabyte.yw.common.alerts.AlertChannelTemplateService;
 import com.yugabyte.yw.common.alerts.AlertConfigurationService;
 import com.yugabyte.yw.common.alerts.AlertDestinationService;
 import com.yugabyte.yw.common.alerts.AlertNotificationContext;
+import com.yugabyte.yw.common.alerts.AlertNotificationDispatcher;
 import com.yugabyte.yw.common.alerts.AlertNotificationReport;
 import com.yugabyte.yw.common.alerts.AlertService;
 import com.yugabyte.yw.common.alerts.AlertUtils;
@@ -44,15 +45,20 @@ import com.yugabyte.yw.models.helpers.PlatformMetrics;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
@@ -74,6 +80,10 @@ public class AlertManager {
   private final AlertChannelManager channelsManager;
   private final AlertService alertService;
   private final MetricService metricService;
+  private final AlertNotificationDispatcher notificationDispatcher;
+
+  // Alerts, which have notifications queued or being delivered.
+  private final Set<UUID> alertsInFlight = ConcurrentHashMap.newKeySet();
 
   @Inject
   public AlertManager(
@@ -84,7 +94,8 @@ public class AlertManager {
       AlertChannelTemplateService alertChannelTemplateService,
       AlertDestinationService alertDestinationService,
       AlertChannelManager channelsManager,
-      MetricService metricService) {
+      MetricService metricService,
+      AlertNotificationDispatcher notificationDispatcher) {
     this.emailHelper = emailHelper;
     this.alertService = alertService;
     this.alertConfigurationService = alertConfigurationService;
@@ -93,6 +104,7 @@ public class AlertManager {
     this.alertDestinationService = alertDestinationService;
     this.channelsManager = channelsManager;
     this.metricService = metricService;
+    this.notificationDispatcher = notificationDispatcher;
   }
 
   private NotificationStrategy getNotificationStrategy(Alert alert) {
@@ -134,67 +146,115 @@ public class AlertManager {
   @VisibleForTesting
   boolean sendNotificationForState(
       Alert alert, State state, AlertNotificationReport report, AlertNotificationContext context) {
-    SendNotificationStatus result = SendNotificationStatus.FAILED_TO_RESCHEDULE;
+    return sendNotificationForStateAsync(alert, state, report, context).join();
+  }
+
+  private CompletableFuture<Boolean> sendNotificationForStateAsync(
+      Alert alert, State state, AlertNotificationReport report, AlertNotificationContext context) {
+    boolean raise = state != State.RESOLVED;
+    CompletableFuture<SendNotificationResult> sent;
     try {
-      result = sendNotification(alert, state, report).getStatus();
-      if (result == SendNotificationStatus.FAILED_NO_RESCHEDULE) {
-        // Failed, no reschedule is required.
-        alert.setNextNotificationTime(null);
-        alert.save();
-        report.failAttempt();
-        return false;
+      sent = sendNotification(alert, state, report, true);
+    } catch (Exception e) {
+      sent = failedFuture(e);
+    }
+    return sent.handle(
+        (result, error) -> {
+          try {
+            if (error != null) {
+              throw error;
+            }
+            return updateNotificationState(alert, state, result.getStatus(), report, context);
+          } catch (Throwable e) {
+            report.failAttempt(raise);
+            log.error("Error while sending notification for alert {}", alert.getUuid(), e);
+            return false;
+          }
+        });
+  }
+
+  private boolean updateNotificationState(
+      Alert alert,
+      State state,
+      SendNotificationStatus result,
+      AlertNotificationReport report,
+      AlertNotificationContext context) {
+    boolean raise = state != State.RESOLVED;
+    // Notifications are delivered on dispatcher threads, so the alert may have been resolved,
+    // acknowledged or deleted in the meantime. The result is applied to its current version.
+    State stateBeforeDelivery = alert.getState();
+    try {
+      alert.refresh();
+    } catch (EntityNotFoundException e) {
+      log.debug("Alert {} was deleted while the notification was sent", alert.getUuid());
+      if (result.isFailure()) {
+        report.failAttempt(raise);
       }
+      return false;
+    }
+    // A notification about the new state is already scheduled if the state has changed.
+    boolean keepSchedule = alert.getState() != stateBeforeDelivery;
+    if (result == SendNotificationStatus.FAILED_NO_RESCHEDULE) {
+      // Failed, no reschedule is required.
+      setNextNotificationTime(alert, null, keepSchedule);
+      alert.save();
+      report.failAttempt(raise);
+      return false;
+    }
 
-      alert.setNotificationAttemptTime(new Date());
-      if (result == SendNotificationStatus.FAILED_TO_RESCHEDULE) {
-        alert.setNotificationsFailed(alert.getNotificationsFailed() + 1);
-
-        Date switchStateTime = getSwitchStateTime(alert);
-        if ((switchStateTime != null)
-            && switchStateTime.before(nowMinusWithoutMillis(1, ChronoUnit.DAYS))) {
-          log.trace("Unable to send notification for alert {}. Stop trying.", alert.getUuid());
-          alert.setNextNotificationTime(null);
-          alert.save();
-          return false;
-        }
+    alert.setNotificationAttemptTime(new Date());
+    if (result == SendNotificationStatus.FAILED_TO_RESCHEDULE) {
+      alert.setNotificationsFailed(alert.getNotificationsFailed() + 1);
 
-        // For now using fixed delay before the notification repeat. Later the behavior
-        // can be adjusted using an amount of failed attempts (using progressive value).
-        alert.setNextNotificationTime(
-            nowPlusWithoutMillis(NOTIFICATION_REPEAT_AFTER_FAILURE_IN_SECS, ChronoUnit.SECONDS));
-        log.trace(
-            "Next time to send notification for alert {} is {}",
-            alert.getUuid(),
-            alert.getNextNotificationTime());
+      Date switchStateTime = getSwitchStateTime(alert);
+      if ((switchStateTime != null)
+          && switchStateTime.before(nowMinusWithoutMillis(1, ChronoUnit.DAYS))) {
+        log.trace("Unable to send notification for alert {}. Stop trying.", alert.getUuid());
+        setNextNotificationTime(alert, null, keepSchedule);
+        alert.save();
+        return false;
+      }
 
-        report.failAttempt();
-      } else {
+      // For now using fixed delay before the notification repeat. Later the behavior
+      // can be adjusted using an amount of failed attempts (using progressive value).
+      setNextNotificationTime(
+          alert,
+          nowPlusWithoutMillis(NOTIFICATION_REPEAT_AFTER_FAILURE_IN_SECS, ChronoUnit.SECONDS),
+          keepSchedule);
+      log.trace(
+          "Next time to send notification for alert {} is {}",
+          alert.getUuid(),
+          alert.getNextNotificationTime());
+
+      report.failAttempt(raise);
+    } else {
 
-        long notificationIntervalMs = 0;
-        AlertingData alertingData =
-            context.getAlertingConfigByCustomer().get(alert.getCustomerUUID());
-        if (alertingData != null) {
-          notificationIntervalMs = alertingData.activeAlertNotificationIntervalMs;
-        }
-        Date nextNotificationTime =
-            notificationIntervalMs != 0 && state == State.ACTIVE
-                ? nowPlusWithoutMillis(notificationIntervalMs, ChronoUnit.MILLIS)
-                : null;
-
-        alert.setNextNotificationTime(nextNotificationTime);
-        alert.setNotificationsFailed(0);
-        alert.setNotifiedState(state);
-        log.trace("Notification sent for alert {}", alert.getUuid());
+      long notificationIntervalMs = 0;
+      AlertingData alertingData =
+          context.getAlertingConfigByCustomer().get(alert.getCustomerUUID());
+      if (alertingData != null) {
+        notificationIntervalMs = alertingData.activeAlertNotificationIntervalMs;
       }
-      alert.save();
-
-    } catch (Exception e) {
-      report.failAttempt();
-      log.error("Error while sending notification for alert {}", alert.getUuid(), e);
+      Date nextNotificationTime =
+          notificationIntervalMs != 0 && state == State.ACTIVE
+              ? nowPlusWithoutMillis(notificationIntervalMs, ChronoUnit.MILLIS)
+              : null;
+
+      setNextNotificationTime(alert, nextNotificationTime, keepSchedule);
+      alert.setNotificationsFailed(0);
+      alert.setNotifiedState(state);
+      log.trace("Notification sent for alert {}", alert.getUuid());
     }
+    alert.save();
     return !result.isFailure();
   }
 
+  private static void setNextNotificationTime(Alert alert, Date time, boolean keepSchedule) {
+    if (!keepSchedule) {
+      alert.setNextNotificationTime(time);
+    }
+  }
+
   private Date getSwitchStateTime(Alert alert) {
     switch (alert.getState()) {
       case ACTIVE:
@@ -207,16 +267,25 @@ public class AlertManager {
     return null;
   }
 
-  public void sendNotifications() {
+  /**
+   * Queues notifications for all the alerts which have them pending. Alerts which still have
+   * notifications in flight from the previous run are skipped.
+   *
+   * @return future which completes when all the queued notifications are processed.
+   */
+  public CompletableFuture<Void> sendNotifications() {
     // In case alert was first active, and then became suspended - we still want to notify on it.
     AlertFilter filter =
         AlertFilter.builder()
             .state(Alert.State.ACTIVE, State.SUSPENDED, Alert.State.RESOLVED)
             .notificationPending(true)
             .build();
-    List<Alert> toNotify = alertService.list(filter);
+    List<Alert> toNotify =
+        alertService.list(filter).stream()
+            .filter(alert -> !alertsInFlight.contains(alert.getUuid()))
+            .collect(Collectors.toList());
     if (toNotify.size() == 0) {
-      return;
+      return CompletableFuture.completedFuture(null);
     }
 
     Set<UUID> customerUuids =
@@ -234,48 +303,75 @@ public class AlertManager {
             .build();
     log.debug("Sending notifications, {} alerts to proceed.", toNotify.size());
     AlertNotificationReport report = new AlertNotificationReport();
+    List<CompletableFuture<Void>> notifications = new ArrayList<>();
     for (Alert alert : toNotify) {
-      try {
-        // Either never sent active notification OR active alert notification period is set -
-        // so need to resend.
-        if (alert.getNotifiedState() == null
-            || (alert.getState() == State.ACTIVE && alert.getNotifiedState() == State.ACTIVE)) {
-          report.raiseAttempt();
-          if (!sendNotificationForState(alert, State.ACTIVE, report, context)) {
-            continue;
-          }
-        }
-
-        if ((alert.getNotifiedState().ordinal() < State.RESOLVED.ordinal())
-            && (alert.getState() == State.RESOLVED)) {
-          report.resolveAttempt();
-          sendNotificationForState(alert, State.RESOLVED, report, context);
-        }
-
-      } catch (Exception e) {
-        report.failAttempt();
-        log.error("Error while sending notification for alert {}", alert.getUuid(), e);
+      if (!alertsInFlight.add(alert.getUuid())) {
+        continue;
       }
+      notifications.add(
+          sendNotifications(alert, report, context)
+              .whenComplete((v, e) -> alertsInFlight.remove(alert.getUuid())));
     }
-    if (!report.isEmpty()) {
-      log.info("{}", report);
+    return CompletableFuture.allOf(notifications.toArray(new CompletableFuture[0]))
+        .whenComplete(
+            (v, e) -> {
+              if (!report.isEmpty()) {
+                log.info("{}", report);
+              }
+            });
+  }
+
+  private CompletableFuture<Void> sendNotifications(
+      Alert alert, AlertNotificationReport report, AlertNotificationContext context) {
+    CompletableFuture<Boolean> raised;
+    try {
+      // Either never sent active notification OR active alert notification period is set -
+      // so need to resend.
+      if (alert.getNotifiedState() == null
+          || (alert.getState() == State.ACTIVE && alert.getNotifiedState() == State.ACTIVE)) {
+        report.raiseAttempt();
+        raised = sendNotificationForStateAsync(alert, State.ACTIVE, report, context);
+      } else {
+        raised = CompletableFuture.completedFuture(true);
+      }
+    } catch (Exception e) {
+      raised = failedFuture(e);
     }
+    return raised
+        .thenCompose(
+            sent -> {
+              if (sent
+                  && (alert.getNotifiedState().ordinal() < State.RESOLVED.ordinal())
+                  && (alert.getState() == State.RESOLVED)) {
+                report.resolveAttempt();
+                return sendNotificationForStateAsync(alert, State.RESOLVED, report, context)
+                    .thenAccept(resolved -> {});
+              }
+              return CompletableFuture.<Void>completedFuture(null);
+            })
+        .exceptionally(
+            e -> {
+              report.failAttempt(alert.getState() != State.RESOLVED);
+              log.error("Error while sending notification for alert {}", alert.getUuid(), e);
+              return null;
+            });
   }
 
   public SendNotificationResult sendNotification(Alert alert) {
-    return sendNotification(alert, null, new AlertNotificationReport());
+    // Test notifications are sent once, the caller is waiting for the result.
+    return sendNotification(alert, null, new AlertNotificationReport(), false).join();
   }
 
-  private SendNotificationResult sendNotification(
-      Alert alert, State stateToNotify, AlertNotificationReport report) {
+  private CompletableFuture<SendNotificationResult> sendNotification(
+      Alert alert, State stateToNotify, AlertNotificationReport report, boolean retry) {
     Customer customer = Customer.get(alert.getCustomerUUID());
 
-    boolean atLeastOneSucceeded = false;
     NotificationStrategy strategy = getNotificationStrategy(alert);
 
     if (!strategy.isShouldSend()) {
       log.debug("Skipping notification for alert {}", alert.getUuid());
-      return new SendNotificationResult(SendNotificationStatus.SKIPPED, strategy.getMessage());
+      return CompletableFuture.completedFuture(
+          new SendNotificationResult(SendNotificationStatus.SKIPPED, strategy.getMessage()));
     }
 
     if (strategy.getDestination() == null) {
@@ -285,13 +381,15 @@ public class AlertManager {
             alert.getUuid());
         metricService.setFailureStatusMetric(
             MetricService.buildMetricTemplate(PlatformMetrics.ALERT_MANAGER_STATUS, customer));
-        return new SendNotificationResult(
-            SendNotificationStatus.FAILED_TO_RESCHEDULE, "No default destination configured");
+        return CompletableFuture.completedFuture(
+            new SendNotificationResult(
+                SendNotificationStatus.FAILED_TO_RESCHEDULE, "No default destination configured"));
       } else {
         log.error(
             "Unable to notify about alert {}, destination is missing from DB.", alert.getUuid());
-        return new SendNotificationResult(
-            SendNotificationStatus.FAILED_NO_RESCHEDULE, "Alert destination is missing");
+        return CompletableFuture.completedFuture(
+            new SendNotificationResult(
+                SendNotificationStatus.FAILED_NO_RESCHEDULE, "Alert destination is missing"));
       }
     }
 
@@ -304,9 +402,10 @@ public class AlertManager {
 
       metricService.setFailureStatusMetric(
           MetricService.buildMetricTemplate(PlatformMetrics.ALERT_MANAGER_STATUS, customer));
-      return new SendNotificationResult(
-          SendNotificationStatus.FAILED_TO_RESCHEDULE,
-          "No recipients configured in Health settings");
+      return CompletableFuture.completedFuture(
+          new SendNotificationResult(
+              SendNotificationStatus.FAILED_TO_RESCHEDULE,
+              "No recipients configured in Health settings"));
     }
 
     metricService.setOkStatusMetric(
@@ -319,13 +418,16 @@ public class AlertManager {
       tempAlert = alertService.get(alert.getUuid());
       if (tempAlert == null) {
         // The alert was not found. Most probably it is removed during the processing.
-        return new SendNotificationResult(
-            SendNotificationStatus.FAILED_NO_RESCHEDULE, "Alert not found in DB");
+        return CompletableFuture.completedFuture(
+            new SendNotificationResult(
+                SendNotificationStatus.FAILED_NO_RESCHEDULE, "Alert not found in DB"));
       }
       tempAlert.setState(stateToNotify);
     }
 
-    Map<String, String> perChannelStatus = new HashMap<>();
+    Map<String, String> perChannelStatus = new ConcurrentHashMap<>();
+    AtomicBoolean atLeastOneSucceeded = new AtomicBoolean();
+    List<CompletableFuture<Void>> deliveries = new ArrayList<>();
     for (AlertChannel channel : channels) {
       try {
         alertChannelService.validate(channel);
@@ -339,6 +441,7 @@ public class AlertManager {
         continue;
       }
 
+      CompletableFuture<Void> delivery;
       try {
         ChannelType channelType =
             ChannelType.valueOf(AlertUtils.getJsonTypeName(channel.getParams()));
@@ -346,34 +449,62 @@ public class AlertManager {
             alertChannelTemplateService.getWithDefaults(channel.getCustomerUUID(), channelType);
 
         AlertChannelInterface handler = channelsManager.get(channelType.name());
-        handler.sendNotification(customer, tempAlert, channel, channelTemplates);
-        atLeastOneSucceeded = true;
-        perChannelStatus.put(channel.getName(), "Alert sent successfully");
-        setOkChannelStatusMetric(PlatformMetrics.ALERT_MANAGER_CHANNEL_STATUS, channel);
-      } catch (PlatformServiceException e) {
-        if (report.failuresByChannel(channel.getUuid()) == 0) {
-          log.error(e.getMessage(), e);
-        }
-        perChannelStatus.put(channel.getName(), e.getMessage());
-        handleChannelSendError(channel, report);
+        Alert notifiedAlert = tempAlert;
+        Callable<Void> send =
+            () -> {
+              handler.sendNotification(customer, notifiedAlert, channel, channelTemplates);
+              return null;
+            };
+        delivery =
+            retry
+                ? notificationDispatcher.dispatch(channel, send)
+                : notificationDispatcher.dispatch(channel, send, 1);
       } catch (Exception e) {
-        if (report.failuresByChannel(channel.getUuid()) == 0) {
-          log.error(e.getMessage(), e);
-        }
-        perChannelStatus.put(channel.getName(), "Error sending notification: " + e.getMessage());
-        handleChannelSendError(channel, report);
+        delivery = failedFuture(e);
       }
+      deliveries.add(
+          delivery.handle(
+              (v, error) -> {
+                if (error == null) {
+                  atLeastOneSucceeded.set(true);
+                  perChannelStatus.put(channel.getName(), "Alert sent successfully");
+                  setOkChannelStatusMetric(PlatformMetrics.ALERT_MANAGER_CHANNEL_STATUS, channel);
+                  return null;
+                }
+                Throwable e = error instanceof CompletionException ? error.getCause() : error;
+                if (report.failuresByChannel(channel.getUuid()) == 0) {
+                  log.error(e.getMessage(), e);
+                }
+                perChannelStatus.put(
+                    channel.getName(),
+                    e instanceof PlatformServiceException
+                        ? e.getMessage()
+                        : "Error sending notification: " + e.getMessage());
+                handleChannelSendError(channel, report);
+                return null;
+              }));
     }
 
-    String resultMessage =
-        "Result: "
-            + perChannelStatus.entrySet().stream()
-                .sorted(Entry.comparingByKey())
-                .map(e -> e.getKey() + " - " + e.getValue())
-                .collect(Collectors.joining("; "));
-    return atLeastOneSucceeded
-        ? new SendNotificationResult(SendNotificationStatus.SUCCEEDED, resultMessage)
-        : new SendNotificationResult(SendNotificationStatus.FAILED_TO_RESCHEDULE, resultMessage);
+    return CompletableFuture.allOf(deliveries.toArray(new CompletableFuture[0]))
+        .thenApply(
+            v -> {
+              String resultMessage =
+                  "Result: "
+                      + perChannelStatus.entrySet().stream()
+                          .sorted(Entry.comparingByKey())
+                          .map(e -> e.getKey() + " - " + e.getValue())
+                          .collect(Collectors.joining("; "));
+              return atLeastOneSucceeded.get()
+                  ? new SendNotificationResult(SendNotificationStatus.SUCCEEDED, resultMessage)
+                  : new SendNotificationResult(
+                      SendNotificationStatus.FAILED_TO_RESCHEDULE, resultMessage);
+            });
+  }
+
+  private static <T> CompletableFuture<T> failedFuture(Throwable error) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(error);
+    return future;
   }
 
   private void handleChannelSendError(AlertChannel channel, AlertNotificationReport report) {
@@ -981,6 +981,19 @@ public enum AlertTemplate {
       0,
       EnumSet.of(DefinitionSettings.CREATE_FOR_NEW_CUSTOMER),
       TargetType.UNIVERSE,
+      ThresholdSettings.builder().statusThreshold(SEVERE).build()),
+
+  XCLUSTER_CONFIG_TABLE_BAD_STATE(
+      "XCluster Config Tables are in bad state",
+      "Some tables of xCluster config require bootstrap",
+      "min by (xcluster_config_name) (ybp_xcluster_config_status"
+          + "{universe_uuid = \"__universeUuid__\"}) {{ query_condition }} 1",
+      "XCluster config '{{ $labels.xcluster_config_name }}' of universe"
+          + " '{{ $labels.source_name }}' has tables which require bootstrap"
+          + " - check the xCluster config and restart replication for them.",
+      0,
+      EnumSet.of(DefinitionSettings.CREATE_FOR_NEW_CUSTOMER),
+      TargetType.UNIVERSE,
       ThresholdSettings.builder().statusThreshold(SEVERE).build());
 
   // @formatter:on
@@ -9,6 +9,8 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.time.Duration;
@@ -16,8 +18,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import play.libs.Json;
@@ -26,7 +30,13 @@ import play.libs.ws.WSRequest;
 import play.libs.ws.WSResponse;
 import play.mvc.Http;
 
-/** Helper class API specific stuff */
+/**
+ * Helper class API specific stuff. Requests go through the {@link ApiRequestLimiter}, which caps
+ * the concurrent requests to each destination and stops sending to failing ones for a while. The
+ * async methods take a deadline covering the whole call, including the wait for a slot. Callers
+ * running on their own worker threads, like metric queries and HA requests, still wait for the
+ * result, but no longer than the deadline. The blocking methods use the default request timeout.
+ */
 @Singleton
 @Slf4j
 public class ApiHelper {
@@ -36,22 +46,23 @@ public class ApiHelper {
   @Getter(onMethod_ = {@VisibleForTesting})
   private final WSClient wsClient;
 
+  private final ApiRequestLimiter requestLimiter;
+
   @Inject
-  public ApiHelper(WSClient wsClient) {
+  public ApiHelper(WSClient wsClient, ApiRequestLimiter requestLimiter) {
     this.wsClient = wsClient;
+    this.requestLimiter = requestLimiter;
   }
 
   public boolean postRequest(String url) {
-    try {
-      return wsClient
-          .url(url)
-          .execute("POST")
-          .thenApply(wsResponse -> wsResponse.getStatus() == 200)
-          .toCompletableFuture()
-          .get();
-    } catch (Exception e) {
-      return false;
-    }
+    return join(postRequestAsync(url, requestLimiter.getDefaultRequestTimeout()));
+  }
+
+  /** Sends an empty POST request. The result tells whether the response status is 200. */
+  public CompletionStage<Boolean> postRequestAsync(String url, Duration timeout) {
+    WSRequest request = wsClient.url(url);
+    return execute(url, "POST", timeout, request, r -> r.execute("POST"))
+        .handle((wsResponse, error) -> error == null && wsResponse.getStatus() == 200);
   }
 
   public JsonNode postRequest(String url, JsonNode data) {
@@ -59,15 +70,28 @@ public class ApiHelper {
   }
 
   public JsonNode postRequest(String url, JsonNode data, Map<String, String> headers) {
+    return join(postRequestAsync(url, data, headers, requestLimiter.getDefaultRequestTimeout()));
+  }
+
+  /**
+   * Posts the data and returns the response JSON. Request errors, including a missed deadline,
+   * are returned as an error JSON. The stage fails only if the response is not a valid JSON.
+   */
+  public CompletionStage<JsonNode> postRequestAsync(
+      String url, JsonNode data, Map<String, String> headers, Duration timeout) {
     WSRequest request = requestWithHeaders(url, headers);
-    CompletionStage<String> jsonPromise = request.post(data).thenApply(WSResponse::getBody);
-    return handleJSONPromise(jsonPromise);
+    return toJson(execute(url, "POST", timeout, request, r -> r.post(data)));
   }
 
   public JsonNode putRequest(String url, JsonNode data, Map<String, String> headers) {
+    return join(putRequestAsync(url, data, headers, requestLimiter.getDefaultRequestTimeout()));
+  }
+
+  /** Same as {@link #postRequestAsync(String, JsonNode, Map, Duration)}, but sends PUT. */
+  public CompletionStage<JsonNode> putRequestAsync(
+      String url, JsonNode data, Map<String, String> headers, Duration timeout) {
     WSRequest request = requestWithHeaders(url, headers);
-    CompletionStage<String> jsonPromise = request.put(data).thenApply(WSResponse::getBody);
-    return handleJSONPromise(jsonPromise);
+    return toJson(execute(url, "PUT", timeout, request, r -> r.put(data)));
   }
 
   // Helper method to creaete url object for given webpage string.
@@ -119,6 +143,122 @@ public class ApiHelper {
   }
 
   public JsonNode getRequest(String url, Map<String, String> headers, Map<String, String> params) {
+    return join(getRequestAsync(url, headers, params, requestLimiter.getDefaultRequestTimeout()));
+  }
+
+  /**
+   * Sends GET request and returns the response JSON. Request errors, including a missed deadline,
+   * are returned as an error JSON. The stage fails only if the response is not a valid JSON.
+   */
+  public CompletionStage<JsonNode> getRequestAsync(
+      String url, Map<String, String> headers, Map<String, String> params, Duration timeout) {
+    WSRequest request = getRequestWithParams(url, headers, params);
+    return toJson(execute(url, "GET", timeout, request, WSRequest::get));
+  }
+
+  /**
+   * Same as {@link #getRequest(String, Map, Map)}, but hands the response body to the parser as a
+   * stream instead of converting it to a string and then to a JSON tree. Request errors are passed
+   * to the parser as an error JSON, like getRequest returns them.
+   */
+  public <T> T getRequest(
+      String url,
+      Map<String, String> headers,
+      Map<String, String> params,
+      ResponseParser<T> responseParser) {
+    return join(
+        getRequestAsync(
+            url, headers, params, responseParser, requestLimiter.getDefaultRequestTimeout()));
+  }
+
+  /**
+   * Same as {@link #getRequestAsync(String, Map, Map, Duration)}, but hands the response body to
+   * the parser as a stream. Request errors are passed to the parser as an error JSON.
+   */
+  public <T> CompletionStage<T> getRequestAsync(
+      String url,
+      Map<String, String> headers,
+      Map<String, String> params,
+      ResponseParser<T> responseParser,
+      Duration timeout) {
+    WSRequest request = getRequestWithParams(url, headers, params);
+    return execute(url, "GET", timeout, request, WSRequest::get)
+        .handle(
+            (wsResponse, error) -> {
+              ByteString body;
+              if (error != null) {
+                log.warn("Unexpected exception while getting response", error);
+                body = ByteString.fromString(errorJSON(error).toString());
+              } else {
+                body = wsResponse.getBodyAsBytes();
+              }
+              try (InputStream in = body.iterator().asInputStream()) {
+                return responseParser.parse(in);
+              } catch (IOException e) {
+                log.warn("Unexpected exception while parsing response", e);
+                throw new RuntimeException(e);
+              }
+            });
+  }
+
+  @FunctionalInterface
+  public interface ResponseParser<T> {
+    T parse(InputStream in) throws IOException;
+  }
+
+  private CompletionStage<WSResponse> execute(
+      String url,
+      String method,
+      Duration timeout,
+      WSRequest request,
+      Function<WSRequest, CompletionStage<WSResponse>> send) {
+    return requestLimiter.execute(
+        url,
+        method,
+        timeout,
+        remaining -> {
+          // WS client takes timeouts up to Integer.MAX_VALUE millis and treats 0 as no timeout.
+          long timeoutMillis = Math.max(1, Math.min(remaining.toMillis(), Integer.MAX_VALUE));
+          request.setRequestTimeout(Duration.ofMillis(timeoutMillis));
+          return send.apply(request);
+        });
+  }
+
+  private CompletionStage<JsonNode> toJson(CompletionStage<WSResponse> response) {
+    return response.handle(
+        (wsResponse, error) -> {
+          if (error != null) {
+            log.warn("Unexpected exception while getting response", error);
+            return errorJSON(error);
+          }
+          try {
+            return Json.parse(wsResponse.getBody());
+          } catch (RuntimeException e) {
+            log.warn("Unexpected exception while parsing response", e);
+            throw e;
+          }
+        });
+  }
+
+  private static JsonNode errorJSON(Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    return ApiResponse.errorJSON(cause.toString());
+  }
+
+  // Waits for the async call result, rethrowing the parse errors as they are.
+  private static <T> T join(CompletionStage<T> stage) {
+    try {
+      return stage.toCompletableFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private WSRequest getRequestWithParams(
+      String url, Map<String, String> headers, Map<String, String> params) {
     WSRequest request = requestWithHeaders(url, headers);
     request.setFollowRedirects(true);
     if (!params.isEmpty()) {
@@ -126,21 +266,7 @@ public class ApiHelper {
         request.setQueryParameter(entry.getKey(), entry.getValue());
       }
     }
-    CompletionStage<String> jsonPromise = request.get().thenApply(WSResponse::getBody);
-    return handleJSONPromise(jsonPromise);
-  }
-
-  private JsonNode handleJSONPromise(CompletionStage<String> jsonPromise) {
-    try {
-      String jsonString = jsonPromise.toCompletableFuture().get();
-      return Json.parse(jsonString);
-    } catch (InterruptedException | ExecutionException e) {
-      log.warn("Unexpected exception while parsing response", e);
-      return ApiResponse.errorJSON(e.getMessage());
-    } catch (RuntimeException e) {
-      log.warn("Unexpected exception while parsing response", e);
-      throw e;
-    }
+    return request;
   }
 
   private WSRequest requestWithHeaders(String url, Map<String, String> headers) {
@@ -186,11 +312,19 @@ public class ApiHelper {
       String url,
       Map<String, String> headers,
       List<Http.MultipartFormData.Part<Source<ByteString, ?>>> partsList) {
+    return join(
+        multipartRequestAsync(url, headers, partsList, requestLimiter.getDefaultRequestTimeout()));
+  }
+
+  /** Posts the multipart form, handling the response like {@link #postRequestAsync}. */
+  public CompletionStage<JsonNode> multipartRequestAsync(
+      String url,
+      Map<String, String> headers,
+      List<Http.MultipartFormData.Part<Source<ByteString, ?>>> partsList,
+      Duration timeout) {
     WSRequest request = wsClient.url(url);
     headers.forEach(request::addHeader);
-    CompletionStage<String> post =
-        request.post(Source.from(partsList)).thenApply(WSResponse::getBody);
-    return handleJSONPromise(post);
+    return toJson(execute(url, "POST", timeout, request, r -> r.post(Source.from(partsList))));
   }
 
   public CompletionStage<WSResponse> getSimpleRequest(String url, Map<String, String> headers) {
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.typesafe.config.Config;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Histogram;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import play.libs.ws.WSResponse;
+
+/**
+ * Limits the requests {@link ApiHelper} sends to each destination (host and port). At most
+ * max_concurrent_requests are in flight at a time, up to max_queued_requests more wait for a
+ * slot and the rest are rejected. After failure_threshold consecutive failures the destination
+ * circuit opens and requests are rejected right away for open_duration. Then a single trial
+ * request is let through, which closes the circuit on success or opens it again on failure.
+ *
+ * <p>Destinations without requests for IDLE_DESTINATION_EXPIRY are dropped along with their
+ * metric series. The metric is labeled with at most MAX_LABELED_DESTINATIONS destinations at a
+ * time, the requests to the others are counted as "other".
+ */
+@Singleton
+public class ApiRequestLimiter {
+
+  private static final String CONFIG_PREFIX = "yb.ws_destination.";
+
+  public static final String DEFAULT_REQUEST_TIMEOUT = CONFIG_PREFIX + "default_request_timeout";
+
+  private static final String UNKNOWN_DESTINATION = "unknown";
+
+  private static final String OTHER_DESTINATIONS = "other";
+
+  private static final int MAX_LABELED_DESTINATIONS = 100;
+
+  private static final Duration IDLE_DESTINATION_EXPIRY = Duration.ofMinutes(10);
+
+  private static final long EVICTION_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private static final String[] METHODS = {"GET", "POST", "PUT"};
+
+  private static final String[] RESULTS = {"success", "error", "timeout", "rejected"};
+
+  private static final Histogram API_REQUEST_DURATION_SEC =
+      Histogram.build("ybp_api_request_duration_seconds", "Duration of outgoing API requests")
+          .labelNames("destination", "method", "result")
+          .buckets(0.01, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120)
+          .register(CollectorRegistry.defaultRegistry);
+
+  private final int maxConcurrentRequests;
+  private final int maxQueuedRequests;
+  private final int failureThreshold;
+  private final Duration openDuration;
+  private final Duration defaultRequestTimeout;
+
+  private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+
+  private final AtomicInteger labeledDestinations = new AtomicInteger();
+
+  private final AtomicLong nextEvictionNanos = new AtomicLong(System.nanoTime());
+
+  @Inject
+  public ApiRequestLimiter(Config config) {
+    this(
+        config.getInt(CONFIG_PREFIX + "max_concurrent_requests"),
+        config.getInt(CONFIG_PREFIX + "max_queued_requests"),
+        config.getInt(CONFIG_PREFIX + "circuit_breaker.failure_threshold"),
+        config.getDuration(CONFIG_PREFIX + "circuit_breaker.open_duration"),
+        config.getDuration(DEFAULT_REQUEST_TIMEOUT));
+  }
+
+  public ApiRequestLimiter(
+      int maxConcurrentRequests,
+      int maxQueuedRequests,
+      int failureThreshold,
+      Duration openDuration,
+      Duration defaultRequestTimeout) {
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.maxQueuedRequests = maxQueuedRequests;
+    this.failureThreshold = failureThreshold;
+    this.openDuration = openDuration;
+    this.defaultRequestTimeout = defaultRequestTimeout;
+  }
+
+  public Duration getDefaultRequestTimeout() {
+    return defaultRequestTimeout;
+  }
+
+  /**
+   * Sends the request once the destination has a free slot. The call gets the time left till the
+   * deadline, which it is expected to use as the request timeout. The returned stage fails with
+   * {@link RejectedExecutionException} if the request is not let through, or with {@link
+   * TimeoutException} if no slot is freed before the deadline.
+   *
+   * @param url request URL, which defines the destination
+   * @param method request method, used as a metric label
+   * @param timeout time the request may take, including the time spent waiting for a slot
+   * @param call sends the request with the given timeout
+   */
+  public CompletionStage<WSResponse> execute(
+      String url,
+      String method,
+      Duration timeout,
+      Function<Duration, CompletionStage<WSResponse>> call) {
+    String destinationName = getDestinationName(url);
+    long startNanos = System.nanoTime();
+    long deadlineNanos = startNanos + timeout.toNanos();
+    maybeEvictIdleDestinations(startNanos);
+    CompletableFuture<WSResponse> result = new CompletableFuture<>();
+    Destination destination;
+    CompletableFuture<Void> acquired;
+    do {
+      destination = destinations.computeIfAbsent(destinationName, this::newDestination);
+      try {
+        // Null if the destination was evicted after the lookup.
+        acquired = destination.acquire(destinationName);
+      } catch (RejectedExecutionException e) {
+        observe(destination.label, method, "rejected", startNanos);
+        result.completeExceptionally(e);
+        return result;
+      }
+    } while (acquired == null);
+    CompletableFuture<Void> slot = acquired;
+    Destination target = destination;
+    slot.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+        .whenComplete(
+            (v, slotError) -> {
+              if (slotError != null) {
+                target.remove(slot);
+                observe(target.label, method, resultLabel(slotError), startNanos);
+                result.completeExceptionally(slotError);
+                return;
+              }
+              Duration remaining =
+                  Duration.ofNanos(Math.max(1, deadlineNanos - System.nanoTime()));
+              CompletionStage<WSResponse> response;
+              try {
+                response = call.apply(remaining);
+              } catch (Exception e) {
+                target.release(true);
+                observe(target.label, method, "error", startNanos);
+                result.completeExceptionally(e);
+                return;
+              }
+              response.whenComplete(
+                  (r, error) -> {
+                    boolean failed = error != null || r.getStatus() >= 500;
+                    target.release(failed);
+                    if (error != null) {
+                      observe(target.label, method, resultLabel(error), startNanos);
+                      result.completeExceptionally(error);
+                    } else {
+                      observe(target.label, method, failed ? "error" : "success", startNanos);
+                      result.complete(r);
+                    }
+                  });
+            });
+    return result;
+  }
+
+  @VisibleForTesting
+  int getInFlight(String url) {
+    Destination destination = destinations.get(getDestinationName(url));
+    return destination == null ? 0 : destination.inFlight;
+  }
+
+  @VisibleForTesting
+  int getDestinationCount() {
+    return destinations.size();
+  }
+
+  private Destination newDestination(String name) {
+    if (labeledDestinations.incrementAndGet() <= MAX_LABELED_DESTINATIONS) {
+      return new Destination(name);
+    }
+    labeledDestinations.decrementAndGet();
+    return new Destination(OTHER_DESTINATIONS);
+  }
+
+  private void maybeEvictIdleDestinations(long nowNanos) {
+    long next = nextEvictionNanos.get();
+    if (nowNanos - next >= 0
+        && nextEvictionNanos.compareAndSet(next, nowNanos + EVICTION_INTERVAL_NANOS)) {
+      evictIdleDestinations(nowNanos);
+    }
+  }
+
+  @VisibleForTesting
+  void evictIdleDestinations(long nowNanos) {
+    destinations.forEach(
+        (name, destination) -> {
+          if (destination.evictIfIdle(nowNanos)) {
+            destinations.remove(name, destination);
+            if (!destination.label.equals(OTHER_DESTINATIONS)) {
+              labeledDestinations.decrementAndGet();
+              for (String method : METHODS) {
+                for (String result : RESULTS) {
+                  API_REQUEST_DURATION_SEC.remove(destination.label, method, result);
+                }
+              }
+            }
+          }
+        });
+  }
+
+  private static String resultLabel(Throwable error) {
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    if (cause instanceof TimeoutException) {
+      return "timeout";
+    }
+    return cause instanceof RejectedExecutionException ? "rejected" : "error";
+  }
+
+  private static void observe(String destination, String method, String result, long startNanos) {
+    API_REQUEST_DURATION_SEC
+        .labels(destination, method, result)
+        .observe((System.nanoTime() - startNanos) / 1e9);
+  }
+
+  private static String getDestinationName(String url) {
+    try {
+      URI uri = URI.create(url);
+      if (uri.getHost() == null) {
+        return UNKNOWN_DESTINATION;
+      }
+      return uri.getPort() < 0 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    } catch (IllegalArgumentException e) {
+      return UNKNOWN_DESTINATION;
+    }
+  }
+
+  private class Destination {
+    // Metric label, which is the destination name or "other".
+    private final String label;
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int inFlight;
+    private int consecutiveFailures;
+    private long openUntilNanos;
+    private boolean open;
+    private boolean trialInFlight;
+    private long lastUsedNanos = System.nanoTime();
+    private boolean evicted;
+
+    Destination(String label) {
+      this.label = label;
+    }
+
+    synchronized CompletableFuture<Void> acquire(String name) {
+      if (evicted) {
+        return null;
+      }
+      lastUsedNanos = System.nanoTime();
+      if (open) {
+        if (trialInFlight || System.nanoTime() < openUntilNanos) {
+          throw new RejectedExecutionException("Circuit is open for " + name);
+        }
+        // Let a single request through to check if the destination is back.
+        trialInFlight = true;
+      } else if (inFlight >= maxConcurrentRequests) {
+        if (waiters.size() >= maxQueuedRequests) {
+          throw new RejectedExecutionException("Too many pending requests to " + name);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        return waiter;
+      }
+      inFlight++;
+      return CompletableFuture.completedFuture(null);
+    }
+
+    void release(boolean failed) {
+      List<CompletableFuture<Void>> rejected = new ArrayList<>();
+      synchronized (this) {
+        inFlight--;
+        trialInFlight = false;
+        lastUsedNanos = System.nanoTime();
+        if (failed) {
+          consecutiveFailures++;
+          if (consecutiveFailures >= failureThreshold) {
+            open = true;
+            openUntilNanos = System.nanoTime() + openDuration.toNanos();
+            rejected.addAll(waiters);
+            waiters.clear();
+          }
+        } else {
+          consecutiveFailures = 0;
+          open = false;
+        }
+      }
+      rejected.forEach(
+          waiter -> waiter.completeExceptionally(new RejectedExecutionException("Circuit opened")));
+      grantWaiters();
+    }
+
+    synchronized void remove(CompletableFuture<Void> waiter) {
+      waiters.remove(waiter);
+    }
+
+    // Marks the destination evicted if it had no requests for a while and its circuit is closed.
+    synchronized boolean evictIfIdle(long nowNanos) {
+      if (inFlight > 0
+          || !waiters.isEmpty()
+          || (open && nowNanos - openUntilNanos < 0)
+          || nowNanos - lastUsedNanos < IDLE_DESTINATION_EXPIRY.toNanos()) {
+        return false;
+      }
+      evicted = true;
+      return true;
+    }
+
+    // Waiters are completed outside of the lock, as they send their requests right away.
+    private void grantWaiters() {
+      while (true) {
+        CompletableFuture<Void> waiter;
+        synchronized (this) {
+          if (open || inFlight >= maxConcurrentRequests || waiters.isEmpty()) {
+            return;
+          }
+          inFlight++;
+          waiter = waiters.poll();
+        }
+        if (!waiter.complete(null)) {
+          // Waiter timed out already, give its slot to the next one.
+          synchronized (this) {
+            inFlight--;
+          }
+        }
+      }
+    }
+  }
+}
@@ -28,12 +28,14 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
@@ -61,6 +63,8 @@ public abstract class KubernetesManager {
 
   private static final long DEFAULT_HELM_TEMPLATE_TIMEOUT_SECS = 1;
 
+  private static final Duration POD_READY_POLL_INTERVAL = Duration.ofSeconds(10);
+
   /* helm interface */
 
   public void helmInstall(
@@ -524,6 +528,66 @@ public abstract class KubernetesManager {
   public abstract PodStatus getPodStatus(
       Map<String, String> config, String namespace, String podName);
 
+  /** @return whether {@link #waitForPodReady} completes on pod events rather than polling. */
+  public boolean canWatchPods() {
+    return false;
+  }
+
+  /**
+   * Waits until the pod and all its containers are ready. This implementation polls the pod, the
+   * managers which can watch pods complete on the event which makes it ready.
+   *
+   * @return true if the pod became ready within the timeout, false otherwise.
+   */
+  public boolean waitForPodReady(
+      Map<String, String> config, String namespace, String podName, Duration timeout) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (true) {
+      if (isPodReady(getPodObject(config, namespace, podName))) {
+        return true;
+      }
+      long remainingNanos = deadline - System.nanoTime();
+      if (remainingNanos <= 0) {
+        LOG.warn("Timed out after {} waiting for pod {} to be ready", timeout, podName);
+        return false;
+      }
+      try {
+        TimeUnit.NANOSECONDS.sleep(Math.min(POD_READY_POLL_INTERVAL.toNanos(), remainingNanos));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted waiting for pod " + podName + " to be ready", e);
+      }
+    }
+  }
+
+  /**
+   * Checks if the pod as well as the containers inside the pod are ready.
+   *
+   * @param pod the pod, null if it doesn't exist.
+   */
+  public static boolean isPodReady(@Nullable Pod pod) {
+    if (pod == null) {
+      return false;
+    }
+    // This is to verify that we are not getting pods that are already
+    // marked for deletion but in Running state.
+    if (pod.getMetadata().getDeletionTimestamp() != null) {
+      // Relevant post: https://issue.k8s.io/61376#issuecomment-374437926
+      LOG.info("Pod has valid deletion timestamp");
+      return false;
+    }
+    PodStatus podStatus = pod.getStatus();
+    if (podStatus == null || !"Running".equalsIgnoreCase(podStatus.getPhase())) {
+      return false;
+    }
+    for (PodCondition condition : podStatus.getConditions()) {
+      if (condition.getStatus().equals("False")) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /** @return the first that exists of loadBalancer.hostname, loadBalancer.ip, clusterIp */
   public abstract String getPreferredServiceIP(
       Map<String, String> config,
@@ -4,12 +4,16 @@ package com.yugabyte.yw.common;
 
 import com.google.common.collect.ImmutableMap;
 import com.yugabyte.yw.commissioner.tasks.UniverseTaskBase.ServerType;
+import com.yugabyte.yw.common.config.GlobalConfKeys;
 import io.fabric8.kubernetes.api.model.DeletionPropagation;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.Namespace;
 import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.NodeSpec;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.api.model.Quantity;
@@ -21,22 +25,33 @@ import io.fabric8.kubernetes.api.model.events.v1.Event;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException;
 import io.fabric8.kubernetes.client.dsl.ExecListener;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.RollableScalableResource;
 import io.fabric8.kubernetes.client.dsl.base.PatchContext;
 import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Response;
@@ -45,18 +60,246 @@ import okhttp3.Response;
 @Slf4j
 public class NativeKubernetesManager extends KubernetesManager {
 
+  // Long-lived clients keyed by kubeconfig path, the empty path is for the default config.
+  private final Map<String, CachedClient> clients = new ConcurrentHashMap<>();
+
+  // A replaced client may still be used by the calls which got it before, so it is closed later.
+  private static final long REPLACED_CLIENT_CLOSE_DELAY_MINS = 10;
+
+  // Informers get the changes made by helm through their watch a bit later, so reads are served
+  // by the API server for this long after a helm operation in the namespace.
+  private static final long HELM_CHANGE_READ_THROUGH_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  // Time of the last helm operation in each namespace.
+  private final Map<String, Long> helmChangeTimes = new ConcurrentHashMap<>();
+
+  @Inject
+  public NativeKubernetesManager(ShutdownHookHandler shutdownHookHandler) {
+    shutdownHookHandler.addShutdownHook(this, NativeKubernetesManager::closeClients);
+  }
+
+  /**
+   * A client along with the informers started on it. Each informer keeps a watch open on one kind
+   * of resource in one namespace and serves reads of that resource from its local store.
+   */
+  private static class CachedClient {
+    private final String kubeConfigContents;
+    private final KubernetesClient client;
+    private final Map<String, SharedIndexInformer<?>> informers = new ConcurrentHashMap<>();
+
+    CachedClient(String kubeConfigContents, KubernetesClient client) {
+      this.kubeConfigContents = kubeConfigContents;
+      this.client = client;
+    }
+
+    void close() {
+      stopInformers();
+      client.close();
+    }
+
+    void stopInformers() {
+      informers.values().forEach(SharedIndexInformer::stop);
+      informers.clear();
+    }
+
+    void stopInformers(String namespace) {
+      informers
+          .entrySet()
+          .removeIf(
+              entry -> {
+                if (entry.getKey().endsWith("/" + namespace)) {
+                  entry.getValue().stop();
+                  return true;
+                }
+                return false;
+              });
+    }
+  }
+
   private KubernetesClient getClient(Map<String, String> config) {
-    if (config.containsKey("KUBECONFIG") && !config.get("KUBECONFIG").isEmpty()) {
+    return getCachedClient(config).client;
+  }
+
+  private CachedClient getCachedClient(Map<String, String> config) {
+    String kubeConfigPath = "";
+    String kubeConfigContents = "";
+    if (config != null && config.containsKey("KUBECONFIG") && !config.get("KUBECONFIG").isEmpty()) {
+      kubeConfigPath = config.get("KUBECONFIG");
       try {
-        String kubeConfigContents =
-            new String(Files.readAllBytes(Paths.get(config.get("KUBECONFIG"))));
-        Config kubernetesConfig = Config.fromKubeconfig(kubeConfigContents);
-        return new DefaultKubernetesClient(kubernetesConfig);
+        kubeConfigContents = new String(Files.readAllBytes(Paths.get(kubeConfigPath)));
       } catch (IOException e) {
         throw new RuntimeException("Unable to resolve Kubernetes Client: ", e);
       }
     }
-    return new DefaultKubernetesClient();
+    String contents = kubeConfigContents;
+    AtomicReference<CachedClient> replaced = new AtomicReference<>();
+    CachedClient cachedClient =
+        clients.compute(
+            kubeConfigPath,
+            (path, current) -> {
+              if (current != null && current.kubeConfigContents.equals(contents)) {
+                return current;
+              }
+              replaced.set(current);
+              if (contents.isEmpty()) {
+                return new CachedClient(contents, new DefaultKubernetesClient());
+              }
+              return new CachedClient(
+                  contents, new DefaultKubernetesClient(Config.fromKubeconfig(contents)));
+            });
+    if (replaced.get() != null) {
+      log.info("Kubeconfig {} changed, replacing its Kubernetes client", kubeConfigPath);
+      CachedClient replacedClient = replaced.get();
+      replacedClient.stopInformers();
+      CompletableFuture.delayedExecutor(REPLACED_CLIENT_CLOSE_DELAY_MINS, TimeUnit.MINUTES)
+          .execute(replacedClient.client::close);
+    }
+    return cachedClient;
+  }
+
+  private void closeClients() {
+    clients.values().forEach(CachedClient::close);
+    clients.clear();
+  }
+
+  /**
+   * Returns the informer for the given kind of resource in the namespace, starting it and waiting
+   * for its initial list if needed. Returns null if informers are disabled, the namespace was just
+   * changed by helm, or the resources can't be watched, in which case the caller should read from
+   * the API server.
+   */
+  @Nullable
+  private <T extends HasMetadata> SharedIndexInformer<T> getInformer(
+      CachedClient cachedClient,
+      @Nullable String namespace,
+      Class<T> kind,
+      Function<KubernetesClient, MixedOperation<T, ?, ?>> resources) {
+    if (namespace == null
+        || !confGetter.getGlobalConf(GlobalConfKeys.kubernetesUseInformers)
+        || isRecentlyChangedByHelm(namespace)) {
+      return null;
+    }
+    String key = kind.getSimpleName() + "/" + namespace;
+    @SuppressWarnings("unchecked")
+    SharedIndexInformer<T> informer = (SharedIndexInformer<T>) cachedClient.informers.get(key);
+    if (informer != null) {
+      return informer;
+    }
+    try {
+      // Started outside of the map, as it blocks until the initial list is loaded.
+      log.info("Starting {} informer in namespace {}", kind.getSimpleName(), namespace);
+      SharedIndexInformer<T> started =
+          resources.apply(cachedClient.client).inNamespace(namespace).inform();
+      @SuppressWarnings("unchecked")
+      SharedIndexInformer<T> existing =
+          (SharedIndexInformer<T>) cachedClient.informers.putIfAbsent(key, started);
+      if (existing != null) {
+        // Another call started one meanwhile.
+        started.stop();
+        return existing;
+      }
+      return started;
+    } catch (KubernetesClientException e) {
+      log.warn(
+          "Unable to watch {} in namespace {}, reading from the API server: {}",
+          kind.getSimpleName(),
+          namespace,
+          e.getMessage());
+      return null;
+    }
+  }
+
+  private boolean isRecentlyChangedByHelm(String namespace) {
+    Long changeTime = helmChangeTimes.get(namespace);
+    if (changeTime == null) {
+      return false;
+    }
+    if (System.nanoTime() - changeTime < HELM_CHANGE_READ_THROUGH_NANOS) {
+      return true;
+    }
+    helmChangeTimes.remove(namespace, changeTime);
+    return false;
+  }
+
+  private void onHelmChange(String namespace) {
+    if (namespace != null) {
+      helmChangeTimes.put(namespace, System.nanoTime());
+    }
+  }
+
+  @Override
+  public void helmInstall(
+      UUID universeUUID,
+      String ybSoftwareVersion,
+      Map<String, String> config,
+      UUID providerUUID,
+      String helmReleaseName,
+      String namespace,
+      String overridesFile) {
+    try {
+      super.helmInstall(
+          universeUUID,
+          ybSoftwareVersion,
+          config,
+          providerUUID,
+          helmReleaseName,
+          namespace,
+          overridesFile);
+    } finally {
+      onHelmChange(namespace);
+    }
+  }
+
+  @Override
+  public void helmUpgrade(
+      UUID universeUuid,
+      String ybSoftwareVersion,
+      Map<String, String> config,
+      String helmReleaseName,
+      String namespace,
+      String overridesFile) {
+    try {
+      super.helmUpgrade(
+          universeUuid, ybSoftwareVersion, config, helmReleaseName, namespace, overridesFile);
+    } finally {
+      onHelmChange(namespace);
+    }
+  }
+
+  @Override
+  public void helmDelete(Map<String, String> config, String helmReleaseName, String namespace) {
+    try {
+      super.helmDelete(config, helmReleaseName, namespace);
+    } finally {
+      onHelmChange(namespace);
+    }
+  }
+
+  private <T extends HasMetadata> List<T> listWithLabels(
+      Map<String, String> config,
+      String namespace,
+      Map<String, String> labels,
+      Class<T> kind,
+      Function<KubernetesClient, MixedOperation<T, ? extends KubernetesResourceList<T>, ?>>
+          resources) {
+    CachedClient cachedClient = getCachedClient(config);
+    SharedIndexInformer<T> informer = getInformer(cachedClient, namespace, kind, resources::apply);
+    if (informer != null) {
+      return informer.getStore().list().stream()
+          .filter(
+              r -> {
+                Map<String, String> resourceLabels = r.getMetadata().getLabels();
+                return resourceLabels != null
+                    && resourceLabels.entrySet().containsAll(labels.entrySet());
+              })
+          .collect(Collectors.toList());
+    }
+    return resources
+        .apply(cachedClient.client)
+        .inNamespace(namespace)
+        .withLabels(labels)
+        .list()
+        .getItems();
   }
 
   static class SimpleListener implements ExecListener {
@@ -89,19 +332,18 @@ public class NativeKubernetesManager extends KubernetesManager {
 
   @Override
   public void createNamespace(Map<String, String> config, String namespace) {
-    try (KubernetesClient client = getClient(config)) {
-      client
-          .namespaces()
-          .createOrReplace(
-              new NamespaceBuilder().withNewMetadata().withName(namespace).endMetadata().build());
-    }
+    KubernetesClient client = getClient(config);
+    client
+        .namespaces()
+        .createOrReplace(
+            new NamespaceBuilder().withNewMetadata().withName(namespace).endMetadata().build());
   }
 
   @Override
   public void applySecret(Map<String, String> config, String namespace, String pullSecret) {
-    try (KubernetesClient client = getClient(config);
-        InputStream pullSecretStream =
-            Files.newInputStream(Paths.get(pullSecret), StandardOpenOption.READ); ) {
+    KubernetesClient client = getClient(config);
+    try (InputStream pullSecretStream =
+        Files.newInputStream(Paths.get(pullSecret), StandardOpenOption.READ); ) {
       client.load(pullSecretStream).inNamespace(namespace).createOrReplace();
     } catch (IOException e) {
       throw new RuntimeException("Unable to get the pullSecret ", e);
@@ -111,60 +353,78 @@ public class NativeKubernetesManager extends KubernetesManager {
   @Override
   public List<Pod> getPodInfos(
       Map<String, String> config, String helmReleaseName, String namespace) {
-    try (KubernetesClient client = getClient(config)) {
-      return client
-          .pods()
-          .inNamespace(namespace)
-          .withLabel("release", helmReleaseName)
-          .list()
-          .getItems();
-    }
+    return listWithLabels(
+        config,
+        namespace,
+        ImmutableMap.of("release", helmReleaseName),
+        Pod.class,
+        KubernetesClient::pods);
   }
 
   @Override
   public List<Service> getServices(
       Map<String, String> config, String helmReleaseName, String namespace) {
-    try (KubernetesClient client = getClient(config)) {
-      return client
-          .services()
-          .inNamespace(namespace)
-          .withLabel("release", helmReleaseName)
-          .list()
-          .getItems();
-    }
+    return listWithLabels(
+        config,
+        namespace,
+        ImmutableMap.of("release", helmReleaseName),
+        Service.class,
+        KubernetesClient::services);
   }
 
   @Override
   public List<Namespace> getNamespaces(Map<String, String> config) {
-    try (KubernetesClient client = getClient(config)) {
-      return client.namespaces().list().getItems();
-    }
+    KubernetesClient client = getClient(config);
+    return client.namespaces().list().getItems();
   }
 
   @Override
   public PodStatus getPodStatus(Map<String, String> config, String namespace, String podName) {
-    try (KubernetesClient client = getClient(config)) {
-      return client.pods().inNamespace(namespace).withName(podName).get().getStatus();
-    }
+    return getPodObject(config, namespace, podName).getStatus();
   }
 
   @Override
   public Pod getPodObject(Map<String, String> config, String namespace, String podName) {
-    try (KubernetesClient client = getClient(config)) {
-      return client.pods().inNamespace(namespace).withName(podName).get();
+    CachedClient cachedClient = getCachedClient(config);
+    SharedIndexInformer<Pod> informer =
+        getInformer(cachedClient, namespace, Pod.class, KubernetesClient::pods);
+    if (informer != null) {
+      return informer.getStore().getByKey(Cache.namespaceKeyFunc(namespace, podName));
     }
+    return cachedClient.client.pods().inNamespace(namespace).withName(podName).get();
   }
 
   @Override
-  public String getCloudProvider(Map<String, String> config) {
-    try (KubernetesClient client = getClient(config)) {
-      Node node = client.nodes().list().getItems().get(0);
-      NodeSpec spec = node.getSpec();
-      String provider = spec.getProviderID().split(":")[0];
-      return provider;
+  public boolean canWatchPods() {
+    return true;
+  }
+
+  @Override
+  public boolean waitForPodReady(
+      Map<String, String> config, String namespace, String podName, Duration timeout) {
+    try {
+      getClient(config)
+          .pods()
+          .inNamespace(namespace)
+          .withName(podName)
+          .waitUntilCondition(
+              KubernetesManager::isPodReady, timeout.toMillis(), TimeUnit.MILLISECONDS);
+      return true;
+    } catch (KubernetesClientTimeoutException e) {
+      log.warn("Timed out after {} waiting for pod {} to be ready", timeout, podName);
+      return false;
     }
   }
 
+  @Override
+  public String getCloudProvider(Map<String, String> config) {
+    KubernetesClient client = getClient(config);
+    Node node = client.nodes().list().getItems().get(0);
+    NodeSpec spec = node.getSpec();
+    String provider = spec.getProviderID().split(":")[0];
+    return provider;
+  }
+
   @Override
   public String getPreferredServiceIP(
       Map<String, String> config,
@@ -174,47 +434,44 @@ public class NativeKubernetesManager extends KubernetesManager {
       boolean newNamingStyle) {
     String appLabel = newNamingStyle ? "app.kubernetes.io/name" : "app";
     String appName = isMaster ? "yb-master" : "yb-tserver";
-    try (KubernetesClient client = getClient(config)) {
-      // We don't use service-type=endpoint selector for backwards
-      // compatibility with old charts which don't have service-type
-      // label on endpoint/exposed services.
-      List<Service> services =
-          client
-              .services()
-              .inNamespace(namespace)
-              .withLabel(appLabel, appName)
-              .withLabel("release", universePrefix)
-              .withLabelNotIn("service-type", "headless", "non-endpoint")
-              .list()
-              .getItems();
-      // TODO: PLAT-5625: This might need a change when we have one
-      // common TServer/Master endpoint service across multiple Helm
-      // releases. Currently we call getPreferredServiceIP for each AZ
-      // deployment/Helm release, and return all the IPs.
-      if (services.size() != 1) {
-        throw new RuntimeException(
-            "There must be exactly one Master or TServer endpoint service, got " + services.size());
-      }
-      return getIp(services.get(0));
+    KubernetesClient client = getClient(config);
+    // We don't use service-type=endpoint selector for backwards
+    // compatibility with old charts which don't have service-type
+    // label on endpoint/exposed services.
+    List<Service> services =
+        client
+            .services()
+            .inNamespace(namespace)
+            .withLabel(appLabel, appName)
+            .withLabel("release", universePrefix)
+            .withLabelNotIn("service-type", "headless", "non-endpoint")
+            .list()
+            .getItems();
+    // TODO: PLAT-5625: This might need a change when we have one
+    // common TServer/Master endpoint service across multiple Helm
+    // releases. Currently we call getPreferredServiceIP for each AZ
+    // deployment/Helm release, and return all the IPs.
+    if (services.size() != 1) {
+      throw new RuntimeException(
+          "There must be exactly one Master or TServer endpoint service, got " + services.size());
     }
+    return getIp(services.get(0));
   }
 
   @Override
   public List<Node> getNodeInfos(Map<String, String> config) {
-    try (KubernetesClient client = getClient(config)) {
-      return client.nodes().list().getItems();
-    }
+    KubernetesClient client = getClient(config);
+    return client.nodes().list().getItems();
   }
 
   @Override
   public Secret getSecret(
       Map<String, String> config, String secretName, @Nullable String namespace) {
-    try (KubernetesClient client = getClient(config)) {
-      if (namespace == null) {
-        return client.secrets().withName(secretName).get();
-      }
-      return client.secrets().inNamespace(namespace).withName(secretName).get();
+    KubernetesClient client = getClient(config);
+    if (namespace == null) {
+      return client.secrets().withName(secretName).get();
     }
+    return client.secrets().inNamespace(namespace).withName(secretName).get();
   }
 
   @Override
@@ -225,70 +482,67 @@ public class NativeKubernetesManager extends KubernetesManager {
       int numNodes,
       boolean newNamingStyle) {
     String appLabel = newNamingStyle ? "app.kubernetes.io/name" : "app";
-    try (KubernetesClient client = getClient(config)) {
-      // https://github.com/fabric8io/kubernetes-client/issues/3948
-      MixedOperation<StatefulSet, StatefulSetList, RollableScalableResource<StatefulSet>>
-          statefulSets = client.apps().statefulSets();
-      statefulSets
-          .inNamespace(namespace)
-          .withLabel("release", universePrefix)
-          .withLabel(appLabel, "yb-tserver")
-          .list()
-          .getItems()
-          .forEach(
-              s ->
-                  statefulSets
-                      .inNamespace(namespace)
-                      .withName(s.getMetadata().getName())
-                      .scale(numNodes));
-    }
+    KubernetesClient client = getClient(config);
+    // https://github.com/fabric8io/kubernetes-client/issues/3948
+    MixedOperation<StatefulSet, StatefulSetList, RollableScalableResource<StatefulSet>>
+        statefulSets = client.apps().statefulSets();
+    listWithLabels(
+            config,
+            namespace,
+            ImmutableMap.of("release", universePrefix, appLabel, "yb-tserver"),
+            StatefulSet.class,
+            c -> c.apps().statefulSets())
+        .forEach(
+            s ->
+                statefulSets
+                    .inNamespace(namespace)
+                    .withName(s.getMetadata().getName())
+                    .scale(numNodes));
   }
 
   @Override
   public void deleteStorage(Map<String, String> config, String helmReleaseName, String namespace) {
-    try (KubernetesClient client = getClient(config)) {
-      client
-          .persistentVolumeClaims()
-          .inNamespace(namespace)
-          .withLabel("release", helmReleaseName)
-          .delete();
-    }
+    KubernetesClient client = getClient(config);
+    client
+        .persistentVolumeClaims()
+        .inNamespace(namespace)
+        .withLabel("release", helmReleaseName)
+        .delete();
   }
 
   @Override
   public void deleteNamespace(Map<String, String> config, String namespace) {
-    try (KubernetesClient client = getClient(config)) {
-      client.namespaces().withName(namespace).delete();
-    }
+    CachedClient cachedClient = getCachedClient(config);
+    cachedClient.client.namespaces().withName(namespace).delete();
+    // The watches of a deleted namespace are of no use anymore.
+    cachedClient.stopInformers(namespace);
+    helmChangeTimes.remove(namespace);
   }
 
   @Override
   public void deletePod(Map<String, String> config, String namespace, String podName) {
-    try (KubernetesClient client = getClient(config)) {
-      client.pods().inNamespace(namespace).withName(podName).delete();
-    }
+    KubernetesClient client = getClient(config);
+    client.pods().inNamespace(namespace).withName(podName).delete();
   }
 
   @Override
   public List<Event> getEvents(Map<String, String> config, String namespace) {
-    try (KubernetesClient client = getClient(config)) {
-      return client.events().v1().events().inNamespace(namespace).list().getItems();
-    }
+    KubernetesClient client = getClient(config);
+    return client.events().v1().events().inNamespace(namespace).list().getItems();
   }
 
   @Override
   public boolean deleteStatefulSet(Map<String, String> config, String namespace, String stsName) {
-    try (KubernetesClient client = getClient(config)) {
-      // We just check if the list of StatusDetails is empty or not.
-      return client
-          .apps()
-          .statefulSets()
-          .inNamespace(namespace)
-          .withName(stsName)
-          .withPropagationPolicy(DeletionPropagation.ORPHAN)
-          .delete()
-          .isEmpty();
-    }
+    KubernetesClient client = getClient(config);
+    // We just check if the list of StatusDetails is empty or not.
+    return client
+        .apps()
+        .statefulSets()
+        .inNamespace(namespace)
+        .withName(stsName)
+        .withPropagationPolicy(DeletionPropagation.ORPHAN)
+        .delete()
+        .isEmpty();
   }
 
   @Override
@@ -302,26 +556,27 @@ public class NativeKubernetesManager extends KubernetesManager {
       boolean newNamingStyle) {
     String appLabel = newNamingStyle ? "app.kubernetes.io/name" : "app";
     Map<String, String> labels = ImmutableMap.of(appLabel, appName, "release", helmReleaseName);
-    try (KubernetesClient client = getClient(config)) {
-      List<PersistentVolumeClaim> pvcs =
-          client
-              .persistentVolumeClaims()
-              .inNamespace(namespace)
-              .withLabels(labels)
-              .list()
-              .getItems();
-      for (PersistentVolumeClaim pvc : pvcs) {
-        log.info("Updating PVC size for {} to {}", pvc.getMetadata().getName(), newDiskSize);
-        pvc.getSpec().getResources().getRequests().put("storage", new Quantity(newDiskSize));
-        // The .withName is so we can chain the .patch, an update to the client
-        // seems to have changed it so that this is required.
-        client
-            .persistentVolumeClaims()
-            .withName(pvc.getMetadata().getName())
-            .patch(PatchContext.of(PatchType.STRATEGIC_MERGE), pvc);
-      }
-      return true;
+    KubernetesClient client = getClient(config);
+    List<PersistentVolumeClaim> pvcs =
+        listWithLabels(
+            config,
+            namespace,
+            labels,
+            PersistentVolumeClaim.class,
+            KubernetesClient::persistentVolumeClaims);
+    for (PersistentVolumeClaim cachedPvc : pvcs) {
+      // Objects from the informer store are shared, only modify a copy.
+      PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder(cachedPvc).build();
+      log.info("Updating PVC size for {} to {}", pvc.getMetadata().getName(), newDiskSize);
+      pvc.getSpec().getResources().getRequests().put("storage", new Quantity(newDiskSize));
+      // The .withName is so we can chain the .patch, an update to the client
+      // seems to have changed it so that this is required.
+      client
+          .persistentVolumeClaims()
+          .withName(pvc.getMetadata().getName())
+          .patch(PatchContext.of(PatchType.STRATEGIC_MERGE), pvc);
     }
+    return true;
   }
 
   @Override
@@ -332,15 +587,14 @@ public class NativeKubernetesManager extends KubernetesManager {
       String containerName,
       String srcFilePath,
       String destFilePath) {
-    try (KubernetesClient client = getClient(config)) {
-      client
-          .pods()
-          .inNamespace(namespace)
-          .withName(podName)
-          .inContainer(containerName)
-          .file(destFilePath)
-          .upload(Paths.get(srcFilePath));
-    }
+    KubernetesClient client = getClient(config);
+    client
+        .pods()
+        .inNamespace(namespace)
+        .withName(podName)
+        .inContainer(containerName)
+        .file(destFilePath)
+        .upload(Paths.get(srcFilePath));
   }
 
   @Override
@@ -350,19 +604,18 @@ public class NativeKubernetesManager extends KubernetesManager {
       String podName,
       String containerName,
       List<String> commandArgs) {
-    try (KubernetesClient client = getClient(config)) {
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      CompletableFuture<String> data = new CompletableFuture<>();
-      client
-          .pods()
-          .inNamespace(namespace)
-          .withName(podName)
-          .inContainer(containerName)
-          .writingOutput(baos)
-          .writingError(baos)
-          .usingListener(new SimpleListener(data, baos))
-          .exec(commandArgs.stream().toArray(String[]::new));
-    }
+    KubernetesClient client = getClient(config);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CompletableFuture<String> data = new CompletableFuture<>();
+    client
+        .pods()
+        .inNamespace(namespace)
+        .withName(podName)
+        .inContainer(containerName)
+        .writingOutput(baos)
+        .writingError(baos)
+        .usingListener(new SimpleListener(data, baos))
+        .exec(commandArgs.stream().toArray(String[]::new));
   }
 
   @Override
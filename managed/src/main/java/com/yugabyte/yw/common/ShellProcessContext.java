@@ -20,6 +20,8 @@ public class ShellProcessContext {
   boolean traceLogging;
   // Human-readable description for logging.
   String description;
+  // Command type for metrics, derived from the command if not set. Should have few values.
+  String commandType;
   // Used to track this execution, can be null.
   UUID uuid;
   // Abort the command forcibly if it takes longer than this.
@@ -19,9 +19,13 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.common.password.RedactingService;
+import com.yugabyte.yw.models.helpers.KnownAlertLabels;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Histogram;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -32,6 +36,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -52,6 +57,19 @@ public class ShellProcessHandler {
 
   private static final Duration DESTROY_GRACE_TIMEOUT = Duration.ofMinutes(5);
 
+  // Command types of the devops commands, see getCommandType() of the DevopsBase subclasses.
+  private static final Set<String> DEVOPS_COMMAND_TYPES =
+      ImmutableSet.of("access", "dns", "instance", "network", "node", "query", "table");
+
+  private static final Set<String> INTERPRETERS =
+      ImmutableSet.of("bash", "python", "python3", "sh");
+
+  private static final Histogram COMMAND_DURATION_SEC =
+      Histogram.build("ybp_shell_command_duration_seconds", "Duration of shell commands")
+          .labelNames("command_type", KnownAlertLabels.RESULT.labelName())
+          .buckets(0.1, 0.5, 1, 5, 10, 30, 60, 300, 600, 1800, 3600)
+          .register(CollectorRegistry.defaultRegistry);
+
   private final Config appConfig;
   private final boolean cloudLoggingEnabled;
   private final ShellLogsManager shellLogsManager;
@@ -243,6 +261,11 @@ public class ShellProcessHandler {
     } finally {
       if (startMs > 0) {
         response.durationMs = System.currentTimeMillis() - startMs;
+        COMMAND_DURATION_SEC
+            .labels(
+                getCommandType(command, context),
+                ERROR_CODE_SUCCESS == response.code ? "success" : "failure")
+            .observe(response.durationMs / 1000.0);
       }
       String status =
           (ERROR_CODE_SUCCESS == response.code) ? "success" : ("failure code=" + response.code);
@@ -308,6 +331,32 @@ public class ShellProcessHandler {
     return run(command, extraEnvVars, true /*logCommandOutput*/);
   }
 
+  /**
+   * Returns the type of the command with few possible values, to be used as metric label. Devops
+   * commands are told apart by their command type and command, like "ybcloud.sh instance
+   * provision", other commands by the executable or script name.
+   */
+  @VisibleForTesting
+  static String getCommandType(List<String> command, ShellProcessContext context) {
+    if (context.getCommandType() != null) {
+      return context.getCommandType();
+    }
+    if (command.isEmpty()) {
+      return "unknown";
+    }
+    String executable = new File(command.get(0)).getName();
+    if (command.get(0).equals(DevopsBase.YBCLOUD_SCRIPT)) {
+      for (int i = 1; i < command.size() - 1; i++) {
+        if (DEVOPS_COMMAND_TYPES.contains(command.get(i))) {
+          return executable + " " + command.get(i) + " " + command.get(i + 1);
+        }
+      }
+    } else if (INTERPRETERS.contains(executable) && command.size() > 1) {
+      return new File(command.get(1)).getName();
+    }
+    return executable;
+  }
+
   public ShellResponse run(List<String> command, Map<String, String> extraEnvVars, UUID uuid) {
     return run(
         command,
@@ -24,9 +24,11 @@ import com.yugabyte.yw.common.alerts.AlertRuleTemplateSubstitutor;
 import com.yugabyte.yw.common.config.RuntimeConfGetter;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.common.config.UniverseConfKeys;
+import com.yugabyte.yw.metrics.MetricDownsampling;
 import com.yugabyte.yw.models.AlertConfiguration;
 import com.yugabyte.yw.models.AlertDefinition;
 import com.yugabyte.yw.models.AlertTemplateSettings;
+import com.yugabyte.yw.models.MetricConfig;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.helpers.MetricCollectionLevel;
 import com.yugabyte.yw.models.helpers.NodeDetails;
@@ -319,15 +321,23 @@ public class SwamperHelper {
     }
 
     String fileContent;
+    Config config = runtimeConfigFactory.staticApplicationConf();
     try (InputStream templateStream = environment.resourceAsStream("metric/recording_rules.yml")) {
       fileContent = IOUtils.toString(templateStream, StandardCharsets.UTF_8);
-      long scrapeInterval = getScrapeIntervalSeconds(runtimeConfigFactory.staticApplicationConf());
+      long scrapeInterval = getScrapeIntervalSeconds(config);
       fileContent =
           fileContent.replaceAll(
               RANGE_PLACEHOLDER, String.format("%ds", (scrapeInterval * IRATE_SCRAPE_PERIODS)));
     } catch (IOException e) {
       throw new RuntimeException("Failed to read alert definition header template", e);
     }
+    if (config.getBoolean(MetricDownsampling.ENABLED_PARAM)) {
+      fileContent +=
+          MetricDownsampling.getRecordingRules(
+              MetricConfig.find.all().stream()
+                  .map(MetricConfig::getConfig)
+                  .collect(Collectors.toList()));
+    }
 
     writeFile(rulesFile, fileContent);
   }
@@ -28,6 +28,7 @@ import com.yugabyte.yw.models.Universe.UniverseUpdater;
 import com.yugabyte.yw.models.Users;
 import com.yugabyte.yw.models.extended.UserWithFeatures;
 import com.yugabyte.yw.models.helpers.NodeDetails;
+import com.yugabyte.yw.models.helpers.UniverseProjection;
 import io.swagger.annotations.ApiModel;
 import java.io.BufferedInputStream;
 import java.io.File;
@@ -441,6 +442,15 @@ public class Util {
       creationDate = universe.getCreationDate().getTime();
       universePaused = universeDetails.universePaused;
     }
+
+    public UniverseDetailSubset(UniverseProjection universe) {
+      uuid = universe.getUniverseUUID();
+      name = universe.getName();
+      updateInProgress = universe.isUpdateInProgress();
+      updateSucceeded = universe.isUpdateSucceeded();
+      creationDate = universe.getCreationDate().getTime();
+      universePaused = universe.isUniversePaused();
+    }
   }
 
   public static List<UniverseDetailSubset> getUniverseDetails(Set<Universe> universes) {
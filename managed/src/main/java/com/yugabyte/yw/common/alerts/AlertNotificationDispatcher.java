@@ -0,0 +1,274 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.common.alerts;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
+import com.yugabyte.yw.common.ShutdownHookHandler;
+import com.yugabyte.yw.common.metrics.MetricLabelsBuilder;
+import com.yugabyte.yw.common.metrics.MetricService;
+import com.yugabyte.yw.models.AlertChannel;
+import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.helpers.CommonUtils;
+import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers alert notifications off the caller thread. Every channel gets its own bounded queue,
+ * a cap on the number of deliveries running for it at once and a rate limiter, so one slow or
+ * hanging receiver only delays the notifications that go to that receiver. Failed deliveries are
+ * retried with exponential backoff.
+ */
+@Singleton
+@Slf4j
+public class AlertNotificationDispatcher {
+
+  private static final String CONFIG_PREFIX = "yb.alert.notifications.";
+  private static final String POOL_NAME = "alert_notifications";
+
+  private final int queueSize;
+  private final int workersPerChannel;
+  private final double ratePerSec;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final long retryInitialDelayMs;
+
+  private final ExecutorService workers;
+  private final ScheduledExecutorService retryScheduler;
+  private final Map<UUID, ChannelQueue> channelQueues = new ConcurrentHashMap<>();
+  private final MetricService metricService;
+
+  @Inject
+  public AlertNotificationDispatcher(
+      Config config,
+      PlatformExecutorFactory platformExecutorFactory,
+      ShutdownHookHandler shutdownHookHandler,
+      MetricService metricService) {
+    this.metricService = metricService;
+    this.queueSize = config.getInt(CONFIG_PREFIX + "queue_size");
+    this.workersPerChannel = config.getInt(CONFIG_PREFIX + "workers_per_channel");
+    this.ratePerSec = config.getDouble(CONFIG_PREFIX + "rate_per_sec");
+    this.batchSize = config.getInt(CONFIG_PREFIX + "batch_size");
+    this.maxAttempts = config.getInt(CONFIG_PREFIX + "max_attempts");
+    this.retryInitialDelayMs = config.getDuration(CONFIG_PREFIX + "retry_initial_delay").toMillis();
+    this.workers =
+        platformExecutorFactory.createFixedExecutor(
+            POOL_NAME,
+            config.getInt(CONFIG_PREFIX + "threads"),
+            new ThreadFactoryBuilder().setNameFormat("AlertNotification-%d").build());
+    this.retryScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("AlertNotificationRetry-%d")
+                .setDaemon(true)
+                .build());
+    shutdownHookHandler.addShutdownHook(
+        retryScheduler,
+        (scheduler) -> {
+          // Do not use the scheduler directly as it can create strong reference.
+          if (scheduler != null) {
+            MoreExecutors.shutdownAndAwaitTermination(scheduler, 1, TimeUnit.MINUTES);
+          }
+        });
+  }
+
+  /**
+   * Queues the delivery of a notification to the channel, retrying it up to the configured
+   * number of attempts.
+   *
+   * @return future which completes when the notification is delivered, or exceptionally with the
+   *     last delivery error or {@link RejectedExecutionException} if the channel queue is full.
+   */
+  public CompletableFuture<Void> dispatch(AlertChannel channel, Callable<Void> delivery) {
+    return dispatch(channel, delivery, maxAttempts);
+  }
+
+  public CompletableFuture<Void> dispatch(
+      AlertChannel channel, Callable<Void> delivery, int attempts) {
+    ChannelQueue queue =
+        channelQueues.computeIfAbsent(channel.getUuid(), uuid -> new ChannelQueue(channel));
+    // Metrics of the channel are labelled with its latest name.
+    queue.channel = channel;
+    Delivery task = new Delivery(delivery, Math.max(1, attempts));
+    if (!queue.offer(task)) {
+      task.future.completeExceptionally(
+          new RejectedExecutionException(
+              "Notification queue is full for channel " + channel.getName()));
+    }
+    return task.future;
+  }
+
+  @VisibleForTesting
+  int getQueuedCount(UUID channelUuid) {
+    ChannelQueue queue = channelQueues.get(channelUuid);
+    return queue == null ? 0 : queue.pending.size();
+  }
+
+  private static class Delivery {
+    private final Callable<Void> callable;
+    private final int maxAttempts;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private int attempt;
+    private long queuedAtNanos;
+
+    private Delivery(Callable<Void> callable, int maxAttempts) {
+      this.callable = callable;
+      this.maxAttempts = maxAttempts;
+    }
+  }
+
+  private class ChannelQueue {
+    private final BlockingQueue<Delivery> pending = new LinkedBlockingQueue<>(queueSize);
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final RateLimiter rateLimiter = RateLimiter.create(ratePerSec);
+    private volatile AlertChannel channel;
+
+    private ChannelQueue(AlertChannel channel) {
+      this.channel = channel;
+    }
+
+    private boolean offer(Delivery delivery) {
+      delivery.queuedAtNanos = System.nanoTime();
+      if (!pending.offer(delivery)) {
+        return false;
+      }
+      startWorkers();
+      return true;
+    }
+
+    private void startWorkers() {
+      while (!pending.isEmpty()) {
+        int active = activeWorkers.get();
+        if (active >= workersPerChannel) {
+          return;
+        }
+        if (activeWorkers.compareAndSet(active, active + 1)) {
+          try {
+            workers.execute(this::drain);
+          } catch (RejectedExecutionException e) {
+            // Shutting down - deliveries left in the queue are dropped.
+            activeWorkers.decrementAndGet();
+            return;
+          }
+        }
+      }
+    }
+
+    // Delivers up to batchSize notifications in a row, then gives the thread back to the pool so
+    // that busy channels don't starve the others.
+    private void drain() {
+      long throttledForMs = 0;
+      try {
+        for (int i = 0; i < batchSize && !pending.isEmpty(); i++) {
+          if (!rateLimiter.tryAcquire()) {
+            throttledForMs = (long) Math.ceil(1000 / ratePerSec);
+            break;
+          }
+          Delivery delivery = pending.poll();
+          if (delivery == null) {
+            break;
+          }
+          deliver(delivery);
+        }
+      } finally {
+        activeWorkers.decrementAndGet();
+      }
+      if (throttledForMs > 0) {
+        retryScheduler.schedule(this::startWorkers, throttledForMs, TimeUnit.MILLISECONDS);
+      } else {
+        startWorkers();
+      }
+    }
+
+    private void deliver(Delivery delivery) {
+      long startNanos = System.nanoTime();
+      delivery.attempt++;
+      Throwable error = null;
+      try {
+        delivery.callable.call();
+      } catch (Throwable t) {
+        error = t;
+      }
+      saveMetrics(
+          TimeUnit.NANOSECONDS.toMillis(startNanos - delivery.queuedAtNanos),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+      if (error == null) {
+        delivery.future.complete(null);
+      } else if (delivery.attempt >= delivery.maxAttempts) {
+        delivery.future.completeExceptionally(error);
+      } else {
+        long delayMs = retryInitialDelayMs << Math.min(delivery.attempt - 1, 16);
+        log.debug(
+            "Notification attempt {} failed, retrying in {} ms: {}",
+            delivery.attempt,
+            delayMs,
+            error.getMessage());
+        try {
+          retryScheduler.schedule(() -> requeue(delivery), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+          delivery.future.completeExceptionally(error);
+        }
+      }
+    }
+
+    private void saveMetrics(long queueTimeMs, long deliveryTimeMs) {
+      try {
+        metricService.save(
+            Arrays.asList(
+                buildMetric(PlatformMetrics.ALERT_MANAGER_CHANNEL_QUEUE_SIZE, pending.size()),
+                buildMetric(PlatformMetrics.ALERT_MANAGER_CHANNEL_QUEUE_TIME, queueTimeMs),
+                buildMetric(PlatformMetrics.ALERT_MANAGER_CHANNEL_DELIVERY_TIME, deliveryTimeMs)));
+      } catch (Exception e) {
+        log.warn("Failed to save notification metrics for channel {}", channel.getUuid(), e);
+      }
+    }
+
+    private Metric buildMetric(PlatformMetrics metric, double value) {
+      return new Metric()
+          .setExpireTime(
+              CommonUtils.nowPlusWithoutMillis(
+                  MetricService.DEFAULT_METRIC_EXPIRY_SEC, ChronoUnit.SECONDS))
+          .setCustomerUUID(channel.getCustomerUUID())
+          .setType(Metric.Type.GAUGE)
+          .setName(metric.getMetricName())
+          .setSourceUuid(channel.getUuid())
+          .setLabels(MetricLabelsBuilder.create().appendSource(channel).getMetricLabels())
+          .setValue(value);
+    }
+
+    private void requeue(Delivery delivery) {
+      if (!offer(delivery)) {
+        delivery.future.completeExceptionally(
+            new RejectedExecutionException("Notification queue is full, retry dropped"));
+      }
+    }
+  }
+}
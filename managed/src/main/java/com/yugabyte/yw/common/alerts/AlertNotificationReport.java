@@ -14,6 +14,7 @@ import java.util.Map;
 import java.util.UUID;
 import lombok.ToString;
 
+/** Collects notification statistics of one run. Channel deliveries report into it concurrently. */
 @ToString
 public class AlertNotificationReport {
   int totalRaiseAttempt;
@@ -21,35 +22,32 @@ public class AlertNotificationReport {
   int failedRaise;
   int failedResolve;
   private final Map<UUID, Integer> failuresByChannel = new HashMap<>();
-  boolean raiseOrResolve;
 
-  public boolean isEmpty() {
+  public synchronized boolean isEmpty() {
     return totalRaiseAttempt + totalResolveAttempt == 0;
   }
 
-  public void raiseAttempt() {
+  public synchronized void raiseAttempt() {
     totalRaiseAttempt++;
-    raiseOrResolve = true;
   }
 
-  public void resolveAttempt() {
+  public synchronized void resolveAttempt() {
     totalResolveAttempt++;
-    raiseOrResolve = false;
   }
 
-  public void failAttempt() {
-    if (raiseOrResolve) {
+  public synchronized void failAttempt(boolean raise) {
+    if (raise) {
       failedRaise++;
     } else {
       failedResolve++;
     }
   }
 
-  public void failChannel(UUID channelUuid) {
+  public synchronized void failChannel(UUID channelUuid) {
     failuresByChannel.put(channelUuid, failuresByChannel(channelUuid) + 1);
   }
 
-  public int failuresByChannel(UUID channelUuid) {
+  public synchronized int failuresByChannel(UUID channelUuid) {
     return failuresByChannel.getOrDefault(channelUuid, 0);
   }
 }
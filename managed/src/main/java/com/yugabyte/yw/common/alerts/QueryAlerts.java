@@ -16,12 +16,14 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.typesafe.config.Config;
 import com.yugabyte.yw.common.AlertManager;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.metrics.MetricService;
 import com.yugabyte.yw.metrics.MetricQueryHelper;
 import com.yugabyte.yw.metrics.data.AlertData;
 import com.yugabyte.yw.metrics.data.AlertState;
+import com.yugabyte.yw.metrics.data.AlertmanagerNotification;
 import com.yugabyte.yw.models.Alert;
 import com.yugabyte.yw.models.Alert.State;
 import com.yugabyte.yw.models.AlertConfiguration;
@@ -35,6 +37,7 @@ import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
@@ -44,6 +47,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -59,6 +63,9 @@ public class QueryAlerts {
   private static final int YB_QUERY_ALERTS_INTERVAL_SEC = 30;
   private static final int ALERTS_BATCH = 1000;
   private static final String SUMMARY_ANNOTATION_NAME = "summary";
+  private static final String RECEIVER_ENABLED = "yb.alert.receiver.enabled";
+  private static final String RECEIVER_RECONCILIATION_INTERVAL =
+      "yb.alert.receiver.reconciliation_interval";
 
   private final PlatformScheduler platformScheduler;
 
@@ -74,6 +81,14 @@ public class QueryAlerts {
 
   private final AlertManager alertManager;
 
+  // When alerts are pushed by Alertmanager, the full reconciliation against Prometheus is only a
+  // safety net for lost notifications, so it runs less often than notifications are sent.
+  private final long reconciliationIntervalNanos;
+
+  private long lastReconciliationNanos;
+
+  private boolean reconciledOnce;
+
   @Inject
   public QueryAlerts(
       PlatformScheduler platformScheduler,
@@ -82,7 +97,8 @@ public class QueryAlerts {
       MetricService metricService,
       AlertDefinitionService alertDefinitionService,
       AlertConfigurationService alertConfigurationService,
-      AlertManager alertManager) {
+      AlertManager alertManager,
+      Config config) {
     this.platformScheduler = platformScheduler;
     this.queryHelper = queryHelper;
     this.alertService = alertService;
@@ -90,6 +106,10 @@ public class QueryAlerts {
     this.alertDefinitionService = alertDefinitionService;
     this.alertConfigurationService = alertConfigurationService;
     this.alertManager = alertManager;
+    this.reconciliationIntervalNanos =
+        config.getBoolean(RECEIVER_ENABLED)
+            ? config.getDuration(RECEIVER_RECONCILIATION_INTERVAL).toNanos()
+            : 0;
   }
 
   public void start() {
@@ -108,14 +128,16 @@ public class QueryAlerts {
         resolveAllAlerts();
         return;
       }
-      try {
-        List<UUID> activeAlertsUuids = processActiveAlerts();
-        resolveAlerts(activeAlertsUuids);
-        metricService.setOkStatusMetric(buildMetricTemplate(PlatformMetrics.ALERT_QUERY_STATUS));
-      } catch (Exception e) {
-        metricService.setFailureStatusMetric(
-            buildMetricTemplate(PlatformMetrics.ALERT_QUERY_STATUS));
-        log.error("Error querying for alerts", e);
+      if (isReconciliationDue()) {
+        try {
+          reconcileAlerts();
+          metricService.setOkStatusMetric(
+              buildMetricTemplate(PlatformMetrics.ALERT_QUERY_STATUS));
+        } catch (Exception e) {
+          metricService.setFailureStatusMetric(
+              buildMetricTemplate(PlatformMetrics.ALERT_QUERY_STATUS));
+          log.error("Error querying for alerts", e);
+        }
       }
       alertManager.sendNotifications();
     } catch (Exception e) {
@@ -123,6 +145,64 @@ public class QueryAlerts {
     }
   }
 
+  private boolean isReconciliationDue() {
+    long now = System.nanoTime();
+    if (reconciledOnce && now - lastReconciliationNanos < reconciliationIntervalNanos) {
+      return false;
+    }
+    reconciledOnce = true;
+    lastReconciliationNanos = now;
+    return true;
+  }
+
+  private synchronized void reconcileAlerts() {
+    List<UUID> activeAlertsUuids = processActiveAlerts();
+    resolveAlerts(activeAlertsUuids);
+  }
+
+  /**
+   * Applies alert state changes pushed by Alertmanager webhook. Only new or changed firing alerts
+   * are saved, and alerts are resolved on explicit resolve events. Anything missed is fixed by the
+   * next full reconciliation against Prometheus.
+   */
+  public synchronized void ingestAlerts(AlertmanagerNotification notification) {
+    if (HighAvailabilityConfig.isFollower()) {
+      log.debug("Ignoring Alertmanager notification on the standby instance");
+      return;
+    }
+    if (notification.getAlerts() == null) {
+      return;
+    }
+    List<AlertData> firing = new ArrayList<>();
+    List<AlertData> resolved = new ArrayList<>();
+    for (AlertmanagerNotification.Alert alert : notification.getAlerts()) {
+      AlertData alertData = alert.toAlertData();
+      if (!isValid(alertData)) {
+        continue;
+      }
+      if (alert.getStatus() == AlertmanagerNotification.Status.resolved) {
+        resolved.add(alertData);
+      } else {
+        firing.add(alertData);
+      }
+    }
+
+    UpsertResult upserted = upsertAlerts(deduplicate(firing), false);
+    Set<AlertKey> firingKeys = firing.stream().map(this::getAlertKey).collect(Collectors.toSet());
+    List<AlertData> toResolve =
+        resolved.stream()
+            .filter(alertData -> !firingKeys.contains(getAlertKey(alertData)))
+            .collect(Collectors.toList());
+    int resolvedCount = resolveNotifiedAlerts(toResolve);
+    log.debug(
+        "Alertmanager notification: {} alerts saved, {} alerts resolved",
+        upserted.getSaved(),
+        resolvedCount);
+    if (upserted.getSaved() > 0 || resolvedCount > 0) {
+      alertManager.sendNotifications();
+    }
+  }
+
   private List<UUID> processActiveAlerts() {
     if (!queryHelper.isPrometheusManagementEnabled()) {
       return Collections.emptyList();
@@ -132,10 +212,7 @@ public class QueryAlerts {
         buildMetricTemplate(PlatformMetrics.ALERT_QUERY_TOTAL_ALERTS), alerts.size());
     List<AlertData> validAlerts =
         alerts.stream()
-            .filter(alertData -> getCustomerUuid(alertData) != null)
-            .filter(alertData -> getConfigurationUuid(alertData) != null)
-            .filter(alertData -> getDefinitionUuid(alertData) != null)
-            .filter(alertData -> getSourceUuid(alertData) != null)
+            .filter(this::isValid)
             .collect(Collectors.toList());
     if (alerts.size() > validAlerts.size()) {
       log.warn(
@@ -154,20 +231,35 @@ public class QueryAlerts {
         buildMetricTemplate(PlatformMetrics.ALERT_QUERY_PENDING_ALERTS),
         validAlerts.size() - activeAlerts.size());
 
-    List<AlertData> deduplicatedAlerts =
-        new ArrayList<>(
-            activeAlerts.stream()
-                .collect(
-                    Collectors.toMap(
-                        this::getAlertKey,
-                        Function.identity(),
-                        (a, b) ->
-                            getSeverity(a).getPriority() > getSeverity(b).getPriority() ? a : b,
-                        LinkedHashMap::new))
-                .values());
+    UpsertResult result = upsertAlerts(deduplicate(activeAlerts), true);
+    metricService.setMetric(
+        buildMetricTemplate(PlatformMetrics.ALERT_QUERY_FILTERED_ALERTS),
+        activeAlerts.size() - result.getActiveAlertUuids().size());
+    return result.getActiveAlertUuids();
+  }
 
+  private List<AlertData> deduplicate(List<AlertData> alerts) {
+    return new ArrayList<>(
+        alerts.stream()
+            .collect(
+                Collectors.toMap(
+                    this::getAlertKey,
+                    Function.identity(),
+                    (a, b) -> getSeverity(a).getPriority() > getSeverity(b).getPriority() ? a : b,
+                    LinkedHashMap::new))
+            .values());
+  }
+
+  /**
+   * Creates or updates firing alerts for the given alert data.
+   *
+   * @param fullSync whether all the matching alerts are saved and query metrics are updated, or
+   *     only new and changed alerts are saved.
+   */
+  private UpsertResult upsertAlerts(List<AlertData> alerts, boolean fullSync) {
     List<UUID> activeAlertUuids = new ArrayList<>();
-    for (List<AlertData> batch : Lists.partition(deduplicatedAlerts, ALERTS_BATCH)) {
+    long saved = 0;
+    for (List<AlertData> batch : Lists.partition(alerts, ALERTS_BATCH)) {
       Set<UUID> definitionUuids =
           batch.stream()
               .map(this::getDefinitionUuid)
@@ -182,6 +274,11 @@ public class QueryAlerts {
       Map<AlertKey, Alert> existingAlertsByKey =
           alertService.list(alertFilter).stream()
               .collect(Collectors.toMap(this::getAlertKey, Function.identity()));
+      Map<UUID, List<Object>> fingerprintsBefore =
+          fullSync
+              ? Collections.emptyMap()
+              : existingAlertsByKey.values().stream()
+                  .collect(Collectors.toMap(Alert::getUuid, this::getFingerprint));
 
       AlertDefinitionFilter definitionFilter =
           AlertDefinitionFilter.builder().uuids(definitionUuids).build();
@@ -199,7 +296,7 @@ public class QueryAlerts {
           alertConfigurationService.list(configurationFilter).stream()
               .collect(Collectors.toMap(AlertConfiguration::getUuid, Function.identity()));
 
-      List<Alert> toSave =
+      List<Alert> processed =
           batch.stream()
               .map(
                   data ->
@@ -210,22 +307,80 @@ public class QueryAlerts {
                           existingConfigsByUuid))
               .filter(Objects::nonNull)
               .collect(Collectors.toList());
-      metricService.setMetric(
-          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_FILTERED_ALERTS),
-          activeAlerts.size() - toSave.size());
+      List<Alert> toSave = new ArrayList<>();
+      for (Alert alert : processed) {
+        if (fullSync
+            || alert.isNew()
+            || !getFingerprint(alert).equals(fingerprintsBefore.get(alert.getUuid()))) {
+          toSave.add(alert);
+        } else {
+          activeAlertUuids.add(alert.getUuid());
+        }
+      }
       long newAlerts = toSave.stream().filter(Alert::isNew).count();
       long updatedAlerts = toSave.size() - newAlerts;
 
       List<Alert> savedAlerts = alertService.save(toSave);
-      metricService.setMetric(
-          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_NEW_ALERTS), newAlerts);
-      metricService.setMetric(
-          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_UPDATED_ALERTS), updatedAlerts);
+      saved += savedAlerts.size();
+      if (fullSync) {
+        metricService.setMetric(
+            buildMetricTemplate(PlatformMetrics.ALERT_QUERY_NEW_ALERTS), newAlerts);
+        metricService.setMetric(
+            buildMetricTemplate(PlatformMetrics.ALERT_QUERY_UPDATED_ALERTS), updatedAlerts);
+      }
 
       activeAlertUuids.addAll(
           savedAlerts.stream().map(Alert::getUuid).collect(Collectors.toList()));
     }
-    return activeAlertUuids;
+    return new UpsertResult(activeAlertUuids, saved);
+  }
+
+  // Alert fields, which are updated from the alert data.
+  private List<Object> getFingerprint(Alert alert) {
+    Map<String, String> labels = new TreeMap<>();
+    if (alert.getLabels() != null) {
+      alert.getLabels().forEach(label -> labels.put(label.getName(), label.getValue()));
+    }
+    return Arrays.asList(
+        alert.getSeverity(),
+        alert.getConfigurationType(),
+        alert.getMessage(),
+        alert.getState(),
+        labels);
+  }
+
+  private int resolveNotifiedAlerts(List<AlertData> resolvedAlerts) {
+    if (resolvedAlerts.isEmpty()) {
+      return 0;
+    }
+    Map<AlertKey, AlertConfiguration.Severity> resolvedSeverities =
+        resolvedAlerts.stream()
+            .collect(Collectors.toMap(this::getAlertKey, this::getSeverity, (a, b) -> a));
+    Set<UUID> definitionUuids =
+        resolvedAlerts.stream()
+            .map(this::getDefinitionUuid)
+            .map(UUID::fromString)
+            .collect(Collectors.toSet());
+    AlertFilter alertFilter =
+        AlertFilter.builder()
+            .definitionUuids(definitionUuids)
+            .states(State.getFiringStates())
+            .build();
+    // Other severity of the same alert may still be firing - only resolve the matching one.
+    Set<UUID> toResolve =
+        alertService.list(alertFilter).stream()
+            .filter(alert -> alert.getSeverity() == resolvedSeverities.get(getAlertKey(alert)))
+            .map(Alert::getUuid)
+            .collect(Collectors.toSet());
+    if (toResolve.isEmpty()) {
+      return 0;
+    }
+    List<Alert> resolved =
+        alertService.markResolved(AlertFilter.builder().uuids(toResolve).build());
+    if (!resolved.isEmpty()) {
+      log.info("Resolved {} alerts", resolved.size());
+    }
+    return resolved.size();
   }
 
   private void resolveAlerts(List<UUID> activeAlertsUuids) {
@@ -245,6 +400,13 @@ public class QueryAlerts {
         buildMetricTemplate(PlatformMetrics.ALERT_QUERY_RESOLVED_ALERTS), resolved.size());
   }
 
+  private boolean isValid(AlertData alertData) {
+    return getCustomerUuid(alertData) != null
+        && getConfigurationUuid(alertData) != null
+        && getDefinitionUuid(alertData) != null
+        && getSourceUuid(alertData) != null;
+  }
+
   private String getCustomerUuid(AlertData alertData) {
     if (MapUtils.isEmpty(alertData.getLabels())) {
       return null;
@@ -377,6 +539,12 @@ public class QueryAlerts {
     return alert;
   }
 
+  @Value
+  private static class UpsertResult {
+    List<UUID> activeAlertUuids;
+    long saved;
+  }
+
   @Value
   private static class AlertKey {
     String definitionUuid;
@@ -24,11 +24,10 @@ import com.yugabyte.yw.models.extended.UserWithFeatures;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
-import play.libs.Json;
 import play.libs.typedmap.TypedKey;
 import play.mvc.Http;
 import play.mvc.Http.Request;
@@ -37,6 +36,9 @@ import play.mvc.Http.Request;
 public class AuditService {
 
   public static final TypedKey<Boolean> IS_AUDITED = TypedKey.create("isAudited");
+  // Set to true by the request handler if its audit entry needs to be committed before the
+  // response is sent, even if asynchronous audit writes are enabled.
+  public static final TypedKey<Boolean> SYNC_COMMIT = TypedKey.create("auditSyncCommit");
   public static final Logger LOG = LoggerFactory.getLogger(AuditService.class);
 
   public static final String SECRET_REPLACEMENT = "REDACTED";
@@ -101,6 +103,13 @@ public class AuditService {
           .mappingProvider(new JacksonMappingProvider())
           .build();
 
+  private final AuditWriter auditWriter;
+
+  @Inject
+  public AuditService(AuditWriter auditWriter) {
+    this.auditWriter = auditWriter;
+  }
+
   public void createAuditEntry(Http.Request request) {
     createAuditEntry(request, null, null, null, null, null);
   }
@@ -227,7 +236,7 @@ public class AuditService {
     JsonNode redactedParams = filterSecretFields(params);
     String userAddress = request.remoteAddress();
     Audit entry =
-        Audit.create(
+        Audit.newEntry(
             user.getUser(),
             path,
             method,
@@ -238,9 +247,9 @@ public class AuditService {
             taskUUID,
             additionalDetails,
             userAddress);
-    MDC.put("logType", "audit");
-    LOG.info(Json.toJson(entry).toString());
-    MDC.remove("logType");
+    // Entries of task requests are looked up by task UUID once the task is created.
+    boolean syncCommit = taskUUID != null || RequestContext.getOrDefault(SYNC_COMMIT, false);
+    auditWriter.write(entry, syncCommit);
   }
 
   public List<Audit> getAll(UUID customerUUID) {
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common.audit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.ShutdownHookHandler;
+import com.yugabyte.yw.models.Audit;
+import io.ebean.DB;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import play.libs.Json;
+
+/**
+ * Saves audit entries and writes them to the audit log. By default every entry is committed on
+ * the calling thread before the request completes. With yb.audit.async_write.enabled entries are
+ * queued and inserted in batches by a background thread instead. Entries are still written
+ * synchronously when the queue is full, so that no entry is dropped.
+ */
+@Singleton
+@Slf4j
+public class AuditWriter {
+
+  private static final String CONFIG_PREFIX = "yb.audit.async_write.";
+
+  private final boolean asyncEnabled;
+  private final int batchSize;
+  private final BlockingQueue<Audit> queue;
+  private final ExecutorService executor;
+
+  @Inject
+  public AuditWriter(Config config, ShutdownHookHandler shutdownHookHandler) {
+    this.asyncEnabled = config.getBoolean(CONFIG_PREFIX + "enabled");
+    this.batchSize = config.getInt(CONFIG_PREFIX + "batch_size");
+    this.queue = new LinkedBlockingQueue<>(config.getInt(CONFIG_PREFIX + "queue_size"));
+    if (asyncEnabled) {
+      this.executor =
+          Executors.newSingleThreadExecutor(
+              new ThreadFactoryBuilder().setNameFormat("AuditWriter-%d").setDaemon(true).build());
+      executor.submit(this::writeQueued);
+      shutdownHookHandler.addShutdownHook(
+          this,
+          (writer) -> {
+            // Do not use the writer directly as it can create strong reference.
+            if (writer != null) {
+              writer.shutdown();
+            }
+          });
+    } else {
+      this.executor = null;
+    }
+  }
+
+  /**
+   * Writes the entry.
+   *
+   * @param entry audit entry
+   * @param syncCommit whether the entry needs to be committed before this method returns, even if
+   *     asynchronous writes are enabled
+   */
+  public void write(Audit entry, boolean syncCommit) {
+    if (!asyncEnabled || syncCommit || !queue.offer(entry)) {
+      save(Collections.singletonList(entry));
+    }
+  }
+
+  /** Writes all the queued entries on the calling thread. */
+  @VisibleForTesting
+  void flush() {
+    List<Audit> batch = new ArrayList<>();
+    while (queue.drainTo(batch, batchSize) > 0) {
+      save(batch);
+      batch.clear();
+    }
+  }
+
+  private void shutdown() {
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+
+  private void writeQueued() {
+    List<Audit> batch = new ArrayList<>(batchSize);
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        batch.add(queue.take());
+        queue.drainTo(batch, batchSize - 1);
+        save(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (Exception e) {
+        log.error("Failed to write audit entries", e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void save(List<Audit> entries) {
+    if (entries.size() == 1) {
+      entries.get(0).save();
+    } else {
+      try {
+        DB.getDefault().saveAll(entries);
+      } catch (Exception e) {
+        // Save the entries one by one, so that one bad entry doesn't lose the whole batch.
+        log.warn("Failed to save {} audit entries in batch, saving one by one", entries.size(), e);
+        for (Audit entry : entries) {
+          try {
+            entry.save();
+          } catch (Exception entryException) {
+            log.error(
+                "Failed to save audit entry {}", Json.toJson(entry).toString(), entryException);
+          }
+        }
+      }
+    }
+    MDC.put("logType", "audit");
+    try {
+      entries.forEach(entry -> AuditService.LOG.info(Json.toJson(entry).toString()));
+    } finally {
+      MDC.remove("logType");
+    }
+  }
+}
@@ -42,6 +42,15 @@ public class GlobalConfKeys extends RuntimeConfigKeysModule {
           "Use java library instead of spinning up kubectl process.",
           ConfDataType.BooleanType,
           ImmutableList.of(ConfKeyTags.PUBLIC));
+  public static final ConfKeyInfo<Boolean> kubernetesUseInformers =
+      new ConfKeyInfo<>(
+          "yb.kubernetes.use_informers",
+          ScopeType.GLOBAL,
+          "Use Kubernetes Informers",
+          "Serve pod, service, PVC and statefulset reads of the java Kubernetes client from"
+              + " watch-backed local caches instead of querying the API server on every call.",
+          ConfDataType.BooleanType,
+          ImmutableList.of(ConfKeyTags.INTERNAL));
   // TODO(): Add correct metadata
   public static final ConfKeyInfo<Boolean> useNewHelmNaming =
       new ConfKeyInfo<>(
@@ -19,6 +19,7 @@ import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.configs.CustomerConfig;
 import com.yugabyte.yw.models.configs.CustomerConfig.ConfigType;
 import com.yugabyte.yw.models.helpers.CustomerConfigValidator;
+import com.yugabyte.yw.models.helpers.UniverseProjection;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -113,7 +114,7 @@ public class CustomerConfigService {
             .collect(Collectors.toSet());
 
     Map<UUID, UniverseDetailSubset> universeMap =
-        Universe.getAllWithoutResources(universeUuids).stream()
+        Universe.getProjections(universeUuids, UniverseProjection.STATE_FIELDS).stream()
             .map(UniverseDetailSubset::new)
             .collect(Collectors.toMap(UniverseDetailSubset::getUuid, Function.identity()));
 
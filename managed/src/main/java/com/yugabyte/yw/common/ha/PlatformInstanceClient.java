@@ -28,8 +28,11 @@ import com.yugabyte.yw.models.HighAvailabilityConfig;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.Gauge;
 import java.io.File;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import org.slf4j.Logger;
@@ -42,6 +45,10 @@ import v1.RoutesPrefix;
 public class PlatformInstanceClient {
 
   public static final String YB_HA_WS_KEY = "yb.ha.ws";
+  public static final String YB_HA_REQUEST_TIMEOUT_KEY = "yb.ha.request_timeout";
+  public static final String YB_HA_BACKUP_SYNC_TIMEOUT_KEY = "yb.ha.backup_sync_timeout";
+  private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofMinutes(1);
+  private static final Duration DEFAULT_BACKUP_SYNC_TIMEOUT = Duration.ofMinutes(30);
   private static final Logger LOG = LoggerFactory.getLogger(PlatformInstanceClient.class);
   private static final String HA_INSTANCE_VERSION_MISMATCH_NAME = "yba_ha_inst_version_mismatch";
   private static final String HA_INSTANCE_ADDR_LABEL = "instance_addr";
@@ -58,6 +65,10 @@ public class PlatformInstanceClient {
 
   private final ConfigHelper configHelper;
 
+  private final Duration requestTimeout;
+
+  private final Duration backupSyncTimeout;
+
   static {
     HA_YBA_VERSION_MISMATCH_GAUGE =
         Gauge.build(HA_INSTANCE_VERSION_MISMATCH_NAME, "Has Instance version mismatched")
@@ -67,11 +78,29 @@ public class PlatformInstanceClient {
 
   public PlatformInstanceClient(
       ApiHelper apiHelper, String clusterKey, String remoteAddress, ConfigHelper configHelper) {
+    this(
+        apiHelper,
+        clusterKey,
+        remoteAddress,
+        configHelper,
+        DEFAULT_REQUEST_TIMEOUT,
+        DEFAULT_BACKUP_SYNC_TIMEOUT);
+  }
+
+  public PlatformInstanceClient(
+      ApiHelper apiHelper,
+      String clusterKey,
+      String remoteAddress,
+      ConfigHelper configHelper,
+      Duration requestTimeout,
+      Duration backupSyncTimeout) {
     this.apiHelper = apiHelper;
     this.remoteAddress = remoteAddress;
     this.requestHeader = ImmutableMap.of(HAAuthenticator.HA_CLUSTER_KEY_TOKEN_HEADER, clusterKey);
     this.controller = new ReverseInternalHAController(func(this::getPrefix));
     this.configHelper = configHelper;
+    this.requestTimeout = requestTimeout;
+    this.backupSyncTimeout = backupSyncTimeout;
   }
 
   private String getPrefix() {
@@ -80,20 +109,26 @@ public class PlatformInstanceClient {
 
   // Map a Call object to a request.
   private JsonNode makeRequest(Call call, JsonNode payload) {
-    JsonNode response;
+    CompletionStage<JsonNode> responseStage;
     switch (call.method()) {
       case "GET":
-        response = this.apiHelper.getRequest(call.url(), this.requestHeader);
+        responseStage =
+            this.apiHelper.getRequestAsync(
+                call.url(), this.requestHeader, Collections.emptyMap(), requestTimeout);
         break;
       case "PUT":
-        response = this.apiHelper.putRequest(call.url(), payload, this.requestHeader);
+        responseStage =
+            this.apiHelper.putRequestAsync(call.url(), payload, this.requestHeader, requestTimeout);
         break;
       case "POST":
-        response = this.apiHelper.postRequest(call.url(), payload, this.requestHeader);
+        responseStage =
+            this.apiHelper.postRequestAsync(
+                call.url(), payload, this.requestHeader, requestTimeout);
         break;
       default:
         throw new RuntimeException("Unsupported operation: " + call.method());
     }
+    JsonNode response = responseStage.toCompletableFuture().join();
 
     if (response == null || response.get("error") != null) {
       LOG.error("Error received from remote instance {}: {}", this.remoteAddress, response);
@@ -139,11 +174,15 @@ public class PlatformInstanceClient {
 
   public boolean syncBackups(String leaderAddr, String senderAddr, File backupFile) {
     JsonNode response =
-        this.apiHelper.multipartRequest(
-            this.controller.syncBackups().url(),
-            this.requestHeader,
-            buildPartsList(
-                backupFile, ImmutableMap.of("leader", leaderAddr, "sender", senderAddr)));
+        this.apiHelper
+            .multipartRequestAsync(
+                this.controller.syncBackups().url(),
+                this.requestHeader,
+                buildPartsList(
+                    backupFile, ImmutableMap.of("leader", leaderAddr, "sender", senderAddr)),
+                backupSyncTimeout)
+            .toCompletableFuture()
+            .join();
     if (response == null || response.get("error") != null) {
       LOG.error("Error received from remote instance {}. Got {}", this.remoteAddress, response);
       return false;
@@ -10,11 +10,15 @@
 
 package com.yugabyte.yw.common.ha;
 
+import static com.yugabyte.yw.common.ha.PlatformInstanceClient.YB_HA_BACKUP_SYNC_TIMEOUT_KEY;
+import static com.yugabyte.yw.common.ha.PlatformInstanceClient.YB_HA_REQUEST_TIMEOUT_KEY;
 import static com.yugabyte.yw.common.ha.PlatformInstanceClient.YB_HA_WS_KEY;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.typesafe.config.Config;
 import com.yugabyte.yw.common.ApiHelper;
+import com.yugabyte.yw.common.ApiRequestLimiter;
 import com.yugabyte.yw.common.ConfigHelper;
 import com.yugabyte.yw.common.WSClientRefresher;
 import lombok.extern.slf4j.Slf4j;
@@ -27,18 +31,30 @@ public class PlatformInstanceClientFactory {
 
   private final ConfigHelper configHelper;
 
+  private final ApiRequestLimiter requestLimiter;
+
+  private final Config config;
+
   @Inject
   public PlatformInstanceClientFactory(
-      WSClientRefresher wsClientRefresher, ConfigHelper configHelper) {
+      WSClientRefresher wsClientRefresher,
+      ConfigHelper configHelper,
+      ApiRequestLimiter requestLimiter,
+      Config config) {
     this.wsClientRefresher = wsClientRefresher;
     this.configHelper = configHelper;
+    this.requestLimiter = requestLimiter;
+    this.config = config;
   }
 
   public PlatformInstanceClient getClient(String clusterKey, String remoteAddress) {
+    // Share the limiter, so that the per instance limits hold across the clients.
     return new PlatformInstanceClient(
-        new ApiHelper(wsClientRefresher.getClient(YB_HA_WS_KEY)),
+        new ApiHelper(wsClientRefresher.getClient(YB_HA_WS_KEY), requestLimiter),
         clusterKey,
         remoteAddress,
-        configHelper);
+        configHelper,
+        config.getDuration(YB_HA_REQUEST_TIMEOUT_KEY),
+        config.getDuration(YB_HA_BACKUP_SYNC_TIMEOUT_KEY));
   }
 }
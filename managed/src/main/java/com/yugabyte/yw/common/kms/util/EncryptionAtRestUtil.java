@@ -17,7 +17,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.common.PlatformServiceException;
-import com.yugabyte.yw.common.Util;
 import com.yugabyte.yw.common.Util.UniverseDetailSubset;
 import com.yugabyte.yw.common.config.RuntimeConfGetter;
 import com.yugabyte.yw.common.inject.StaticInjectorHolder;
@@ -27,6 +26,7 @@ import com.yugabyte.yw.models.KmsConfig;
 import com.yugabyte.yw.models.KmsHistory;
 import com.yugabyte.yw.models.KmsHistoryId;
 import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.UniverseProjection;
 import io.ebean.annotation.EnumValue;
 import java.io.File;
 import java.lang.reflect.Constructor;
@@ -35,6 +35,7 @@ import java.util.Base64;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.encrypt.Encryptors;
@@ -242,9 +243,11 @@ public class EncryptionAtRestUtil {
   }
 
   public static List<UniverseDetailSubset> getUniverses(UUID configUUID) {
-    Set<Universe> universes =
-        KmsHistory.getUniverses(configUUID, KmsHistoryId.TargetType.UNIVERSE_KEY);
-    return Util.getUniverseDetails(universes);
+    Set<UUID> universeUUIDs =
+        KmsHistory.getUniverseUUIDs(configUUID, KmsHistoryId.TargetType.UNIVERSE_KEY);
+    return Universe.getProjections(universeUUIDs, UniverseProjection.STATE_FIELDS).stream()
+        .map(UniverseDetailSubset::new)
+        .collect(Collectors.toList());
   }
 
   public static int getNumUniverseKeys(UUID universeUUID) {
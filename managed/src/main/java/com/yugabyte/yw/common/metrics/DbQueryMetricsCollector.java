@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common.metrics;
+
+import com.google.inject.Singleton;
+import io.ebean.DB;
+import io.ebean.meta.MetaQueryMetric;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exports the query timings Ebean collects per query plan as Prometheus metrics per model. Ebean
+ * resets the timings on every collection, so the collected counts and durations are added up.
+ */
+@Singleton
+public class DbQueryMetricsCollector {
+
+  private static final String MODEL_LABEL = "model";
+
+  // Queries not bound to a model, like SqlQuery.
+  private static final String NO_MODEL = "sql";
+
+  private static final Counter DB_QUERIES =
+      Counter.build("ybp_db_queries", "Number of Ebean queries")
+          .labelNames(MODEL_LABEL)
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Counter DB_QUERY_SECONDS =
+      Counter.build("ybp_db_query_seconds", "Total duration of Ebean queries")
+          .labelNames(MODEL_LABEL)
+          .register(CollectorRegistry.defaultRegistry);
+
+  private static final Gauge DB_QUERY_MAX_SECONDS =
+      Gauge.build("ybp_db_query_max_seconds", "Longest Ebean query since the previous collection")
+          .labelNames(MODEL_LABEL)
+          .register(CollectorRegistry.defaultRegistry);
+
+  public synchronized void collect() {
+    Map<String, Long> maxMicros = new HashMap<>();
+    for (MetaQueryMetric metric : DB.getDefault().metaInfo().collectQueryMetrics()) {
+      String model = metric.type() == null ? NO_MODEL : metric.type().getSimpleName();
+      DB_QUERIES.labels(model).inc(metric.count());
+      DB_QUERY_SECONDS.labels(model).inc(metric.total() / 1e6);
+      maxMicros.merge(model, metric.max(), Math::max);
+    }
+    DB_QUERY_MAX_SECONDS.clear();
+    maxMicros.forEach((model, max) -> DB_QUERY_MAX_SECONDS.labels(model).set(max / 1e6));
+  }
+}
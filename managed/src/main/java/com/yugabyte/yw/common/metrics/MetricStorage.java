@@ -9,6 +9,7 @@
  */
 package com.yugabyte.yw.common.metrics;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.yugabyte.yw.common.utils.Pair;
 import com.yugabyte.yw.models.Metric;
 import com.yugabyte.yw.models.MetricKey;
@@ -16,23 +17,19 @@ import com.yugabyte.yw.models.MetricSourceKey;
 import com.yugabyte.yw.models.filters.MetricFilter;
 import com.yugabyte.yw.models.helpers.MetricSourceState;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import javax.inject.Singleton;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
@@ -43,104 +40,122 @@ import org.apache.commons.collections.CollectionUtils;
  * prometheus endpoint. Used instead of regular Prometheus client classes as we need to remove
  * metrics, which are not applicable anymore - for example object is deleted. Also allows to delete
  * old expired metrics, which are not deleted explicitly.
+ *
+ * <p>Series are kept in primitive columns, with names, UUIDs and label sets replaced by interned
+ * int ids, and found through an open addressing index on (name, customer, source, key labels).
+ * Filters are matched on the ids. Once enough series are deleted, the live ones are copied into a
+ * new instance with new interners, which drops the deleted series and the values only they used.
+ * Writes are serialized. Reads don't take any lock: writers only append series past the published
+ * size or update fields of existing ones, and publish the new size when done. Metric objects are
+ * built on read, so changing them doesn't change the stored series.
  */
 @Singleton
 @Slf4j
 public class MetricStorage {
 
-  private static final UUID NULL_UUID = UUID.fromString("00000000-0000-0000-0000-000000000000");
-  private final Map<String, NamedMetricStore> metricsByKey = new ConcurrentHashMap<>();
-  private final Map<String, Lock> metricNameLock = new ConcurrentHashMap<>();
+  private static final int INITIAL_CAPACITY = 1024;
+  // Deleted series are dropped once there are at least this many and they make up half the store.
+  private static final int MIN_DELETED_TO_COMPACT = 1024;
+  private static final long NULL_TIME = Long.MIN_VALUE;
+  // NaN with a payload, so that null and NaN values can be told apart.
+  private static final long NULL_VALUE_BITS = 0x7ff80000000000ffL;
+  private static final Metric.Type[] TYPES = Metric.Type.values();
+
+  private final Lock writeLock = new ReentrantLock();
+  private volatile Series series = new Series(INITIAL_CAPACITY);
+
   private final Map<Pair<UUID, UUID>, MetricSourceState> sourceStateMap = new ConcurrentHashMap<>();
 
   public Metric get(MetricKey key) {
-    return get(key.getSourceKey().getName())
-        .flatMap(namedStore -> namedStore.get(key.getSourceKey().getCustomerUuid()))
-        .flatMap(customerStore -> customerStore.get(key.getSourceKey().getSourceUuid()))
-        .flatMap(sourceStore -> sourceStore.get(key.getSourceLabels()))
-        .filter(metric -> !metric.isDeleted())
-        .orElse(null);
+    Series current = series;
+    int size = current.size;
+    MetricSourceKey sourceKey = key.getSourceKey();
+    int name = current.strings.getId(sourceKey.getName());
+    int customer = current.uuids.getId(sourceKey.getCustomerUuid());
+    int source = current.uuids.getId(sourceKey.getSourceUuid());
+    int keyLabels =
+        getLabelSetId(
+            current, key.getSourceLabels() != null ? key.getSourceLabels() : new TreeMap<>());
+    if (name < 0 || customer < 0 || source < 0 || keyLabels < 0) {
+      return null;
+    }
+    int slot = current.find(name, customer, source, keyLabels, size);
+    if (slot < 0 || current.deleted[slot]) {
+      return null;
+    }
+    return toMetric(current, slot);
   }
 
   public void process(MetricFilter metricFilter, Consumer<Metric> metricConsumer) {
-    get(metricFilter)
-        .flatMap(namedStore -> namedStore.get(metricFilter))
-        .flatMap(customerStore -> customerStore.get(metricFilter))
-        .flatMap(sourceStore -> sourceStore.get(metricFilter))
-        .forEach(metricConsumer);
+    Series current = series;
+    forEachMatching(
+        current,
+        current.size,
+        metricFilter,
+        slot -> metricConsumer.accept(toMetric(current, slot)));
   }
 
   public void save(List<Metric> metrics) {
     if (CollectionUtils.isEmpty(metrics)) {
       return;
     }
-    acquireLocks(metrics);
+    writeLock.lock();
     try {
       metrics.forEach(this::save);
+      series.publish();
     } finally {
-      releaseLocks(metrics);
+      writeLock.unlock();
     }
   }
 
   public void delete(MetricFilter filter) {
-    process(filter, metric -> metric.setDeleted(true));
+    writeLock.lock();
+    try {
+      Series current = series;
+      forEachMatching(
+          current,
+          current.size,
+          filter,
+          slot -> {
+            current.deleted[slot] = true;
+            current.deletedCount++;
+          });
+      if (current.deletedCount >= MIN_DELETED_TO_COMPACT
+          && current.deletedCount * 2 >= current.size) {
+        series = compact(current);
+      } else {
+        current.publish();
+      }
+    } finally {
+      writeLock.unlock();
+    }
   }
 
   public void markSource(UUID customerUuid, UUID metricSource, MetricSourceState state) {
     sourceStateMap.put(new Pair<>(customerUuid, metricSource), state);
   }
 
-  private void acquireLocks(Collection<Metric> metrics) {
-    metrics.stream()
-        .map(Metric::getName)
-        .distinct()
-        .sorted()
-        .forEach(
-            metricName ->
-                metricNameLock.computeIfAbsent(metricName, n -> new ReentrantLock()).lock());
-  }
-
-  private void releaseLocks(Collection<Metric> metrics) {
-    metrics.stream()
-        .map(Metric::getName)
-        .distinct()
-        .sorted()
-        .forEach(metricName -> metricNameLock.get(metricName).unlock());
-  }
-
-  private Optional<NamedMetricStore> get(String name) {
-    return Optional.ofNullable(metricsByKey.get(name));
+  @VisibleForTesting
+  int size() {
+    return series.size;
   }
 
-  private Stream<NamedMetricStore> get(MetricFilter filter) {
-    Set<String> names = getNames(filter);
-    return metricsByKey.entrySet().stream()
-        .filter(e -> names.contains(e.getKey()))
-        .map(Entry::getValue);
+  @VisibleForTesting
+  int internedStrings() {
+    return series.strings.size - 1;
   }
 
-  private Set<String> getNames(MetricFilter filter) {
-    Set<String> names = new HashSet<>();
-    if (CollectionUtils.isNotEmpty(filter.getMetricNames())) {
-      names.addAll(filter.getMetricNames());
-    }
-    if (CollectionUtils.isNotEmpty(filter.getSourceKeys())) {
-      names.addAll(
-          filter.getSourceKeys().stream()
-              .map(MetricSourceKey::getName)
-              .collect(Collectors.toList()));
-    }
-    if (CollectionUtils.isNotEmpty(filter.getKeys())) {
-      names.addAll(
-          filter.getKeys().stream()
-              .map(MetricKey::getSourceKey)
-              .map(MetricSourceKey::getName)
-              .collect(Collectors.toList()));
+  private void forEachMatching(
+      Series current, int size, MetricFilter filter, SlotConsumer consumer) {
+    SeriesFilter seriesFilter = new SeriesFilter(current, filter);
+    if (seriesFilter.matchesNothing) {
+      return;
     }
-    if (CollectionUtils.isEmpty(names)) {
-      names = new HashSet<>(metricsByKey.keySet());
+    for (int slot = 0; slot < size; slot++) {
+      if (seriesFilter.match(current, slot)) {
+        consumer.accept(slot);
+      }
     }
-    return names;
   }
 
   private void save(Metric metric) {
@@ -166,126 +181,494 @@ public class MetricStorage {
       }
     }
 
-    NamedMetricStore store =
-        metricsByKey.computeIfAbsent(metric.getName(), n -> new NamedMetricStore());
+    Series current = series;
+    int name = current.strings.intern(metric.getName());
+    int customer = current.uuids.intern(metric.getCustomerUUID());
+    int source = current.uuids.intern(metric.getSourceUuid());
+    int keyLabels = current.labelSets.intern(toLabelSet(current, metric.getKeyLabelValues(), true));
+    int slot = current.find(name, customer, source, keyLabels, current.size);
+    if (slot < 0) {
+      if (current.size == current.capacity()) {
+        current = new Series(current);
+        series = current;
+      }
+      slot = current.size;
+      current.names[slot] = name;
+      current.customers[slot] = customer;
+      current.sources[slot] = source;
+      current.keyLabels[slot] = keyLabels;
+      current.labels[slot] =
+          current.labelSets.intern(toLabelSet(current, metric.getLabels(), true));
+      current.helps[slot] = current.strings.intern(metric.getHelp());
+      current.units[slot] = current.strings.intern(metric.getUnit());
+      current.types[slot] = metric.getType() != null ? (byte) metric.getType().ordinal() : -1;
+      current.createTimes[slot] = toTime(metric.getCreateTime());
+      current.index(slot);
+      // Volatile write, readers see the series with all the fields set above.
+      current.size++;
+    } else if (current.deleted[slot]) {
+      current.deletedCount--;
+    }
+    current.values[slot] =
+        metric.getValue() != null ? metric.getValue() : Double.longBitsToDouble(NULL_VALUE_BITS);
+    current.updateTimes[slot] = toTime(metric.getUpdateTime());
+    current.expireTimes[slot] = toTime(metric.getExpireTime());
+    current.deleted[slot] = false;
+  }
 
-    store.save(metric);
+  /**
+   * Copies the series, which are not deleted, into a new instance with its own interners. Values
+   * only referenced by deleted series are not copied, so they are garbage collected once readers
+   * are done with the old instance.
+   */
+  private static Series compact(Series current) {
+    int live = current.size - current.deletedCount;
+    int capacity = INITIAL_CAPACITY;
+    while (capacity < live * 2) {
+      capacity *= 2;
+    }
+    Series compacted = new Series(capacity);
+    // Old id to new id, 0 means not copied yet. Id 0 is null in both.
+    int[] stringIds = new int[current.strings.size];
+    int[] uuidIds = new int[current.uuids.size];
+    int[] labelSetIds = new int[current.labelSets.size];
+    for (int slot = 0; slot < current.size; slot++) {
+      if (current.deleted[slot]) {
+        continue;
+      }
+      int target = compacted.size;
+      compacted.names[target] =
+          copyId(current.strings, compacted.strings, stringIds, current.names[slot]);
+      compacted.customers[target] =
+          copyId(current.uuids, compacted.uuids, uuidIds, current.customers[slot]);
+      compacted.sources[target] =
+          copyId(current.uuids, compacted.uuids, uuidIds, current.sources[slot]);
+      compacted.keyLabels[target] =
+          copyLabelSetId(current, compacted, stringIds, labelSetIds, current.keyLabels[slot]);
+      compacted.labels[target] =
+          copyLabelSetId(current, compacted, stringIds, labelSetIds, current.labels[slot]);
+      compacted.helps[target] =
+          copyId(current.strings, compacted.strings, stringIds, current.helps[slot]);
+      compacted.units[target] =
+          copyId(current.strings, compacted.strings, stringIds, current.units[slot]);
+      compacted.types[target] = current.types[slot];
+      compacted.values[target] = current.values[slot];
+      compacted.createTimes[target] = current.createTimes[slot];
+      compacted.updateTimes[target] = current.updateTimes[slot];
+      compacted.expireTimes[target] = current.expireTimes[slot];
+      compacted.index(target);
+      compacted.size++;
+    }
+    log.debug("Compacted metric storage from {} to {} series", current.size, compacted.size);
+    return compacted;
   }
 
-  private static UUID getUuidKey(UUID uuid) {
-    return uuid != null ? uuid : NULL_UUID;
+  private static <T> int copyId(Interner<T> from, Interner<T> to, int[] newIds, int id) {
+    if (id == 0) {
+      return 0;
+    }
+    if (newIds[id] == 0) {
+      newIds[id] = to.intern(from.get(id));
+    }
+    return newIds[id];
   }
 
-  @Value
-  private static class NamedMetricStore {
-    Map<UUID, CustomerMetricStore> customerMetrics = new HashMap<>();
+  private static int copyLabelSetId(
+      Series from, Series to, int[] stringIds, int[] labelSetIds, int id) {
+    if (labelSetIds[id] == 0) {
+      int[] ids = from.labelSets.get(id).ids;
+      int[] newIds = new int[ids.length];
+      for (int i = 0; i < ids.length; i++) {
+        newIds[i] = copyId(from.strings, to.strings, stringIds, ids[i]);
+      }
+      labelSetIds[id] = to.labelSets.intern(new LabelSet(newIds));
+    }
+    return labelSetIds[id];
+  }
 
-    private Optional<CustomerMetricStore> get(UUID uuid) {
-      return Optional.ofNullable(customerMetrics.get(getUuidKey(uuid)));
+  private Metric toMetric(Series current, int slot) {
+    byte type = current.types[slot];
+    Set<String> keyLabelNames = new HashSet<>();
+    int[] keyLabels = current.labelSets.get(current.keyLabels[slot]).ids;
+    for (int i = 0; i < keyLabels.length; i += 2) {
+      keyLabelNames.add(current.strings.get(keyLabels[i]));
     }
+    return new Metric()
+        .setName(current.strings.get(current.names[slot]))
+        .setCustomerUUID(current.uuids.get(current.customers[slot]))
+        .setSourceUuid(current.uuids.get(current.sources[slot]))
+        .setHelp(current.strings.get(current.helps[slot]))
+        .setUnit(current.strings.get(current.units[slot]))
+        .setType(type >= 0 ? TYPES[type] : null)
+        .setCreateTime(toDate(current.createTimes[slot]))
+        .setUpdateTime(toDate(current.updateTimes[slot]))
+        .setExpireTime(toDate(current.expireTimes[slot]))
+        .setLabels(toMap(current, current.labelSets.get(current.labels[slot])))
+        .setKeyLabels(keyLabelNames)
+        .setValue(toValue(current.values[slot]))
+        .setDeleted(current.deleted[slot]);
+  }
+
+  private static int getLabelSetId(Series current, Map<String, String> labels) {
+    LabelSet labelSet = toLabelSet(current, labels, false);
+    return labelSet != null ? current.labelSets.getId(labelSet) : -1;
+  }
 
-    private Stream<CustomerMetricStore> get(MetricFilter filter) {
-      Set<UUID> uuids = new HashSet<>();
-      if (filter.getCustomerUuid() != null) {
-        uuids.add(filter.getCustomerUuid());
+  // Returns null if one of the strings was never interned, so can't be part of a stored set.
+  private static LabelSet toLabelSet(Series current, Map<String, String> labels, boolean intern) {
+    Interner<String> strings = current.strings;
+    Map<String, String> sorted = new TreeMap<>(labels);
+    int[] ids = new int[sorted.size() * 2];
+    int i = 0;
+    for (Map.Entry<String, String> label : sorted.entrySet()) {
+      ids[i] = intern ? strings.intern(label.getKey()) : strings.getId(label.getKey());
+      ids[i + 1] = intern ? strings.intern(label.getValue()) : strings.getId(label.getValue());
+      if (ids[i] < 0 || ids[i + 1] < 0) {
+        return null;
       }
-      if (CollectionUtils.isNotEmpty(filter.getSourceKeys())) {
-        uuids.addAll(
-            filter.getSourceKeys().stream()
-                .map(MetricSourceKey::getCustomerUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
+      i += 2;
+    }
+    return new LabelSet(ids);
+  }
+
+  private static Map<String, String> toMap(Series current, LabelSet labelSet) {
+    Map<String, String> result = new LinkedHashMap<>();
+    for (int i = 0; i < labelSet.ids.length; i += 2) {
+      result.put(
+          current.strings.get(labelSet.ids[i]), current.strings.get(labelSet.ids[i + 1]));
+    }
+    return result;
+  }
+
+  private static Double toValue(double value) {
+    return Double.doubleToRawLongBits(value) != NULL_VALUE_BITS ? value : null;
+  }
+
+  private static long toTime(Date date) {
+    return date != null ? date.getTime() : NULL_TIME;
+  }
+
+  private static Date toDate(long time) {
+    return time != NULL_TIME ? new Date(time) : null;
+  }
+
+  private interface SlotConsumer {
+    void accept(int slot);
+  }
+
+  /**
+   * MetricFilter with its values replaced by the ids interned in a series instance, so that series
+   * are matched on the columns and Metric objects are only built for the matching ones. Keys with
+   * values that were never interned can't match any series, so they are dropped.
+   */
+  private static class SeriesFilter {
+    // Sorted ids, or null if the filter is not limited by name.
+    private final int[] names;
+    // 0 if the filter is not limited by customer or source.
+    private final int customer;
+    private final int source;
+    // Null if the filter is not limited by these.
+    private final Set<SeriesKey> sourceKeys;
+    private final Set<SeriesKey> keys;
+    private final Set<SeriesKey> keysExcluded;
+    private final Boolean expired;
+    private final long now = System.currentTimeMillis();
+    private final boolean matchesNothing;
+
+    private SeriesFilter(Series current, MetricFilter filter) {
+      boolean nothing = false;
+      if (CollectionUtils.isNotEmpty(filter.getMetricNames())) {
+        names =
+            filter.getMetricNames().stream()
+                .mapToInt(current.strings::getId)
+                .filter(id -> id > 0)
+                .sorted()
+                .toArray();
+        nothing = names.length == 0;
+      } else {
+        names = null;
       }
-      if (CollectionUtils.isNotEmpty(filter.getKeys())) {
-        uuids.addAll(
-            filter.getKeys().stream()
-                .map(MetricKey::getSourceKey)
-                .map(MetricSourceKey::getCustomerUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
+      customer =
+          filter.getCustomerUuid() != null ? current.uuids.getId(filter.getCustomerUuid()) : 0;
+      source = filter.getSourceUuid() != null ? current.uuids.getId(filter.getSourceUuid()) : 0;
+      nothing |= customer < 0 || source < 0;
+      if (CollectionUtils.isNotEmpty(filter.getSourceKeys())) {
+        sourceKeys = new HashSet<>();
+        for (MetricSourceKey sourceKey : filter.getSourceKeys()) {
+          SeriesKey seriesKey = SeriesKey.of(current, sourceKey, null);
+          if (seriesKey != null) {
+            sourceKeys.add(seriesKey);
+          }
+        }
+        nothing |= sourceKeys.isEmpty();
+      } else {
+        sourceKeys = null;
       }
+      keys =
+          CollectionUtils.isNotEmpty(filter.getKeys())
+              ? toSeriesKeys(current, filter.getKeys())
+              : null;
+      nothing |= keys != null && keys.isEmpty();
+      keysExcluded =
+          CollectionUtils.isNotEmpty(filter.getKeysExcluded())
+              ? toSeriesKeys(current, filter.getKeysExcluded())
+              : null;
+      expired = filter.getExpired();
+      matchesNothing = nothing;
+    }
 
-      return customerMetrics.entrySet().stream()
-          .filter(e -> CollectionUtils.isEmpty(uuids) || uuids.contains(e.getKey()))
-          .map(Entry::getValue);
+    private static Set<SeriesKey> toSeriesKeys(Series current, Set<MetricKey> metricKeys) {
+      Set<SeriesKey> result = new HashSet<>();
+      for (MetricKey key : metricKeys) {
+        SeriesKey seriesKey =
+            SeriesKey.of(
+                current,
+                key.getSourceKey(),
+                key.getSourceLabels() != null ? key.getSourceLabels() : new TreeMap<>());
+        if (seriesKey != null) {
+          result.add(seriesKey);
+        }
+      }
+      return result;
     }
 
-    private void save(Metric metric) {
-      customerMetrics
-          .computeIfAbsent(getUuidKey(metric.getCustomerUUID()), k -> new CustomerMetricStore())
-          .save(metric);
+    private boolean match(Series current, int slot) {
+      if (current.deleted[slot]
+          || (names != null && Arrays.binarySearch(names, current.names[slot]) < 0)
+          || (customer != 0 && current.customers[slot] != customer)
+          || (source != 0 && current.sources[slot] != source)) {
+        return false;
+      }
+      if (sourceKeys != null
+          && !sourceKeys.contains(
+              new SeriesKey(
+                  current.names[slot], current.customers[slot], current.sources[slot], 0))) {
+        return false;
+      }
+      if (keys != null || keysExcluded != null) {
+        SeriesKey key =
+            new SeriesKey(
+                current.names[slot],
+                current.customers[slot],
+                current.sources[slot],
+                current.keyLabels[slot]);
+        if ((keys != null && !keys.contains(key))
+            || (keysExcluded != null && keysExcluded.contains(key))) {
+          return false;
+        }
+      }
+      if (expired != null) {
+        // Series without expire time never expire.
+        long expireTime = current.expireTimes[slot];
+        boolean isExpired = expireTime != NULL_TIME && expireTime <= now;
+        if (expired != isExpired) {
+          return false;
+        }
+      }
+      return true;
     }
   }
 
+  /** Interned ids of a MetricKey, or of a MetricSourceKey with 0 as key label set. */
   @Value
-  private static class CustomerMetricStore {
-    Map<UUID, SourceMetricStore> sourceMetrics = new HashMap<>();
+  private static class SeriesKey {
+    int name;
+    int customer;
+    int source;
+    int keyLabels;
 
-    private Optional<SourceMetricStore> get(UUID uuid) {
-      return Optional.ofNullable(sourceMetrics.get(getUuidKey(uuid)));
+    // Returns null if one of the key values was never interned.
+    private static SeriesKey of(
+        Series current, MetricSourceKey sourceKey, Map<String, String> keyLabels) {
+      int name = current.strings.getId(sourceKey.getName());
+      int customer = current.uuids.getId(sourceKey.getCustomerUuid());
+      int source = current.uuids.getId(sourceKey.getSourceUuid());
+      int keyLabelSet = keyLabels != null ? getLabelSetId(current, keyLabels) : 0;
+      if (name < 0 || customer < 0 || source < 0 || keyLabelSet < 0) {
+        return null;
+      }
+      return new SeriesKey(name, customer, source, keyLabelSet);
     }
+  }
+
+  /**
+   * Assigns sequential int ids to values. Id 0 is reserved for null. Lookups are lock-free,
+   * interning is only done under the storage write lock.
+   */
+  private static class Interner<T> {
+    private final Map<T, Integer> ids = new ConcurrentHashMap<>();
+    private volatile Object[] values = new Object[INITIAL_CAPACITY];
+    private int size = 1;
 
-    private Stream<SourceMetricStore> get(MetricFilter filter) {
-      Set<UUID> uuids = new HashSet<>();
-      if (filter.getSourceUuid() != null) {
-        uuids.add(filter.getSourceUuid());
+    // Returns -1 if the value was never interned.
+    private int getId(T value) {
+      if (value == null) {
+        return 0;
       }
-      if (CollectionUtils.isNotEmpty(filter.getSourceKeys())) {
-        uuids.addAll(
-            filter.getSourceKeys().stream()
-                .map(MetricSourceKey::getSourceUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
+      Integer id = ids.get(value);
+      return id != null ? id : -1;
+    }
+
+    private int intern(T value) {
+      int id = getId(value);
+      if (id >= 0) {
+        return id;
       }
-      if (CollectionUtils.isNotEmpty(filter.getKeys())) {
-        uuids.addAll(
-            filter.getKeys().stream()
-                .map(MetricKey::getSourceKey)
-                .map(MetricSourceKey::getSourceUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
+      Object[] current = values;
+      if (size == current.length) {
+        current = Arrays.copyOf(current, size * 2);
       }
+      current[size] = value;
+      values = current;
+      ids.put(value, size);
+      return size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(int id) {
+      return (T) values[id];
+    }
+  }
+
+  private static class LabelSet {
+    // Name and value string ids, sorted by name.
+    private final int[] ids;
+    private final int hash;
 
-      return sourceMetrics.entrySet().stream()
-          .filter(e -> CollectionUtils.isEmpty(uuids) || uuids.contains(e.getKey()))
-          .map(Entry::getValue);
+    private LabelSet(int[] ids) {
+      this.ids = ids;
+      this.hash = Arrays.hashCode(ids);
     }
 
-    private void save(Metric metric) {
-      sourceMetrics
-          .computeIfAbsent(getUuidKey(metric.getSourceUuid()), k -> new SourceMetricStore())
-          .save(metric);
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof LabelSet && Arrays.equals(ids, ((LabelSet) o).ids);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
     }
   }
 
-  @Value
-  private static class SourceMetricStore {
-    List<Metric> sourceMetrics = new ArrayList<>();
-
-    private Optional<Metric> get(Map<String, String> labels) {
-      return sourceMetrics.stream()
-          .filter(
-              metric ->
-                  labels.entrySet().stream()
-                      .allMatch(
-                          l -> Objects.equals(metric.getLabelValue(l.getKey()), l.getValue())))
-          .findFirst();
-    }
-
-    private Stream<Metric> get(MetricFilter filter) {
-      return sourceMetrics.stream().filter(filter::match);
-    }
-
-    private void save(Metric metric) {
-      Metric existing = get(metric.getKeyLabelValues()).orElse(null);
-      if (existing != null) {
-        existing.setValue(metric.getValue());
-        existing.setUpdateTime(metric.getUpdateTime());
-        existing.setExpireTime(metric.getExpireTime());
-        existing.setDeleted(false);
-      } else {
-        sourceMetrics.add(metric);
+  /**
+   * Series columns with the index over them and the interners their ids refer to. Grows by copying
+   * the columns into a new instance, which shares the interners. Compaction creates new ones.
+   */
+  private static class Series {
+    private final Interner<String> strings;
+    private final Interner<UUID> uuids;
+    private final Interner<LabelSet> labelSets;
+    private final int[] names;
+    private final int[] customers;
+    private final int[] sources;
+    private final int[] keyLabels;
+    private final int[] labels;
+    private final int[] helps;
+    private final int[] units;
+    private final byte[] types;
+    private final double[] values;
+    private final long[] createTimes;
+    private final long[] updateTimes;
+    private final long[] expireTimes;
+    private final boolean[] deleted;
+    // Open addressing with linear probing. Holds slot + 1, 0 marks an empty cell. Cells are never
+    // cleared, as series are only marked deleted until the store is compacted.
+    private final int[] index;
+    private volatile int size;
+    // Only used by writers.
+    private int deletedCount;
+
+    private Series(int capacity) {
+      strings = new Interner<>();
+      uuids = new Interner<>();
+      labelSets = new Interner<>();
+      names = new int[capacity];
+      customers = new int[capacity];
+      sources = new int[capacity];
+      keyLabels = new int[capacity];
+      labels = new int[capacity];
+      helps = new int[capacity];
+      units = new int[capacity];
+      types = new byte[capacity];
+      values = new double[capacity];
+      createTimes = new long[capacity];
+      updateTimes = new long[capacity];
+      expireTimes = new long[capacity];
+      deleted = new boolean[capacity];
+      index = new int[capacity * 2];
+    }
+
+    private Series(Series other) {
+      int capacity = other.capacity() * 2;
+      strings = other.strings;
+      uuids = other.uuids;
+      labelSets = other.labelSets;
+      names = Arrays.copyOf(other.names, capacity);
+      customers = Arrays.copyOf(other.customers, capacity);
+      sources = Arrays.copyOf(other.sources, capacity);
+      keyLabels = Arrays.copyOf(other.keyLabels, capacity);
+      labels = Arrays.copyOf(other.labels, capacity);
+      helps = Arrays.copyOf(other.helps, capacity);
+      units = Arrays.copyOf(other.units, capacity);
+      types = Arrays.copyOf(other.types, capacity);
+      values = Arrays.copyOf(other.values, capacity);
+      createTimes = Arrays.copyOf(other.createTimes, capacity);
+      updateTimes = Arrays.copyOf(other.updateTimes, capacity);
+      expireTimes = Arrays.copyOf(other.expireTimes, capacity);
+      deleted = Arrays.copyOf(other.deleted, capacity);
+      index = new int[capacity * 2];
+      size = other.size;
+      deletedCount = other.deletedCount;
+      for (int slot = 0; slot < size; slot++) {
+        index(slot);
+      }
+    }
+
+    private int capacity() {
+      return names.length;
+    }
+
+    // Slots at or past the size, which a reader has seen, are skipped as not published yet.
+    private int find(int name, int customer, int source, int keyLabelSet, int size) {
+      int mask = index.length - 1;
+      for (int i = hash(name, customer, source, keyLabelSet) & mask; ; i = (i + 1) & mask) {
+        int slot = index[i] - 1;
+        if (slot < 0) {
+          return -1;
+        }
+        if (slot < size
+            && names[slot] == name
+            && customers[slot] == customer
+            && sources[slot] == source
+            && keyLabels[slot] == keyLabelSet) {
+          return slot;
+        }
       }
     }
+
+    private void index(int slot) {
+      int mask = index.length - 1;
+      int i = hash(names[slot], customers[slot], sources[slot], keyLabels[slot]) & mask;
+      while (index[i] != 0) {
+        i = (i + 1) & mask;
+      }
+      index[i] = slot + 1;
+    }
+
+    // Volatile write, which makes all the changes made so far visible to readers.
+    private void publish() {
+      size = size;
+    }
+
+    private static int hash(int name, int customer, int source, int keyLabelSet) {
+      int h = name;
+      h = h * 31 + customer;
+      h = h * 31 + source;
+      h = h * 31 + keyLabelSet;
+      // Spread the bits, as the index is addressed by the lower ones.
+      h *= 0x9E3779B9;
+      return h ^ (h >>> 16);
+    }
   }
 }
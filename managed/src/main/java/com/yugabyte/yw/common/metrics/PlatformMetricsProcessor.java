@@ -41,6 +41,8 @@ public class PlatformMetricsProcessor {
 
   private final SwamperHelper swamperHelper;
 
+  private final DbQueryMetricsCollector dbQueryMetricsCollector;
+
   private final List<MetricsProvider> metricsProviderList = new ArrayList<>();
 
   @Inject
@@ -48,10 +50,12 @@ public class PlatformMetricsProcessor {
       PlatformScheduler platformScheduler,
       MetricService metricService,
       UniverseMetricProvider universeMetricProvider,
-      SwamperHelper swamperHelper) {
+      SwamperHelper swamperHelper,
+      DbQueryMetricsCollector dbQueryMetricsCollector) {
     this.platformScheduler = platformScheduler;
     this.metricService = metricService;
     this.swamperHelper = swamperHelper;
+    this.dbQueryMetricsCollector = dbQueryMetricsCollector;
     this.metricsProviderList.add(universeMetricProvider);
   }
 
@@ -76,6 +80,7 @@ public class PlatformMetricsProcessor {
     } catch (Exception e) {
       log.error("Error processing metrics", e);
     } finally {
+      collectDbQueryMetrics();
       metricService.setFailureStatusMetric(
           buildMetricTemplate(PlatformMetrics.METRIC_PROCESSOR_STATUS));
     }
@@ -104,6 +109,14 @@ public class PlatformMetricsProcessor {
     }
   }
 
+  private void collectDbQueryMetrics() {
+    try {
+      dbQueryMetricsCollector.collect();
+    } catch (Exception e) {
+      log.error("Failed to collect DB query metrics", e);
+    }
+  }
+
   private void cleanExpiredMetrics() {
     MetricFilter metricFilter = MetricFilter.builder().expired(true).build();
     metricService.delete(metricFilter);
@@ -9,6 +9,7 @@
  */
 package com.yugabyte.yw.common.metrics;
 
+import static com.yugabyte.yw.common.metrics.MetricService.DEFAULT_METRIC_EXPIRY_SEC;
 import static com.yugabyte.yw.common.metrics.MetricService.STATUS_OK;
 import static com.yugabyte.yw.common.metrics.MetricService.buildMetricTemplate;
 
@@ -28,20 +29,29 @@ import com.yugabyte.yw.models.AccessKeyId;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.KmsConfig;
 import com.yugabyte.yw.models.KmsHistory;
+import com.yugabyte.yw.models.KmsHistoryId;
 import com.yugabyte.yw.models.KmsHistoryId.TargetType;
 import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.MetricKey;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.filters.MetricFilter;
 import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 @Singleton
@@ -54,6 +64,12 @@ public class UniverseMetricProvider implements MetricsProvider {
 
   @Inject AccessManager accessManager;
 
+  // Universe version doesn't change with external inputs, like access key file permissions or
+  // runtime config, so metrics of unchanged universes are still collected this often.
+  private static final long FULL_COLLECTION_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10);
+
+  private final Map<UUID, CollectedState> collectedStates = new ConcurrentHashMap<>();
+
   private static final List<PlatformMetrics> UNIVERSE_METRICS =
       ImmutableList.of(
           PlatformMetrics.UNIVERSE_EXISTS,
@@ -68,179 +84,213 @@ public class UniverseMetricProvider implements MetricsProvider {
 
   @Override
   public List<MetricSaveGroup> getMetricGroups() throws Exception {
-    List<MetricSaveGroup> metricSaveGroups = new ArrayList<>();
+    long now = System.currentTimeMillis();
+    Map<UUID, Integer> universeVersions = Universe.getAllVersions();
     Map<UUID, KmsHistory> activeEncryptionKeys =
         KmsHistory.getAllActiveHistory(TargetType.UNIVERSE_KEY).stream()
             .collect(Collectors.toMap(key -> key.getUuid().targetUuid, Function.identity()));
+    collectedStates.keySet().retainAll(universeVersions.keySet());
+    Set<UUID> universesToCollect =
+        universeVersions.entrySet().stream()
+            .filter(
+                e ->
+                    needsCollection(
+                        e.getKey(), e.getValue(), activeEncryptionKeys.get(e.getKey()), now))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+    if (universesToCollect.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<MetricSaveGroup> metricSaveGroups = new ArrayList<>();
     Map<UUID, KmsConfig> kmsConfigMap =
         KmsConfig.listAllKMSConfigs().stream()
             .collect(Collectors.toMap(config -> config.getConfigUUID(), Function.identity()));
     Map<AccessKeyId, AccessKey> allAccessKeys = accessKeyRotationUtil.createAllAccessKeysMap();
-    for (Customer customer : Customer.getAll()) {
-      for (Universe universe : Universe.getAllWithoutResources(customer)) {
-        try {
-          MetricSaveGroup.MetricSaveGroupBuilder universeGroup = MetricSaveGroup.builder();
-          universeGroup.metric(
-              createUniverseMetric(customer, universe, PlatformMetrics.UNIVERSE_EXISTS, STATUS_OK));
+    Map<Long, Customer> customers =
+        Customer.getAll().stream()
+            .collect(Collectors.toMap(Customer::getId, Function.identity()));
+    for (Universe universe : Universe.getAllWithoutResources(universesToCollect)) {
+      Customer customer = customers.get(universe.getCustomerId());
+      if (customer == null) {
+        continue;
+      }
+      KmsHistory activeEncryptionKey = activeEncryptionKeys.get(universe.getUniverseUUID());
+      long collectAgainAt = now + FULL_COLLECTION_INTERVAL_MS;
+      try {
+        MetricSaveGroup.MetricSaveGroupBuilder universeGroup = MetricSaveGroup.builder();
+        universeGroup.metric(
+            createUniverseMetric(customer, universe, PlatformMetrics.UNIVERSE_EXISTS, STATUS_OK));
+        universeGroup.metric(
+            createUniverseMetric(
+                customer,
+                universe,
+                PlatformMetrics.UNIVERSE_PAUSED,
+                statusValue(universe.getUniverseDetails().universePaused)));
+        universeGroup.metric(
+            createUniverseMetric(
+                customer,
+                universe,
+                PlatformMetrics.UNIVERSE_UPDATE_IN_PROGRESS,
+                statusValue(universe.getUniverseDetails().updateInProgress)));
+        Long encryptionKeyExpiryTime =
+            getEncryptionKeyExpiryTime(activeEncryptionKey, kmsConfigMap);
+        if (encryptionKeyExpiryTime != null) {
           universeGroup.metric(
               createUniverseMetric(
                   customer,
                   universe,
-                  PlatformMetrics.UNIVERSE_PAUSED,
-                  statusValue(universe.getUniverseDetails().universePaused)));
+                  PlatformMetrics.UNIVERSE_ENCRYPTION_KEY_EXPIRY_DAY,
+                  getExpiryDays(encryptionKeyExpiryTime, now)));
+          collectAgainAt =
+              Math.min(collectAgainAt, getExpiryDaysChangeTime(encryptionKeyExpiryTime, now));
+        }
+        universeGroup.metric(
+            createUniverseMetric(
+                customer,
+                universe,
+                PlatformMetrics.UNIVERSE_REPLICATION_FACTOR,
+                universe.getUniverseDetails().getPrimaryCluster().userIntent.replicationFactor));
+        if (!Util.isKubernetesBasedUniverse(universe)) {
+          boolean validPermission =
+              accessManager.checkAccessKeyPermissionsValidity(universe, allAccessKeys);
           universeGroup.metric(
               createUniverseMetric(
                   customer,
                   universe,
-                  PlatformMetrics.UNIVERSE_UPDATE_IN_PROGRESS,
-                  statusValue(universe.getUniverseDetails().updateInProgress)));
-          Double encryptionKeyExpiryDays =
-              getEncryptionKeyExpiryDays(
-                  activeEncryptionKeys.get(universe.getUniverseUUID()), kmsConfigMap);
-          if (encryptionKeyExpiryDays != null) {
+                  PlatformMetrics.UNIVERSE_PRIVATE_ACCESS_KEY_STATUS,
+                  statusValue(validPermission)));
+          Long sshKeyExpiryTime =
+              accessKeyRotationUtil.getSSHKeyExpiryTime(universe, allAccessKeys);
+          if (sshKeyExpiryTime != null) {
             universeGroup.metric(
                 createUniverseMetric(
                     customer,
                     universe,
-                    PlatformMetrics.UNIVERSE_ENCRYPTION_KEY_EXPIRY_DAY,
-                    encryptionKeyExpiryDays));
+                    PlatformMetrics.UNIVERSE_SSH_KEY_EXPIRY_DAY,
+                    getExpiryDays(sshKeyExpiryTime, now)));
+            collectAgainAt =
+                Math.min(collectAgainAt, getExpiryDaysChangeTime(sshKeyExpiryTime, now));
           }
-          universeGroup.metric(
-              createUniverseMetric(
-                  customer,
-                  universe,
-                  PlatformMetrics.UNIVERSE_REPLICATION_FACTOR,
-                  universe.getUniverseDetails().getPrimaryCluster().userIntent.replicationFactor));
-          if (!Util.isKubernetesBasedUniverse(universe)) {
-            boolean validPermission =
-                accessManager.checkAccessKeyPermissionsValidity(universe, allAccessKeys);
+        }
+
+        if (universe.getUniverseDetails().nodeDetailsSet != null) {
+          for (NodeDetails nodeDetails : universe.getUniverseDetails().nodeDetailsSet) {
+            if (nodeDetails.cloudInfo == null || nodeDetails.cloudInfo.private_ip == null) {
+              // Node IP is missing - node is being created
+              continue;
+            }
+
+            String ipAddress = nodeDetails.cloudInfo.private_ip;
             universeGroup.metric(
-                createUniverseMetric(
+                createNodeMetric(
                     customer,
                     universe,
-                    PlatformMetrics.UNIVERSE_PRIVATE_ACCESS_KEY_STATUS,
-                    statusValue(validPermission)));
-            Double sshKeyExpiryDays =
-                accessKeyRotationUtil.getSSHKeyExpiryDays(universe, allAccessKeys);
-            if (sshKeyExpiryDays != null) {
-              universeGroup.metric(
-                  createUniverseMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_SSH_KEY_EXPIRY_DAY,
-                      sshKeyExpiryDays));
-            }
-          }
-
-          if (universe.getUniverseDetails().nodeDetailsSet != null) {
-            for (NodeDetails nodeDetails : universe.getUniverseDetails().nodeDetailsSet) {
-              if (nodeDetails.cloudInfo == null || nodeDetails.cloudInfo.private_ip == null) {
-                // Node IP is missing - node is being created
-                continue;
-              }
-
-              String ipAddress = nodeDetails.cloudInfo.private_ip;
-              universeGroup.metric(
-                  createNodeMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_NODE_FUNCTION,
-                      ipAddress,
-                      nodeDetails.masterHttpPort,
-                      "master_export",
-                      statusValue(nodeDetails.isMaster)));
-              universeGroup.metric(
-                  createNodeMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_NODE_PROCESS_STATUS,
-                      ipAddress,
-                      nodeDetails.masterHttpPort,
-                      "master_export",
-                      statusValue(nodeDetails.isMaster && nodeDetails.isActive())));
-              universeGroup.metric(
-                  createNodeMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_NODE_FUNCTION,
-                      ipAddress,
-                      nodeDetails.tserverHttpPort,
-                      "tserver_export",
-                      statusValue(nodeDetails.isTserver)));
-              universeGroup.metric(
-                  createNodeMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_NODE_PROCESS_STATUS,
-                      ipAddress,
-                      nodeDetails.tserverHttpPort,
-                      "tserver_export",
-                      statusValue(nodeDetails.isTserver && nodeDetails.isActive())));
-              universeGroup.metric(
-                  createNodeMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_NODE_FUNCTION,
-                      ipAddress,
-                      nodeDetails.ysqlServerHttpPort,
-                      "ysql_export",
-                      statusValue(nodeDetails.isYsqlServer)));
-              universeGroup.metric(
-                  createNodeMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_NODE_FUNCTION,
-                      ipAddress,
-                      nodeDetails.yqlServerHttpPort,
-                      "cql_export",
-                      statusValue(nodeDetails.isYqlServer)));
-              universeGroup.metric(
-                  createNodeMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_NODE_FUNCTION,
-                      ipAddress,
-                      nodeDetails.redisServerHttpPort,
-                      "redis_export",
-                      statusValue(nodeDetails.isRedisServer)));
-              boolean hasNodeExporter =
-                  !CloudType.kubernetes.equals(universe.getNodeDeploymentMode(nodeDetails));
-              universeGroup.metric(
-                  createNodeMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_NODE_FUNCTION,
-                      ipAddress,
-                      nodeDetails.nodeExporterPort,
-                      "node_export",
-                      statusValue(hasNodeExporter)));
-              universeGroup.metric(
-                  createNodeMetric(
-                      customer,
-                      universe,
-                      PlatformMetrics.UNIVERSE_NODE_PROCESS_STATUS,
-                      ipAddress,
-                      nodeDetails.nodeExporterPort,
-                      "node_export",
-                      statusValue(hasNodeExporter && nodeDetails.isActive())));
-            }
+                    PlatformMetrics.UNIVERSE_NODE_FUNCTION,
+                    ipAddress,
+                    nodeDetails.masterHttpPort,
+                    "master_export",
+                    statusValue(nodeDetails.isMaster)));
+            universeGroup.metric(
+                createNodeMetric(
+                    customer,
+                    universe,
+                    PlatformMetrics.UNIVERSE_NODE_PROCESS_STATUS,
+                    ipAddress,
+                    nodeDetails.masterHttpPort,
+                    "master_export",
+                    statusValue(nodeDetails.isMaster && nodeDetails.isActive())));
+            universeGroup.metric(
+                createNodeMetric(
+                    customer,
+                    universe,
+                    PlatformMetrics.UNIVERSE_NODE_FUNCTION,
+                    ipAddress,
+                    nodeDetails.tserverHttpPort,
+                    "tserver_export",
+                    statusValue(nodeDetails.isTserver)));
+            universeGroup.metric(
+                createNodeMetric(
+                    customer,
+                    universe,
+                    PlatformMetrics.UNIVERSE_NODE_PROCESS_STATUS,
+                    ipAddress,
+                    nodeDetails.tserverHttpPort,
+                    "tserver_export",
+                    statusValue(nodeDetails.isTserver && nodeDetails.isActive())));
+            universeGroup.metric(
+                createNodeMetric(
+                    customer,
+                    universe,
+                    PlatformMetrics.UNIVERSE_NODE_FUNCTION,
+                    ipAddress,
+                    nodeDetails.ysqlServerHttpPort,
+                    "ysql_export",
+                    statusValue(nodeDetails.isYsqlServer)));
+            universeGroup.metric(
+                createNodeMetric(
+                    customer,
+                    universe,
+                    PlatformMetrics.UNIVERSE_NODE_FUNCTION,
+                    ipAddress,
+                    nodeDetails.yqlServerHttpPort,
+                    "cql_export",
+                    statusValue(nodeDetails.isYqlServer)));
+            universeGroup.metric(
+                createNodeMetric(
+                    customer,
+                    universe,
+                    PlatformMetrics.UNIVERSE_NODE_FUNCTION,
+                    ipAddress,
+                    nodeDetails.redisServerHttpPort,
+                    "redis_export",
+                    statusValue(nodeDetails.isRedisServer)));
+            boolean hasNodeExporter =
+                !CloudType.kubernetes.equals(universe.getNodeDeploymentMode(nodeDetails));
+            universeGroup.metric(
+                createNodeMetric(
+                    customer,
+                    universe,
+                    PlatformMetrics.UNIVERSE_NODE_FUNCTION,
+                    ipAddress,
+                    nodeDetails.nodeExporterPort,
+                    "node_export",
+                    statusValue(hasNodeExporter)));
+            universeGroup.metric(
+                createNodeMetric(
+                    customer,
+                    universe,
+                    PlatformMetrics.UNIVERSE_NODE_PROCESS_STATUS,
+                    ipAddress,
+                    nodeDetails.nodeExporterPort,
+                    "node_export",
+                    statusValue(hasNodeExporter && nodeDetails.isActive())));
           }
-          universeGroup.cleanMetricFilter(
-              MetricFilter.builder()
-                  .metricNames(UNIVERSE_METRICS)
-                  .sourceUuid(universe.getUniverseUUID())
-                  .build());
-          metricSaveGroups.add(universeGroup.build());
-          metricService.setOkStatusMetric(
-              buildMetricTemplate(PlatformMetrics.UNIVERSE_METRIC_COLLECTION_STATUS, universe));
-        } catch (Exception e) {
-          log.warn(
-              "Metric collection failed for universe {} with ",
-              universe.getUniverseUUID().toString(),
-              e);
-          metricService.setFailureStatusMetric(
-              buildMetricTemplate(PlatformMetrics.UNIVERSE_METRIC_COLLECTION_STATUS, universe));
         }
+        universeGroup.cleanMetricFilter(
+            MetricFilter.builder()
+                .metricNames(UNIVERSE_METRICS)
+                .sourceUuid(universe.getUniverseUUID())
+                .build());
+        MetricSaveGroup metricSaveGroup = universeGroup.build();
+        if (!isSaved(metricSaveGroup, now)) {
+          metricSaveGroups.add(metricSaveGroup);
+        }
+        collectedStates.put(
+            universe.getUniverseUUID(),
+            new CollectedState(
+                universe.getVersion(),
+                activeEncryptionKey != null ? activeEncryptionKey.getUuid() : null,
+                collectAgainAt));
+        metricService.setOkStatusMetric(
+            buildMetricTemplate(PlatformMetrics.UNIVERSE_METRIC_COLLECTION_STATUS, universe));
+      } catch (Exception e) {
+        log.warn(
+            "Metric collection failed for universe {} with ",
+            universe.getUniverseUUID().toString(),
+            e);
+        metricService.setFailureStatusMetric(
+            buildMetricTemplate(PlatformMetrics.UNIVERSE_METRIC_COLLECTION_STATUS, universe));
       }
     }
     return metricSaveGroups;
@@ -270,7 +320,50 @@ public class UniverseMetricProvider implements MetricsProvider {
         .setValue(value);
   }
 
-  private Double getEncryptionKeyExpiryDays(KmsHistory activeKey, Map<UUID, KmsConfig> configMap) {
+  private boolean needsCollection(
+      UUID universeUuid, int version, KmsHistory activeEncryptionKey, long now) {
+    CollectedState collectedState = collectedStates.get(universeUuid);
+    return collectedState == null
+        || collectedState.getVersion() != version
+        || !Objects.equals(
+            collectedState.getEncryptionKeyId(),
+            activeEncryptionKey != null ? activeEncryptionKey.getUuid() : null)
+        || collectedState.getCollectAgainAt() <= now;
+  }
+
+  // Metrics are not saved again if the storage already has the same ones, unless they are
+  // halfway to expiry.
+  private boolean isSaved(MetricSaveGroup metricSaveGroup, long now) {
+    Date renewBefore = new Date(now + TimeUnit.SECONDS.toMillis(DEFAULT_METRIC_EXPIRY_SEC) / 2);
+    Set<MetricKey> keys = new HashSet<>();
+    for (Metric metric : metricSaveGroup.getMetrics()) {
+      MetricKey key = MetricKey.from(metric);
+      keys.add(key);
+      Metric saved = metricService.get(key);
+      if (saved == null
+          || !Objects.equals(saved.getValue(), metric.getValue())
+          || !saved.getLabels().equals(metric.getLabels())
+          || saved.getExpireTime() == null
+          || saved.getExpireTime().before(renewBefore)) {
+        return false;
+      }
+    }
+    // Metrics of removed nodes are still to be cleaned.
+    return metricService.list(metricSaveGroup.getCleanMetricFilter()).stream()
+        .map(MetricKey::from)
+        .allMatch(keys::contains);
+  }
+
+  private static double getExpiryDays(long expiryTime, long now) {
+    return (double) TimeUnit.MILLISECONDS.toDays(expiryTime - now);
+  }
+
+  // Expiry in days changes each time the time left crosses a whole number of days.
+  private static long getExpiryDaysChangeTime(long expiryTime, long now) {
+    return now + Math.floorMod(expiryTime - now, TimeUnit.DAYS.toMillis(1)) + 1;
+  }
+
+  private Long getEncryptionKeyExpiryTime(KmsHistory activeKey, Map<UUID, KmsConfig> configMap) {
     if (activeKey == null) {
       return null;
     }
@@ -295,12 +388,18 @@ public class UniverseMetricProvider implements MetricsProvider {
     if (keyTtlExpiryNode == null) {
       return null;
     }
-    return (double)
-        TimeUnit.MILLISECONDS.toDays(keyTtlExpiryNode.asLong() - System.currentTimeMillis());
+    return keyTtlExpiryNode.asLong();
   }
 
   @Override
   public String getName() {
     return "Universe metrics";
   }
+
+  @Value
+  private static class CollectedState {
+    int version;
+    KmsHistoryId encryptionKeyId;
+    long collectAgainAt;
+  }
 }
@@ -9,6 +9,7 @@ import javax.inject.Singleton;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.yb.client.AsyncYBClient;
 import org.yb.client.YBClient;
 
 @Singleton
@@ -54,11 +55,14 @@ public class LocalYBClientService implements YBClientService {
     if (config == null || StringUtils.isBlank(config.getMasterHostPorts())) {
       return null;
     }
-    return new YBClient.YBClientBuilder(config.getMasterHostPorts())
-        .sslCertFile(config.getCertFile())
-        .defaultAdminOperationTimeoutMs(config.getAdminOperationTimeout().toMillis())
-        .defaultOperationTimeoutMs(config.getOperationTimeout().toMillis())
-        .defaultSocketReadTimeoutMs(config.getSocketReadTimeout().toMillis())
-        .build();
+    // Same as YBClient.YBClientBuilder, but creates a client exporting call durations.
+    AsyncYBClient asyncClient =
+        new AsyncYBClient.AsyncYBClientBuilder(config.getMasterHostPorts())
+            .sslCertFile(config.getCertFile())
+            .defaultAdminOperationTimeoutMs(config.getAdminOperationTimeout().toMillis())
+            .defaultOperationTimeoutMs(config.getOperationTimeout().toMillis())
+            .defaultSocketReadTimeoutMs(config.getSocketReadTimeout().toMillis())
+            .build();
+    return new TimedYBClient(asyncClient);
   }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.common.services;
+
+import com.google.common.net.HostAndPort;
+import com.yugabyte.yw.models.helpers.KnownAlertLabels;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Histogram;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.yb.client.AsyncYBClient;
+import org.yb.client.ChangeConfigResponse;
+import org.yb.client.ChangeMasterClusterConfigResponse;
+import org.yb.client.GetLoadMovePercentResponse;
+import org.yb.client.GetMasterClusterConfigResponse;
+import org.yb.client.GetStatusResponse;
+import org.yb.client.GetTableSchemaResponse;
+import org.yb.client.IsServerReadyResponse;
+import org.yb.client.ListMastersResponse;
+import org.yb.client.ListNamespacesResponse;
+import org.yb.client.ListSnapshotSchedulesResponse;
+import org.yb.client.ListTablesResponse;
+import org.yb.client.ListTabletServersResponse;
+import org.yb.client.YBClient;
+import org.yb.master.CatalogEntityInfo;
+import org.yb.util.Pair;
+
+/**
+ * YBClient recording the duration of the calls universe tasks make most, labeled by the method
+ * name. Overloads delegating to each other are timed once, in the overload doing the call.
+ */
+class TimedYBClient extends YBClient {
+
+  private static final Histogram YB_CLIENT_CALL_DURATION_SEC =
+      Histogram.build("ybp_yb_client_call_duration_seconds", "Duration of YBClient calls")
+          .labelNames("method", KnownAlertLabels.RESULT.labelName())
+          .buckets(0.005, 0.01, 0.05, 0.1, 0.5, 1, 5, 10, 30, 60, 300, 600)
+          .register(CollectorRegistry.defaultRegistry);
+
+  TimedYBClient(AsyncYBClient asyncClient) {
+    super(asyncClient);
+  }
+
+  @FunctionalInterface
+  private interface Call<T> {
+    T call() throws Exception;
+  }
+
+  private static <T> T time(String method, Call<T> call) throws Exception {
+    long startNanos = System.nanoTime();
+    String result = "failure";
+    try {
+      T response = call.call();
+      result = "success";
+      return response;
+    } finally {
+      YB_CLIENT_CALL_DURATION_SEC
+          .labels(method, result)
+          .observe((System.nanoTime() - startNanos) / 1e9);
+    }
+  }
+
+  private static <T> T timeUnchecked(String method, Supplier<T> call) {
+    long startNanos = System.nanoTime();
+    String result = "failure";
+    try {
+      T response = call.get();
+      result = "success";
+      return response;
+    } finally {
+      YB_CLIENT_CALL_DURATION_SEC
+          .labels(method, result)
+          .observe((System.nanoTime() - startNanos) / 1e9);
+    }
+  }
+
+  @Override
+  public GetMasterClusterConfigResponse getMasterClusterConfig() throws Exception {
+    return time("getMasterClusterConfig", super::getMasterClusterConfig);
+  }
+
+  @Override
+  public ChangeMasterClusterConfigResponse changeMasterClusterConfig(
+      CatalogEntityInfo.SysClusterConfigEntryPB config) throws Exception {
+    return time("changeMasterClusterConfig", () -> super.changeMasterClusterConfig(config));
+  }
+
+  @Override
+  public ChangeConfigResponse changeMasterConfig(
+      String host, int port, boolean isAdd, boolean useHost, String hostAddrToAdd)
+      throws Exception {
+    return time(
+        "changeMasterConfig",
+        () -> super.changeMasterConfig(host, port, isAdd, useHost, hostAddrToAdd));
+  }
+
+  @Override
+  public ListTabletServersResponse listTabletServers() throws Exception {
+    return time("listTabletServers", super::listTabletServers);
+  }
+
+  @Override
+  public ListMastersResponse listMasters() throws Exception {
+    return time("listMasters", super::listMasters);
+  }
+
+  @Override
+  public ListTablesResponse getTablesList(
+      String nameFilter, boolean excludeSystemTables, String namespace) throws Exception {
+    return time(
+        "getTablesList", () -> super.getTablesList(nameFilter, excludeSystemTables, namespace));
+  }
+
+  @Override
+  public ListNamespacesResponse getNamespacesList() throws Exception {
+    return time("getNamespacesList", super::getNamespacesList);
+  }
+
+  @Override
+  public GetTableSchemaResponse getTableSchemaByUUID(String tableUUID) throws Exception {
+    return time("getTableSchemaByUUID", () -> super.getTableSchemaByUUID(tableUUID));
+  }
+
+  @Override
+  public Pair<Boolean, String> isEncryptionEnabled() throws Exception {
+    return time("isEncryptionEnabled", super::isEncryptionEnabled);
+  }
+
+  @Override
+  public GetLoadMovePercentResponse getLoadMoveCompletion() throws Exception {
+    return time("getLoadMoveCompletion", super::getLoadMoveCompletion);
+  }
+
+  @Override
+  public GetLoadMovePercentResponse getLeaderBlacklistCompletion() throws Exception {
+    return time("getLeaderBlacklistCompletion", super::getLeaderBlacklistCompletion);
+  }
+
+  @Override
+  public boolean waitForServer(HostAndPort hp, long timeoutMs) {
+    return timeUnchecked("waitForServer", () -> super.waitForServer(hp, timeoutMs));
+  }
+
+  @Override
+  public boolean waitForMaster(HostAndPort hp, long timeoutMs) throws Exception {
+    return time("waitForMaster", () -> super.waitForMaster(hp, timeoutMs));
+  }
+
+  @Override
+  public void waitForMasterLeader(long timeoutMs) throws Exception {
+    time(
+        "waitForMasterLeader",
+        () -> {
+          super.waitForMasterLeader(timeoutMs);
+          return null;
+        });
+  }
+
+  @Override
+  public boolean waitForLoadBalance(long timeoutMs, int numServers) {
+    return timeUnchecked(
+        "waitForLoadBalance", () -> super.waitForLoadBalance(timeoutMs, numServers));
+  }
+
+  @Override
+  public IsServerReadyResponse isServerReady(HostAndPort hp, boolean isTserver) throws Exception {
+    return time("isServerReady", () -> super.isServerReady(hp, isTserver));
+  }
+
+  @Override
+  public boolean ping(String host, int port) throws Exception {
+    return time("ping", () -> super.ping(host, port));
+  }
+
+  @Override
+  public GetStatusResponse getStatus(String host, int port) throws Exception {
+    return time("getStatus", () -> super.getStatus(host, port));
+  }
+
+  @Override
+  public boolean setFlag(HostAndPort hp, String flag, String value, boolean force)
+      throws Exception {
+    return time("setFlag", () -> super.setFlag(hp, flag, value, force));
+  }
+
+  @Override
+  public ListSnapshotSchedulesResponse listSnapshotSchedules(UUID snapshotScheduleUUID)
+      throws Exception {
+    return time("listSnapshotSchedules", () -> super.listSnapshotSchedules(snapshotScheduleUUID));
+  }
+}
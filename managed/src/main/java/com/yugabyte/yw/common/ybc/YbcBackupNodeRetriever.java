@@ -5,6 +5,7 @@ package com.yugabyte.yw.common.ybc;
 import com.google.common.annotations.VisibleForTesting;
 import com.yugabyte.yw.common.inject.StaticInjectorHolder;
 import com.yugabyte.yw.forms.BackupRequestParams.ParallelBackupState;
+import com.yugabyte.yw.forms.RestoreBackupParams.ParallelRestoreState;
 import com.yugabyte.yw.models.Universe;
 import java.util.Map;
 import java.util.Set;
@@ -17,7 +18,7 @@ import org.apache.commons.lang3.StringUtils;
 
 @Slf4j
 public class YbcBackupNodeRetriever {
-  // For backups in parallel, we move all subtasks to a single subtask group.
+  // For backups or restores in parallel, we move all subtasks to a single subtask group.
   // Initialise a node-ip queue, with the size of queue being equal to parallelism.
   // A consumer picks the node-ip, starts execution.
   // Upto parallel number, this goes on, until no more ips to pick from queue.
@@ -42,6 +43,19 @@ public class YbcBackupNodeRetriever {
                         && !bDBS.getValue().alreadyScheduled)
             .map(bDBS -> bDBS.getValue().nodeIp)
             .collect(Collectors.toSet());
+    initializeNodePool(nodeIPsAlreadyAssigned);
+  }
+
+  public void initializeNodePoolForRestores(Map<String, ParallelRestoreState> restoreDBStates) {
+    Set<String> nodeIPsAlreadyAssigned =
+        restoreDBStates.values().stream()
+            .filter(rDBS -> StringUtils.isNotBlank(rDBS.nodeIp) && !rDBS.completed)
+            .map(rDBS -> rDBS.nodeIp)
+            .collect(Collectors.toSet());
+    initializeNodePool(nodeIPsAlreadyAssigned);
+  }
+
+  private void initializeNodePool(Set<String> nodeIPsAlreadyAssigned) {
     int nodeIPsToAdd = universeTserverIPs.remainingCapacity() - nodeIPsAlreadyAssigned.size();
     Universe universe = Universe.getOrBadRequest(universeUUID);
     String certFile = universe.getCertificateNodetoNode();
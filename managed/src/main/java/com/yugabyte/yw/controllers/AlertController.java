@@ -15,6 +15,7 @@
 package com.yugabyte.yw.controllers;
 
 import com.cronutils.utils.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import com.yugabyte.yw.common.AlertManager;
 import com.yugabyte.yw.common.AlertManager.SendNotificationResult;
@@ -79,6 +80,7 @@ import com.yugabyte.yw.models.filters.AlertTemplateFilter;
 import com.yugabyte.yw.models.filters.AlertTemplateSettingsFilter;
 import com.yugabyte.yw.models.helpers.CommonUtils;
 import com.yugabyte.yw.models.helpers.KnownAlertLabels;
+import com.yugabyte.yw.models.helpers.UniverseProjection;
 import com.yugabyte.yw.models.paging.AlertConfigurationPagedQuery;
 import com.yugabyte.yw.models.paging.AlertConfigurationPagedResponse;
 import com.yugabyte.yw.models.paging.AlertDataPagedResponse;
@@ -96,7 +98,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -938,14 +940,13 @@ public class AlertController extends AuthenticatedController {
   }
 
   private Universe getOrCreateUniverseForTestAlert(Customer customer) {
-    Set<Universe> allUniverses = Universe.getAllWithoutResources(customer);
-    Universe firstUniverse =
-        allUniverses.stream()
-            .filter(universe -> universe.getUniverseDetails().nodePrefix != null)
-            .min(Comparator.comparing(universe -> universe.getCreationDate()))
-            .orElse(null);
-    if (firstUniverse != null) {
-      return firstUniverse;
+    Optional<Universe> firstUniverse =
+        Universe.getProjections(customer, ImmutableSet.of(UniverseProjection.NODE_PREFIX)).stream()
+            .filter(universe -> universe.getNodePrefix() != null)
+            .min(Comparator.comparing(UniverseProjection::getCreationDate))
+            .flatMap(universe -> Universe.maybeGet(universe.getUniverseUUID()));
+    if (firstUniverse.isPresent()) {
+      return firstUniverse.get();
     }
     Universe universe = new Universe();
     universe.setName("some-universe");
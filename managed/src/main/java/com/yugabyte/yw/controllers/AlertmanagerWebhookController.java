@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.inject.Inject;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.PlatformServiceException;
+import com.yugabyte.yw.common.alerts.QueryAlerts;
+import com.yugabyte.yw.forms.PlatformResults.YBPSuccess;
+import com.yugabyte.yw.metrics.data.AlertmanagerNotification;
+import io.swagger.annotations.Api;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import play.libs.Json;
+import play.mvc.Controller;
+import play.mvc.Http;
+import play.mvc.Result;
+
+/** Receives alert notifications pushed by Alertmanager webhook receiver. */
+@Api(hidden = true)
+@Slf4j
+public class AlertmanagerWebhookController extends Controller {
+
+  private static final String RECEIVER_ENABLED = "yb.alert.receiver.enabled";
+  private static final String RECEIVER_TOKEN = "yb.alert.receiver.token";
+
+  private final QueryAlerts queryAlerts;
+  private final Config config;
+
+  @Inject
+  AlertmanagerWebhookController(QueryAlerts queryAlerts, Config config) {
+    this.queryAlerts = queryAlerts;
+    this.config = config;
+  }
+
+  public Result receive(Http.Request request) {
+    if (!config.getBoolean(RECEIVER_ENABLED)) {
+      throw new PlatformServiceException(NOT_FOUND, "Alertmanager webhook receiver is disabled");
+    }
+    String token = config.getString(RECEIVER_TOKEN);
+    if (StringUtils.isBlank(token)) {
+      // Alerts of any customer can be raised or resolved here, so an open receiver is not allowed.
+      log.error("Alertmanager webhook receiver is enabled without {}", RECEIVER_TOKEN);
+      throw new PlatformServiceException(UNAUTHORIZED, "Webhook receiver token is not configured");
+    }
+    String authorization = request.header(Http.HeaderNames.AUTHORIZATION).orElse("");
+    if (!MessageDigest.isEqual(
+        ("Bearer " + token).getBytes(StandardCharsets.UTF_8),
+        authorization.getBytes(StandardCharsets.UTF_8))) {
+      throw new PlatformServiceException(UNAUTHORIZED, "Unable to authenticate request");
+    }
+    JsonNode body = request.body().asJson();
+    if (body == null) {
+      throw new PlatformServiceException(BAD_REQUEST, "Alertmanager notification is expected");
+    }
+    queryAlerts.ingestAlerts(Json.fromJson(body, AlertmanagerNotification.class));
+    return YBPSuccess.empty();
+  }
+}
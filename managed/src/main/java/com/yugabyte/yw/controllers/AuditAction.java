@@ -1,6 +1,7 @@
 package com.yugabyte.yw.controllers;
 
 import static com.yugabyte.yw.common.audit.AuditService.IS_AUDITED;
+import static com.yugabyte.yw.common.audit.AuditService.SYNC_COMMIT;
 import static play.mvc.Http.Status.INTERNAL_SERVER_ERROR;
 
 import com.google.common.collect.ImmutableSet;
@@ -74,7 +75,7 @@ public class AuditAction extends Action.Simple {
                 });
       }
     } finally {
-      RequestContext.clean(ImmutableSet.of(IS_AUDITED));
+      RequestContext.clean(ImmutableSet.of(IS_AUDITED, SYNC_COMMIT));
     }
   }
 }
@@ -3,16 +3,24 @@
 package com.yugabyte.yw.controllers;
 
 import com.yugabyte.yw.forms.PlatformResults;
+import com.yugabyte.yw.forms.filters.AuditApiFilter;
+import com.yugabyte.yw.forms.paging.AuditPagedApiQuery;
 import com.yugabyte.yw.models.Audit;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Users;
+import com.yugabyte.yw.models.filters.AuditFilter;
+import com.yugabyte.yw.models.paging.AuditPagedQuery;
+import com.yugabyte.yw.models.paging.AuditPagedResponse;
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.Authorization;
 import java.util.List;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import play.mvc.Http;
 import play.mvc.Result;
 
 @Api(value = "Audit", authorizations = @Authorization(AbstractPlatformController.API_KEY_AUTH))
@@ -37,6 +45,32 @@ public class AuditController extends AuthenticatedController {
     return PlatformResults.withData(auditList);
   }
 
+  /**
+   * POST endpoint for listing a page of customer audit entries, matching the filter.
+   *
+   * @return JSON response with the page of audit entries.
+   */
+  @ApiOperation(
+      value = "List audit entries",
+      response = AuditPagedResponse.class,
+      nickname = "pageAuditList")
+  @ApiImplicitParams(
+      @ApiImplicitParam(
+          name = "PageAuditRequest",
+          paramType = "body",
+          dataType = "com.yugabyte.yw.forms.paging.AuditPagedApiQuery",
+          required = true))
+  public Result pageAuditList(UUID customerUUID, Http.Request request) {
+    Customer.getOrBadRequest(customerUUID);
+    AuditPagedApiQuery apiQuery = parseJsonAndValidate(request, AuditPagedApiQuery.class);
+    AuditApiFilter apiFilter = apiQuery.getFilter();
+    AuditFilter filter = apiFilter.toFilter().toBuilder().customerUUID(customerUUID).build();
+    AuditPagedQuery query = apiQuery.copyWithFilter(filter, AuditPagedQuery.class);
+    query.setAfterAuditID(apiQuery.getAfterAuditID());
+    AuditPagedResponse audits = Audit.pagedList(query);
+    return PlatformResults.withData(audits);
+  }
+
   @ApiOperation(value = "Get audit info for a task", response = Audit.class)
   public Result getTaskAudit(UUID customerUUID, UUID taskUUID) {
     Customer.getOrBadRequest(customerUUID);
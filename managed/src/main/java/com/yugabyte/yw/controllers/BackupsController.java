@@ -492,6 +492,21 @@ public class BackupsController extends AuthenticatedController {
       throw new PlatformServiceException(
           BAD_REQUEST, "Cannot restore the ybc backup as ybc is not installed on the universe");
     }
+    if (taskParams.parallelDBRestores > 1
+        && !taskParams.category.equals(BackupCategory.YB_CONTROLLER)) {
+      throw new PlatformServiceException(
+          BAD_REQUEST, "Parallel restores are only supported for YB-Controller backups");
+    }
+    if (taskParams.parallelDBRestores <= 0
+        || (taskParams.parallelDBRestores > 1
+            && universe.getLiveTServersInPrimaryCluster().size()
+                < taskParams.parallelDBRestores)) {
+      throw new PlatformServiceException(
+          BAD_REQUEST,
+          String.format(
+              "invalid parallel restores value provided for universe %s",
+              universe.getUniverseUUID()));
+    }
     UUID taskUUID = commissioner.submit(TaskType.RestoreBackup, taskParams);
     CustomerTask.create(
         customer,
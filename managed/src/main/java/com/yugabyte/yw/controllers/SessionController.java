@@ -26,6 +26,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.inject.Inject;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.common.ApiHelper;
+import com.yugabyte.yw.common.ApiRequestLimiter;
 import com.yugabyte.yw.common.ConfigHelper;
 import com.yugabyte.yw.common.CustomWsClientFactory;
 import com.yugabyte.yw.common.PlatformServiceException;
@@ -141,12 +142,14 @@ public class SessionController extends AbstractPlatformController {
 
   @Inject
   public SessionController(
-      CustomWsClientFactory wsClientFactory, RuntimeConfigFactory runtimeConfigFactory) {
+      CustomWsClientFactory wsClientFactory,
+      RuntimeConfigFactory runtimeConfigFactory,
+      ApiRequestLimiter requestLimiter) {
     WSClient wsClient =
         wsClientFactory.forCustomConfig(
             runtimeConfigFactory.globalRuntimeConf().getValue(Util.LIVE_QUERY_TIMEOUTS));
     this.runtimeConfigFactory = runtimeConfigFactory;
-    this.apiHelper = new ApiHelper(wsClient);
+    this.apiHelper = new ApiHelper(wsClient, requestLimiter);
   }
 
   @ApiModel(description = "Session information")
@@ -7,6 +7,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.common.ApiHelper;
+import com.yugabyte.yw.common.ApiRequestLimiter;
 import com.yugabyte.yw.common.CustomWsClientFactory;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.Util;
@@ -30,9 +31,10 @@ public class TabletServerController extends AuthenticatedController {
   private final ApiHelper apiHelper;
 
   @Inject
-  public TabletServerController(CustomWsClientFactory wsClientFactory, Config config) {
+  public TabletServerController(
+      CustomWsClientFactory wsClientFactory, Config config, ApiRequestLimiter requestLimiter) {
     WSClient wsClient = wsClientFactory.forCustomConfig(config.getValue(Util.YB_NODE_UI_WS_KEY));
-    this.apiHelper = new ApiHelper(wsClient);
+    this.apiHelper = new ApiHelper(wsClient, requestLimiter);
   }
 
   @VisibleForTesting
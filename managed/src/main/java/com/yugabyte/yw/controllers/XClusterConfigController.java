@@ -10,9 +10,10 @@
 package com.yugabyte.yw.controllers;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.inject.Inject;
 import com.yugabyte.yw.commissioner.Commissioner;
+import com.yugabyte.yw.commissioner.XClusterStatusMonitor;
+import com.yugabyte.yw.commissioner.XClusterStatusMonitor.XClusterStatus;
 import com.yugabyte.yw.commissioner.tasks.XClusterConfigTaskBase;
 import com.yugabyte.yw.common.BackupUtil;
 import com.yugabyte.yw.common.PlatformServiceException;
@@ -32,7 +33,6 @@ import com.yugabyte.yw.forms.XClusterConfigNeedBootstrapFormData;
 import com.yugabyte.yw.forms.XClusterConfigRestartFormData;
 import com.yugabyte.yw.forms.XClusterConfigSyncFormData;
 import com.yugabyte.yw.forms.XClusterConfigTaskParams;
-import com.yugabyte.yw.metrics.MetricQueryHelper;
 import com.yugabyte.yw.models.Audit;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.CustomerTask;
@@ -49,10 +49,7 @@ import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.Authorization;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -75,7 +72,7 @@ import play.mvc.Result;
 public class XClusterConfigController extends AuthenticatedController {
 
   private final Commissioner commissioner;
-  private final MetricQueryHelper metricQueryHelper;
+  private final XClusterStatusMonitor xClusterStatusMonitor;
   private final BackupUtil backupUtil;
   private final CustomerConfigService customerConfigService;
   private final YBClientService ybService;
@@ -84,13 +81,13 @@ public class XClusterConfigController extends AuthenticatedController {
   @Inject
   public XClusterConfigController(
       Commissioner commissioner,
-      MetricQueryHelper metricQueryHelper,
+      XClusterStatusMonitor xClusterStatusMonitor,
       BackupUtil backupUtil,
       CustomerConfigService customerConfigService,
       YBClientService ybService,
       RuntimeConfGetter confGetter) {
     this.commissioner = commissioner;
-    this.metricQueryHelper = metricQueryHelper;
+    this.xClusterStatusMonitor = xClusterStatusMonitor;
     this.backupUtil = backupUtil;
     this.customerConfigService = customerConfigService;
     this.ybService = ybService;
@@ -330,70 +327,21 @@ public class XClusterConfigController extends AuthenticatedController {
     XClusterConfig xClusterConfig =
         XClusterConfig.getValidConfigOrBadRequest(customer, xclusterConfigUUID);
 
-    JsonNode lagMetricData;
-    try {
-      Set<String> streamIds = xClusterConfig.getStreamIdsWithReplicationSetup();
-      log.info(
-          "Querying lag metrics for XClusterConfig({}) using CDC stream IDs: {}",
-          xClusterConfig.getUuid(),
-          streamIds);
-
-      // Query for replication lag
-      Map<String, String> metricParams = new HashMap<>();
-      String metric = "tserver_async_replication_lag_micros";
-      metricParams.put("metrics[0]", metric);
-      String startTime = Long.toString(Instant.now().minus(Duration.ofMinutes(1)).getEpochSecond());
-      metricParams.put("start", startTime);
-      ObjectNode filterJson = Json.newObject();
-      Universe sourceUniverse = Universe.getOrBadRequest(xClusterConfig.getSourceUniverseUUID());
-      String nodePrefix = sourceUniverse.getUniverseDetails().nodePrefix;
-      filterJson.put("node_prefix", nodePrefix);
-      String streamIdFilter = String.join("|", streamIds);
-      filterJson.put("stream_id", streamIdFilter);
-      metricParams.put("filters", Json.stringify(filterJson));
-      lagMetricData =
-          metricQueryHelper.query(
-              Collections.singletonList(metric), metricParams, Collections.emptyMap());
-    } catch (Exception e) {
-      String errorMsg =
-          String.format(
-              "Failed to get lag metric data for XClusterConfig(%s): %s",
-              xClusterConfig.getUuid(), e.getMessage());
-      log.error(errorMsg);
-      lagMetricData = Json.newObject().put("error", errorMsg);
-    }
+    XClusterStatus status = xClusterStatusMonitor.getStatus(xClusterConfig);
 
     // Check whether the replication is broken for the tables.
-    Set<String> tableIdsInRunningStatus =
-        xClusterConfig.getTableIdsInStatus(
-            xClusterConfig.getTableIds(true /* includeTxnTableIfExists */),
-            XClusterTableConfig.Status.Running);
-    Map<String, Boolean> isBootstrapRequiredMap = null;
-    try {
-      isBootstrapRequiredMap =
-          XClusterConfigTaskBase.isBootstrapRequired(
-              this.ybService, tableIdsInRunningStatus, xClusterConfig);
-    } catch (Exception e) {
-      log.error("XClusterConfigTaskBase.isBootstrapRequired hit error : {}", e.getMessage());
-    }
+    Map<String, Boolean> isBootstrapRequiredMap = status.getIsBootstrapRequiredMap();
     // If IsBootstrapRequired API hits error, set the statuses to UnableToFetch.
     if (Objects.isNull(isBootstrapRequiredMap)) {
       // We do not update the xCluster config object in the DB intentionally because `UnableToFetch`
       // is only a user facing status.
       xClusterConfig.getTableDetails(true /* includeTxnTableIfExists */).stream()
-          .filter(tableConfig -> tableIdsInRunningStatus.contains(tableConfig.getTableId()))
+          .filter(tableConfig -> status.getTableIds().contains(tableConfig.getTableId()))
           .forEach(tableConfig -> tableConfig.setStatus(XClusterTableConfig.Status.UnableToFetch));
     } else {
-      boolean isTxnTableInErrorStatus =
-          xClusterConfig.getType().equals(ConfigType.Txn)
-              && (Objects.isNull(
-                      isBootstrapRequiredMap.get(xClusterConfig.getTxnTableConfig().getTableId()))
-                  || isBootstrapRequiredMap.get(xClusterConfig.getTxnTableConfig().getTableId()));
       Set<String> tableIdsInErrorStatus =
-          isBootstrapRequiredMap.entrySet().stream()
-              .filter(e -> e.getValue() || isTxnTableInErrorStatus)
-              .map(Map.Entry::getKey)
-              .collect(Collectors.toSet());
+          XClusterStatusMonitor.getTableIdsInErrorStatus(xClusterConfig, isBootstrapRequiredMap)
+              .orElse(Collections.emptySet());
       // We do not update the xCluster config object in the DB intentionally because `Error` is
       // only a user facing status.
       xClusterConfig.getTableDetails(true /* includeTxnTableIfExists */).stream()
@@ -404,7 +352,8 @@ public class XClusterConfigController extends AuthenticatedController {
     // Wrap XClusterConfig with lag metric data.
     XClusterConfigGetResp resp = new XClusterConfigGetResp();
     resp.xClusterConfig = xClusterConfig;
-    resp.lag = lagMetricData;
+    resp.lag = status.getLag();
+    resp.statusUpdateTime = status.getUpdateTime();
     return PlatformResults.withData(resp);
   }
 
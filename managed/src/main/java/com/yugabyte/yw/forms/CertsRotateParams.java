@@ -339,6 +339,8 @@ public class CertsRotateParams extends UpgradeTaskParams {
 
     node.put("sleepAfterMasterRestartMillis", original.sleepAfterMasterRestartMillis);
     node.put("sleepAfterTServerRestartMillis", original.sleepAfterTServerRestartMillis);
+    node.put("maxParallelTServersPerAz", original.maxParallelTServersPerAz);
+    node.put("skipRestartWaitIfReady", original.skipRestartWaitIfReady);
 
     JsonNode universeDetailsJson = Json.toJson(univDetails);
     CommonUtils.deepMerge(universeDetailsJson, Json.toJson(node));
@@ -6,10 +6,13 @@ import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.ToString;
 import org.yb.CommonTypes.TableType;
 import play.data.validation.Constraints;
 
@@ -52,6 +55,9 @@ public class RestoreBackupParams extends UniverseTaskParams {
 
   public String nodeIp;
 
+  @ApiModelProperty(hidden = true)
+  public final Map<String, ParallelRestoreState> restoreDBStates = new ConcurrentHashMap<>();
+
   // Should backup script enable verbose logging.
   @ApiModelProperty(value = "Is verbose logging enabled")
   public boolean enableVerboseLogs = false;
@@ -78,6 +84,29 @@ public class RestoreBackupParams extends UniverseTaskParams {
   @ApiModelProperty(value = "Restore TimeStamp")
   public String restoreTimeStamp = null;
 
+  // Number of keyspaces restored at the same time with YB-Controller, each using a different node.
+  @ApiModelProperty(value = "Number of keyspaces to restore in parallel with YB-Controller")
+  public int parallelDBRestores = 1;
+
+  // Resumable state of a keyspace restored in parallel, keyed by its storage location.
+  @ToString
+  public static class ParallelRestoreState {
+    public String nodeIp;
+    public String currentYbcTaskId;
+    public boolean completed = false;
+
+    public void resetOnComplete() {
+      this.nodeIp = null;
+      this.currentYbcTaskId = null;
+      this.completed = true;
+    }
+
+    public void setIntermediate(String nodeIp, String currentYbcTaskId) {
+      this.nodeIp = nodeIp;
+      this.currentYbcTaskId = currentYbcTaskId;
+    }
+  }
+
   @ApiModel(description = "Backup Storage Info for doing restore operation")
   public static class BackupStorageInfo {
 
@@ -21,6 +21,15 @@ public class UpgradeTaskParams extends UniverseDefinitionTaskParams {
 
   public UpgradeOption upgradeOption = UpgradeOption.ROLLING_UPGRADE;
 
+  // Maximum number of tservers of the same availability zone restarted together during a rolling
+  // upgrade. Nodes are still restarted one at a time if the cluster has fewer zones than its
+  // replication factor, as the zone can then hold more than one replica of a tablet.
+  public int maxParallelTServersPerAz = 1;
+
+  // Move on to the next node as soon as the restarted servers report to be ready instead of always
+  // waiting for sleepAfterMasterRestartMillis/sleepAfterTServerRestartMillis.
+  public boolean skipRestartWaitIfReady = true;
+
   @Inject private RuntimeConfGetter runtimeConfGetter;
 
   public enum UpgradeTaskType {
@@ -94,6 +103,11 @@ public class UpgradeTaskParams extends UniverseDefinitionTaskParams {
               + " states.");
     }
 
+    if (maxParallelTServersPerAz < 1) {
+      throw new PlatformServiceException(
+          Status.BAD_REQUEST, "maxParallelTServersPerAz must be a positive number.");
+    }
+
     if (isKubernetesUpgradeSupported() && userIntent.providerType.equals(CloudType.kubernetes)) {
       if (!universeConfig.containsKey(Universe.HELM2_LEGACY)) {
         throw new PlatformServiceException(
@@ -1,10 +1,12 @@
 package com.yugabyte.yw.forms;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.yugabyte.yw.models.XClusterConfig;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
+import java.util.Date;
 import play.data.validation.Constraints.Required;
 
 @ApiModel(description = "xcluster get response")
@@ -18,4 +20,10 @@ public class XClusterConfigGetResp {
   @ApiModelProperty(value = "Lag metric data", required = true)
   // TODO: Define and use a concrete type for metrics responses
   public Object lag;
+
+  @ApiModelProperty(
+      value = "Time when lag and table statuses were last refreshed",
+      example = "2022-12-12T13:07:18Z")
+  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+  public Date statusUpdateTime;
 }
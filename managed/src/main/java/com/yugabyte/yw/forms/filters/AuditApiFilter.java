@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.forms.filters;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.yugabyte.yw.models.Audit;
+import com.yugabyte.yw.models.filters.AuditFilter;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+
+@Data
+@NoArgsConstructor
+public class AuditApiFilter {
+
+  @ApiModelProperty(value = "The start date for audit filter.", example = "2022-12-12T13:07:18Z")
+  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+  private Date dateRangeStart;
+
+  @ApiModelProperty(value = "The end date for audit filter.", example = "2022-12-12T13:07:18Z")
+  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+  private Date dateRangeEnd;
+
+  private Set<UUID> userUUIDs;
+  private Set<Audit.TargetType> targets;
+  private String targetID;
+  private Set<Audit.ActionType> actions;
+
+  public AuditFilter toFilter() {
+    AuditFilter.AuditFilterBuilder builder = AuditFilter.builder();
+    if (!CollectionUtils.isEmpty(userUUIDs)) {
+      builder.userUUIDs(userUUIDs);
+    }
+    if (!CollectionUtils.isEmpty(targets)) {
+      builder.targets(targets);
+    }
+    if (StringUtils.isNotEmpty(targetID)) {
+      builder.targetID(targetID);
+    }
+    if (!CollectionUtils.isEmpty(actions)) {
+      builder.actions(actions);
+    }
+    if (dateRangeStart != null) {
+      builder.dateRangeStart(dateRangeStart);
+    }
+    if (dateRangeEnd != null) {
+      builder.dateRangeEnd(dateRangeEnd);
+    }
+    return builder.build();
+  }
+}
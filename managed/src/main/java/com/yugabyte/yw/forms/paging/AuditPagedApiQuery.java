@@ -0,0 +1,21 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.forms.paging;
+
+import com.yugabyte.yw.forms.filters.AuditApiFilter;
+import com.yugabyte.yw.models.Audit;
+import com.yugabyte.yw.models.paging.PagedQuery;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class AuditPagedApiQuery extends PagedQuery<AuditApiFilter, Audit.SortBy> {
+
+  @ApiModelProperty(
+      value =
+          "Audit ID of the last entry of the previous page. Returns the entries following it in"
+              + " the sort order, ignoring the offset.")
+  private Long afterAuditID;
+}
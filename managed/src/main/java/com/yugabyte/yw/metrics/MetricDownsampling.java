@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.metrics;
+
+import com.yugabyte.yw.models.MetricConfigDefinition;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Downsampling tiers for long range graphs. Recording rules keep a copy of each metric used in
+ * metrics.yml at 5 minutes and 1 hour resolution, so that queries with a large enough step read a
+ * few samples per node instead of computing range functions over raw scrapes.
+ */
+public class MetricDownsampling {
+
+  public static final String ENABLED_PARAM = "yb.metrics.downsampling.enabled";
+
+  // Range functions need a few samples in the window to give the same result as on raw data.
+  private static final int MIN_SAMPLES_PER_RANGE = 3;
+
+  @Getter
+  public enum Tier {
+    FIVE_MINUTES("5m", 300),
+    ONE_HOUR("1h", 3600);
+
+    private final String suffix;
+    private final int resolutionSecs;
+
+    Tier(String suffix, int resolutionSecs) {
+      this.suffix = suffix;
+      this.resolutionSecs = resolutionSecs;
+    }
+
+    /** @return the coarsest tier which still has enough samples in the range, or null. */
+    public static Tier forRange(int rangeSecs) {
+      Tier result = null;
+      for (Tier tier : values()) {
+        if (tier.resolutionSecs * MIN_SAMPLES_PER_RANGE <= rangeSecs) {
+          result = tier;
+        }
+      }
+      return result;
+    }
+  }
+
+  @Getter
+  public enum Kind {
+    // Average value over the tier resolution.
+    GAUGE("avg"),
+    // Last counter value in the tier resolution, rate and increase work on it as on raw data.
+    COUNTER("last");
+
+    private final String prefix;
+
+    Kind(String prefix) {
+      this.prefix = prefix;
+    }
+
+    /** @return kind of the tier series the range function can be applied to, or null. */
+    public static Kind forQueryFunction(String rangeFunction) {
+      if (rangeFunction == null) {
+        return null;
+      }
+      switch (rangeFunction) {
+        case "rate":
+        case "increase":
+          return COUNTER;
+        case "avg_over_time":
+          return GAUGE;
+        default:
+          return null;
+      }
+    }
+
+    // Time aggregation can be changed to avg_over_time for any of the *_over_time functions.
+    private static Kind forConfigFunction(String rangeFunction) {
+      if (TimeAggregation.AGGREGATION_FUNCTIONS.contains(rangeFunction)) {
+        return GAUGE;
+      }
+      return forQueryFunction(rangeFunction);
+    }
+  }
+
+  public static String getSeriesName(String metric, Kind kind, Tier tier) {
+    return metric + ":" + kind.getPrefix() + "_" + tier.getSuffix();
+  }
+
+  /**
+   * Builds Prometheus rule groups, which record the downsampling tiers of the metrics the given
+   * configs query with a range function.
+   *
+   * @return rule groups in YAML, to be appended to the list of groups of a rules file.
+   */
+  public static String getRecordingRules(Collection<MetricConfigDefinition> configs) {
+    Map<String, Kind> seriesKinds = new TreeMap<>();
+    for (MetricConfigDefinition config : configs) {
+      if (config.getMetric() == null
+          || config.getRange() == null
+          || config.getFunction() == null) {
+        continue;
+      }
+      Kind kind = Kind.forConfigFunction(config.getFunction().split("\\|")[0]);
+      if (kind == null) {
+        continue;
+      }
+      for (String metric : config.getMetric().split("\\|")) {
+        if (metric.endsWith(".avg")) {
+          String metricPrefix = metric.substring(0, metric.length() - 4);
+          addSeries(seriesKinds, metricPrefix + "_sum", kind);
+          addSeries(seriesKinds, metricPrefix + "_count", kind);
+        } else if (StringUtils.isNotEmpty(metric) && !metric.contains("/")) {
+          // Ratio metrics are built from other configs, which are handled on their own.
+          addSeries(seriesKinds, metric, kind);
+        }
+      }
+    }
+
+    StringBuilder rules = new StringBuilder();
+    Tier previous = null;
+    for (Tier tier : Tier.values()) {
+      rules.append("\n  - name: yugaware_downsampling_").append(tier.getSuffix()).append('\n');
+      rules.append("    interval: ").append(tier.getSuffix()).append('\n');
+      rules.append("    rules:\n");
+      for (Map.Entry<String, Kind> entry : seriesKinds.entrySet()) {
+        String metric = entry.getKey().substring(0, entry.getKey().lastIndexOf(':'));
+        Kind kind = entry.getValue();
+        // Coarser tiers are computed from the previous one rather than from raw data.
+        String source = previous == null ? metric : getSeriesName(metric, kind, previous);
+        String expr;
+        if (kind == Kind.GAUGE) {
+          expr = String.format("avg_over_time(%s[%s])", source, tier.getSuffix());
+        } else {
+          // Look back over two source periods in case of rule evaluation delays.
+          int lookBackSecs =
+              previous == null ? tier.getResolutionSecs() : previous.getResolutionSecs() * 2;
+          expr = String.format("last_over_time(%s[%ds])", source, lookBackSecs);
+        }
+        rules.append("      - record: ").append(getSeriesName(metric, kind, tier)).append('\n');
+        rules.append("        expr: '").append(expr).append("'\n\n");
+      }
+      previous = tier;
+    }
+    return rules.toString();
+  }
+
+  private static void addSeries(Map<String, Kind> seriesKinds, String metric, Kind kind) {
+    seriesKinds.put(metric + ":" + kind.getPrefix(), kind);
+  }
+}
@@ -0,0 +1,112 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.metrics;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * State shared by the {@link MetricQueryExecutor}s of one dashboard request: the pool which runs
+ * the Prometheus queries of every panel, the deadline all of them have to meet and the top K
+ * selections that were already requested, so that panels ranking series the same way issue the
+ * selection query only once. It also tells whether the queries may use downsampling tiers.
+ */
+public class MetricQueryBatch {
+  private final Executor executor;
+  private final long deadlineNanos;
+  private final boolean downsampling;
+  private final Map<String, SubQuery<MetricQueryResponse>> topKSelections =
+      new ConcurrentHashMap<>();
+
+  public MetricQueryBatch(Executor executor, Duration timeout, boolean downsampling) {
+    this.executor = executor;
+    this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    this.downsampling = downsampling;
+  }
+
+  /** Batch which runs every query on the calling thread, without a deadline. */
+  public static MetricQueryBatch sequential() {
+    return new MetricQueryBatch(
+        MoreExecutors.directExecutor(), Duration.ofNanos(Long.MAX_VALUE / 2), false);
+  }
+
+  public boolean isDownsampling() {
+    return downsampling;
+  }
+
+  /** Time left till the batch deadline, which the queries use as their request timeout. */
+  Duration getRemainingTime() {
+    return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+  }
+
+  <T> SubQuery<T> submit(Supplier<T> query) {
+    SubQuery<T> subQuery = new SubQuery<>(query);
+    execute(subQuery);
+    return subQuery;
+  }
+
+  /**
+   * Returns the top K selection for the given query, submitting it only if no other panel of the
+   * batch has done so yet.
+   */
+  SubQuery<MetricQueryResponse> topKSelection(
+      String topKQuery, Supplier<MetricQueryResponse> query) {
+    SubQuery<MetricQueryResponse> created = new SubQuery<>(query);
+    SubQuery<MetricQueryResponse> existing = topKSelections.putIfAbsent(topKQuery, created);
+    if (existing != null) {
+      return existing;
+    }
+    execute(created);
+    return created;
+  }
+
+  /**
+   * Waits for the query result until the batch deadline. A query no pool thread has picked up
+   * yet is run by the caller, so panels waiting for their queries never starve the pool.
+   */
+  <T> T await(SubQuery<T> subQuery)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    subQuery.run();
+    return subQuery.future.get(getRemainingTime().toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private void execute(SubQuery<?> subQuery) {
+    try {
+      executor.execute(subQuery);
+    } catch (RejectedExecutionException e) {
+      // Will be run by the thread awaiting it.
+    }
+  }
+
+  static class SubQuery<T> implements Runnable {
+    private final Supplier<T> query;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    private SubQuery(Supplier<T> query) {
+      this.query = query;
+    }
+
+    @Override
+    public void run() {
+      if (!started.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        future.complete(query.get());
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    }
+  }
+}
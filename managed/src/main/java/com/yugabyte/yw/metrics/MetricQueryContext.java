@@ -29,6 +29,8 @@ public class MetricQueryContext {
   @Builder.Default Set<String> additionalGroupBy = Collections.emptySet();
   // Group by, which need to be removed from original metric group by list
   @Builder.Default Set<String> removeGroupBy = Collections.emptySet();
+  // Set in case downsampling tier series can be queried instead of raw metrics
+  @Builder.Default boolean downsampling = false;
 
   // Period, used in range queries, eg. (metric{labels}[60s]).
   int queryRangeSecs;
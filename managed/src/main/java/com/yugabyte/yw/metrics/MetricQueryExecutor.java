@@ -7,6 +7,7 @@ import static com.yugabyte.yw.common.Util.SYSTEM_PLATFORM_DB;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableSet;
 import com.yugabyte.yw.common.ApiHelper;
 import com.yugabyte.yw.models.MetricConfig;
@@ -17,13 +18,25 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import play.libs.Json;
 
 @Slf4j
 public class MetricQueryExecutor implements Callable<JsonNode> {
+  private static final String METRIC_NAME_LABEL = "__name__";
+
+  // Label values which can be put into a regex filter as is. Dots may match more series than
+  // needed, which is fine as the result is filtered precisely afterwards.
+  private static final Pattern PLAIN_LABEL_VALUE = Pattern.compile("[\\w.:-]+");
+
   private final ApiHelper apiHelper;
 
   private final MetricUrlProvider metricUrlProvider;
@@ -31,10 +44,14 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
   private final Map<String, String> queryParam = new HashMap<>();
   private final Map<String, String> additionalFilters = new HashMap<>();
   private int queryRangeSecs = 0;
+  // Time the top K selection is evaluated at, the end of the range or now for instant queries.
+  private long topKTimeSec;
   private final MetricSettings metricSettings;
 
   private final boolean isRecharts;
 
+  private final MetricQueryBatch queryBatch;
+
   public MetricQueryExecutor(
       MetricUrlProvider metricUrlProvider,
       ApiHelper apiHelper,
@@ -56,12 +73,31 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
       Map<String, String> additionalFilters,
       MetricSettings metricSettings,
       boolean isRecharts) {
+    this(
+        metricUrlProvider,
+        apiHelper,
+        queryParam,
+        additionalFilters,
+        metricSettings,
+        isRecharts,
+        MetricQueryBatch.sequential());
+  }
+
+  public MetricQueryExecutor(
+      MetricUrlProvider metricUrlProvider,
+      ApiHelper apiHelper,
+      Map<String, String> queryParam,
+      Map<String, String> additionalFilters,
+      MetricSettings metricSettings,
+      boolean isRecharts,
+      MetricQueryBatch queryBatch) {
     this.apiHelper = apiHelper;
     this.metricUrlProvider = metricUrlProvider;
     this.queryParam.putAll(queryParam);
     this.additionalFilters.putAll(additionalFilters);
     this.metricSettings = metricSettings;
     this.isRecharts = isRecharts;
+    this.queryBatch = queryBatch;
     if (queryParam.containsKey("step")) {
       this.queryRangeSecs = Integer.parseInt(queryParam.get("step"));
     } else {
@@ -71,11 +107,7 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
     }
   }
 
-  private JsonNode getMetrics() {
-    return getMetrics(this.queryParam);
-  }
-
-  private JsonNode getMetrics(Map<String, String> queryParam) {
+  private MetricQueryResponse getMetrics(Map<String, String> queryParam) {
     String queryUrl;
     if (queryParam.containsKey("end")) {
       queryUrl = metricUrlProvider.getMetricsApiUrl() + "/query_range";
@@ -84,7 +116,15 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
     }
 
     log.trace("Executing metric query {}: {}", queryUrl, queryParam);
-    return apiHelper.getRequest(queryUrl, new HashMap<>(), queryParam);
+    return apiHelper
+        .getRequestAsync(
+            queryUrl,
+            new HashMap<>(),
+            queryParam,
+            PrometheusResponseParser::parse,
+            queryBatch.getRemainingTime())
+        .toCompletableFuture()
+        .join();
   }
 
   private String getDirectURL(String queryExpr) {
@@ -113,6 +153,7 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
               .additionalFilters(additionalFilters)
               .additionalGroupBy(getAdditionalGroupBy(metricSettings))
               .excludeFilters(getExcludeFilters(metricSettings))
+              .downsampling(queryBatch.isDownsampling())
               .build();
       if (metricSettings.getSplitMode() != SplitMode.NONE) {
         try {
@@ -144,37 +185,52 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
       MetricRechartsGraphData rechartsOutput = new MetricRechartsGraphData();
       List<MetricGraphData> output = new ArrayList<>();
       ArrayNode directURLs = responseJson.putArray("directURLs");
+      // Queries of the panel don't depend on each other, apart from the split queries which
+      // need the top K selection, so all of them are issued before waiting for any.
+      List<PanelQuery> panelQueries = new ArrayList<>();
       for (Map.Entry<String, String> e : queries.entrySet()) {
-        String metric = e.getKey();
-        String queryExpr = e.getValue();
-        String topKQuery = topKQueries.get(metric);
-        if (!StringUtils.isEmpty(topKQuery)) {
-          queryExpr += " and " + topKQuery;
-        }
-        String aggregatedQuery = aggregatedQueries.get(metric);
-        if (!StringUtils.isEmpty(aggregatedQuery)) {
-          queryExpr = "(" + queryExpr + ") or " + aggregatedQuery;
-        }
-        queryParam.put("query", queryExpr);
+        PanelQuery panelQuery =
+            new PanelQuery(
+                e.getKey(),
+                e.getValue(),
+                topKQueries.get(e.getKey()),
+                aggregatedQueries.get(e.getKey()));
         try {
-          directURLs.add(getDirectURL(queryExpr));
+          directURLs.add(getDirectURL(panelQuery.getExpression()));
         } catch (Exception de) {
           log.trace("Error getting direct url", de);
         }
-        JsonNode queryResponseJson = getMetrics();
-        if (queryResponseJson == null) {
-          responseJson.set("data", Json.toJson(new ArrayList<>()));
-
-          return responseJson;
+        submit(panelQuery);
+        panelQueries.add(panelQuery);
+      }
+      try {
+        for (PanelQuery panelQuery : panelQueries) {
+          submitSplitQuery(panelQuery, configDefinition, context);
         }
-        MetricQueryResponse queryResponse =
-            Json.fromJson(queryResponseJson, MetricQueryResponse.class);
-        if (queryResponse.error != null) {
-          responseJson.put("error", queryResponse.error);
-          break;
-        } else {
-          output.addAll(queryResponse.getGraphData(metric, configDefinition, metricSettings));
+        for (PanelQuery panelQuery : panelQueries) {
+          MetricQueryResponse queryResponse = getResponse(panelQuery);
+          if (queryResponse == null) {
+            responseJson.set("data", Json.toJson(new ArrayList<>()));
+
+            return responseJson;
+          }
+          if (queryResponse.error != null) {
+            responseJson.put("error", queryResponse.error);
+            break;
+          } else {
+            output.addAll(
+                queryResponse.getGraphData(panelQuery.metric, configDefinition, metricSettings));
+          }
         }
+      } catch (TimeoutException e) {
+        log.warn("Timed out waiting for {} queries", metricName);
+        responseJson.put("error", "Timed out waiting for metric queries");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        responseJson.put("error", "Interrupted while waiting for metric queries");
+      } catch (ExecutionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new RuntimeException(e.getCause());
       }
       if (isRecharts) {
         responseJson.set("data", Json.toJson(rechartsOutput));
@@ -186,21 +242,156 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
     return responseJson;
   }
 
+  private void submit(PanelQuery panelQuery) {
+    if (!StringUtils.isEmpty(panelQuery.topKQuery)) {
+      Map<String, String> topKParams = new HashMap<>(queryParam);
+      // The top K expression pins its series to the selection time with the @ modifier, so it
+      // yields the same series at every step of a range query. One instant query at that time
+      // returns that selection, which also keeps the direct URL equivalent.
+      topKParams.remove("start");
+      topKParams.remove("end");
+      topKParams.remove("step");
+      topKParams.put("time", String.valueOf(topKTimeSec));
+      topKParams.put("query", panelQuery.topKQuery);
+      panelQuery.topK =
+          queryBatch.topKSelection(panelQuery.topKQuery, () -> getMetrics(topKParams));
+    } else {
+      panelQuery.main = submitQuery(panelQuery.queryExpr);
+    }
+    if (!StringUtils.isEmpty(panelQuery.aggregatedQuery)) {
+      panelQuery.aggregated = submitQuery(panelQuery.aggregatedQuery);
+    }
+  }
+
+  private void submitSplitQuery(
+      PanelQuery panelQuery, MetricConfigDefinition configDefinition, MetricQueryContext context)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    if (panelQuery.topK == null) {
+      return;
+    }
+    MetricQueryResponse selection = queryBatch.await(panelQuery.topK);
+    if (selection == null || selection.error != null) {
+      return;
+    }
+    // Narrow the split query down to the selected series where the selection can be expressed
+    // as label filters. Exact filtering is done on the result anyway.
+    String queryExpr = panelQuery.queryExpr;
+    Map<String, String> selectionFilters = getSelectionFilters(selection);
+    if (!selectionFilters.isEmpty()) {
+      Map<String, String> filters = new HashMap<>(additionalFilters);
+      filters.putAll(selectionFilters);
+      queryExpr =
+          configDefinition
+              .getQueries(
+                  metricSettings, context.toBuilder().additionalFilters(filters).build())
+              .get(panelQuery.metric);
+    }
+    panelQuery.main = submitQuery(queryExpr);
+  }
+
+  private MetricQueryBatch.SubQuery<MetricQueryResponse> submitQuery(String queryExpr) {
+    Map<String, String> params = new HashMap<>(queryParam);
+    params.put("query", queryExpr);
+    return queryBatch.submit(() -> getMetrics(params));
+  }
+
+  /**
+   * Combines the responses of the panel queries the same way Prometheus would evaluate the
+   * expression returned by {@link PanelQuery#getExpression()}.
+   */
+  private MetricQueryResponse getResponse(PanelQuery panelQuery)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    MetricQueryResponse selection = null;
+    if (panelQuery.topK != null) {
+      selection = queryBatch.await(panelQuery.topK);
+      if (selection == null || selection.error != null) {
+        return selection;
+      }
+    }
+    MetricQueryResponse response = queryBatch.await(panelQuery.main);
+    if (response == null || response.error != null) {
+      return response;
+    }
+    List<MetricSeries> series = response.getSeries();
+    if (selection != null) {
+      Set<Map<String, String>> selected =
+          selection.getSeries().stream()
+              .map(MetricQueryExecutor::getMatchingLabels)
+              .collect(Collectors.toSet());
+      series =
+          series.stream()
+              .filter(s -> selected.contains(getMatchingLabels(s)))
+              .collect(Collectors.toList());
+    }
+    if (panelQuery.aggregated != null) {
+      MetricQueryResponse aggregated = queryBatch.await(panelQuery.aggregated);
+      if (aggregated == null || aggregated.error != null) {
+        return aggregated;
+      }
+      Set<Map<String, String>> present =
+          series.stream().map(MetricQueryExecutor::getMatchingLabels).collect(Collectors.toSet());
+      series = new ArrayList<>(series);
+      for (MetricSeries s : aggregated.getSeries()) {
+        if (!present.contains(getMatchingLabels(s))) {
+          series.add(s);
+        }
+      }
+    }
+    response.setSeries(series);
+    return response;
+  }
+
+  private Map<String, String> getSelectionFilters(MetricQueryResponse selection) {
+    Map<String, String> filters = new HashMap<>();
+    if (selection.getSeries().isEmpty()) {
+      return filters;
+    }
+    for (String label : getAdditionalGroupBy(metricSettings)) {
+      Set<String> values = new TreeSet<>();
+      for (MetricSeries series : selection.getSeries()) {
+        String value = series.getLabels().get(label);
+        if (value == null || !PLAIN_LABEL_VALUE.matcher(value).matches()) {
+          values = null;
+          break;
+        }
+        values.add(value);
+      }
+      if (values != null) {
+        filters.put(label, String.join("|", values));
+      }
+    }
+    return filters;
+  }
+
+  // Like Prometheus binary operators, match series on all the labels except the metric name.
+  private static Map<String, String> getMatchingLabels(MetricSeries series) {
+    if (!series.getLabels().containsKey(METRIC_NAME_LABEL)) {
+      return series.getLabels();
+    }
+    Map<String, String> labels = new HashMap<>(series.getLabels());
+    labels.remove(METRIC_NAME_LABEL);
+    return labels;
+  }
+
   private Map<String, String> getTopKQueries(
       MetricConfigDefinition configDefinition, ObjectNode responseJson) {
     if (metricSettings.getSplitMode() == SplitMode.NONE) {
       return Collections.emptyMap();
     }
     int range = Integer.parseInt(queryParam.get("range"));
-    long end = Integer.parseInt(queryParam.get("end"));
+    topKTimeSec =
+        queryParam.containsKey("end")
+            ? Long.parseLong(queryParam.get("end"))
+            : TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
     MetricQueryContext context =
         MetricQueryContext.builder()
             .topKQuery(true)
             .queryRangeSecs(range)
-            .queryTimestampSec(end)
+            .queryTimestampSec(topKTimeSec)
             .additionalFilters(additionalFilters)
             .additionalGroupBy(getAdditionalGroupBy(metricSettings))
             .excludeFilters(getExcludeFilters(metricSettings))
+            .downsampling(queryBatch.isDownsampling())
             .build();
     return configDefinition.getQueries(this.metricSettings, context);
   }
@@ -230,4 +421,35 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
         return Collections.emptyMap();
     }
   }
+
+  private static class PanelQuery {
+    private final String metric;
+    private final String queryExpr;
+    private final String topKQuery;
+    private final String aggregatedQuery;
+    private MetricQueryBatch.SubQuery<MetricQueryResponse> topK;
+    private MetricQueryBatch.SubQuery<MetricQueryResponse> main;
+    private MetricQueryBatch.SubQuery<MetricQueryResponse> aggregated;
+
+    private PanelQuery(
+        String metric, String queryExpr, String topKQuery, String aggregatedQuery) {
+      this.metric = metric;
+      this.queryExpr = queryExpr;
+      this.topKQuery = topKQuery;
+      this.aggregatedQuery = aggregatedQuery;
+    }
+
+    // Single expression equivalent to the panel queries. The top K part keeps its @ modifier, so
+    // the selection is made at the end of the range there as well.
+    private String getExpression() {
+      String expression = queryExpr;
+      if (!StringUtils.isEmpty(topKQuery)) {
+        expression += " and " + topKQuery;
+      }
+      if (!StringUtils.isEmpty(aggregatedQuery)) {
+        expression = "(" + expression + ") or " + aggregatedQuery;
+      }
+      return expression;
+    }
+  }
 }
@@ -34,6 +34,7 @@ import com.yugabyte.yw.models.XClusterConfig;
 import com.yugabyte.yw.models.helpers.CloudInfoInterface;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -63,12 +64,14 @@ public class MetricQueryHelper {
   public static final Logger LOG = LoggerFactory.getLogger(MetricQueryHelper.class);
   public static final Integer STEP_SIZE = 100;
   public static final Integer QUERY_EXECUTOR_THREAD_POOL = 5;
+  public static final Integer SUBQUERY_EXECUTOR_THREAD_POOL = 10;
 
   public static final String METRICS_QUERY_PATH = "query";
   public static final String ALERTS_PATH = "alerts";
 
   public static final String MANAGEMENT_COMMAND_RELOAD = "reload";
   public static final String PROMETHEUS_MANAGEMENT_ENABLED = "yb.metrics.management.enabled";
+  public static final String QUERY_TIMEOUT = "yb.metrics.query_timeout";
 
   private static final String CONTAINER_METRIC_PREFIX = "container";
   private static final String NODE_PREFIX = "node_prefix";
@@ -385,6 +388,18 @@ public class MetricQueryHelper {
             getClass().getSimpleName(),
             QUERY_EXECUTOR_THREAD_POOL,
             Executors.defaultThreadFactory());
+    // Prometheus queries of all the panels run in a separate pool, so that panel executors
+    // waiting for their queries don't take threads away from them.
+    ExecutorService subQueryPool =
+        platformExecutorFactory.createFixedExecutor(
+            getClass().getSimpleName() + "SubQueries",
+            SUBQUERY_EXECUTOR_THREAD_POOL,
+            Executors.defaultThreadFactory());
+    MetricQueryBatch queryBatch =
+        new MetricQueryBatch(
+            subQueryPool,
+            getQueryTimeout(),
+            appConfig.getBoolean(MetricDownsampling.ENABLED_PARAM));
     try {
       Set<Future<JsonNode>> futures = new HashSet<Future<JsonNode>>();
       for (MetricSettings metricSettings : metricsWithSettings) {
@@ -404,7 +419,8 @@ public class MetricQueryHelper {
                 queryParams,
                 additionalFilters,
                 metricSettings,
-                isRecharts);
+                isRecharts,
+                queryBatch);
         Future<JsonNode> future = threadPool.submit(callable);
         futures.add(future);
       }
@@ -422,6 +438,7 @@ public class MetricQueryHelper {
       return responseJson;
     } finally {
       threadPool.shutdown();
+      subQueryPool.shutdown();
     }
   }
 
@@ -446,7 +463,11 @@ public class MetricQueryHelper {
     HashMap<String, String> getParams = new HashMap<>();
     getParams.put("query", promQueryExpression);
     final JsonNode responseJson =
-        apiHelper.getRequest(queryUrl, new HashMap<>(), /*headers*/ getParams);
+        apiHelper
+            .getRequestAsync(
+                queryUrl, new HashMap<>(), /*headers*/ getParams, getQueryTimeout())
+            .toCompletableFuture()
+            .join();
     final MetricQueryResponse metricResponse =
         Json.fromJson(responseJson, MetricQueryResponse.class);
     if (metricResponse.error != null || metricResponse.data == null) {
@@ -459,7 +480,12 @@ public class MetricQueryHelper {
   public List<AlertData> queryAlerts() {
     final String queryUrl = getPrometheusQueryUrl(ALERTS_PATH);
 
-    final JsonNode responseJson = apiHelper.getRequest(queryUrl);
+    final JsonNode responseJson =
+        apiHelper
+            .getRequestAsync(
+                queryUrl, Collections.emptyMap(), Collections.emptyMap(), getQueryTimeout())
+            .toCompletableFuture()
+            .join();
     final AlertsResponse response = Json.fromJson(responseJson, AlertsResponse.class);
     if (response.getStatus() != ResponseStatus.success) {
       throw new RuntimeException("Error querying prometheus alerts: " + response);
@@ -473,12 +499,16 @@ public class MetricQueryHelper {
 
   public void postManagementCommand(String command) {
     final String queryUrl = metricUrlProvider.getMetricsManagementUrl() + "/" + command;
-    if (!apiHelper.postRequest(queryUrl)) {
+    if (!apiHelper.postRequestAsync(queryUrl, getQueryTimeout()).toCompletableFuture().join()) {
       throw new RuntimeException(
           "Failed to perform " + command + " on prometheus instance " + queryUrl);
     }
   }
 
+  private Duration getQueryTimeout() {
+    return appConfig.getDuration(QUERY_TIMEOUT);
+  }
+
   public boolean isPrometheusManagementEnabled() {
     return appConfig.getBoolean(PROMETHEUS_MANAGEMENT_ENABLED);
   }
@@ -6,17 +6,19 @@ import static com.yugabyte.yw.metrics.MetricQueryHelper.NAMESPACE_NAME;
 import static com.yugabyte.yw.metrics.MetricQueryHelper.TABLE_ID;
 import static com.yugabyte.yw.metrics.MetricQueryHelper.TABLE_NAME;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.yugabyte.yw.models.MetricConfigDefinition;
 import com.yugabyte.yw.models.MetricConfigDefinition.Layout;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -38,6 +40,9 @@ public class MetricQueryResponse {
   public String errorType;
   public String error;
 
+  // Set when the response was read by PrometheusResponseParser, which leaves data.result empty.
+  @JsonIgnore private List<MetricSeries> series;
+
   public static class Entry {
     public HashMap<String, String> labels;
     public ArrayList<ImmutablePair<Double, Double>> values;
@@ -71,21 +76,20 @@ public class MetricQueryResponse {
         config.getGroupBy() != null
             && config.getGroupBy().equals(EXPORTED_INSTANCE)
             && metricSettings.getSplitMode() == SplitMode.NONE;
-    for (final JsonNode objNode : data.result) {
+    for (MetricSeries series : getSeries()) {
       MetricGraphData metricGraphData = new MetricGraphData();
-      ObjectNode metricInfo = (ObjectNode) objNode.get("metric");
-
-      metricGraphData.instanceName = getAndRemoveLabelValue(metricInfo, EXPORTED_INSTANCE);
-      metricGraphData.tableId = getAndRemoveLabelValue(metricInfo, TABLE_ID);
-      metricGraphData.tableName = getAndRemoveLabelValue(metricInfo, TABLE_NAME);
-      metricGraphData.namespaceName = getAndRemoveLabelValue(metricInfo, NAMESPACE_NAME);
-      if (metricInfo.has("node_prefix")) {
-        metricGraphData.name = metricInfo.get("node_prefix").asText();
+      Map<String, String> metricInfo = new LinkedHashMap<>(series.getLabels());
+
+      metricGraphData.instanceName = metricInfo.remove(EXPORTED_INSTANCE);
+      metricGraphData.tableId = metricInfo.remove(TABLE_ID);
+      metricGraphData.tableName = metricInfo.remove(TABLE_NAME);
+      metricGraphData.namespaceName = metricInfo.remove(NAMESPACE_NAME);
+      if (metricInfo.containsKey("node_prefix")) {
+        metricGraphData.name = metricInfo.get("node_prefix");
       } else if (metricInfo.size() == 1) {
         // If we have a group_by clause, the group by name would be the only
         // key in the metrics data, fetch that and use that as the name
-        String key = metricInfo.fieldNames().next();
-        metricGraphData.name = metricInfo.get(key).asText();
+        metricGraphData.name = metricInfo.values().iterator().next();
       } else if (metricInfo.size() == 0) {
         if (useInstanceName && StringUtils.isNotBlank(metricGraphData.instanceName)) {
           // In case of aggregated metric query need to set name == instanceName for graphs,
@@ -109,14 +113,7 @@ public class MetricQueryResponse {
           for (Map.Entry<String, String> entry : layout.getYaxis().getAlias().entrySet()) {
             boolean validLabels = false;
             for (String key : entry.getKey().split(",")) {
-              validLabels = false;
-              // Java conversion from Iterator to Iterable...
-              for (JsonNode metricEntry : (Iterable<JsonNode>) metricInfo::elements) {
-                if (metricEntry.asText().equals(key)) {
-                  validLabels = true;
-                  break;
-                }
-              }
+              validLabels = metricInfo.containsValue(key);
               if (!validLabels) {
                 break;
               }
@@ -126,31 +123,16 @@ public class MetricQueryResponse {
             }
           }
         } else {
-          metricInfo
-              .fields()
-              .forEachRemaining(
-                  handler -> {
-                    metricGraphData.labels.put(handler.getKey(), handler.getValue().asText());
-                  });
+          metricGraphData.labels.putAll(metricInfo);
         }
       }
-      if (objNode.has("values")) {
-        for (final JsonNode valueNode : objNode.get("values")) {
-          metricGraphData.x.add(valueNode.get(0).asLong() * 1000);
-          JsonNode val = valueNode.get(1);
-          if (val.asText().equals("NaN")) {
-            metricGraphData.y.add(0);
-          } else {
-            metricGraphData.y.add(val);
-          }
-        }
-      } else if (objNode.has("value")) {
-        metricGraphData.x.add(objNode.get("value").get(0).asLong() * 1000);
-        JsonNode val = objNode.get("value").get(1);
-        if (val.asText().equals("NaN")) {
+      for (int i = 0; i < series.size(); i++) {
+        metricGraphData.x.add(series.getTimestamp(i));
+        double value = series.getValue(i);
+        if (Double.isNaN(value)) {
           metricGraphData.y.add(0);
         } else {
-          metricGraphData.y.add(val);
+          metricGraphData.y.add(value);
         }
       }
       metricGraphData.type = "scatter";
@@ -189,59 +171,51 @@ public class MetricQueryResponse {
         .collect(Collectors.toList());
   }
 
-  private String getAndRemoveLabelValue(ObjectNode metricInfo, String labelName) {
-    String value = null;
-    if (metricInfo.has(labelName)) {
-      value = metricInfo.get(labelName).asText();
-      metricInfo.remove(labelName);
+  /**
+   * Returns the series of the response. Responses deserialized from a JSON tree have them parsed
+   * from data.result on first access.
+   */
+  @JsonIgnore
+  public List<MetricSeries> getSeries() {
+    if (series == null) {
+      if (data == null || data.result == null) {
+        series = Collections.emptyList();
+      } else {
+        try {
+          series = PrometheusResponseParser.parseResult(data.result.traverse());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
     }
-    return value;
+    return series;
+  }
+
+  void setSeries(List<MetricSeries> series) {
+    this.series = series;
   }
 
   /**
-   * Converts the JSON result of a prometheus HTTP query call to the MetricQueryResponse.Entry
-   * format.
+   * Converts the result of a prometheus HTTP query call to the MetricQueryResponse.Entry format.
+   * Timestamps are in seconds, as returned by prometheus.
    */
   public ArrayList<MetricQueryResponse.Entry> getValues() {
-    if (this.data == null || this.data.result == null) {
+    if (this.series == null && (this.data == null || this.data.result == null)) {
       return null;
     }
     ArrayList<MetricQueryResponse.Entry> result = new ArrayList<>();
-    ObjectMapper objMapper = new ObjectMapper();
-    for (final JsonNode entryNode : this.data.result) {
-      try {
-        final JsonNode metricNode = entryNode.get("metric");
-        final JsonNode valueNode = entryNode.get("value");
-        final JsonNode valuesNode = entryNode.get("values");
-        if (metricNode == null || (valueNode == null && valuesNode == null)) {
-          LOG.trace("Skipping json node while parsing prom response: {}", entryNode);
-          continue;
-        }
-        MetricQueryResponse.Entry entry = new MetricQueryResponse.Entry();
-        entry.labels = objMapper.convertValue(metricNode, HashMap.class);
-        entry.values = new ArrayList<>();
-        if (valueNode != null) {
-          entry.values.add(
-              new ImmutablePair<>(
-                  new Double(valueNode.get(0).asText()), // timestamp
-                  new Double(valueNode.get(1).asText()) // value
-                  ));
-        } else if (valuesNode != null) {
-          entry.values = new ArrayList<>();
-          Iterator<JsonNode> elements = valuesNode.elements();
-          while (elements.hasNext()) {
-            final JsonNode eachValueNode = elements.next();
-            entry.values.add(
-                new ImmutablePair<>(
-                    new Double(eachValueNode.get(0).asText()), // timestamp
-                    new Double(eachValueNode.get(1).asText()) // value
-                    ));
-          }
-        }
-        result.add(entry);
-      } catch (Exception e) {
-        LOG.debug("Skipping json node while parsing prometheus response: {}", entryNode, e);
+    for (MetricSeries metricSeries : getSeries()) {
+      MetricQueryResponse.Entry entry = new MetricQueryResponse.Entry();
+      entry.labels = new HashMap<>(metricSeries.getLabels());
+      entry.values = new ArrayList<>(metricSeries.size());
+      for (int i = 0; i < metricSeries.size(); i++) {
+        entry.values.add(
+            new ImmutablePair<>(
+                metricSeries.getTimestamp(i) / 1000.0, // timestamp
+                metricSeries.getValue(i) // value
+                ));
       }
+      result.add(entry);
     }
     return result;
   }
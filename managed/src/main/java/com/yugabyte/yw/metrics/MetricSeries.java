@@ -0,0 +1,72 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Single time series of a Prometheus query result. Samples are kept in primitive columns, so a
+ * series costs two arrays no matter how many points it has.
+ */
+public class MetricSeries {
+  private final Map<String, String> labels;
+  private final long[] timestamps;
+  private final double[] values;
+
+  private MetricSeries(Map<String, String> labels, long[] timestamps, double[] values) {
+    this.labels = Collections.unmodifiableMap(labels);
+    this.timestamps = timestamps;
+    this.values = values;
+  }
+
+  public Map<String, String> getLabels() {
+    return labels;
+  }
+
+  public int size() {
+    return timestamps.length;
+  }
+
+  /** @return sample timestamp in milliseconds. */
+  public long getTimestamp(int index) {
+    return timestamps[index];
+  }
+
+  public double getValue(int index) {
+    return values[index];
+  }
+
+  static class Builder {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, String> labels;
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int size;
+
+    Builder(Map<String, String> labels) {
+      this.labels = labels;
+    }
+
+    Map<String, String> labels() {
+      return labels;
+    }
+
+    void add(long timestampMs, double value) {
+      if (size == timestamps.length) {
+        timestamps = Arrays.copyOf(timestamps, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      timestamps[size] = timestampMs;
+      values[size] = value;
+      size++;
+    }
+
+    MetricSeries build() {
+      return new MetricSeries(
+          labels, Arrays.copyOf(timestamps, size), Arrays.copyOf(values, size));
+    }
+  }
+}
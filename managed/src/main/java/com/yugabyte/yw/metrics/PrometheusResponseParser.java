@@ -0,0 +1,174 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming parser for Prometheus HTTP API query responses. Instead of building a JSON tree of the
+ * whole response it reads the tokens once and writes the samples of each series straight into
+ * {@link MetricSeries} columns.
+ */
+public final class PrometheusResponseParser {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private PrometheusResponseParser() {}
+
+  public static MetricQueryResponse parse(InputStream in) throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+      return parse(parser);
+    }
+  }
+
+  static MetricQueryResponse parse(JsonParser parser) throws IOException {
+    MetricQueryResponse response = new MetricQueryResponse();
+    expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      switch (field) {
+        case "status":
+          response.status = parser.getValueAsString();
+          break;
+        case "errorType":
+          response.errorType = parser.getValueAsString();
+          break;
+        case "error":
+          response.error = parser.getValueAsString();
+          break;
+        case "data":
+          if (token == JsonToken.START_OBJECT) {
+            parseData(parser, response);
+          } else {
+            parser.skipChildren();
+          }
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    return response;
+  }
+
+  /**
+   * Parses the "result" array of a query response.
+   *
+   * @param parser parser positioned on the array, or right before it.
+   * @return series of the result, in the response order.
+   */
+  static List<MetricSeries> parseResult(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken() == null ? parser.nextToken() : parser.currentToken();
+    List<MetricSeries> result = new ArrayList<>();
+    if (token == JsonToken.VALUE_NULL) {
+      return result;
+    }
+    expect(parser, token, JsonToken.START_ARRAY);
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      expect(parser, token, JsonToken.START_OBJECT);
+      result.add(parseSeries(parser));
+    }
+    return result;
+  }
+
+  private static void parseData(JsonParser parser, MetricQueryResponse response)
+      throws IOException {
+    response.data = new MetricQueryResponse.MetricsData();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      switch (field) {
+        case "resultType":
+          response.data.resultType = parser.getValueAsString();
+          break;
+        case "result":
+          response.setSeries(parseResult(parser));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+  }
+
+  private static MetricSeries parseSeries(JsonParser parser) throws IOException {
+    MetricSeries.Builder series = new MetricSeries.Builder(new LinkedHashMap<>());
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      switch (field) {
+        case "metric":
+          if (token == JsonToken.START_OBJECT) {
+            parseLabels(parser, series.labels());
+          } else {
+            parser.skipChildren();
+          }
+          break;
+        case "value":
+          parseSample(parser, series);
+          break;
+        case "values":
+          expect(parser, token, JsonToken.START_ARRAY);
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parseSample(parser, series);
+          }
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    return series.build();
+  }
+
+  private static void parseLabels(JsonParser parser, Map<String, String> labels)
+      throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      parser.nextToken();
+      labels.put(name, parser.getValueAsString());
+    }
+  }
+
+  // Sample is a [<unix time in seconds>, "<value>"] pair.
+  private static void parseSample(JsonParser parser, MetricSeries.Builder series)
+      throws IOException {
+    expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+    parser.nextToken();
+    double timestampSec = parser.getValueAsDouble();
+    parser.nextToken();
+    double value = parseValue(parser.getText());
+    // Ignore anything else the sample may have.
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      parser.skipChildren();
+    }
+    series.add(Math.round(timestampSec * 1000), value);
+  }
+
+  private static double parseValue(String value) {
+    switch (value) {
+      case "+Inf":
+        return Double.POSITIVE_INFINITY;
+      case "-Inf":
+        return Double.NEGATIVE_INFINITY;
+      default:
+        // Also handles "NaN".
+        return Double.parseDouble(value);
+    }
+  }
+
+  private static void expect(JsonParser parser, JsonToken actual, JsonToken expected)
+      throws JsonParseException {
+    if (actual != expected) {
+      throw new JsonParseException(
+          parser, "Unexpected token " + actual + " in Prometheus response, expected " + expected);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.metrics.data;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/** Payload of the Alertmanager webhook receiver notification. */
+@Value
+@Jacksonized
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AlertmanagerNotification {
+  String version;
+  String groupKey;
+  Status status;
+  String receiver;
+  List<Alert> alerts;
+
+  public enum Status {
+    firing,
+    resolved
+  }
+
+  @Value
+  @Jacksonized
+  @Builder
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class Alert {
+    Status status;
+    Map<String, String> labels;
+    Map<String, String> annotations;
+    ZonedDateTime startsAt;
+    ZonedDateTime endsAt;
+    String fingerprint;
+
+    public AlertData toAlertData() {
+      return AlertData.builder()
+          .activeAt(startsAt)
+          .labels(labels)
+          .annotations(annotations)
+          .state(AlertState.firing)
+          .build();
+    }
+  }
+}
@@ -2,6 +2,8 @@
 
 package com.yugabyte.yw.models;
 
+import static com.yugabyte.yw.models.helpers.CommonUtils.appendInClause;
+import static com.yugabyte.yw.models.helpers.CommonUtils.performPagedQuery;
 import static io.swagger.annotations.ApiModelProperty.AccessMode.READ_ONLY;
 import static play.mvc.Http.Status.BAD_REQUEST;
 
@@ -9,9 +11,17 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.yugabyte.yw.common.PlatformServiceException;
+import com.yugabyte.yw.models.filters.AuditFilter;
+import com.yugabyte.yw.models.paging.AuditPagedQuery;
+import com.yugabyte.yw.models.paging.AuditPagedResponse;
+import com.yugabyte.yw.models.paging.PagedQuery;
+import com.yugabyte.yw.models.paging.PagedQuery.SortByIF;
+import com.yugabyte.yw.models.paging.PagedQuery.SortDirection;
+import io.ebean.ExpressionList;
 import io.ebean.Finder;
+import io.ebean.Junction;
 import io.ebean.Model;
-import io.ebean.annotation.CreatedTimestamp;
+import io.ebean.PersistenceContextScope;
 import io.ebean.annotation.DbJson;
 import io.ebean.annotation.EnumValue;
 import io.swagger.annotations.ApiModel;
@@ -528,6 +538,26 @@ public class Audit extends Model {
     Unlock
   }
 
+  public enum SortBy implements PagedQuery.SortByIF {
+    auditID("id"),
+    timestamp("timestamp");
+
+    private final String sortField;
+
+    SortBy(String sortField) {
+      this.sortField = sortField;
+    }
+
+    public String getSortField() {
+      return sortField;
+    }
+
+    @Override
+    public SortByIF getOrderField() {
+      return SortBy.auditID;
+    }
+  }
+
   // An auto incrementing, user-friendly ID for the audit entry.
   @ApiModelProperty(
       value = "Audit UID",
@@ -558,8 +588,7 @@ public class Audit extends Model {
       value = "The task creation time.",
       accessMode = READ_ONLY,
       example = "2022-12-12T13:07:18Z")
-  @CreatedTimestamp
-  private final Date timestamp;
+  private Date timestamp;
 
   @ApiModelProperty(value = "Audit UUID", accessMode = READ_ONLY, dataType = "Object")
   @Column(columnDefinition = "TEXT")
@@ -604,10 +633,6 @@ public class Audit extends Model {
   @Column(nullable = true)
   private String userAddress;
 
-  public Audit() {
-    this.timestamp = new Date();
-  }
-
   public static final Finder<UUID, Audit> find = new Finder<UUID, Audit>(Audit.class) {};
 
   /**
@@ -626,7 +651,41 @@ public class Audit extends Model {
       UUID taskUUID,
       JsonNode details,
       String userAddress) {
+    Audit entry =
+        newEntry(
+            user,
+            apiCall,
+            apiMethod,
+            target,
+            targetID,
+            action,
+            body,
+            taskUUID,
+            details,
+            userAddress);
+    entry.save();
+    return entry;
+  }
+
+  /**
+   * Create new audit entry without saving it.
+   *
+   * @return Audit table entry to be saved.
+   */
+  public static Audit newEntry(
+      Users user,
+      String apiCall,
+      String apiMethod,
+      TargetType target,
+      String targetID,
+      ActionType action,
+      JsonNode body,
+      UUID taskUUID,
+      JsonNode details,
+      String userAddress) {
     Audit entry = new Audit();
+    // Set here rather than on insert, as the entry may be saved later by the audit writer.
+    entry.setTimestamp(new Date());
     entry.setCustomerUUID(user.getCustomerUUID());
     entry.setUserUUID(user.getUuid());
     entry.setUserEmail(user.getEmail());
@@ -639,7 +698,6 @@ public class Audit extends Model {
     entry.setPayload(body);
     entry.setAdditionalDetails(details);
     entry.setUserAddress(userAddress);
-    entry.save();
     return entry;
   }
 
@@ -665,4 +723,74 @@ public class Audit extends Model {
   public static List<Audit> getAllUserEntries(UUID userUUID) {
     return find.query().where().eq("user_uuid", userUUID).findList();
   }
+
+  public static AuditPagedResponse pagedList(AuditPagedQuery pagedQuery) {
+    if (pagedQuery.getSortBy() == null) {
+      pagedQuery.setSortBy(SortBy.auditID);
+      pagedQuery.setDirection(SortDirection.DESC);
+    }
+    ExpressionList<Audit> query = createQueryByFilter(pagedQuery.getFilter());
+    if (pagedQuery.getAfterAuditID() != null) {
+      appendKeysetClause(query, pagedQuery);
+      pagedQuery.setOffset(0);
+    }
+    AuditPagedResponse response =
+        performPagedQuery(query.query(), pagedQuery, AuditPagedResponse.class);
+    if (pagedQuery.getAfterAuditID() != null) {
+      response.setHasPrev(true);
+    }
+    return response;
+  }
+
+  public static ExpressionList<Audit> createQueryByFilter(AuditFilter filter) {
+    ExpressionList<Audit> query =
+        find.query().setPersistenceContextScope(PersistenceContextScope.QUERY).where();
+    query.eq("customer_uuid", filter.getCustomerUUID());
+    appendInClause(query, "user_uuid", filter.getUserUUIDs());
+    appendInClause(query, "target", filter.getTargets());
+    if (filter.getTargetID() != null) {
+      query.eq("target_id", filter.getTargetID());
+    }
+    appendInClause(query, "action", filter.getActions());
+    if (filter.getDateRangeStart() != null) {
+      query.ge("timestamp", filter.getDateRangeStart());
+    }
+    if (filter.getDateRangeEnd() != null) {
+      query.le("timestamp", filter.getDateRangeEnd());
+    }
+    return query;
+  }
+
+  // Selects the entries following the afterAuditID one in the sort order, so that deep pages are
+  // read through the index instead of skipping all the previous rows. Entries with equal sort
+  // field values are ordered by id ascending.
+  private static void appendKeysetClause(ExpressionList<Audit> query, AuditPagedQuery pagedQuery) {
+    Long afterAuditID = pagedQuery.getAfterAuditID();
+    boolean desc = pagedQuery.getDirection() == SortDirection.DESC;
+    if (pagedQuery.getSortBy() == SortBy.auditID) {
+      if (desc) {
+        query.lt("id", afterAuditID);
+      } else {
+        query.gt("id", afterAuditID);
+      }
+      return;
+    }
+    Audit after = find.query().where().idEq(afterAuditID).findOne();
+    if (after == null
+        || !after.getCustomerUUID().equals(pagedQuery.getFilter().getCustomerUUID())) {
+      throw new PlatformServiceException(
+          BAD_REQUEST, "Invalid audit entry " + afterAuditID + " to start the page after");
+    }
+    Junction<Audit> orExpr = query.or();
+    if (desc) {
+      orExpr.lt("timestamp", after.getTimestamp());
+    } else {
+      orExpr.gt("timestamp", after.getTimestamp());
+    }
+    Junction<Audit> andExpr = orExpr.and();
+    andExpr.eq("timestamp", after.getTimestamp());
+    andExpr.gt("id", afterAuditID);
+    orExpr.endAnd();
+    query.endOr();
+  }
 }
@@ -13,7 +13,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.yugabyte.yw.common.PlatformServiceException;
-import com.yugabyte.yw.common.Util;
 import com.yugabyte.yw.common.Util.UniverseDetailSubset;
 import com.yugabyte.yw.common.certmgmt.CertConfigType;
 import com.yugabyte.yw.common.certmgmt.EncryptionInTransitUtil;
@@ -22,6 +21,7 @@ import com.yugabyte.yw.common.utils.FileUtils;
 import com.yugabyte.yw.forms.CertificateParams;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
 import com.yugabyte.yw.models.helpers.CommonUtils;
+import com.yugabyte.yw.models.helpers.UniverseProjection;
 import io.ebean.Finder;
 import io.ebean.Model;
 import io.ebean.annotation.DbJson;
@@ -32,7 +32,6 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -493,9 +492,15 @@ public class CertificateInfo extends Model {
   @JsonProperty
   public List<UniverseDetailSubset> getUniverseDetails() {
     if (universeDetailSubsets == null) {
-      Set<Universe> universes =
-          Universe.universeDetailsIfCertsExists(this.getUuid(), this.getCustomerUUID());
-      return Util.getUniverseDetails(universes);
+      return Universe.getProjections(
+              Customer.get(this.getCustomerUUID()), UniverseProjection.CERTIFICATE_FIELDS)
+          .stream()
+          .filter(
+              u ->
+                  this.getUuid().equals(u.getRootCA())
+                      || this.getUuid().equals(u.getClientRootCA()))
+          .map(UniverseDetailSubset::new)
+          .collect(Collectors.toList());
     } else {
       return universeDetailSubsets;
     }
@@ -508,27 +513,30 @@ public class CertificateInfo extends Model {
 
   public static void populateUniverseData(
       UUID customerUUID, List<CertificateInfo> certificateInfoList) {
-    Set<Universe> universes = Customer.get(customerUUID).getUniverses();
+    List<UniverseProjection> universes =
+        Universe.getProjections(Customer.get(customerUUID), UniverseProjection.CERTIFICATE_FIELDS);
     Set<UUID> certificateInfoSet =
         certificateInfoList.stream().map(e -> e.getUuid()).collect(Collectors.toSet());
 
-    Map<UUID, Set<Universe>> certificateUniverseMap = new HashMap<>();
+    Map<UUID, List<UniverseDetailSubset>> certificateUniverseMap = new HashMap<>();
     universes.forEach(
         universe -> {
-          UUID rootCA = universe.getUniverseDetails().rootCA;
-          UUID clientRootCA = universe.getUniverseDetails().getClientRootCA();
+          UUID rootCA = universe.getRootCA();
+          UUID clientRootCA = universe.getClientRootCA();
           if (rootCA != null) {
             if (certificateInfoSet.contains(rootCA)) {
-              certificateUniverseMap.putIfAbsent(rootCA, new HashSet<>());
-              certificateUniverseMap.get(rootCA).add(universe);
+              certificateUniverseMap
+                  .computeIfAbsent(rootCA, k -> new ArrayList<>())
+                  .add(new UniverseDetailSubset(universe));
             } else {
               LOG.error("Universe: {} has unknown rootCA: {}", universe.getUniverseUUID(), rootCA);
             }
           }
           if (clientRootCA != null && !clientRootCA.equals(rootCA)) {
             if (certificateInfoSet.contains(clientRootCA)) {
-              certificateUniverseMap.putIfAbsent(clientRootCA, new HashSet<>());
-              certificateUniverseMap.get(clientRootCA).add(universe);
+              certificateUniverseMap
+                  .computeIfAbsent(clientRootCA, k -> new ArrayList<>())
+                  .add(new UniverseDetailSubset(universe));
             } else {
               LOG.error(
                   "Universe: {} has unknown clientRootCA: {}", universe.getUniverseUUID(), rootCA);
@@ -541,7 +549,7 @@ public class CertificateInfo extends Model {
           if (certificateUniverseMap.containsKey(certificateInfo.getUuid())) {
             certificateInfo.setInUse(true);
             certificateInfo.setUniverseDetails(
-                Util.getUniverseDetails(certificateUniverseMap.get(certificateInfo.getUuid())));
+                certificateUniverseMap.get(certificateInfo.getUuid()));
           } else {
             certificateInfo.setInUse(false);
             certificateInfo.setUniverseDetails(new ArrayList<>());
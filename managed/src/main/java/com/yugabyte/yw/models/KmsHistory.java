@@ -343,6 +343,10 @@ public class KmsHistory extends Model {
   }
 
   public static Set<Universe> getUniverses(UUID configUUID, KmsHistoryId.TargetType type) {
+    return Universe.getAllPresent(getUniverseUUIDs(configUUID, type));
+  }
+
+  public static Set<UUID> getUniverseUUIDs(UUID configUUID, KmsHistoryId.TargetType type) {
     Set<UUID> universeUUIDs = new HashSet<>();
     KmsHistory.find
         .query()
@@ -351,7 +355,7 @@ public class KmsHistory extends Model {
         .eq("type", type)
         .findList()
         .forEach(n -> universeUUIDs.add(n.getUuid().targetUuid));
-    return Universe.getAllPresent(universeUUIDs);
+    return universeUUIDs;
   }
 
   public static Set<UUID> getDistinctKmsConfigUUIDs(UUID targetUUID) {
@@ -5,6 +5,7 @@ package com.yugabyte.yw.models;
 import static io.swagger.annotations.ApiModelProperty.AccessMode.READ_ONLY;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.yugabyte.yw.metrics.MetricDownsampling;
 import com.yugabyte.yw.metrics.MetricQueryContext;
 import com.yugabyte.yw.metrics.MetricSettings;
 import com.yugabyte.yw.metrics.NodeAggregation;
@@ -195,7 +196,7 @@ public class MetricConfigDefinition {
 
     String queryStr;
     StringBuilder query = new StringBuilder();
-    query.append(metric);
+    query.append(getSeriesName(settings, context));
 
     // If we have additional filters, we add them
     Map<String, String> allFilters = new HashMap<>(filters);
@@ -239,11 +240,7 @@ public class MetricConfigDefinition {
       Scenario 2:
         function: rate
         query str: rate(metric{memory="used"}[30m]). */
-      if (settings.getTimeAggregation() != TimeAggregation.DEFAULT) {
-        if (TimeAggregation.AGGREGATION_FUNCTIONS.contains(functions[0])) {
-          functions[0] = settings.getTimeAggregation().getAggregationFunction();
-        }
-      }
+      functions[0] = getTimeFunction(functions[0], settings);
       if (settings.getNodeAggregation() != NodeAggregation.DEFAULT) {
         if (NodeAggregation.AGGREGATION_FUNCTIONS.contains(functions[functions.length - 1])) {
           functions[functions.length - 1] = settings.getNodeAggregation().getAggregationFunction();
@@ -285,6 +282,34 @@ public class MetricConfigDefinition {
     return queryStr;
   }
 
+  private String getTimeFunction(String function, MetricSettings settings) {
+    if (settings.getTimeAggregation() != TimeAggregation.DEFAULT
+        && TimeAggregation.AGGREGATION_FUNCTIONS.contains(function)) {
+      return settings.getTimeAggregation().getAggregationFunction();
+    }
+    return function;
+  }
+
+  // Queries the downsampling tier series instead of the raw metric when the range is long enough
+  // for one of the tiers and the range function gives the same result on it.
+  private String getSeriesName(MetricSettings settings, MetricQueryContext context) {
+    String metric = settings.getMetric();
+    if (!context.isDownsampling()
+        || range == null
+        || function == null
+        || StringUtils.isEmpty(metric)) {
+      return metric;
+    }
+    MetricDownsampling.Tier tier = MetricDownsampling.Tier.forRange(context.getQueryRangeSecs());
+    MetricDownsampling.Kind kind =
+        MetricDownsampling.Kind.forQueryFunction(
+            getTimeFunction(function.split("\\|")[0], settings));
+    if (tier == null || kind == null) {
+      return metric;
+    }
+    return MetricDownsampling.getSeriesName(metric, kind, tier);
+  }
+
   /**
    * filtersToString method converts a map to a string with quotes around the value. The reason we
    * have to do this way is because prometheus expects the json key to have no quote, and just value
@@ -45,6 +45,7 @@ import io.ebean.PersistenceContextScope;
 import io.ebean.Query;
 import io.ebean.annotation.DbJson;
 import io.ebean.annotation.EnumValue;
+import io.ebean.annotation.UpdatedTimestamp;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import java.time.Duration;
@@ -53,6 +54,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -250,6 +252,12 @@ public class Schedule extends Model {
   @ApiModelProperty(value = "Running state of the schedule")
   private boolean runningState = false;
 
+  // Lets the scheduler find schedules changed since its previous run.
+  @UpdatedTimestamp
+  @JsonIgnore
+  @ApiModelProperty(hidden = true)
+  private Date updateTime;
+
   public void updateIncrementalBackupFrequencyAndTimeUnit(
       long incrementalBackupFrequency, TimeUnit incrementalBackupFrequencyTimeUnit) {
     ObjectMapper mapper = new ObjectMapper();
@@ -363,6 +371,16 @@ public class Schedule extends Model {
     return find.query().where().eq("status", "Active").findList();
   }
 
+  public static List<Schedule> getAllActive(Collection<UUID> scheduleUUIDs) {
+    ExpressionList<Schedule> query = find.query().where().eq("status", "Active");
+    appendInClause(query, "scheduleUUID", scheduleUUIDs);
+    return query.findList();
+  }
+
+  public static List<Schedule> getAllUpdatedSince(Date updateTime) {
+    return find.query().where().ge("updateTime", updateTime).findList();
+  }
+
   public static List<Schedule> getActiveBackupSchedules(UUID customerUUID) {
     return find.query()
         .where()
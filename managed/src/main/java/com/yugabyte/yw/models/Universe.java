@@ -26,10 +26,12 @@ import com.yugabyte.yw.models.helpers.CommonUtils;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.models.helpers.PlacementInfo;
 import com.yugabyte.yw.models.helpers.TransactionUtil;
+import com.yugabyte.yw.models.helpers.UniverseProjection;
 import io.ebean.Ebean;
 import io.ebean.ExpressionList;
 import io.ebean.Finder;
 import io.ebean.Model;
+import io.ebean.Query;
 import io.ebean.SqlQuery;
 import io.ebean.annotation.DbJson;
 import io.ebean.annotation.Transactional;
@@ -289,6 +291,16 @@ public class Universe extends Model {
                 Collectors.mapping(Universe::getUniverseUUID, Collectors.toSet())));
   }
 
+  /**
+   * Fetches versions of all universes, without universe details.
+   *
+   * @return map of universe UUID to its version.
+   */
+  public static Map<UUID, Integer> getAllVersions() {
+    return find.query().select("universeUUID, version").findList().stream()
+        .collect(Collectors.toMap(Universe::getUniverseUUID, Universe::getVersion));
+  }
+
   public static Set<Universe> getAllWithoutResources() {
     List<Universe> rawList = find.query().findList();
     return rawList.stream().peek(Universe::fillUniverseDetails).collect(Collectors.toSet());
@@ -306,6 +318,49 @@ public class Universe extends Model {
     return rawList.stream().peek(Universe::fillUniverseDetails).collect(Collectors.toSet());
   }
 
+  /**
+   * Loads the universes with only the given top-level fields of their details, which is much
+   * cheaper than loading the universes with all their details.
+   *
+   * @param uuids the universe UUIDs.
+   * @param detailsFields the top-level fields of the universe details to load.
+   * @return the universe projections.
+   */
+  public static List<UniverseProjection> getProjections(
+      Collection<UUID> uuids, Set<String> detailsFields) {
+    if (uuids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    ExpressionList<Universe> query = projectionQuery().where();
+    CommonUtils.appendInClause(query, "universeUUID", uuids);
+    return toProjections(query.findList(), detailsFields);
+  }
+
+  public static List<UniverseProjection> getProjections(
+      Customer customer, Set<String> detailsFields) {
+    return toProjections(
+        projectionQuery().where().eq("customer_id", customer.getId()).findList(), detailsFields);
+  }
+
+  private static Query<Universe> projectionQuery() {
+    return find.query().select("universeUUID, name, customerId, creationDate, universeDetailsJson");
+  }
+
+  private static List<UniverseProjection> toProjections(
+      List<Universe> universes, Set<String> detailsFields) {
+    return universes.stream()
+        .map(
+            u ->
+                new UniverseProjection(
+                    u.getUniverseUUID(),
+                    u.getName(),
+                    u.getCustomerId(),
+                    u.getCreationDate(),
+                    u.universeDetailsJson,
+                    detailsFields))
+        .collect(Collectors.toList());
+  }
+
   public static Set<Universe> getUniversesForSwamperConfigUpdate() {
     List<Universe> rawList = find.query().where().eq("swamperConfigWritten", false).findList();
     return rawList.stream().peek(Universe::fillUniverseDetails).collect(Collectors.toSet());
@@ -926,6 +926,19 @@ public class XClusterConfig extends Model {
     return Optional.of(xClusterConfig);
   }
 
+  public static List<XClusterConfig> getAll() {
+    List<XClusterConfig> xClusterConfigs = find.query().fetch("tables").findList();
+    // Phony call to force ORM to load the txnTableConfig object eagerly. It looks like an Ebean bug
+    // because although Eagerly fetch is selected, it still loads the object lazily.
+    xClusterConfigs.forEach(
+        xClusterConfig -> {
+          if (Objects.nonNull(xClusterConfig.getTxnTableConfig())) {
+            xClusterConfig.getTxnTableConfig().getBackupUuid();
+          }
+        });
+    return xClusterConfigs;
+  }
+
   public static List<XClusterConfig> getByTargetUniverseUUID(UUID targetUniverseUUID) {
     List<XClusterConfig> xClusterConfigs =
         find.query()
@@ -28,6 +28,8 @@ public enum KnownAlertLabels {
   TABLE_TYPE,
   NAMESPACE_NAME,
   PITR_CONFIG_UUID,
+  XCLUSTER_CONFIG_UUID,
+  XCLUSTER_CONFIG_NAME,
   ALERT_STATE,
   SEVERITY,
   THRESHOLD,
@@ -60,6 +60,8 @@ public enum PlatformMetrics {
   UNIVERSE_INACTIVE_CRON_NODES("Count of nodes with inactive cronjob for universe", Unit.COUNT),
   SSH_KEY_ROTATION_STATUS("SSH Key rotation task status for universe", Unit.STATUS, false),
   PITR_CONFIG_STATUS("PITR Config Status for DB", Unit.STATUS),
+  XCLUSTER_CONFIG_STATUS(
+      "Flag, indicating that no table of xCluster config requires bootstrap", Unit.STATUS),
   // Alert Subsystem
   ALERT_QUERY_STATUS("Alert query status", Unit.STATUS),
   ALERT_QUERY_TOTAL_ALERTS("Total number of alerts, returned by Prometheus", Unit.COUNT),
@@ -81,6 +83,12 @@ public enum PlatformMetrics {
   ALERT_CONFIG_REMOVED("Alert rule files removed", Unit.COUNT),
   ALERT_MANAGER_STATUS("Common alert manager status for customer", Unit.STATUS),
   ALERT_MANAGER_CHANNEL_STATUS("Alert manager channel status", Unit.STATUS),
+  ALERT_MANAGER_CHANNEL_QUEUE_SIZE(
+      "Number of alert notifications queued for the channel", Unit.COUNT),
+  ALERT_MANAGER_CHANNEL_QUEUE_TIME(
+      "Time the last notification to the channel spent in the queue", Unit.MILLISECOND),
+  ALERT_MANAGER_CHANNEL_DELIVERY_TIME(
+      "Duration of the last notification delivery attempt to the channel", Unit.MILLISECOND),
   METRIC_PROCESSOR_STATUS("Platform metrics processor status", Unit.STATUS),
   SWAMPER_FILE_UPDATER_STATUS("Swamper target updater status", Unit.STATUS),
 
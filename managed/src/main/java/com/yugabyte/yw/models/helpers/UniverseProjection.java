@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+
+package com.yugabyte.yw.models.helpers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSet;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Getter;
+import play.libs.Json;
+
+/**
+ * Universe with only some top-level fields of its details, for callers going through many
+ * universes. The details JSON is streamed and the fields not asked for are skipped, so it is not
+ * deserialized into {@link UniverseDefinitionTaskParams}. Getters of the fields which are not
+ * loaded return the defaults of {@link UniverseDefinitionTaskParams}.
+ */
+@Getter
+public class UniverseProjection {
+  public static final String UPDATE_IN_PROGRESS = "updateInProgress";
+  public static final String UPDATE_SUCCEEDED = "updateSucceeded";
+  public static final String UPDATING_TASK = "updatingTask";
+  public static final String UNIVERSE_PAUSED = "universePaused";
+  public static final String NODE_PREFIX = "nodePrefix";
+  public static final String NODE_DETAILS_SET = "nodeDetailsSet";
+  public static final String ROOT_CA = "rootCA";
+  public static final String CLIENT_ROOT_CA = "clientRootCA";
+  public static final String ROOT_AND_CLIENT_ROOT_CA_SAME = "rootAndClientRootCASame";
+
+  /** Fields for the universe state, like in Util.UniverseDetailSubset. */
+  public static final Set<String> STATE_FIELDS =
+      ImmutableSet.of(UPDATE_IN_PROGRESS, UPDATE_SUCCEEDED, UPDATING_TASK, UNIVERSE_PAUSED);
+
+  /** Fields for the universe state and the certificates the universe uses. */
+  public static final Set<String> CERTIFICATE_FIELDS =
+      ImmutableSet.<String>builder()
+          .addAll(STATE_FIELDS)
+          .add(ROOT_CA, CLIENT_ROOT_CA, ROOT_AND_CLIENT_ROOT_CA_SAME)
+          .build();
+
+  private final UUID universeUUID;
+  private final String name;
+  private final Long customerId;
+  private final Date creationDate;
+  // Loaded top-level fields of the universe details.
+  private final ObjectNode details;
+
+  public UniverseProjection(
+      UUID universeUUID,
+      String name,
+      Long customerId,
+      Date creationDate,
+      String universeDetailsJson,
+      Set<String> fieldNames) {
+    this.universeUUID = universeUUID;
+    this.name = name;
+    this.customerId = customerId;
+    this.creationDate = creationDate;
+    this.details = extractFields(universeDetailsJson, fieldNames);
+  }
+
+  /** Returns the given top-level fields of the JSON object, reading past the others. */
+  static ObjectNode extractFields(String json, Set<String> fieldNames) {
+    ObjectNode result = Json.newObject();
+    if (json == null || fieldNames.isEmpty()) {
+      return result;
+    }
+    try (JsonParser parser = Json.mapper().getFactory().createParser(json)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return result;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME && result.size() < fieldNames.size()) {
+        String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        if (fieldNames.contains(fieldName)) {
+          result.set(fieldName, parser.readValueAsTree());
+        } else {
+          parser.skipChildren();
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to parse universe details", e);
+    }
+    return result;
+  }
+
+  private JsonNode getField(String fieldName) {
+    JsonNode value = details.get(fieldName);
+    return value == null || value.isNull() ? null : value;
+  }
+
+  public boolean isUpdateInProgress() {
+    JsonNode value = getField(UPDATE_IN_PROGRESS);
+    return value != null && value.asBoolean();
+  }
+
+  public boolean isUpdateSucceeded() {
+    JsonNode value = getField(UPDATE_SUCCEEDED);
+    return value == null || value.asBoolean();
+  }
+
+  public TaskType getUpdatingTask() {
+    JsonNode value = getField(UPDATING_TASK);
+    return value == null ? null : TaskType.valueOf(value.asText());
+  }
+
+  public boolean isUniversePaused() {
+    JsonNode value = getField(UNIVERSE_PAUSED);
+    return value != null && value.asBoolean();
+  }
+
+  public String getNodePrefix() {
+    JsonNode value = getField(NODE_PREFIX);
+    return value == null ? null : value.asText();
+  }
+
+  public UUID getRootCA() {
+    JsonNode value = getField(ROOT_CA);
+    return value == null ? null : UUID.fromString(value.asText());
+  }
+
+  /** Same as {@link UniverseDefinitionTaskParams#getClientRootCA()}. */
+  public UUID getClientRootCA() {
+    UUID rootCA = getRootCA();
+    JsonNode same = getField(ROOT_AND_CLIENT_ROOT_CA_SAME);
+    if (rootCA != null && (same == null || same.asBoolean())) {
+      return rootCA;
+    }
+    JsonNode value = getField(CLIENT_ROOT_CA);
+    return value == null ? null : UUID.fromString(value.asText());
+  }
+
+  /** Returns the private IPs of the nodes which have one, if NODE_DETAILS_SET is loaded. */
+  public List<String> getNodeIps() {
+    List<String> result = new ArrayList<>();
+    JsonNode nodes = getField(NODE_DETAILS_SET);
+    if (nodes == null) {
+      return result;
+    }
+    for (JsonNode node : nodes) {
+      JsonNode ip = node.path("cloudInfo").path("private_ip");
+      if (ip.isTextual()) {
+        result.add(ip.asText());
+      }
+    }
+    return result;
+  }
+}
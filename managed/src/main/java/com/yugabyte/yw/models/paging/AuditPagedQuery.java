@@ -0,0 +1,16 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.models.paging;
+
+import com.yugabyte.yw.models.Audit;
+import com.yugabyte.yw.models.filters.AuditFilter;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class AuditPagedQuery extends PagedQuery<AuditFilter, Audit.SortBy> {
+  // Id of the last entry of the previous page. When set, the page starts right after this entry
+  // in the sort order instead of at the offset.
+  Long afterAuditID;
+}
@@ -15,7 +15,6 @@ import java.util.concurrent.Callable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import play.libs.Json;
-import play.libs.ws.WSClient;
 
 @Slf4j
 public class LiveQueryExecutor implements Callable<JsonNode> {
@@ -28,12 +27,6 @@ public class LiveQueryExecutor implements Callable<JsonNode> {
   private final QueryHelper.QueryApi apiType;
 
   public LiveQueryExecutor(
-      String nodeName, String hostName, int port, QueryHelper.QueryApi api, WSClient wsClient) {
-    this(nodeName, hostName, port, api, new ApiHelper(wsClient));
-  }
-
-  @VisibleForTesting
-  LiveQueryExecutor(
       String nodeName, String hostName, int port, QueryHelper.QueryApi api, ApiHelper apiHelper) {
     this.nodeName = nodeName;
     this.hostName = hostName;
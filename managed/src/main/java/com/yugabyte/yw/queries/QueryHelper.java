@@ -10,6 +10,8 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.typesafe.config.Config;
+import com.yugabyte.yw.common.ApiHelper;
+import com.yugabyte.yw.common.ApiRequestLimiter;
 import com.yugabyte.yw.common.CustomWsClientFactory;
 import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformServiceException;
@@ -63,7 +65,7 @@ public class QueryHelper {
 
   private final RuntimeConfigFactory runtimeConfigFactory;
   private final ExecutorService threadPool;
-  private final WSClient wsClient;
+  private final ApiHelper apiHelper;
 
   public enum QueryApi {
     YSQL,
@@ -80,19 +82,20 @@ public class QueryHelper {
   public QueryHelper(
       RuntimeConfigFactory runtimeConfigFactory,
       PlatformExecutorFactory platformExecutorFactory,
-      CustomWsClientFactory customWsClientFactory) {
+      CustomWsClientFactory customWsClientFactory,
+      ApiRequestLimiter requestLimiter) {
 
     this(
         runtimeConfigFactory,
         createExecutor(platformExecutorFactory),
-        createWsClient(customWsClientFactory, runtimeConfigFactory));
+        new ApiHelper(createWsClient(customWsClientFactory, runtimeConfigFactory), requestLimiter));
   }
 
   public QueryHelper(
-      RuntimeConfigFactory runtimeConfigFactory, ExecutorService threadPool, WSClient wsClient) {
+      RuntimeConfigFactory runtimeConfigFactory, ExecutorService threadPool, ApiHelper apiHelper) {
     this.runtimeConfigFactory = runtimeConfigFactory;
     this.threadPool = threadPool;
-    this.wsClient = wsClient;
+    this.apiHelper = apiHelper;
   }
 
   @Inject YsqlQueryExecutor ysqlQueryExecutor;
@@ -164,14 +167,14 @@ public class QueryHelper {
             {
               callable =
                   new LiveQueryExecutor(
-                      node.nodeName, ip, node.ysqlServerHttpPort, QueryApi.YSQL, this.wsClient);
+                      node.nodeName, ip, node.ysqlServerHttpPort, QueryApi.YSQL, this.apiHelper);
 
               Future<JsonNode> future = threadPool.submit(callable);
               futures.add(future);
 
               callable =
                   new LiveQueryExecutor(
-                      node.nodeName, ip, node.yqlServerHttpPort, QueryApi.YCQL, this.wsClient);
+                      node.nodeName, ip, node.yqlServerHttpPort, QueryApi.YCQL, this.apiHelper);
               future = threadPool.submit(callable);
               futures.add(future);
               break;
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ *     https://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1
+ * .0.0.txt
+ */
+
+package com.yugabyte.yw.scheduler;
+
+import com.yugabyte.yw.common.ScheduleUtil;
+import com.yugabyte.yw.forms.BackupRequestParams;
+import com.yugabyte.yw.models.Backup;
+import com.yugabyte.yw.models.Schedule;
+import com.yugabyte.yw.models.helpers.TaskType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import play.libs.Json;
+
+/**
+ * Time when each active schedule is due next, so that the scheduler loads only the schedules it
+ * has to run. All active schedules are read on the first poll. Later polls only read schedules
+ * updated since the previous one, which covers schedules created or edited through any API.
+ */
+@Slf4j
+class ScheduleDueQueue {
+
+  // Update time is set before the transaction commits, so later polls look back a bit to catch
+  // updates committed after the previous poll.
+  private static final long UPDATE_LOOK_BACK_MS = TimeUnit.MINUTES.toMillis(1);
+
+  // Delays before retrying a schedule which failed before being put back to the queue.
+  static final long INITIAL_RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(1);
+  static final long MAX_RETRY_DELAY_MS = TimeUnit.HOURS.toMillis(1);
+
+  private final PriorityQueue<DueSchedule> queue =
+      new PriorityQueue<>(Comparator.comparingLong(DueSchedule::getDueTime));
+
+  // Current due time of each queued schedule. Queue entries with other times are stale.
+  private final Map<UUID, Long> dueTimes = new HashMap<>();
+
+  // Time before which each failed schedule is not retried, and its number of failures in a row.
+  private final Map<UUID, Long> retryTimes = new HashMap<>();
+  private final Map<UUID, Integer> failures = new HashMap<>();
+
+  private Date lastPollTime;
+
+  /**
+   * Removes the schedules, which are due at the given time, from the queue. They are expected to
+   * be put back with {@link #processed(Schedule)} once processed, or with {@link #retry(UUID,
+   * long)} if that failed.
+   */
+  synchronized List<UUID> pollDue(long now) {
+    if (lastPollTime == null) {
+      Schedule.getAllActive().forEach(this::update);
+    } else {
+      Schedule.getAllUpdatedSince(new Date(lastPollTime.getTime() - UPDATE_LOOK_BACK_MS))
+          .forEach(this::update);
+    }
+    lastPollTime = new Date(now);
+
+    List<UUID> result = new ArrayList<>();
+    while (!queue.isEmpty() && queue.peek().getDueTime() <= now) {
+      DueSchedule dueSchedule = queue.poll();
+      Long dueTime = dueTimes.get(dueSchedule.getScheduleUUID());
+      if (dueTime != null && dueTime == dueSchedule.getDueTime()) {
+        dueTimes.remove(dueSchedule.getScheduleUUID());
+        result.add(dueSchedule.getScheduleUUID());
+      }
+    }
+    // Stale entries are left in the queue until they reach its head, unless there are many.
+    if (queue.size() > dueTimes.size() * 2) {
+      queue.removeIf(
+          dueSchedule ->
+              !Long.valueOf(dueSchedule.getDueTime())
+                  .equals(dueTimes.get(dueSchedule.getScheduleUUID())));
+    }
+    return result;
+  }
+
+  /** Puts the schedule back to the queue with its current due time, or removes it if inactive. */
+  synchronized void update(Schedule schedule) {
+    Long dueTime = getDueTime(schedule);
+    if (dueTime == null) {
+      dueTimes.remove(schedule.getScheduleUUID());
+      return;
+    }
+    Long retryTime = retryTimes.get(schedule.getScheduleUUID());
+    if (retryTime != null) {
+      dueTime = Math.max(dueTime, retryTime);
+    }
+    setDueTime(schedule.getScheduleUUID(), dueTime);
+  }
+
+  /** Puts the schedule back to the queue after it has been processed. */
+  synchronized void processed(Schedule schedule) {
+    retryTimes.remove(schedule.getScheduleUUID());
+    failures.remove(schedule.getScheduleUUID());
+    update(schedule);
+  }
+
+  /**
+   * Puts the polled schedule back to the queue after processing it failed. It is due again after
+   * a delay, which doubles with each failure in a row.
+   */
+  synchronized void retry(UUID scheduleUUID, long now) {
+    int failureCount = failures.merge(scheduleUUID, 1, Integer::sum);
+    long delay =
+        Math.min(
+            MAX_RETRY_DELAY_MS, INITIAL_RETRY_DELAY_MS << Math.min(failureCount - 1, 16));
+    long retryTime = now + delay;
+    retryTimes.put(scheduleUUID, retryTime);
+    Long dueTime = dueTimes.get(scheduleUUID);
+    setDueTime(scheduleUUID, dueTime == null ? retryTime : Math.max(dueTime, retryTime));
+  }
+
+  /** Forgets all the schedules, so that they are all read again on the next poll. */
+  synchronized void clear() {
+    queue.clear();
+    dueTimes.clear();
+    retryTimes.clear();
+    failures.clear();
+    lastPollTime = null;
+  }
+
+  private void setDueTime(UUID scheduleUUID, long dueTime) {
+    Long previous = dueTimes.put(scheduleUUID, dueTime);
+    if (previous == null || previous.longValue() != dueTime) {
+      queue.add(new DueSchedule(dueTime, scheduleUUID));
+    }
+  }
+
+  private static Long getDueTime(Schedule schedule) {
+    if (schedule.getStatus() != Schedule.State.Active) {
+      return null;
+    }
+    if (schedule.isBacklogStatus() || schedule.getNextScheduleTaskTime() == null) {
+      return 0L;
+    }
+    long dueTime = schedule.getNextScheduleTaskTime().getTime();
+    long incrementalBackupFrequency = getIncrementalBackupFrequency(schedule);
+    if (incrementalBackupFrequency > 0) {
+      Backup backup =
+          ScheduleUtil.fetchLatestSuccessfulBackupForSchedule(
+              schedule.getCustomerUUID(), schedule.getScheduleUUID());
+      if (backup != null) {
+        dueTime =
+            Math.min(dueTime, backup.getCreateTime().getTime() + incrementalBackupFrequency + 1);
+      }
+    }
+    return dueTime;
+  }
+
+  private static long getIncrementalBackupFrequency(Schedule schedule) {
+    if (schedule.getTaskType() != TaskType.CreateBackup) {
+      return 0;
+    }
+    try {
+      return Json.fromJson(schedule.getTaskParams(), BackupRequestParams.class)
+          .incrementalBackupFrequency;
+    } catch (Exception e) {
+      log.warn("Failed to read params of schedule {}", schedule.getScheduleUUID(), e);
+      return 0;
+    }
+  }
+
+  @Value
+  private static class DueSchedule {
+    long dueTime;
+    UUID scheduleUUID;
+  }
+}
@@ -15,8 +15,10 @@ import static play.mvc.Http.Status.SERVICE_UNAVAILABLE;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.typesafe.config.Config;
 import com.yugabyte.yw.commissioner.AbstractTaskBase;
 import com.yugabyte.yw.commissioner.Commissioner;
 import com.yugabyte.yw.commissioner.tasks.BackupUniverse;
@@ -25,6 +27,7 @@ import com.yugabyte.yw.commissioner.tasks.MultiTableBackup;
 import com.yugabyte.yw.commissioner.tasks.params.ScheduledAccessKeyRotateParams;
 import com.yugabyte.yw.commissioner.tasks.subtasks.RunExternalScript;
 import com.yugabyte.yw.common.AccessKeyRotationUtil;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.ScheduleUtil;
@@ -41,9 +44,15 @@ import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.helpers.CommonUtils;
 import com.yugabyte.yw.models.helpers.TaskType;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -60,12 +69,25 @@ public class Scheduler {
 
   private final Commissioner commissioner;
 
+  private final ExecutorService executor;
+
+  @VisibleForTesting ScheduleDueQueue dueQueue = new ScheduleDueQueue();
+
   @Inject AccessKeyRotationUtil accessKeyRotationUtil;
 
   @Inject
-  Scheduler(PlatformScheduler platformScheduler, Commissioner commissioner) {
+  Scheduler(
+      PlatformScheduler platformScheduler,
+      Commissioner commissioner,
+      PlatformExecutorFactory platformExecutorFactory,
+      Config config) {
     this.platformScheduler = platformScheduler;
     this.commissioner = commissioner;
+    this.executor =
+        platformExecutorFactory.createFixedExecutor(
+            getClass().getSimpleName(),
+            config.getInt("yb.scheduler.dispatch_threads"),
+            new ThreadFactoryBuilder().setNameFormat("Scheduler-%d").build());
   }
 
   public void init() {
@@ -112,108 +134,169 @@ public class Scheduler {
             });
   }
 
-  /** Iterates through all the schedule entries and runs the tasks that are due to be scheduled. */
+  /** Runs the tasks of the schedules, which are due to be scheduled. */
   @VisibleForTesting
   void scheduleRunner() {
     try {
       if (HighAvailabilityConfig.isFollower()) {
         log.debug("Skipping scheduler for follower platform");
+        // Schedules are replaced on follower, so they are all read again if it becomes leader.
+        dueQueue.clear();
         return;
       }
 
       log.info("Running scheduler");
-      for (Schedule schedule : Schedule.getAllActive()) {
-        long frequency = schedule.getFrequency();
-        String cronExpression = schedule.getCronExpression();
-        Date expectedScheduleTaskTime = schedule.getNextScheduleTaskTime();
-        boolean backlogStatus = schedule.isBacklogStatus();
-        if (cronExpression == null && frequency == 0) {
-          log.error(
-              "Scheduled task does not have a recurrence specified {}", schedule.getScheduleUUID());
-          continue;
-        }
+      runDueSchedules(dueQueue.pollDue(System.currentTimeMillis()));
+    } catch (Exception e) {
+      log.error("Error Running scheduler thread", e);
+    }
+  }
+
+  private void runDueSchedules(List<UUID> dueScheduleUUIDs) {
+    // Polled schedules, which are not back in the queue yet.
+    Set<UUID> pendingUUIDs = ConcurrentHashMap.newKeySet();
+    pendingUUIDs.addAll(dueScheduleUUIDs);
+    try {
+      List<Schedule> dueSchedules = Schedule.getAllActive(dueScheduleUUIDs);
+      // The schedules deleted or stopped meanwhile are not queued anymore.
+      pendingUUIDs.retainAll(
+          dueSchedules.stream().map(Schedule::getScheduleUUID).collect(Collectors.toSet()));
+      // Schedules of the same owner, like a universe, are run one by one as they would conflict
+      // with each other. Different owners are run in parallel, the first one on this thread.
+      List<List<Schedule>> ownerSchedules =
+          new ArrayList<>(
+              dueSchedules.stream()
+                  .collect(Collectors.groupingBy(Schedule::getOwnerUUID))
+                  .values());
+      if (ownerSchedules.isEmpty()) {
+        return;
+      }
+      List<Future<?>> futures = new ArrayList<>();
+      for (List<Schedule> schedules : ownerSchedules.subList(1, ownerSchedules.size())) {
+        futures.add(executor.submit(() -> runSchedules(schedules, pendingUUIDs)));
+      }
+      runSchedules(ownerSchedules.get(0), pendingUUIDs);
+      for (Future<?> future : futures) {
         try {
-          schedule.setRunningState(true);
-          schedule.save();
-          TaskType taskType = schedule.getTaskType();
-          ScheduleTask lastTask = ScheduleTask.getLastTask(schedule.getScheduleUUID());
-          Date lastScheduledTime = null;
-          Date lastCompletedTime = null;
-          if (lastTask != null) {
-            lastScheduledTime = lastTask.getScheduledTime();
-            lastCompletedTime = lastTask.getCompletedTime();
-          }
-
-          // Check if the previous scheduled task is still running.
-          boolean alreadyRunning = false;
-          if (lastScheduledTime != null && lastCompletedTime == null) {
-            alreadyRunning = true;
-          }
-
-          // Update expected scheduled time if it is expired or null.
-          if (expectedScheduleTaskTime == null || Util.isTimeExpired(expectedScheduleTaskTime)) {
-            Date nextScheduleTaskTime =
-                Schedule.nextExpectedTaskTime(expectedScheduleTaskTime, schedule);
-            expectedScheduleTaskTime =
-                expectedScheduleTaskTime == null ? nextScheduleTaskTime : expectedScheduleTaskTime;
-            schedule.updateNextScheduleTaskTime(nextScheduleTaskTime);
-          }
-
-          boolean shouldRunTask = Util.isTimeExpired(expectedScheduleTaskTime);
-          UUID baseBackupUUID = null;
-          if (!shouldRunTask
-              && ScheduleUtil.isIncrementalBackupSchedule(schedule.getScheduleUUID())) {
-            baseBackupUUID = fetchBaseBackupUUIDIfIncrementalBackupRequired(schedule);
-            if (baseBackupUUID != null) {
-              shouldRunTask = true;
-            }
-          }
-
-          if (shouldRunTask || backlogStatus) {
-            switch (taskType) {
-              case BackupUniverse:
-                this.runBackupTask(schedule, alreadyRunning);
-                break;
-              case MultiTableBackup:
-                this.runMultiTableBackupsTask(schedule, alreadyRunning);
-                break;
-              case ExternalScript:
-                this.runExternalScriptTask(schedule, alreadyRunning);
-                break;
-              case CreateBackup:
-                this.runCreateBackupTask(schedule, alreadyRunning, baseBackupUUID);
-                break;
-              case CreateAndRotateAccessKey:
-                this.runAccessKeyRotation(schedule, alreadyRunning);
-              default:
-                log.error(
-                    "Cannot schedule task {} for scheduler {}",
-                    taskType,
-                    schedule.getScheduleUUID());
-                break;
-            }
-          }
-        } catch (PlatformServiceException pe) {
-          log.error("Error running schedule {} ", schedule.getScheduleUUID(), pe);
-          if (pe.getHttpStatus() == SERVICE_UNAVAILABLE) {
-            Date retryDate =
-                new Date(
-                    System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(RETRY_INTERVAL_SECONDS));
-            Date nextScheduleTime = schedule.getNextScheduleTaskTime();
-            if (nextScheduleTime.after(retryDate)) {
-              log.debug("Received 503, will retry at {}", retryDate);
-              schedule.updateNextScheduleTaskTime(retryDate);
-            }
-          }
-        } catch (Exception e) {
-          log.error("Error running schedule {} ", schedule.getScheduleUUID(), e);
-        } finally {
-          schedule.setRunningState(false);
-          schedule.save();
+          future.get();
+        } catch (ExecutionException e) {
+          log.error("Error running schedules", e.getCause());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          log.error("Interrupted while running schedules", e);
+          return;
+        }
+      }
+    } finally {
+      // Schedules which failed before being put back are retried later, and not lost until
+      // they are edited or the leadership changes.
+      long now = System.currentTimeMillis();
+      for (UUID scheduleUUID : pendingUUIDs) {
+        log.warn("Schedule {} failed to run, it will be retried later", scheduleUUID);
+        dueQueue.retry(scheduleUUID, now);
+      }
+    }
+  }
+
+  private void runSchedules(List<Schedule> schedules, Set<UUID> pendingUUIDs) {
+    for (Schedule schedule : schedules) {
+      try {
+        runSchedule(schedule);
+        pendingUUIDs.remove(schedule.getScheduleUUID());
+      } catch (Exception e) {
+        log.error("Error running schedule {}", schedule.getScheduleUUID(), e);
+      }
+    }
+  }
+
+  private void runSchedule(Schedule schedule) {
+    long frequency = schedule.getFrequency();
+    String cronExpression = schedule.getCronExpression();
+    Date expectedScheduleTaskTime = schedule.getNextScheduleTaskTime();
+    boolean backlogStatus = schedule.isBacklogStatus();
+    if (cronExpression == null && frequency == 0) {
+      log.error(
+          "Scheduled task does not have a recurrence specified {}", schedule.getScheduleUUID());
+      // Checked again after the retry delay, in case the schedule gets fixed.
+      dueQueue.retry(schedule.getScheduleUUID(), System.currentTimeMillis());
+      return;
+    }
+    try {
+      schedule.setRunningState(true);
+      schedule.save();
+      TaskType taskType = schedule.getTaskType();
+      ScheduleTask lastTask = ScheduleTask.getLastTask(schedule.getScheduleUUID());
+      Date lastScheduledTime = null;
+      Date lastCompletedTime = null;
+      if (lastTask != null) {
+        lastScheduledTime = lastTask.getScheduledTime();
+        lastCompletedTime = lastTask.getCompletedTime();
+      }
+
+      // Check if the previous scheduled task is still running.
+      boolean alreadyRunning = false;
+      if (lastScheduledTime != null && lastCompletedTime == null) {
+        alreadyRunning = true;
+      }
+
+      // Update expected scheduled time if it is expired or null.
+      if (expectedScheduleTaskTime == null || Util.isTimeExpired(expectedScheduleTaskTime)) {
+        Date nextScheduleTaskTime =
+            Schedule.nextExpectedTaskTime(expectedScheduleTaskTime, schedule);
+        expectedScheduleTaskTime =
+            expectedScheduleTaskTime == null ? nextScheduleTaskTime : expectedScheduleTaskTime;
+        schedule.updateNextScheduleTaskTime(nextScheduleTaskTime);
+      }
+
+      boolean shouldRunTask = Util.isTimeExpired(expectedScheduleTaskTime);
+      UUID baseBackupUUID = null;
+      if (!shouldRunTask && ScheduleUtil.isIncrementalBackupSchedule(schedule.getScheduleUUID())) {
+        baseBackupUUID = fetchBaseBackupUUIDIfIncrementalBackupRequired(schedule);
+        if (baseBackupUUID != null) {
+          shouldRunTask = true;
+        }
+      }
+
+      if (shouldRunTask || backlogStatus) {
+        switch (taskType) {
+          case BackupUniverse:
+            this.runBackupTask(schedule, alreadyRunning);
+            break;
+          case MultiTableBackup:
+            this.runMultiTableBackupsTask(schedule, alreadyRunning);
+            break;
+          case ExternalScript:
+            this.runExternalScriptTask(schedule, alreadyRunning);
+            break;
+          case CreateBackup:
+            this.runCreateBackupTask(schedule, alreadyRunning, baseBackupUUID);
+            break;
+          case CreateAndRotateAccessKey:
+            this.runAccessKeyRotation(schedule, alreadyRunning);
+          default:
+            log.error(
+                "Cannot schedule task {} for scheduler {}", taskType, schedule.getScheduleUUID());
+            break;
+        }
+      }
+    } catch (PlatformServiceException pe) {
+      log.error("Error running schedule {} ", schedule.getScheduleUUID(), pe);
+      if (pe.getHttpStatus() == SERVICE_UNAVAILABLE) {
+        Date retryDate =
+            new Date(
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(RETRY_INTERVAL_SECONDS));
+        Date nextScheduleTime = schedule.getNextScheduleTaskTime();
+        if (nextScheduleTime.after(retryDate)) {
+          log.debug("Received 503, will retry at {}", retryDate);
+          schedule.updateNextScheduleTaskTime(retryDate);
         }
       }
     } catch (Exception e) {
-      log.error("Error Running scheduler thread", e);
+      log.error("Error running schedule {} ", schedule.getScheduleUUID(), e);
+    } finally {
+      schedule.setRunningState(false);
+      schedule.save();
+      Schedule.maybeGet(schedule.getScheduleUUID()).ifPresent(dueQueue::processed);
     }
   }
 
@@ -0,0 +1,9 @@
+-- Copyright (c) YugaByte, Inc.
+
+alter table schedule add column if not exists update_time timestamp;
+
+drop index if exists ix_schedule_update_time;
+create index ix_schedule_update_time on schedule (update_time);
+
+drop index if exists ix_schedule_status_next_task_time;
+create index ix_schedule_status_next_task_time on schedule (status, next_schedule_task_time);
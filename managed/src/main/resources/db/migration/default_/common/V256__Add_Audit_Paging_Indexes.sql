@@ -0,0 +1,13 @@
+-- Copyright (c) YugaByte, Inc.
+
+drop index if exists ix_audit_customer_uuid_id;
+create index ix_audit_customer_uuid_id on audit (customer_uuid, id);
+
+drop index if exists ix_audit_customer_uuid_timestamp;
+create index ix_audit_customer_uuid_timestamp on audit (customer_uuid, timestamp, id);
+
+drop index if exists ix_audit_user_uuid_id;
+create index ix_audit_user_uuid_id on audit (user_uuid, id);
+
+drop index if exists ix_audit_task_uuid;
+create index ix_audit_task_uuid on audit (task_uuid);
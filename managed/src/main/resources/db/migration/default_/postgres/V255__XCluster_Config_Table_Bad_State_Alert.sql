@@ -0,0 +1,24 @@
+-- Copyright (c) YugaByte, Inc.
+
+-- XCLUSTER_CONFIG_TABLE_BAD_STATE
+insert into alert_configuration
+  (uuid, customer_uuid, name, description, create_time, target_type, target, thresholds, threshold_unit, template, active, default_destination)
+select
+  gen_random_uuid(),
+  uuid,
+  'XCluster Config Tables are in bad state',
+  'Some tables of xCluster config require bootstrap',
+  current_timestamp,
+  'UNIVERSE',
+  '{"all":true}',
+  '{"SEVERE":{"condition":"LESS_THAN", "threshold":1}}',
+  'STATUS',
+  'XCLUSTER_CONFIG_TABLE_BAD_STATE',
+  true,
+  true
+from customer;
+
+select create_universe_alert_definitions(
+ 'XCluster Config Tables are in bad state',
+ 'min by (xcluster_config_name) (ybp_xcluster_config_status{universe_uuid = "__universeUuid__"})'
+    || ' {{ query_condition }} 1');
@@ -2,19 +2,37 @@
 
 package com.yugabyte.yw.commissioner;
 
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.net.HostAndPort;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.common.ApiUtils;
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
+import com.yugabyte.yw.common.PlatformScheduler;
+import com.yugabyte.yw.common.kms.util.EncryptionAtRestUtil;
+import com.yugabyte.yw.common.kms.util.KeyProvider;
 import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.KmsConfig;
+import com.yugabyte.yw.models.Universe;
+import java.time.Duration;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.yb.client.YBClient;
+import play.libs.Json;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SetUniverseKeyTest extends FakeDBApplication {
@@ -42,4 +60,94 @@ public class SetUniverseKeyTest extends FakeDBApplication {
     verify(task, times(1)).handleCustomerError(eq(customer2.getUuid()), eq(customerTaskException));
     verify(task, times(0)).setUniverseKey(any());
   }
+
+  private SetUniverseKey createSetUniverseKey(String healthyRecheckInterval) {
+    Config config =
+        ConfigFactory.parseMap(
+                ImmutableMap.of(
+                    "yb.kms.set_universe_key.healthy_recheck_interval", healthyRecheckInterval))
+            .withFallback(app.config());
+    return new SetUniverseKey(
+        mockEARManager,
+        mock(PlatformScheduler.class),
+        mockService,
+        app.injector().instanceOf(PlatformExecutorFactory.class),
+        config);
+  }
+
+  private Universe createEncryptedUniverse() throws Exception {
+    Universe universe = ModelFactory.createUniverse(customer1.getId());
+    universe = Universe.saveDetails(universe.getUniverseUUID(), ApiUtils.mockUniverseUpdater());
+    KmsConfig kmsConfig =
+        KmsConfig.createKMSConfig(
+            customer1.getUuid(), KeyProvider.AWS, Json.newObject(), "test-kms");
+    byte[] keyRef = "key-ref".getBytes();
+    EncryptionAtRestUtil.addKeyRef(universe.getUniverseUUID(), kmsConfig.getConfigUUID(), keyRef);
+    EncryptionAtRestUtil.activateKeyRef(
+        universe.getUniverseUUID(), kmsConfig.getConfigUUID(), keyRef);
+    when(mockEARManager.getUniverseKey(any(), any(), any())).thenReturn("key".getBytes());
+    return universe;
+  }
+
+  @Test
+  public void testSkipRecentlyVerifiedUniverse() throws Exception {
+    Universe universe = createEncryptedUniverse();
+    int numMasters = universe.getMasterAddresses().split(",").length;
+    YBClient mockClient = mock(YBClient.class);
+    when(mockService.getClient(any(), any())).thenReturn(mockClient);
+    when(mockClient.hasUniverseKeyInMemory(anyString(), any(HostAndPort.class))).thenReturn(true);
+
+    SetUniverseKey setUniverseKey = createSetUniverseKey("1 hour");
+    setUniverseKey.setUniverseKey(universe);
+    verify(mockClient, times(numMasters)).hasUniverseKeyInMemory(anyString(), any());
+    // All the masters had the key, so they are not checked again within the interval.
+    setUniverseKey.setUniverseKey(universe);
+    verify(mockClient, times(numMasters)).hasUniverseKeyInMemory(anyString(), any());
+    // Unless forced.
+    setUniverseKey.setUniverseKey(universe, true);
+    verify(mockClient, times(2 * numMasters)).hasUniverseKeyInMemory(anyString(), any());
+  }
+
+  @Test
+  public void testRecheckUniverse() throws Exception {
+    // A restarted master loses the key, so the default does not skip the next scheduled run.
+    assertTrue(
+        app.config()
+                .getDuration("yb.kms.set_universe_key.healthy_recheck_interval")
+                .compareTo(Duration.ofMinutes(2))
+            <= 0);
+
+    Universe universe = createEncryptedUniverse();
+    int numMasters = universe.getMasterAddresses().split(",").length;
+    YBClient mockClient = mock(YBClient.class);
+    when(mockService.getClient(any(), any())).thenReturn(mockClient);
+    when(mockClient.hasUniverseKeyInMemory(anyString(), any(HostAndPort.class))).thenReturn(true);
+
+    // Once the interval has passed, the masters are checked again.
+    SetUniverseKey setUniverseKey = createSetUniverseKey("0 seconds");
+    setUniverseKey.setUniverseKey(universe);
+    setUniverseKey.setUniverseKey(universe);
+    verify(mockClient, times(2 * numMasters)).hasUniverseKeyInMemory(anyString(), any());
+  }
+
+  @Test
+  public void testRecheckUniverseAfterFailure() throws Exception {
+    Universe universe = createEncryptedUniverse();
+    int numMasters = universe.getMasterAddresses().split(",").length;
+    YBClient mockClient = mock(YBClient.class);
+    when(mockService.getClient(any(), any())).thenReturn(mockClient);
+    // The first master lost its key, like after a restart, and it fails to be sent.
+    when(mockClient.hasUniverseKeyInMemory(anyString(), any(HostAndPort.class)))
+        .thenReturn(false)
+        .thenReturn(true);
+    Mockito.doThrow(new RuntimeException("Master is not ready"))
+        .doNothing()
+        .when(mockClient)
+        .addUniverseKeys(any(), any());
+
+    SetUniverseKey setUniverseKey = createSetUniverseKey("1 hour");
+    setUniverseKey.setUniverseKey(universe);
+    setUniverseKey.setUniverseKey(universe);
+    verify(mockClient, times(2 * numMasters)).hasUniverseKeyInMemory(anyString(), any());
+  }
 }
@@ -0,0 +1,137 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.commissioner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.models.helpers.TaskType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TaskAdmissionControllerTest {
+
+  private static final UUID CUSTOMER_1 = UUID.randomUUID();
+  private static final UUID CUSTOMER_2 = UUID.randomUUID();
+
+  private ExecutorService executor;
+
+  private final List<String> runOrder = new CopyOnWriteArrayList<>();
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private Future<?> submit(
+      TaskAdmissionController controller,
+      UUID customerUUID,
+      TaskType taskType,
+      String name,
+      CountDownLatch latch) {
+    return controller
+        .getExecutor(executor, customerUUID, taskType)
+        .submit(
+            () -> {
+              runOrder.add(name);
+              try {
+                latch.await(10, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+  }
+
+  @Test
+  public void testFairShareAcrossCustomers() throws Exception {
+    TaskAdmissionController controller =
+        new TaskAdmissionController(1, Collections.emptyMap(), Collections.emptyMap());
+    CountDownLatch blocker = new CountDownLatch(1);
+    CountDownLatch noWait = new CountDownLatch(0);
+    Future<?> first = submit(controller, CUSTOMER_1, TaskType.CreateBackup, "c1-0", blocker);
+    submit(controller, CUSTOMER_1, TaskType.CreateBackup, "c1-1", noWait);
+    submit(controller, CUSTOMER_1, TaskType.CreateBackup, "c1-2", noWait);
+    Future<?> last = submit(controller, CUSTOMER_2, TaskType.CreateBackup, "c2-0", noWait);
+    assertEquals(3, controller.getQueuedCount());
+
+    blocker.countDown();
+    first.get(10, TimeUnit.SECONDS);
+    last.get(10, TimeUnit.SECONDS);
+    // The second customer does not wait for all the queued tasks of the first one.
+    assertTrue(runOrder.indexOf("c2-0") < runOrder.indexOf("c1-2"));
+  }
+
+  @Test
+  public void testCustomerWeight() throws Exception {
+    TaskAdmissionController controller =
+        new TaskAdmissionController(1, Collections.emptyMap(), ImmutableMap.of(CUSTOMER_2, 3.0));
+    CountDownLatch blocker = new CountDownLatch(1);
+    CountDownLatch noWait = new CountDownLatch(0);
+    submit(controller, CUSTOMER_1, TaskType.CreateBackup, "c1-0", blocker);
+    submit(controller, CUSTOMER_1, TaskType.CreateBackup, "c1-1", noWait);
+    submit(controller, CUSTOMER_2, TaskType.CreateBackup, "c2-0", noWait);
+    Future<?> last = submit(controller, CUSTOMER_2, TaskType.CreateBackup, "c2-1", noWait);
+
+    blocker.countDown();
+    last.get(10, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList("c1-0", "c2-0", "c2-1"), runOrder.subList(0, 3));
+  }
+
+  @Test
+  public void testMaxRunningTasksPerType() throws Exception {
+    TaskAdmissionController controller =
+        new TaskAdmissionController(
+            10, ImmutableMap.of(TaskType.CreateBackup, 1), Collections.emptyMap());
+    CountDownLatch blocker = new CountDownLatch(1);
+    CountDownLatch noWait = new CountDownLatch(0);
+    submit(controller, CUSTOMER_1, TaskType.CreateBackup, "backup-0", blocker);
+    Future<?> queued = submit(controller, CUSTOMER_1, TaskType.CreateBackup, "backup-1", noWait);
+    // Other task types are not limited by the backups.
+    submit(controller, CUSTOMER_1, TaskType.UpgradeUniverse, "upgrade", noWait)
+        .get(10, TimeUnit.SECONDS);
+    assertEquals(1, controller.getQueuedCount());
+    assertFalse(runOrder.contains("backup-1"));
+
+    blocker.countDown();
+    queued.get(10, TimeUnit.SECONDS);
+    assertEquals(0, controller.getQueuedCount());
+  }
+
+  @Test
+  public void testMaxRunningTasksCappedAtCoreThreads() {
+    Config config =
+        ConfigFactory.parseString(
+            "yb.commissioner.core_threads = 50\n"
+                + "yb.commissioner.admission {\n"
+                + "  max_running_tasks = 200\n"
+                + "  max_running_tasks_per_type {}\n"
+                + "  customer_weights {}\n"
+                + "}");
+    assertEquals(50, new TaskAdmissionController(config).getMaxRunningTasks());
+
+    config =
+        ConfigFactory.parseString("yb.commissioner.admission.max_running_tasks = 20")
+            .withFallback(config);
+    assertEquals(20, new TaskAdmissionController(config).getMaxRunningTasks());
+  }
+}
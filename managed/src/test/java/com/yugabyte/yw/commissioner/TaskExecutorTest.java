@@ -54,6 +54,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -617,4 +618,185 @@ public class TaskExecutorTest extends PlatformGuiceApplicationBaseTest {
     assertEquals(TaskInfo.State.Success, taskInfo.getTaskState());
     assertEquals(TaskInfo.State.Success, subTaskInfos.get(0).getTaskState());
   }
+
+  @Test
+  public void testSubTaskGroupGraph() {
+    ITask task = mockTaskCommon(false);
+    ITask subTask1 = mockTaskCommon(false);
+    ITask subTask2 = mockTaskCommon(false);
+    ITask subTask3 = mockTaskCommon(false);
+    AtomicReference<UUID> taskUUIDRef = new AtomicReference<>();
+    doAnswer(
+            inv -> {
+              RunnableTask runnable = taskExecutor.getRunnableTask(taskUUIDRef.get());
+              SubTaskGroup subTasksGroup1 = taskExecutor.createSubTaskGroup("test1");
+              subTasksGroup1.addSubTask(subTask1);
+              runnable.addSubTaskGroup(subTasksGroup1.dependsOn());
+              SubTaskGroup subTasksGroup2 = taskExecutor.createSubTaskGroup("test2");
+              subTasksGroup2.addSubTask(subTask2);
+              runnable.addSubTaskGroup(subTasksGroup2.dependsOn());
+              SubTaskGroup subTasksGroup3 = taskExecutor.createSubTaskGroup("test3");
+              subTasksGroup3.addSubTask(subTask3);
+              runnable.addSubTaskGroup(subTasksGroup3.dependsOn(subTasksGroup1, subTasksGroup2));
+              runnable.runSubTasks();
+              return null;
+            })
+        .when(task)
+        .run();
+
+    // The first two subtasks complete only if they run concurrently.
+    CountDownLatch latch = new CountDownLatch(2);
+    AtomicInteger completed = new AtomicInteger();
+    doAnswer(
+            inv -> {
+              latch.countDown();
+              assertTrue(latch.await(10, TimeUnit.SECONDS));
+              completed.incrementAndGet();
+              return null;
+            })
+        .when(subTask1)
+        .run();
+    doAnswer(
+            inv -> {
+              latch.countDown();
+              assertTrue(latch.await(10, TimeUnit.SECONDS));
+              completed.incrementAndGet();
+              return null;
+            })
+        .when(subTask2)
+        .run();
+    doAnswer(
+            inv -> {
+              assertEquals(2, completed.get());
+              return null;
+            })
+        .when(subTask3)
+        .run();
+
+    RunnableTask taskRunner = taskExecutor.createRunnableTask(task);
+    taskUUIDRef.set(taskRunner.getTaskUUID());
+    UUID taskUUID = taskExecutor.submit(taskRunner, Executors.newFixedThreadPool(1));
+    TaskInfo taskInfo = waitForTask(taskUUID);
+    verify(subTask3, times(1)).run();
+    List<TaskInfo> subTaskInfos = taskInfo.getSubTasks();
+    Map<Integer, List<TaskInfo>> subTasksByPosition =
+        subTaskInfos.stream().collect(Collectors.groupingBy(TaskInfo::getPosition));
+    assertEquals(3, subTasksByPosition.size());
+    assertEquals(TaskInfo.State.Success, taskInfo.getTaskState());
+    subTaskInfos.forEach(t -> assertEquals(TaskInfo.State.Success, t.getTaskState()));
+  }
+
+  @Test
+  public void testSubTaskGroupGraphFailure() {
+    ITask task = mockTaskCommon(false);
+    ITask subTask1 = mockTaskCommon(false);
+    ITask subTask2 = mockTaskCommon(false);
+    ITask subTask3 = mockTaskCommon(false);
+    AtomicReference<UUID> taskUUIDRef = new AtomicReference<>();
+    doAnswer(
+            inv -> {
+              RunnableTask runnable = taskExecutor.getRunnableTask(taskUUIDRef.get());
+              SubTaskGroup subTasksGroup1 = taskExecutor.createSubTaskGroup("test1");
+              subTasksGroup1.addSubTask(subTask1);
+              runnable.addSubTaskGroup(subTasksGroup1.dependsOn());
+              SubTaskGroup subTasksGroup2 = taskExecutor.createSubTaskGroup("test2");
+              subTasksGroup2.addSubTask(subTask2);
+              runnable.addSubTaskGroup(subTasksGroup2.dependsOn());
+              SubTaskGroup subTasksGroup3 = taskExecutor.createSubTaskGroup("test3");
+              subTasksGroup3.addSubTask(subTask3);
+              runnable.addSubTaskGroup(subTasksGroup3.dependsOn(subTasksGroup1));
+              runnable.runSubTasks();
+              return null;
+            })
+        .when(task)
+        .run();
+
+    doThrow(new RuntimeException("Error occurred in subtask")).when(subTask1).run();
+    RunnableTask taskRunner = taskExecutor.createRunnableTask(task);
+    taskUUIDRef.set(taskRunner.getTaskUUID());
+    UUID taskUUID = taskExecutor.submit(taskRunner, Executors.newFixedThreadPool(1));
+    TaskInfo taskInfo = waitForTask(taskUUID);
+    verify(subTask2, times(1)).run();
+    verify(subTask3, times(0)).run();
+    assertEquals(TaskInfo.State.Failure, taskInfo.getTaskState());
+    Map<Integer, TaskInfo.State> subTaskStates =
+        taskInfo.getSubTasks().stream()
+            .collect(Collectors.toMap(TaskInfo::getPosition, TaskInfo::getTaskState));
+    assertEquals(TaskInfo.State.Failure, subTaskStates.get(0));
+    assertEquals(TaskInfo.State.Success, subTaskStates.get(1));
+    assertEquals(TaskInfo.State.Created, subTaskStates.get(2));
+  }
+
+  // Runs subtask groups shaped like the ones of a universe task creating a primary and a read
+  // replica cluster, where each subtask takes the given milliseconds. Both clusters are
+  // provisioned and configured independently, and the tservers are started after the masters.
+  // Returns the milliseconds taken by runSubTasks.
+  private long runUniverseTaskGroups(boolean withDependencies) {
+    ITask task = mockTaskCommon(false);
+    AtomicReference<UUID> taskUUIDRef = new AtomicReference<>();
+    AtomicLong elapsedMs = new AtomicLong();
+    doAnswer(
+            inv -> {
+              RunnableTask runnable = taskExecutor.getRunnableTask(taskUUIDRef.get());
+              SubTaskGroup provisionPrimary = createTimedSubTaskGroup("provisionPrimary", 300);
+              SubTaskGroup provisionReadReplica =
+                  createTimedSubTaskGroup("provisionReadReplica", 300);
+              SubTaskGroup configurePrimary = createTimedSubTaskGroup("configurePrimary", 200);
+              SubTaskGroup configureReadReplica =
+                  createTimedSubTaskGroup("configureReadReplica", 200);
+              SubTaskGroup startMasters = createTimedSubTaskGroup("startMasters", 200);
+              SubTaskGroup startTServers = createTimedSubTaskGroup("startTServers", 200);
+              if (withDependencies) {
+                provisionPrimary.dependsOn();
+                provisionReadReplica.dependsOn();
+                configurePrimary.dependsOn(provisionPrimary);
+                configureReadReplica.dependsOn(provisionReadReplica);
+                startMasters.dependsOn(configurePrimary);
+                startTServers.dependsOn(startMasters, configureReadReplica);
+              }
+              runnable.addSubTaskGroup(provisionPrimary);
+              runnable.addSubTaskGroup(provisionReadReplica);
+              runnable.addSubTaskGroup(configurePrimary);
+              runnable.addSubTaskGroup(configureReadReplica);
+              runnable.addSubTaskGroup(startMasters);
+              runnable.addSubTaskGroup(startTServers);
+              long startMs = System.currentTimeMillis();
+              runnable.runSubTasks();
+              elapsedMs.set(System.currentTimeMillis() - startMs);
+              return null;
+            })
+        .when(task)
+        .run();
+
+    RunnableTask taskRunner = taskExecutor.createRunnableTask(task);
+    taskUUIDRef.set(taskRunner.getTaskUUID());
+    UUID taskUUID = taskExecutor.submit(taskRunner, Executors.newFixedThreadPool(1));
+    TaskInfo taskInfo = waitForTask(taskUUID);
+    assertEquals(TaskInfo.State.Success, taskInfo.getTaskState());
+    return elapsedMs.get();
+  }
+
+  private SubTaskGroup createTimedSubTaskGroup(String name, long durationMs) {
+    ITask subTask = mockTaskCommon(false);
+    doAnswer(
+            inv -> {
+              Thread.sleep(durationMs);
+              return null;
+            })
+        .when(subTask)
+        .run();
+    SubTaskGroup subTaskGroup = taskExecutor.createSubTaskGroup(name);
+    subTaskGroup.addSubTask(subTask);
+    return subTaskGroup;
+  }
+
+  @Test
+  public void testSubTaskGroupGraphCriticalPath() {
+    long sequentialMs = runUniverseTaskGroups(false);
+    long graphMs = runUniverseTaskGroups(true);
+    // All the groups take 1400ms in order, the longest dependency chain takes 900ms.
+    assertThat(1400L, lessThanOrEqualTo(sequentialMs));
+    assertThat(900L, lessThanOrEqualTo(graphMs));
+    assertThat(graphMs, lessThanOrEqualTo(sequentialMs - 300));
+  }
 }
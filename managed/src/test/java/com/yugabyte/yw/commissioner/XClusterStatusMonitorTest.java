@@ -0,0 +1,244 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.commissioner;
+
+import static com.yugabyte.yw.common.AssertHelper.assertMetricValue;
+import static com.yugabyte.yw.common.metrics.MetricService.STATUS_NOT_OK;
+import static com.yugabyte.yw.common.metrics.MetricService.STATUS_OK;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.commissioner.XClusterStatusMonitor.XClusterStatus;
+import com.yugabyte.yw.common.AlertTemplate;
+import com.yugabyte.yw.common.ApiUtils;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformScheduler;
+import com.yugabyte.yw.forms.XClusterConfigCreateFormData;
+import com.yugabyte.yw.models.AlertConfiguration;
+import com.yugabyte.yw.models.AlertDefinition;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.MetricKey;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.XClusterConfig;
+import com.yugabyte.yw.models.XClusterConfig.XClusterConfigStatusType;
+import com.yugabyte.yw.models.XClusterTableConfig;
+import com.yugabyte.yw.models.filters.AlertDefinitionFilter;
+import com.yugabyte.yw.models.helpers.KnownAlertLabels;
+import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.yb.client.IsBootstrapRequiredResponse;
+import org.yb.client.YBClient;
+import play.libs.Json;
+
+public class XClusterStatusMonitorTest extends FakeDBApplication {
+
+  private static final String TABLE_ID = "000030af000030008000000000004000";
+  private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+  private Customer customer;
+  private Universe sourceUniverse;
+  private XClusterConfig xClusterConfig;
+  private YBClient mockClient;
+  private XClusterStatusMonitor monitor;
+
+  @Before
+  public void setUp() throws Exception {
+    customer = ModelFactory.testCustomer();
+    sourceUniverse = createUniverse("source-universe");
+    Universe targetUniverse = createUniverse("target-universe");
+
+    XClusterConfigCreateFormData createFormData = new XClusterConfigCreateFormData();
+    createFormData.name = "test-config";
+    createFormData.sourceUniverseUUID = sourceUniverse.getUniverseUUID();
+    createFormData.targetUniverseUUID = targetUniverse.getUniverseUUID();
+    createFormData.tables = Collections.singleton(TABLE_ID);
+    xClusterConfig = XClusterConfig.create(createFormData, XClusterConfigStatusType.Running);
+    xClusterConfig.updateStatusForTables(createFormData.tables, XClusterTableConfig.Status.Running);
+
+    mockClient = mock(YBClient.class);
+    when(mockService.getClient(any(), any())).thenReturn(mockClient);
+    setBootstrapRequired(false);
+    setLagMs(10);
+
+    Config config =
+        ConfigFactory.parseMap(
+                ImmutableMap.of(
+                    "yb.xcluster.status_monitor.run_interval", "1 minute",
+                    "yb.xcluster.status_monitor.max_refresh_interval", "4 minutes",
+                    "yb.xcluster.status_monitor.max_staleness", "1 minute"))
+            .withFallback(app.config());
+    monitor =
+        new XClusterStatusMonitor(
+            mock(PlatformScheduler.class),
+            mockMetricQueryHelper,
+            mockService,
+            metricService,
+            config);
+  }
+
+  private Universe createUniverse(String name) {
+    Universe universe = ModelFactory.createUniverse(name, customer.getId());
+    return Universe.saveDetails(universe.getUniverseUUID(), ApiUtils.mockUniverseUpdater());
+  }
+
+  private void setBootstrapRequired(boolean bootstrapRequired) throws Exception {
+    List<IsBootstrapRequiredResponse> responses =
+        Collections.singletonList(
+            new IsBootstrapRequiredResponse(
+                0, "", null, Collections.singletonMap(TABLE_ID, bootstrapRequired)));
+    when(mockClient.isBootstrapRequiredParallel(anyMap(), anyInt())).thenReturn(responses);
+  }
+
+  private void setLagMs(double lagMs) {
+    ObjectNode series = Json.newObject();
+    series.putArray("x").add(1479281730000L);
+    series.putArray("y").add(String.valueOf(lagMs));
+    ObjectNode lag = Json.newObject();
+    lag.putObject(XClusterStatusMonitor.LAG_METRIC).putArray("data").add(series);
+    doReturn(lag).when(mockMetricQueryHelper).query(anyList(), anyMap(), anyMap(), anyBoolean());
+  }
+
+  private void verifyRefreshCount(int count) {
+    verify(mockMetricQueryHelper, times(count)).query(anyList(), anyMap(), anyMap(), anyBoolean());
+  }
+
+  private MetricKey statusMetricKey() {
+    return MetricKey.builder()
+        .customerUuid(customer.getUuid())
+        .name(PlatformMetrics.XCLUSTER_CONFIG_STATUS.getMetricName())
+        .sourceUuid(sourceUniverse.getUniverseUUID())
+        .sourceLabel(
+            KnownAlertLabels.XCLUSTER_CONFIG_UUID.labelName(), xClusterConfig.getUuid().toString())
+        .build();
+  }
+
+  @Test
+  public void testHealthyConfigRefreshBackOff() {
+    long now = System.currentTimeMillis();
+    // Refresh interval grows from the run interval: 1, 2, 4 minutes, and stays at the max.
+    List<Integer> refreshMinutes = Arrays.asList(0, 1, 3, 7, 11);
+    int refreshes = 0;
+    for (int minute = 0; minute <= 11; minute++) {
+      monitor.scheduleRunner(now + minute * MINUTE);
+      if (refreshMinutes.contains(minute)) {
+        refreshes++;
+      }
+      verifyRefreshCount(refreshes);
+    }
+  }
+
+  @Test
+  public void testLaggingConfigRefreshedOnEveryRun() {
+    long now = System.currentTimeMillis();
+    setLagMs(app.config().getLong("yb.alert.replication_lag_ms") + 1);
+    for (int minute = 0; minute < 5; minute++) {
+      monitor.scheduleRunner(now + minute * MINUTE);
+      verifyRefreshCount(minute + 1);
+    }
+    assertFalse(monitor.getStatus(xClusterConfig).isHealthy());
+
+    setLagMs(10);
+    monitor.scheduleRunner(now + 5 * MINUTE);
+    verifyRefreshCount(6);
+    // Reading the status returns the cached one.
+    assertTrue(monitor.getStatus(xClusterConfig).isHealthy());
+    verifyRefreshCount(6);
+  }
+
+  @Test
+  public void testStaleStatusRefreshedOnRead() {
+    long now = System.currentTimeMillis();
+    monitor.scheduleRunner(now - 2 * MINUTE);
+    verifyRefreshCount(1);
+
+    XClusterStatus status = monitor.getStatus(xClusterConfig);
+    verifyRefreshCount(2);
+    assertTrue(status.getUpdateTime().getTime() >= now);
+    assertEquals(Collections.singletonMap(TABLE_ID, false), status.getIsBootstrapRequiredMap());
+
+    // The fresh status is served from the cache.
+    assertEquals(status, monitor.getStatus(xClusterConfig));
+    verifyRefreshCount(2);
+  }
+
+  @Test
+  public void testNotRunningConfigSkipped() {
+    xClusterConfig.updateStatus(XClusterConfigStatusType.Failed);
+    monitor.scheduleRunner(System.currentTimeMillis());
+    verifyRefreshCount(0);
+    assertMetricValue(metricService, statusMetricKey(), null);
+  }
+
+  @Test
+  public void testStatusMetricAndAlert() throws Exception {
+    long now = System.currentTimeMillis();
+    monitor.scheduleRunner(now);
+    assertMetricValue(metricService, statusMetricKey(), STATUS_OK);
+
+    setBootstrapRequired(true);
+    monitor.scheduleRunner(now + MINUTE);
+    assertEquals(
+        xClusterConfig.getName(),
+        assertMetricValue(metricService, statusMetricKey(), STATUS_NOT_OK)
+            .getLabelValue(KnownAlertLabels.XCLUSTER_CONFIG_NAME));
+
+    // The alert fires on the metric of the source universe.
+    AlertConfiguration configuration =
+        alertConfigurationService
+            .createConfigurationTemplate(customer, AlertTemplate.XCLUSTER_CONFIG_TABLE_BAD_STATE)
+            .getDefaultConfiguration();
+    alertConfigurationService.save(configuration);
+    List<AlertDefinition> definitions =
+        alertDefinitionService.list(
+            AlertDefinitionFilter.builder()
+                .configurationUuid(configuration.getUuid())
+                .label(
+                    KnownAlertLabels.SOURCE_UUID, sourceUniverse.getUniverseUUID().toString())
+                .build());
+    assertEquals(1, definitions.size());
+    String query =
+        definitions
+            .get(0)
+            .getQueryWithThreshold(
+                configuration.getThresholds().get(AlertConfiguration.Severity.SEVERE));
+    assertThat(query, containsString(PlatformMetrics.XCLUSTER_CONFIG_STATUS.getMetricName()));
+    assertThat(
+        query,
+        containsString("universe_uuid = \"" + sourceUniverse.getUniverseUUID() + "\""));
+    assertThat(query, containsString("< 1"));
+  }
+
+  @Test
+  public void testDeletedConfigMetricRemoved() {
+    long now = System.currentTimeMillis();
+    monitor.scheduleRunner(now);
+    assertMetricValue(metricService, statusMetricKey(), STATUS_OK);
+
+    xClusterConfig.delete();
+    monitor.scheduleRunner(now + MINUTE);
+    assertMetricValue(metricService, statusMetricKey(), null);
+  }
+}
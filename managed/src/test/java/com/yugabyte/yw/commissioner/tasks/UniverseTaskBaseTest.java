@@ -18,6 +18,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
@@ -31,6 +33,7 @@ import com.yugabyte.yw.commissioner.Common;
 import com.yugabyte.yw.commissioner.Common.CloudType;
 import com.yugabyte.yw.commissioner.TaskExecutor;
 import com.yugabyte.yw.commissioner.TaskExecutor.RunnableTask;
+import com.yugabyte.yw.commissioner.UserTaskDetails.SubTaskGroupType;
 import com.yugabyte.yw.commissioner.tasks.params.NodeTaskParams;
 import com.yugabyte.yw.commissioner.tasks.subtasks.InstanceExistCheck;
 import com.yugabyte.yw.common.FakeDBApplication;
@@ -38,6 +41,9 @@ import com.yugabyte.yw.common.ModelFactory;
 import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.ShellResponse;
 import com.yugabyte.yw.forms.NodeInstanceFormData.NodeInstanceData;
+import com.yugabyte.yw.forms.RestoreBackupParams;
+import com.yugabyte.yw.forms.RestoreBackupParams.BackupStorageInfo;
+import com.yugabyte.yw.forms.RestoreBackupParams.ParallelRestoreState;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
 import com.yugabyte.yw.forms.UniverseTaskParams;
 import com.yugabyte.yw.models.AvailabilityZone;
@@ -45,6 +51,7 @@ import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.NodeInstance;
 import com.yugabyte.yw.models.Provider;
 import com.yugabyte.yw.models.Region;
+import com.yugabyte.yw.models.TaskInfo;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.helpers.CloudSpecificInfo;
 import com.yugabyte.yw.models.helpers.LoadBalancerConfig;
@@ -71,6 +78,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import play.libs.Json;
 
 @RunWith(JUnitParamsRunner.class)
 public class UniverseTaskBaseTest extends FakeDBApplication {
@@ -494,6 +502,97 @@ public class UniverseTaskBaseTest extends FakeDBApplication {
     assertThat(lbMap, anEmptyMap());
   }
 
+  private RestoreBackupParams setupParallelRestore(int keyspaces) {
+    Customer customer = ModelFactory.testCustomer();
+    Universe universe = ModelFactory.createUniverse(customer.getId());
+    ModelFactory.addNodesToUniverse(universe.getUniverseUUID(), 3);
+    Universe.saveDetails(
+        universe.getUniverseUUID(), u -> u.getUniverseDetails().setYbcInstalled(true));
+    when(mockYbcManager.ybcPingCheck(anyString(), any(), anyInt())).thenReturn(true);
+
+    RestoreBackupParams params = new RestoreBackupParams();
+    params.customerUUID = customer.getUuid();
+    params.setUniverseUUID(universe.getUniverseUUID());
+    params.kmsConfigUUID =
+        ModelFactory.createKMSConfig(customer.getUuid(), "SMARTKEY", Json.newObject())
+            .getConfigUUID();
+    params.alterLoadBalancer = false;
+    params.parallelDBRestores = 2;
+    params.backupStorageInfoList = new ArrayList<>();
+    for (int i = 0; i < keyspaces; i++) {
+      BackupStorageInfo storageInfo = new BackupStorageInfo();
+      storageInfo.keyspace = "keyspace" + i;
+      storageInfo.storageLocation = "s3://backups/ybc_backup/keyspace" + i;
+      params.backupStorageInfoList.add(storageInfo);
+    }
+    return params;
+  }
+
+  private List<TaskInfo> getSubTasks() {
+    return TaskInfo.getOrBadRequest(universeTaskBase.getRunnableTask().getTaskUUID())
+        .getSubTasks();
+  }
+
+  @Test
+  public void testParallelRestoreSubtasks() {
+    RestoreBackupParams params = setupParallelRestore(3);
+    universeTaskBase.createAllRestoreSubtasks(params, SubTaskGroupType.RestoringBackup, true);
+
+    List<TaskInfo> subTasks = getSubTasks();
+    assertEquals(6, subTasks.size());
+    // Keys of all the keyspaces are restored before any data.
+    for (int i = 0; i < 3; i++) {
+      assertEquals(TaskType.RestoreUniverseKeysYbc, subTasks.get(i).getTaskType());
+    }
+    // Data restores are in one group.
+    for (int i = 3; i < 6; i++) {
+      TaskInfo subTask = subTasks.get(i);
+      assertEquals(TaskType.RestoreBackupYbc, subTask.getTaskType());
+      assertEquals(subTasks.get(3).getPosition(), subTask.getPosition());
+      assertEquals(i - 3, subTask.getDetails().get("index").asInt());
+      assertTrue(subTask.getDetails().get("currentYbcTaskId").isNull());
+    }
+  }
+
+  @Test
+  public void testParallelRestoreSubtasksOnResume() {
+    RestoreBackupParams params = setupParallelRestore(3);
+    // The first keyspace was restored and the second one was running when the task failed.
+    ParallelRestoreState completedState = new ParallelRestoreState();
+    completedState.resetOnComplete();
+    params.restoreDBStates.put(
+        params.backupStorageInfoList.get(0).storageLocation, completedState);
+    ParallelRestoreState runningState = new ParallelRestoreState();
+    runningState.setIntermediate("10.0.0.1", "ybc-task-1");
+    params.restoreDBStates.put(params.backupStorageInfoList.get(1).storageLocation, runningState);
+    universeTaskBase.createAllRestoreSubtasks(params, SubTaskGroupType.RestoringBackup, true);
+
+    List<TaskInfo> subTasks = getSubTasks();
+    assertEquals(3, subTasks.size());
+    // Only the keyspace which was not started yet gets its keys restored.
+    assertEquals(TaskType.RestoreUniverseKeysYbc, subTasks.get(0).getTaskType());
+    assertEquals(
+        params.backupStorageInfoList.get(2).storageLocation,
+        subTasks
+            .get(0)
+            .getDetails()
+            .get("backupStorageInfoList")
+            .get(0)
+            .get("storageLocation")
+            .asText());
+    // The completed keyspace is skipped, and the running one is resumed on the same node.
+    TaskInfo resumed = subTasks.get(1);
+    assertEquals(TaskType.RestoreBackupYbc, resumed.getTaskType());
+    assertEquals(1, resumed.getDetails().get("index").asInt());
+    assertEquals("10.0.0.1", resumed.getDetails().get("nodeIp").asText());
+    assertEquals("ybc-task-1", resumed.getDetails().get("currentYbcTaskId").asText());
+    TaskInfo started = subTasks.get(2);
+    assertEquals(TaskType.RestoreBackupYbc, started.getTaskType());
+    assertEquals(resumed.getPosition(), started.getPosition());
+    assertEquals(2, started.getDetails().get("index").asInt());
+    assertTrue(started.getDetails().get("currentYbcTaskId").isNull());
+  }
+
   private class TestUniverseTaskBase extends UniverseTaskBase {
     private final RunnableTask runnableTask;
 
@@ -13,12 +13,18 @@ import static org.mockito.Mockito.verify;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.yugabyte.yw.commissioner.tasks.UniverseTaskBase.ServerType;
+import com.yugabyte.yw.common.ApiUtils;
+import com.yugabyte.yw.common.PlacementInfoUtil;
 import com.yugabyte.yw.forms.RestartTaskParams;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.UserIntent;
 import com.yugabyte.yw.models.TaskInfo;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.PlacementInfo;
 import com.yugabyte.yw.models.helpers.TaskType;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.junit.Before;
@@ -121,4 +127,46 @@ public class RestartUniverseTest extends UpgradeTaskTest {
     assertEquals(100.0, taskInfo.getPercentCompleted(), 0);
     assertEquals(Success, taskInfo.getTaskState());
   }
+
+  @Test
+  public void testRollingRestartParallelTServersPerAz() {
+    UserIntent userIntent = defaultUniverse.getUniverseDetails().getPrimaryCluster().userIntent;
+    userIntent.numNodes = 6;
+    userIntent.replicationFactor = 3;
+    PlacementInfo placementInfo = new PlacementInfo();
+    PlacementInfoUtil.addPlacementZone(az1.getUuid(), placementInfo, 1, 2, false);
+    PlacementInfoUtil.addPlacementZone(az2.getUuid(), placementInfo, 1, 2, true);
+    PlacementInfoUtil.addPlacementZone(az3.getUuid(), placementInfo, 1, 2, false);
+    defaultUniverse =
+        Universe.saveDetails(
+            defaultUniverse.getUniverseUUID(),
+            ApiUtils.mockUniverseUpdater(userIntent, placementInfo, true));
+
+    RestartTaskParams taskParams = new RestartTaskParams();
+    taskParams.maxParallelTServersPerAz = 2;
+    TaskInfo taskInfo = submitTask(taskParams, TaskType.RestartUniverse, commissioner, 3);
+    assertEquals(Success, taskInfo.getTaskState());
+
+    Map<String, UUID> azByNode =
+        defaultUniverse.getNodes().stream()
+            .collect(Collectors.toMap(node -> node.nodeName, node -> node.azUuid));
+    List<List<TaskInfo>> serverStopGroups =
+        taskInfo.getSubTasks().stream()
+            .filter(task -> task.getTaskType() == TaskType.AnsibleClusterServerCtl)
+            .filter(task -> task.getDetails().get("command").asText().equals("stop"))
+            .collect(Collectors.groupingBy(TaskInfo::getPosition))
+            .values()
+            .stream()
+            .collect(Collectors.toList());
+    // Masters are restarted one by one, tservers two at a time within a zone.
+    assertEquals(3, serverStopGroups.stream().filter(tasks -> tasks.size() == 1).count());
+    assertEquals(3, serverStopGroups.stream().filter(tasks -> tasks.size() == 2).count());
+    for (List<TaskInfo> tasks : serverStopGroups) {
+      Set<UUID> zones =
+          tasks.stream()
+              .map(task -> azByNode.get(task.getDetails().get("nodeName").asText()))
+              .collect(Collectors.toSet());
+      assertEquals(1, zones.size());
+    }
+  }
 }
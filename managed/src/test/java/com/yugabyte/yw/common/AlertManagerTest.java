@@ -28,6 +28,7 @@ import com.yugabyte.yw.common.alerts.AlertChannelTemplateService;
 import com.yugabyte.yw.common.alerts.AlertChannelTemplateServiceTest;
 import com.yugabyte.yw.common.alerts.AlertDestinationService;
 import com.yugabyte.yw.common.alerts.AlertNotificationContext;
+import com.yugabyte.yw.common.alerts.AlertNotificationDispatcher;
 import com.yugabyte.yw.common.alerts.AlertNotificationReport;
 import com.yugabyte.yw.common.alerts.AlertUtils;
 import com.yugabyte.yw.common.alerts.PlatformNotificationException;
@@ -123,7 +124,8 @@ public class AlertManagerTest extends FakeDBApplication {
             alertChannelTemplateService,
             alertDestinationService,
             channelsManager,
-            metricService);
+            metricService,
+            app.injector().instanceOf(AlertNotificationDispatcher.class));
 
     defaultDestination =
         alertDestinationService.createDefaultDestination(defaultCustomer.getUuid());
@@ -328,7 +330,7 @@ public class AlertManagerTest extends FakeDBApplication {
     }
     alert.save();
 
-    am.sendNotifications();
+    am.sendNotifications().join();
 
     ArgumentCaptor<Alert> captor = ArgumentCaptor.forClass(Alert.class);
     verify(emailChannel, times(expectedCount))
@@ -20,13 +20,14 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -43,7 +44,15 @@ public class ApiHelperTest {
   @Mock WSResponse mockResponse;
   @Mock HttpURLConnection mockConnection;
 
-  @InjectMocks ApiHelper apiHelper;
+  ApiHelper apiHelper;
+
+  @Before
+  public void setUp() {
+    apiHelper =
+        new ApiHelper(
+            mockClient,
+            new ApiRequestLimiter(32, 256, 5, Duration.ofSeconds(30), Duration.ofMinutes(5)));
+  }
 
   @Test
   public void testGetRequestValidJSONWithUrl() {
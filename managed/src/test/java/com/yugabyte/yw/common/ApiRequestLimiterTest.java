@@ -0,0 +1,214 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.prometheus.client.CollectorRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import play.libs.ws.WSResponse;
+
+public class ApiRequestLimiterTest {
+
+  private static final String URL = "http://foo.com:9090/api/v1/query";
+  private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+  private static WSResponse response(int status) {
+    WSResponse response = mock(WSResponse.class);
+    when(response.getStatus()).thenReturn(status);
+    return response;
+  }
+
+  private static Throwable getError(CompletionStage<WSResponse> stage) throws Exception {
+    try {
+      stage.toCompletableFuture().get();
+    } catch (ExecutionException e) {
+      return e.getCause();
+    }
+    throw new AssertionError("Request is expected to fail");
+  }
+
+  @Test
+  public void testConcurrencyLimit() throws Exception {
+    ApiRequestLimiter limiter = new ApiRequestLimiter(1, 1, 5, Duration.ofMinutes(1), TIMEOUT);
+    CompletableFuture<WSResponse> first = new CompletableFuture<>();
+    AtomicInteger sent = new AtomicInteger();
+    CompletionStage<WSResponse> firstResult =
+        limiter.execute(URL, "GET", TIMEOUT, t -> first);
+    CompletionStage<WSResponse> queuedResult =
+        limiter.execute(
+            URL,
+            "GET",
+            TIMEOUT,
+            t -> {
+              sent.incrementAndGet();
+              return CompletableFuture.completedFuture(response(200));
+            });
+    CompletionStage<WSResponse> rejectedResult =
+        limiter.execute(URL, "GET", TIMEOUT, t -> CompletableFuture.completedFuture(null));
+
+    assertEquals(0, sent.get());
+    assertThat(getError(rejectedResult), instanceOf(RejectedExecutionException.class));
+
+    first.complete(response(200));
+    assertEquals(200, firstResult.toCompletableFuture().get().getStatus());
+    assertEquals(200, queuedResult.toCompletableFuture().get().getStatus());
+    assertEquals(1, sent.get());
+    assertEquals(0, limiter.getInFlight(URL));
+  }
+
+  @Test
+  public void testOtherDestinationNotLimited() throws Exception {
+    ApiRequestLimiter limiter = new ApiRequestLimiter(1, 0, 5, Duration.ofMinutes(1), TIMEOUT);
+    limiter.execute(URL, "GET", TIMEOUT, t -> new CompletableFuture<>());
+    CompletionStage<WSResponse> result =
+        limiter.execute(
+            "http://bar.com:9090/api/v1/query",
+            "GET",
+            TIMEOUT,
+            t -> CompletableFuture.completedFuture(response(200)));
+    assertEquals(200, result.toCompletableFuture().get().getStatus());
+  }
+
+  @Test
+  public void testSlotWaitTimeout() throws Exception {
+    ApiRequestLimiter limiter = new ApiRequestLimiter(1, 1, 5, Duration.ofMinutes(1), TIMEOUT);
+    CompletableFuture<WSResponse> first = new CompletableFuture<>();
+    limiter.execute(URL, "GET", TIMEOUT, t -> first);
+    CompletionStage<WSResponse> timedOut =
+        limiter.execute(
+            URL,
+            "GET",
+            Duration.ofMillis(10),
+            t -> CompletableFuture.completedFuture(response(200)));
+    assertThat(getError(timedOut), instanceOf(TimeoutException.class));
+
+    first.complete(response(200));
+    assertEquals(0, limiter.getInFlight(URL));
+  }
+
+  @Test
+  public void testCircuitOpensAfterFailures() throws Exception {
+    ApiRequestLimiter limiter = new ApiRequestLimiter(10, 10, 2, Duration.ofMinutes(1), TIMEOUT);
+    limiter.execute(URL, "GET", TIMEOUT, t -> CompletableFuture.completedFuture(response(503)));
+    CompletableFuture<WSResponse> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new RuntimeException("Connection refused"));
+    limiter.execute(URL, "GET", TIMEOUT, t -> failed);
+
+    AtomicInteger sent = new AtomicInteger();
+    CompletionStage<WSResponse> result =
+        limiter.execute(
+            URL,
+            "GET",
+            TIMEOUT,
+            t -> {
+              sent.incrementAndGet();
+              return CompletableFuture.completedFuture(response(200));
+            });
+    assertThat(getError(result), instanceOf(RejectedExecutionException.class));
+    assertEquals(0, sent.get());
+  }
+
+  @Test
+  public void testCircuitClosesAfterSuccessfulTrial() throws Exception {
+    ApiRequestLimiter limiter = new ApiRequestLimiter(10, 10, 1, Duration.ZERO, TIMEOUT);
+    limiter.execute(URL, "GET", TIMEOUT, t -> CompletableFuture.completedFuture(response(500)));
+
+    // Open duration is over, so a single trial request is let through.
+    CompletableFuture<WSResponse> trial = new CompletableFuture<>();
+    CompletionStage<WSResponse> trialResult = limiter.execute(URL, "GET", TIMEOUT, t -> trial);
+    CompletionStage<WSResponse> rejected =
+        limiter.execute(URL, "GET", TIMEOUT, t -> CompletableFuture.completedFuture(null));
+    assertThat(getError(rejected), instanceOf(RejectedExecutionException.class));
+    assertFalse(trialResult.toCompletableFuture().isDone());
+
+    trial.complete(response(200));
+    CompletionStage<WSResponse> result =
+        limiter.execute(
+            URL, "GET", TIMEOUT, t -> CompletableFuture.completedFuture(response(200)));
+    assertTrue(result.toCompletableFuture().isDone());
+    assertEquals(200, result.toCompletableFuture().get().getStatus());
+  }
+
+  @Test
+  public void testIdleDestinationEvicted() throws Exception {
+    ApiRequestLimiter limiter = new ApiRequestLimiter(10, 10, 5, Duration.ofMinutes(1), TIMEOUT);
+    limiter
+        .execute(URL, "GET", TIMEOUT, t -> CompletableFuture.completedFuture(response(200)))
+        .toCompletableFuture()
+        .get();
+    CompletableFuture<WSResponse> pending = new CompletableFuture<>();
+    limiter.execute("http://bar.com:9090/api/v1/query", "GET", TIMEOUT, t -> pending);
+    assertEquals(2, limiter.getDestinationCount());
+
+    long later = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+    limiter.evictIdleDestinations(later);
+    // The destination with a request in flight is kept.
+    assertEquals(1, limiter.getDestinationCount());
+    pending.complete(response(200));
+    limiter.evictIdleDestinations(later);
+    assertEquals(0, limiter.getDestinationCount());
+
+    CompletionStage<WSResponse> result =
+        limiter.execute(
+            URL, "GET", TIMEOUT, t -> CompletableFuture.completedFuture(response(200)));
+    assertEquals(200, result.toCompletableFuture().get().getStatus());
+    assertEquals(1, limiter.getDestinationCount());
+  }
+
+  @Test
+  public void testDestinationLabelsBounded() throws Exception {
+    ApiRequestLimiter limiter = new ApiRequestLimiter(10, 10, 5, Duration.ofMinutes(1), TIMEOUT);
+    for (int i = 0; i <= 100; i++) {
+      limiter
+          .execute(
+              "http://label-host-" + i + ":9090/api",
+              "PUT",
+              TIMEOUT,
+              t -> CompletableFuture.completedFuture(response(200)))
+          .toCompletableFuture()
+          .get();
+    }
+    String[] labelNames = {"destination", "method", "result"};
+    assertNotNull(
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "ybp_api_request_duration_seconds_count",
+            labelNames,
+            new String[] {"label-host-99:9090", "PUT", "success"}));
+    // Destinations past the limit are counted together.
+    assertNull(
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "ybp_api_request_duration_seconds_count",
+            labelNames,
+            new String[] {"label-host-100:9090", "PUT", "success"}));
+    assertNotNull(
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "ybp_api_request_duration_seconds_count",
+            labelNames,
+            new String[] {"other", "PUT", "success"}));
+
+    // Series of evicted destinations are removed.
+    limiter.evictIdleDestinations(System.nanoTime() + TimeUnit.HOURS.toNanos(1));
+    assertNull(
+        CollectorRegistry.defaultRegistry.getSampleValue(
+            "ybp_api_request_duration_seconds_count",
+            labelNames,
+            new String[] {"label-host-99:9090", "PUT", "success"}));
+  }
+}
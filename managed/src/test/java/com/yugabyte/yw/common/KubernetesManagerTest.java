@@ -3,7 +3,9 @@
 package com.yugabyte.yw.common;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.times;
@@ -17,8 +19,11 @@ import com.yugabyte.yw.common.config.RuntimeConfGetter;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Provider;
 import com.yugabyte.yw.models.Universe;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -189,4 +194,46 @@ public class KubernetesManagerTest extends FakeDBApplication {
             "release=" + "demo-universe"),
         command.getValue());
   }
+
+  private static Pod newPod(String phase, String readyStatus, String deletionTimestamp) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName("yb-tserver-0")
+        .withDeletionTimestamp(deletionTimestamp)
+        .endMetadata()
+        .withNewStatus()
+        .withPhase(phase)
+        .addNewCondition()
+        .withType("Ready")
+        .withStatus(readyStatus)
+        .endCondition()
+        .endStatus()
+        .build();
+  }
+
+  @Test
+  public void isPodReady() {
+    assertTrue(KubernetesManager.isPodReady(newPod("Running", "True", null)));
+    assertFalse(KubernetesManager.isPodReady(null));
+    assertFalse(KubernetesManager.isPodReady(newPod("Pending", "True", null)));
+    assertFalse(KubernetesManager.isPodReady(newPod("Running", "False", null)));
+    assertFalse(
+        KubernetesManager.isPodReady(newPod("Running", "True", "2023-01-01T00:00:00Z")));
+  }
+
+  @Test
+  public void waitForPodReadyPolling() {
+    KubernetesManager manager = Mockito.spy(kubernetesManager);
+    Mockito.doReturn(newPod("Running", "True", null))
+        .when(manager)
+        .getPodObject(any(), any(), any());
+    assertTrue(manager.waitForPodReady(configProvider, "ns", "yb-tserver-0", Duration.ZERO));
+
+    Mockito.doReturn(newPod("Pending", "True", null))
+        .when(manager)
+        .getPodObject(any(), any(), any());
+    assertFalse(manager.waitForPodReady(configProvider, "ns", "yb-tserver-0", Duration.ZERO));
+    // Checked once more before timing out.
+    Mockito.verify(manager, times(2)).getPodObject(any(), any(), any());
+  }
 }
@@ -19,6 +19,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import junit.framework.TestCase;
@@ -145,4 +146,34 @@ public class ShellProcessHandlerTest extends TestCase {
     out = ShellProcessHandler.getPythonErrMsg(2, "{}");
     assertNull(out);
   }
+
+  @Test
+  public void testGetCommandType() {
+    ShellProcessContext context = ShellProcessContext.DEFAULT;
+    assertEquals(
+        "ybcloud.sh instance provision",
+        ShellProcessHandler.getCommandType(
+            Arrays.asList(
+                DevopsBase.YBCLOUD_SCRIPT,
+                "aws",
+                "--region",
+                "us-west-2",
+                "instance",
+                "provision",
+                "host-n1"),
+            context));
+    assertEquals(
+        "yb_backup.py",
+        ShellProcessHandler.getCommandType(
+            Arrays.asList("python3", "bin/yb_backup.py", "create"), context));
+    assertEquals(
+        "kubectl",
+        ShellProcessHandler.getCommandType(
+            Arrays.asList("/usr/bin/kubectl", "get", "pods"), context));
+    assertEquals(
+        "custom",
+        ShellProcessHandler.getCommandType(
+            Arrays.asList("kubectl", "get", "pods"),
+            ShellProcessContext.builder().commandType("custom").build()));
+  }
 }
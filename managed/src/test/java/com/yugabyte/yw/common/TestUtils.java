@@ -16,10 +16,14 @@ import com.yugabyte.yw.controllers.RequestContext;
 import com.yugabyte.yw.controllers.TokenAuthenticator;
 import com.yugabyte.yw.models.Users;
 import com.yugabyte.yw.models.extended.UserWithFeatures;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.apache.commons.io.IOUtils;
+import org.mockito.stubbing.Answer;
 import org.yb.VersionInfo;
 import org.yb.WireProtocol;
 import org.yb.client.GetStatusResponse;
@@ -41,6 +45,15 @@ public class TestUtils {
     return Json.parse(resourceStr);
   }
 
+  /** Answers an ApiHelper.getRequest call with a response parser by parsing the given JSON. */
+  public static <T> Answer<CompletionStage<T>> parseJsonResponse(JsonNode json) {
+    return invocation -> {
+      ApiHelper.ResponseParser<T> parser = invocation.getArgument(3);
+      return CompletableFuture.completedFuture(
+          parser.parse(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8))));
+    };
+  }
+
   public static UUID replaceFirstChar(UUID uuid, char firstChar) {
     char[] chars = uuid.toString().toCharArray();
     chars[0] = firstChar;
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.common.alerts;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
+import com.yugabyte.yw.common.ShutdownHookHandler;
+import com.yugabyte.yw.common.metrics.MetricService;
+import com.yugabyte.yw.models.AlertChannel;
+import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AlertNotificationDispatcherTest {
+
+  @Mock private PlatformExecutorFactory platformExecutorFactory;
+
+  @Mock private ShutdownHookHandler shutdownHookHandler;
+
+  @Mock private MetricService metricService;
+
+  private ExecutorService executor;
+
+  private AlertNotificationDispatcher dispatcher;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+    when(platformExecutorFactory.createFixedExecutor(anyString(), anyInt(), any()))
+        .thenReturn(executor);
+    Config config =
+        ConfigFactory.parseMap(
+            ImmutableMap.<String, Object>builder()
+                .put("yb.alert.notifications.threads", 4)
+                .put("yb.alert.notifications.queue_size", 2)
+                .put("yb.alert.notifications.workers_per_channel", 1)
+                .put("yb.alert.notifications.rate_per_sec", 1000)
+                .put("yb.alert.notifications.batch_size", 10)
+                .put("yb.alert.notifications.max_attempts", 3)
+                .put("yb.alert.notifications.retry_initial_delay", "10ms")
+                .build());
+    dispatcher =
+        new AlertNotificationDispatcher(
+            config, platformExecutorFactory, shutdownHookHandler, metricService);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private static AlertChannel createChannel(String name) {
+    return new AlertChannel()
+        .setUuid(UUID.randomUUID())
+        .setCustomerUUID(UUID.randomUUID())
+        .setName(name)
+        .setParams(ModelFactory.createEmailChannelParams());
+  }
+
+  @Test
+  public void testRetryUntilDelivered() {
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<Void> result =
+        dispatcher.dispatch(
+            createChannel("channel"),
+            () -> {
+              if (attempts.incrementAndGet() < 3) {
+                throw new PlatformNotificationException("Failed");
+              }
+              return null;
+            });
+
+    result.join();
+    assertThat(attempts.get(), equalTo(3));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testChannelMetricsSaved() {
+    AlertChannel channel = createChannel("channel");
+    dispatcher.dispatch(channel, () -> null).join();
+
+    ArgumentCaptor<List<Metric>> metrics = ArgumentCaptor.forClass(List.class);
+    verify(metricService).save(metrics.capture());
+    assertThat(
+        metrics.getValue().stream().map(Metric::getName).collect(Collectors.toList()),
+        equalTo(
+            Arrays.asList(
+                PlatformMetrics.ALERT_MANAGER_CHANNEL_QUEUE_SIZE.getMetricName(),
+                PlatformMetrics.ALERT_MANAGER_CHANNEL_QUEUE_TIME.getMetricName(),
+                PlatformMetrics.ALERT_MANAGER_CHANNEL_DELIVERY_TIME.getMetricName())));
+    for (Metric metric : metrics.getValue()) {
+      assertThat(metric.getSourceUuid(), equalTo(channel.getUuid()));
+      assertThat(metric.getCustomerUUID(), equalTo(channel.getCustomerUUID()));
+    }
+  }
+
+  @Test
+  public void testFailsAfterMaxAttempts() {
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<Void> result =
+        dispatcher.dispatch(
+            createChannel("channel"),
+            () -> {
+              attempts.incrementAndGet();
+              throw new PlatformNotificationException("Failed");
+            });
+
+    try {
+      result.join();
+      fail("Delivery expected to fail");
+    } catch (CompletionException e) {
+      assertThat(e.getCause(), instanceOf(PlatformNotificationException.class));
+    }
+    assertThat(attempts.get(), equalTo(3));
+  }
+
+  @Test
+  public void testSlowChannelDoesNotBlockOthers() throws Exception {
+    AlertChannel slowChannel = createChannel("slow");
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> slow =
+        dispatcher.dispatch(
+            slowChannel,
+            () -> {
+              release.await();
+              return null;
+            });
+
+    // The only worker of the slow channel is busy, so the queue fills up.
+    dispatcher.dispatch(slowChannel, () -> null);
+    dispatcher.dispatch(slowChannel, () -> null);
+    try {
+      dispatcher.dispatch(slowChannel, () -> null).join();
+      fail("Queue is expected to be full");
+    } catch (CompletionException e) {
+      assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+    }
+
+    dispatcher.dispatch(createChannel("fast"), () -> null).get(10, TimeUnit.SECONDS);
+    assertThat(slow.isDone(), equalTo(false));
+
+    release.countDown();
+    slow.get(10, TimeUnit.SECONDS);
+    assertTrue(slow.isDone());
+  }
+}
@@ -5,7 +5,9 @@ package com.yugabyte.yw.common.alerts;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
@@ -22,6 +24,7 @@ import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.metrics.MetricQueryHelper;
 import com.yugabyte.yw.metrics.data.AlertData;
 import com.yugabyte.yw.metrics.data.AlertState;
+import com.yugabyte.yw.metrics.data.AlertmanagerNotification;
 import com.yugabyte.yw.models.Alert;
 import com.yugabyte.yw.models.Alert.State;
 import com.yugabyte.yw.models.AlertChannel.ChannelType;
@@ -107,7 +110,8 @@ public class QueryAlertsTest extends FakeDBApplication {
             app.injector().instanceOf(AlertChannelTemplateService.class),
             alertDestinationService,
             channelsManager,
-            metricService);
+            metricService,
+            app.injector().instanceOf(AlertNotificationDispatcher.class));
     queryAlerts =
         new QueryAlerts(
             mockPlatformScheduler,
@@ -116,7 +120,8 @@ public class QueryAlertsTest extends FakeDBApplication {
             metricService,
             alertDefinitionService,
             alertConfigurationService,
-            alertManager);
+            alertManager,
+            app.injector().instanceOf(Config.class));
 
     universe = ModelFactory.createUniverse(customer.getId());
     when(configFactory.forUniverse(universe)).thenReturn(universeConfig);
@@ -428,6 +433,66 @@ public class QueryAlertsTest extends FakeDBApplication {
     assertThat(alerts, contains(expectedAlert));
   }
 
+  @Test
+  public void testIngestFiringAlert() {
+    ZonedDateTime raisedTime = ZonedDateTime.parse("2018-07-04T20:27:12.60602144+02:00");
+    AlertmanagerNotification notification =
+        createNotification(AlertmanagerNotification.Status.firing, createAlertData(raisedTime));
+
+    queryAlerts.ingestAlerts(notification);
+    // Repeated notification for the same alert doesn't create or change anything.
+    queryAlerts.ingestAlerts(notification);
+
+    AlertFilter alertFilter =
+        AlertFilter.builder()
+            .customerUuid(customer.getUuid())
+            .definitionUuid(definition.getUuid())
+            .build();
+    List<Alert> alerts = alertService.list(alertFilter);
+
+    Alert expectedAlert = createAlert(raisedTime).setUuid(alerts.get(0).getUuid());
+    copyNotificationFields(expectedAlert, alerts.get(0));
+    assertThat(alerts, contains(expectedAlert));
+  }
+
+  @Test
+  public void testIngestResolvedAlert() {
+    ZonedDateTime raisedTime = ZonedDateTime.parse("2018-07-04T20:27:12.60602144+02:00");
+    Alert alert = createAlert(raisedTime);
+    alertService.save(alert);
+
+    // Resolve event with another severity doesn't resolve the alert.
+    queryAlerts.ingestAlerts(
+        createNotification(
+            AlertmanagerNotification.Status.resolved,
+            createAlertData(
+                raisedTime,
+                labels ->
+                    labels.put(KnownAlertLabels.SEVERITY.labelName(), Severity.WARNING.name()))));
+    assertThat(alertService.get(alert.getUuid()).getState(), equalTo(State.ACTIVE));
+
+    queryAlerts.ingestAlerts(
+        createNotification(AlertmanagerNotification.Status.resolved, createAlertData(raisedTime)));
+    Alert resolved = alertService.get(alert.getUuid());
+    assertThat(resolved.getState(), equalTo(State.RESOLVED));
+    assertThat(resolved.getResolvedTime(), notNullValue());
+  }
+
+  private AlertmanagerNotification createNotification(
+      AlertmanagerNotification.Status status, AlertData alertData) {
+    return AlertmanagerNotification.builder()
+        .status(status)
+        .alerts(
+            ImmutableList.of(
+                AlertmanagerNotification.Alert.builder()
+                    .status(status)
+                    .labels(alertData.getLabels())
+                    .annotations(alertData.getAnnotations())
+                    .startsAt(alertData.getActiveAt())
+                    .build()))
+        .build();
+  }
+
   private Alert createAlert(ZonedDateTime raisedTime) {
     return new Alert()
         .setCreateTime(Date.from(raisedTime.toInstant()))
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 YugaByte, Inc. and Contributors
+ *
+ * Licensed under the Polyform Free Trial License 1.0.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://github.com/YugaByte/yugabyte-db/blob/master/licenses/POLYFORM-FREE-TRIAL-LICENSE-1.0.0.txt
+ */
+package com.yugabyte.yw.common.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.ShutdownHookHandler;
+import com.yugabyte.yw.models.Audit;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Users;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AuditWriterTest extends FakeDBApplication {
+
+  private Customer customer;
+  private Users user;
+
+  @Before
+  public void setUp() {
+    customer = ModelFactory.testCustomer();
+    user = ModelFactory.testUser(customer);
+  }
+
+  private AuditWriter createWriter(boolean asyncEnabled) {
+    Config config =
+        ConfigFactory.parseMap(
+            ImmutableMap.<String, Object>builder()
+                .put("yb.audit.async_write.enabled", asyncEnabled)
+                .put("yb.audit.async_write.queue_size", 100)
+                .put("yb.audit.async_write.batch_size", 10)
+                .build());
+    return new AuditWriter(config, mock(ShutdownHookHandler.class));
+  }
+
+  private Audit newEntry() {
+    return Audit.newEntry(
+        user, "/test/call", "PUT", null, null, null, null, UUID.randomUUID(), null, null);
+  }
+
+  @Test
+  public void testSyncWrite() {
+    AuditWriter writer = createWriter(false);
+    writer.write(newEntry(), false);
+    assertEquals(1, Audit.getAll(customer.getUuid()).size());
+  }
+
+  @Test
+  public void testSyncCommitWithAsyncWrites() {
+    AuditWriter writer = createWriter(true);
+    writer.write(newEntry(), true);
+    assertEquals(1, Audit.getAll(customer.getUuid()).size());
+  }
+
+  @Test
+  public void testAsyncWrite() throws InterruptedException {
+    AuditWriter writer = createWriter(true);
+    for (int i = 0; i < 25; i++) {
+      writer.write(newEntry(), false);
+    }
+    long deadline = System.currentTimeMillis() + 10000;
+    while (Audit.getAll(customer.getUuid()).size() < 25
+        && System.currentTimeMillis() < deadline) {
+      writer.flush();
+      Thread.sleep(50);
+    }
+    assertEquals(25, Audit.getAll(customer.getUuid()).size());
+  }
+}
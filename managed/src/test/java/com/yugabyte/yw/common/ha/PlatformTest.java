@@ -13,6 +13,7 @@ package com.yugabyte.yw.common.ha;
 import static com.yugabyte.yw.common.AssertHelper.assertOk;
 import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -51,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
 import org.junit.Before;
@@ -243,7 +245,7 @@ public class PlatformTest extends FakeDBApplication {
         .thenReturn(
             new PlatformInstanceClient(
                 mockApiHelper, clusterKey, REMOTE_ACME_ORG, mockConfigHelper));
-    when(mockApiHelper.multipartRequest(anyString(), anyMap(), anyList()))
+    when(mockApiHelper.multipartRequestAsync(anyString(), anyMap(), anyList(), any()))
         .thenAnswer(
             invocation -> {
               String url = invocation.getArgument(0);
@@ -256,7 +258,7 @@ public class PlatformTest extends FakeDBApplication {
               Result result = sendBackupSyncRequest(remoteFakeApi, url, headers, parts);
               String strResult = Helpers.contentAsString(result);
               try {
-                return new ObjectMapper().readTree(strResult);
+                return CompletableFuture.completedFuture(new ObjectMapper().readTree(strResult));
               } catch (IOException ioException) {
                 throw new RuntimeException(strResult);
               }
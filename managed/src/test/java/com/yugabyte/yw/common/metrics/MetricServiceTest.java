@@ -304,11 +304,11 @@ public class MetricServiceTest extends FakeDBApplication {
     Metric updatedNode3Metric = metricService.get(MetricKey.from(node3Metric));
     Metric updatedNode4Metric = metricService.get(MetricKey.from(node4Metric));
 
-    assertThat(updatedNode1Metric.getExpireTime(), equalTo(node1Metric.getExpireTime()));
+    assertThat(updatedNode1Metric.getExpireTime(), equalTo(newMetrics.get(0).getExpireTime()));
     assertThat(updatedNode2Metric.getValue(), equalTo(3D));
-    assertThat(updatedNode2Metric.getExpireTime(), equalTo(node2Metric.getExpireTime()));
+    assertThat(updatedNode2Metric.getExpireTime(), equalTo(newMetrics.get(1).getExpireTime()));
     assertThat(updatedNode3Metric.getValue(), equalTo(3D));
-    assertThat(updatedNode3Metric.getExpireTime(), equalTo(node3Metric.getExpireTime()));
+    assertThat(updatedNode3Metric.getExpireTime(), equalTo(newMetrics.get(2).getExpireTime()));
     assertThat(updatedNode4Metric, nullValue());
   }
 
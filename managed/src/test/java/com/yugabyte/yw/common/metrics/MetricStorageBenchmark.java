@@ -0,0 +1,83 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common.metrics;
+
+import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.filters.MetricFilter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the heap used by the metric storage and the time to save and read all the series, with
+ * label values shared between series. It is not part of the test suite, as it stores 1M series by
+ * default and heap measurements are not exact, run it manually with:
+ *
+ * <p>sbt "Test/runMain com.yugabyte.yw.common.metrics.MetricStorageBenchmark [customers] [sources]
+ * [nodes]"
+ */
+@Slf4j
+public class MetricStorageBenchmark {
+
+  private static final String NAME = "ybp_test_metric";
+
+  public static void main(String[] args) {
+    // 100 customers with 100 sources of 100 nodes each by default.
+    int customerCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+    int sourceCount = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    int nodeCount = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+    MetricStorage storage = new MetricStorage();
+
+    long heapBefore = usedHeap();
+    long startNanos = System.nanoTime();
+    for (int c = 0; c < customerCount; c++) {
+      UUID customer = UUID.randomUUID();
+      for (int s = 0; s < sourceCount; s++) {
+        UUID source = UUID.randomUUID();
+        List<Metric> batch = new ArrayList<>();
+        for (int n = 0; n < nodeCount; n++) {
+          batch.add(
+              new Metric()
+                  .setName(NAME)
+                  .setCustomerUUID(customer)
+                  .setSourceUuid(source)
+                  .setType(Metric.Type.GAUGE)
+                  .setLabel("source_name", "universe" + s)
+                  .setKeyLabel("node_name", "node" + n)
+                  .setExpireTime(new Date(System.currentTimeMillis() + 600000))
+                  .setValue((double) n));
+        }
+        storage.save(batch);
+      }
+    }
+    long saveNanos = System.nanoTime() - startNanos;
+    long heapAfter = usedHeap();
+
+    startNanos = System.nanoTime();
+    int[] count = new int[1];
+    storage.process(MetricFilter.builder().build(), metric -> count[0]++);
+    long processNanos = System.nanoTime() - startNanos;
+
+    int expected = customerCount * sourceCount * nodeCount;
+    if (count[0] != expected) {
+      throw new IllegalStateException("Series count mismatch: " + count[0] + " vs " + expected);
+    }
+    log.info(
+        "Stored {} series in {} ms, {} MB heap used, {} bytes per series; read all in {} ms",
+        count[0],
+        saveNanos / 1_000_000,
+        (heapAfter - heapBefore) >> 20,
+        (heapAfter - heapBefore) / Math.max(1, count[0]),
+        processNanos / 1_000_000);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,204 @@
+// Copyright (c) YugaByte, Inc.
+package com.yugabyte.yw.common.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.MetricKey;
+import com.yugabyte.yw.models.filters.MetricFilter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class MetricStorageTest {
+
+  private static final String NAME = "ybp_test_metric";
+
+  private final UUID customerUuid = UUID.randomUUID();
+  private final UUID sourceUuid = UUID.randomUUID();
+
+  private final MetricStorage storage = new MetricStorage();
+
+  private Metric buildMetric(String nodeName, Double value) {
+    return new Metric()
+        .setName(NAME)
+        .setCustomerUUID(customerUuid)
+        .setSourceUuid(sourceUuid)
+        .setType(Metric.Type.GAUGE)
+        .setLabel("source_name", "universe")
+        .setKeyLabel("node_name", nodeName)
+        .setExpireTime(new Date(System.currentTimeMillis() + 60000))
+        .setValue(value);
+  }
+
+  private MetricKey buildKey(String nodeName) {
+    return MetricKey.builder()
+        .customerUuid(customerUuid)
+        .name(NAME)
+        .sourceUuid(sourceUuid)
+        .sourceLabel("node_name", nodeName)
+        .build();
+  }
+
+  @Test
+  public void testSaveAndGet() {
+    Metric saved = buildMetric("node1", 1D);
+    storage.save(List.of(saved, buildMetric("node2", null)));
+
+    Metric metric = storage.get(buildKey("node1"));
+    assertThat(metric.getValue(), equalTo(1D));
+    assertThat(metric.getType(), equalTo(Metric.Type.GAUGE));
+    assertThat(metric.getCustomerUUID(), equalTo(customerUuid));
+    assertThat(metric.getSourceUuid(), equalTo(sourceUuid));
+    assertThat(metric.getLabels(), equalTo(saved.getLabels()));
+    assertThat(metric.getKeyLabelValues(), equalTo(saved.getKeyLabelValues()));
+    assertThat(metric.getExpireTime(), equalTo(saved.getExpireTime()));
+    assertThat(storage.get(buildKey("node2")).getValue(), nullValue());
+    assertThat(storage.get(buildKey("node3")), nullValue());
+  }
+
+  @Test
+  public void testNaNValue() {
+    storage.save(List.of(buildMetric("node1", Double.NaN)));
+
+    assertThat(storage.get(buildKey("node1")).getValue(), equalTo(Double.NaN));
+  }
+
+  @Test
+  public void testUpdate() {
+    storage.save(List.of(buildMetric("node1", 1D)));
+    Metric updated = buildMetric("node1", 2D);
+    updated.setExpireTime(new Date(System.currentTimeMillis() + 120000));
+    storage.save(List.of(updated));
+
+    Metric metric = storage.get(buildKey("node1"));
+    assertThat(metric.getValue(), equalTo(2D));
+    assertThat(metric.getExpireTime(), equalTo(updated.getExpireTime()));
+    assertThat(storage.size(), equalTo(1));
+  }
+
+  @Test
+  public void testDeleteAndSaveAgain() {
+    storage.save(List.of(buildMetric("node1", 1D), buildMetric("node2", 2D)));
+
+    storage.delete(MetricFilter.builder().key(buildKey("node1")).build());
+    assertThat(storage.get(buildKey("node1")), nullValue());
+    List<Metric> remaining = new ArrayList<>();
+    storage.process(MetricFilter.builder().customerUuid(customerUuid).build(), remaining::add);
+    assertThat(remaining, hasSize(1));
+    assertThat(remaining.get(0).getValue(), equalTo(2D));
+
+    storage.save(List.of(buildMetric("node1", 3D)));
+    assertThat(storage.get(buildKey("node1")).getValue(), equalTo(3D));
+    assertThat(storage.size(), equalTo(2));
+  }
+
+  @Test
+  public void testStoredMetricNotChangedByCaller() {
+    Metric saved = buildMetric("node1", 1D);
+    storage.save(List.of(saved));
+
+    saved.setValue(5D);
+    storage.get(buildKey("node1")).setValue(6D);
+    assertThat(storage.get(buildKey("node1")).getValue(), equalTo(1D));
+  }
+
+  @Test
+  public void testReadDuringWrites() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // Writer makes the storage grow a few times, while reader goes through all the series.
+      Future<?> writer =
+          executor.submit(
+              () -> {
+                for (int i = 0; i < 10000; i++) {
+                  storage.save(List.of(buildMetric("node" + i, (double) i)));
+                }
+              });
+      MetricFilter filter = MetricFilter.builder().metricNamesStr(List.of(NAME)).build();
+      while (!writer.isDone()) {
+        storage.process(filter, metric -> assertThat(metric.getValue(), notNullValue()));
+      }
+      writer.get();
+      List<Metric> all = new ArrayList<>();
+      storage.process(filter, all::add);
+      assertThat(all, hasSize(10000));
+      assertThat(storage.get(buildKey("node9999")).getValue(), equalTo(9999D));
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+  }
+
+  @Test
+  public void testFilters() {
+    List<Metric> metrics = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      Metric metric = buildMetric("node" + i, (double) i);
+      if (i % 2 == 1) {
+        metric.setExpireTime(new Date(System.currentTimeMillis() - 60000));
+      }
+      metrics.add(metric);
+    }
+    storage.save(metrics);
+
+    assertThat(
+        process(MetricFilter.builder().key(buildKey("node3")).build()),
+        equalTo(List.of(3D)));
+    assertThat(process(MetricFilter.builder().key(buildKey("unknown")).build()), hasSize(0));
+    assertThat(
+        process(MetricFilter.builder().keyExcluded(buildKey("node3")).build()), hasSize(9));
+    assertThat(
+        process(
+            MetricFilter.builder()
+                .sourceKeys(buildKey("node1").getSourceKey())
+                .expireTime(true)
+                .build()),
+        equalTo(List.of(1D, 3D, 5D, 7D, 9D)));
+    assertThat(process(MetricFilter.builder().sourceUuid(UUID.randomUUID()).build()), hasSize(0));
+    assertThat(
+        process(MetricFilter.builder().metricNamesStr(List.of("unknown")).build()), hasSize(0));
+  }
+
+  @Test
+  public void testCompaction() {
+    List<Metric> metrics = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      metrics.add(buildMetric("node" + i, (double) i));
+    }
+    storage.save(metrics);
+    int internedStrings = storage.internedStrings();
+
+    MetricFilter.MetricFilterBuilder filter = MetricFilter.builder();
+    for (int i = 1; i < 3000; i++) {
+      filter.key(buildKey("node" + i));
+    }
+    storage.delete(filter.build());
+    // Deleted series and the label values only they used are dropped.
+    assertThat(storage.size(), equalTo(1));
+    assertThat(storage.internedStrings() < internedStrings / 100, equalTo(true));
+    assertThat(storage.get(buildKey("node0")).getValue(), equalTo(0D));
+    assertThat(storage.get(buildKey("node1")), nullValue());
+
+    storage.save(List.of(buildMetric("node1", 1D)));
+    assertThat(storage.get(buildKey("node1")).getValue(), equalTo(1D));
+    assertThat(storage.size(), equalTo(2));
+  }
+
+  private List<Double> process(MetricFilter filter) {
+    List<Double> values = new ArrayList<>();
+    storage.process(filter, metric -> values.add(metric.getValue()));
+    values.sort(Double::compare);
+    return values;
+  }
+}
@@ -0,0 +1,82 @@
+// Copyright (c) YugaByte, Inc.
+package com.yugabyte.yw.common.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UniverseMetricProviderTest extends FakeDBApplication {
+
+  private Universe universe;
+
+  private MetricService metricService;
+
+  private UniverseMetricProvider universeMetricProvider;
+
+  @Before
+  public void setUp() {
+    Customer customer = ModelFactory.testCustomer();
+    universe = ModelFactory.createUniverse(customer.getId());
+    metricService = app.injector().instanceOf(MetricService.class);
+    universeMetricProvider = app.injector().instanceOf(UniverseMetricProvider.class);
+  }
+
+  private List<MetricSaveGroup> collectAndSave() throws Exception {
+    List<MetricSaveGroup> groups = universeMetricProvider.getMetricGroups();
+    groups.forEach(
+        group -> metricService.cleanAndSave(group.getMetrics(), group.getCleanMetricFilter()));
+    return groups;
+  }
+
+  @Test
+  public void testUnchangedUniverseNotCollected() throws Exception {
+    assertThat(collectAndSave(), hasSize(1));
+
+    assertThat(collectAndSave(), empty());
+  }
+
+  @Test
+  public void testChangedUniverseCollected() throws Exception {
+    collectAndSave();
+
+    Universe.saveDetails(
+        universe.getUniverseUUID(), u -> u.getUniverseDetails().updateInProgress = true);
+
+    List<MetricSaveGroup> groups = collectAndSave();
+    assertThat(groups, hasSize(1));
+    Metric updateInProgress =
+        groups.get(0).getMetrics().stream()
+            .filter(
+                metric ->
+                    metric
+                        .getName()
+                        .equals(PlatformMetrics.UNIVERSE_UPDATE_IN_PROGRESS.getMetricName()))
+            .findFirst()
+            .get();
+    assertThat(updateInProgress.getValue(), equalTo(1D));
+  }
+
+  @Test
+  public void testSameMetricsNotSavedAgain() throws Exception {
+    collectAndSave();
+
+    // Version changes, while metrics stay the same.
+    Universe.saveDetails(universe.getUniverseUUID(), u -> {});
+
+    assertThat(collectAndSave(), empty());
+  }
+}
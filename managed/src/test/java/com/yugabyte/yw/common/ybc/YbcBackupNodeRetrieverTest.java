@@ -13,6 +13,7 @@ import static org.mockito.Mockito.when;
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
 import com.yugabyte.yw.forms.BackupRequestParams.ParallelBackupState;
+import com.yugabyte.yw.forms.RestoreBackupParams.ParallelRestoreState;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Universe;
 import java.util.HashMap;
@@ -121,6 +122,34 @@ public class YbcBackupNodeRetrieverTest extends FakeDBApplication {
     assertTrue(StringUtils.isBlank(ybcBackupNodeRetriever.peekNodeIpForBackup()));
   }
 
+  @Test
+  public void testNodesInPoolResumedTaskWithRunningRestore() throws InterruptedException {
+    Map<String, ParallelRestoreState> subTasksMap = new HashMap<>();
+    ParallelRestoreState rS1 = new ParallelRestoreState();
+    rS1.nodeIp = "127.0.0.1";
+    subTasksMap.put("s3://foo/keyspace1", rS1);
+    ParallelRestoreState rS2 = new ParallelRestoreState();
+    rS2.nodeIp = "127.0.0.2";
+    rS2.resetOnComplete();
+    subTasksMap.put("s3://foo/keyspace2", rS2);
+    subTasksMap.put("s3://foo/keyspace3", new ParallelRestoreState());
+    when(mockYbcManager.ybcPingCheck(anyString(), eq(null), anyInt())).thenReturn(true);
+    YbcBackupNodeRetriever ybcBackupNodeRetriever =
+        new YbcBackupNodeRetriever(mockUniverse.getUniverseUUID(), 3);
+    ybcBackupNodeRetriever.initializeNodePoolForRestores(subTasksMap);
+    // Verify 2 polls are successful and node-ips are not equal to the running restore's one.
+    String node_ip2 = ybcBackupNodeRetriever.getNodeIpForBackup();
+    String node_ip3 = ybcBackupNodeRetriever.getNodeIpForBackup();
+    assertTrue(StringUtils.isNotBlank(node_ip2));
+    assertTrue(StringUtils.isNotBlank(node_ip3));
+    assertNotEquals(rS1.nodeIp, node_ip2);
+    assertNotEquals(rS1.nodeIp, node_ip3);
+    assertNotEquals(node_ip2, node_ip3);
+
+    // Verify next poll returns null.
+    assertTrue(StringUtils.isBlank(ybcBackupNodeRetriever.peekNodeIpForBackup()));
+  }
+
   @Test
   public void testPoolSizeOne() throws InterruptedException {
     Map<String, ParallelBackupState> subTasksMap = new HashMap<>();
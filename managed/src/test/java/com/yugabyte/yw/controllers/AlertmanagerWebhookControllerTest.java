@@ -0,0 +1,83 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.controllers;
+
+import static com.yugabyte.yw.common.AssertHelper.assertPlatformException;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static play.mvc.Http.Status.OK;
+import static play.mvc.Http.Status.UNAUTHORIZED;
+
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.alerts.QueryAlerts;
+import com.yugabyte.yw.metrics.data.AlertmanagerNotification;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import play.libs.Json;
+import play.mvc.Http;
+import play.mvc.Result;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AlertmanagerWebhookControllerTest {
+
+  private static final String TOKEN = "secret-token";
+
+  @Mock private QueryAlerts queryAlerts;
+  @Mock private Config config;
+
+  private AlertmanagerWebhookController controller;
+
+  @Before
+  public void setUp() {
+    when(config.getBoolean("yb.alert.receiver.enabled")).thenReturn(true);
+    when(config.getString("yb.alert.receiver.token")).thenReturn(TOKEN);
+    controller = new AlertmanagerWebhookController(queryAlerts, config);
+  }
+
+  private Http.Request request(String authorization) {
+    Http.RequestBuilder builder =
+        new Http.RequestBuilder()
+            .method("POST")
+            .uri("/api/v1/alerts/internal/alertmanager_webhook")
+            .bodyJson(Json.newObject().putArray("alerts"));
+    if (authorization != null) {
+      builder.header(Http.HeaderNames.AUTHORIZATION, authorization);
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void testValidToken() {
+    Result result = controller.receive(request("Bearer " + TOKEN));
+    assertEquals(OK, result.status());
+    verify(queryAlerts).ingestAlerts(any(AlertmanagerNotification.class));
+  }
+
+  @Test
+  public void testMissingToken() {
+    Result result = assertPlatformException(() -> controller.receive(request(null)));
+    assertEquals(UNAUTHORIZED, result.status());
+    verify(queryAlerts, never()).ingestAlerts(any());
+  }
+
+  @Test
+  public void testWrongToken() {
+    Result result = assertPlatformException(() -> controller.receive(request("Bearer wrong")));
+    assertEquals(UNAUTHORIZED, result.status());
+    verify(queryAlerts, never()).ingestAlerts(any());
+  }
+
+  @Test
+  public void testTokenNotConfigured() {
+    when(config.getString("yb.alert.receiver.token")).thenReturn("");
+    Result result = assertPlatformException(() -> controller.receive(request("Bearer ")));
+    assertEquals(UNAUTHORIZED, result.status());
+    verify(queryAlerts, never()).ingestAlerts(any());
+  }
+}
@@ -4,6 +4,7 @@ package com.yugabyte.yw.controllers;
 
 import static com.yugabyte.yw.common.AssertHelper.assertPlatformException;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static play.mvc.Http.Status.BAD_REQUEST;
 import static play.mvc.Http.Status.FORBIDDEN;
@@ -19,6 +20,8 @@ import com.yugabyte.yw.models.Audit;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Users;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import org.junit.Before;
 import org.junit.Test;
@@ -143,4 +146,77 @@ public class AuditControllerTest extends FakeDBApplication {
     JsonNode json = Json.parse(contentAsString(result));
     assertEquals(BAD_REQUEST, result.status());
   }
+
+  private JsonNode pageAudit(ObjectNode query) {
+    Http.Cookie validCookie = Http.Cookie.builder("authToken", authToken1).build();
+    String route = "/api/customers/%s/audit/page";
+    Result result =
+        route(
+            fakeRequest("POST", String.format(route, customer1.getUuid()))
+                .cookie(validCookie)
+                .bodyJson(query));
+    assertEquals(OK, result.status());
+    return Json.parse(contentAsString(result));
+  }
+
+  private ObjectNode pageQuery(String sortBy, int limit) {
+    ObjectNode query = Json.newObject();
+    query.putObject("filter");
+    query.put("sortBy", sortBy);
+    query.put("direction", "DESC");
+    query.put("offset", 0);
+    query.put("limit", limit);
+    query.put("needTotalCount", true);
+    return query;
+  }
+
+  private List<Long> getAuditIds(JsonNode page) {
+    List<Long> result = new ArrayList<>();
+    page.get("entities").forEach(entity -> result.add(entity.get("auditID").asLong()));
+    return result;
+  }
+
+  @Test
+  public void testPageAuditList() {
+    JsonNode page = pageAudit(pageQuery("auditID", 2));
+    assertEquals(List.of(audit5.getId(), audit2.getId()), getAuditIds(page));
+    assertTrue(page.get("hasNext").asBoolean());
+    assertEquals(3, page.get("totalCount").asInt());
+
+    ObjectNode nextPageQuery = pageQuery("auditID", 2);
+    nextPageQuery.put("afterAuditID", audit2.getId());
+    page = pageAudit(nextPageQuery);
+    assertEquals(List.of(audit1.getId()), getAuditIds(page));
+    assertFalse(page.get("hasNext").asBoolean());
+    assertTrue(page.get("hasPrev").asBoolean());
+  }
+
+  @Test
+  public void testPageAuditListByTimestamp() {
+    List<Long> allIds = getAuditIds(pageAudit(pageQuery("timestamp", 10)));
+    assertEquals(3, allIds.size());
+
+    List<Long> pagedIds = new ArrayList<>();
+    Long afterAuditID = null;
+    do {
+      ObjectNode query = pageQuery("timestamp", 1);
+      if (afterAuditID != null) {
+        query.put("afterAuditID", afterAuditID);
+      }
+      List<Long> ids = getAuditIds(pageAudit(query));
+      pagedIds.addAll(ids);
+      afterAuditID = ids.isEmpty() ? null : ids.get(0);
+    } while (afterAuditID != null);
+    assertEquals(allIds, pagedIds);
+  }
+
+  @Test
+  public void testPageAuditListFiltered() {
+    ObjectNode query = pageQuery("auditID", 10);
+    ObjectNode filter = (ObjectNode) query.get("filter");
+    filter.putArray("targets").add(Audit.TargetType.Universe.name());
+    filter.putArray("actions").add(Audit.ActionType.Create.name());
+    filter.putArray("userUUIDs").add(user1.getUuid().toString());
+    assertEquals(List.of(audit5.getId()), getAuditIds(pageAudit(query)));
+  }
 }
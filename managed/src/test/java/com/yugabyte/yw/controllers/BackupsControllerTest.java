@@ -866,6 +866,33 @@ public class BackupsControllerTest extends FakeDBApplication {
     assertBadRequest(r, "Cannot restore the ybc backup as ybc is not installed on the universe");
   }
 
+  @Test
+  public void testParallelRestoreOfNonYbcBackup() {
+    CustomerConfig customerConfig = ModelFactory.createS3StorageConfig(defaultCustomer, "TEST16");
+    ObjectNode bodyJson = Json.newObject();
+    JsonNode storageInfoParam =
+        Json.parse(
+            "{\"backupType\": \"PGSQL_TABLE_TYPE\","
+                + "\"keyspace\": \"bar\","
+                + "\"storageLocation\": \"s3://foo-1/"
+                + "univ-"
+                + defaultUniverse.getUniverseUUID().toString()
+                + "/backup/bar\"}");
+    ArrayNode storageArrayNode = Json.newArray();
+    storageArrayNode.add(storageInfoParam);
+    bodyJson.put("backupStorageInfoList", storageArrayNode);
+    bodyJson.put("storageConfigUUID", customerConfig.getConfigUUID().toString());
+    bodyJson.put("universeUUID", defaultUniverse.getUniverseUUID().toString());
+    bodyJson.put("customerUUID", defaultCustomer.getUuid().toString());
+    bodyJson.put("parallelDBRestores", 2);
+
+    when(mockBackupUtil.isYbcBackup(anyString())).thenCallRealMethod();
+
+    Result r = assertPlatformException(() -> restoreBackupYb(bodyJson, null));
+    verify(mockCommissioner, times(0)).submit(any(), any());
+    assertBadRequest(r, "Parallel restores are only supported for YB-Controller backups");
+  }
+
   @Test
   public void testYbcBackupCategoryNonYbc() {
     CustomerConfig customerConfig = ModelFactory.createS3StorageConfig(defaultCustomer, "TEST15");
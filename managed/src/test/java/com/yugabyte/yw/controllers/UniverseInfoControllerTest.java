@@ -74,14 +74,12 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import play.libs.Json;
-import play.libs.ws.WSClient;
 import play.mvc.Result;
 
 @Slf4j
 @RunWith(JUnitParamsRunner.class)
 public class UniverseInfoControllerTest extends UniverseControllerTestBase {
   @Mock PlatformExecutorFactory mockPlatformExecutorFactory;
-  @Mock WSClient mockWsClient;
 
   Config config;
 
@@ -271,7 +269,7 @@ public class UniverseInfoControllerTest extends UniverseControllerTestBase {
     when(mockRuntimeConfigFactory.forUniverse(universe)).thenReturn(mockRuntimeConfig);
     when(mockRuntimeConfig.getBoolean(QueryHelper.SET_ENABLE_NESTLOOP_OFF_KEY)).thenReturn(false);
     ExecutorService executor = Executors.newFixedThreadPool(1);
-    QueryHelper queryHelper = new QueryHelper(mockRuntimeConfigFactory, executor, mockWsClient);
+    QueryHelper queryHelper = new QueryHelper(mockRuntimeConfigFactory, executor, mockApiHelper);
     String actualSql = queryHelper.slowQuerySqlWithLimit(mockRuntimeConfig, universe);
     assertEquals(
         "SELECT a.rolname, t.datname, t.queryid, t.query, t.calls, t.total_time, t.rows,"
@@ -298,7 +296,7 @@ public class UniverseInfoControllerTest extends UniverseControllerTestBase {
     when(mockRuntimeConfigFactory.forUniverse(universe)).thenReturn(mockRuntimeConfig);
     when(mockRuntimeConfig.getBoolean(QueryHelper.SET_ENABLE_NESTLOOP_OFF_KEY)).thenReturn(true);
     ExecutorService executor = Executors.newFixedThreadPool(1);
-    QueryHelper queryHelper = new QueryHelper(mockRuntimeConfigFactory, executor, mockWsClient);
+    QueryHelper queryHelper = new QueryHelper(mockRuntimeConfigFactory, executor, mockApiHelper);
     String actualSql = queryHelper.slowQuerySqlWithLimit(mockRuntimeConfig, universe);
     assertEquals(
         "/*+Set(enable_nestloop off)*/SELECT a.rolname, t.datname, t.queryid, t.query, "
@@ -114,7 +114,7 @@ public class UniversePerfControllerTest extends FakeDBApplication {
 
   @Before
   public void setUp() {
-    auditService = new AuditService();
+    auditService = app.injector().instanceOf(AuditService.class);
     executorService = Executors.newFixedThreadPool(1);
     universePerfController.setAuditService(auditService);
 
@@ -600,6 +600,34 @@ public class XClusterConfigControllerTest extends FakeDBApplication {
     xClusterConfig.delete();
   }
 
+  @Test
+  public void testGetUsesStatusCache() {
+    XClusterConfig xClusterConfig =
+        XClusterConfig.create(createFormData, XClusterConfigStatusType.Running);
+
+    setupMockClusterConfigWithXCluster(xClusterConfig);
+    setupMockMetricQueryHelperResponse();
+
+    String getAPIEndpoint = apiEndpoint + "/" + xClusterConfig.getUuid();
+
+    Result result = doRequestWithAuthToken("GET", getAPIEndpoint, user.createAuthToken());
+    assertOk(result);
+    String statusUpdateTime =
+        Json.parse(contentAsString(result)).get("statusUpdateTime").asText();
+    assertNotNull(statusUpdateTime);
+
+    result = doRequestWithAuthToken("GET", getAPIEndpoint, user.createAuthToken());
+    assertOk(result);
+    validateGetXClusterResponse(xClusterConfig, result);
+    validateGetXClusterLagResponse(result);
+    assertEquals(
+        statusUpdateTime, Json.parse(contentAsString(result)).get("statusUpdateTime").asText());
+    verify(mockMetricQueryHelper, times(1)).query(anyList(), anyMap(), anyMap(), anyBoolean());
+    assertAuditEntry(0, customer.getUuid());
+
+    xClusterConfig.delete();
+  }
+
   @Test
   public void testGetInvalidCustomer() {
     XClusterConfig xClusterConfig =
@@ -0,0 +1,82 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.ImmutableList;
+import com.yugabyte.yw.metrics.MetricDownsampling.Tier;
+import com.yugabyte.yw.models.MetricConfigDefinition;
+import org.junit.Test;
+
+public class MetricDownsamplingTest {
+
+  @Test
+  public void testTierForRange() {
+    assertNull(Tier.forRange(60));
+    assertNull(Tier.forRange(899));
+    assertEquals(Tier.FIVE_MINUTES, Tier.forRange(900));
+    // 7 days graph
+    assertEquals(Tier.FIVE_MINUTES, Tier.forRange(6048));
+    // 30 days graph
+    assertEquals(Tier.ONE_HOUR, Tier.forRange(25920));
+  }
+
+  @Test
+  public void testRecordingRules() {
+    MetricConfigDefinition latency =
+        new MetricConfigDefinition()
+            .setMetric("rpc_latency.avg|rpc_irate_rps")
+            .setFunction("rate|avg")
+            .setRange("true");
+    MetricConfigDefinition cpu =
+        new MetricConfigDefinition()
+            .setMetric("node_cpu_usage")
+            .setFunction("max_over_time|max")
+            .setRange("true");
+    MetricConfigDefinition percentile =
+        new MetricConfigDefinition()
+            .setMetric("node_cpu_usage")
+            .setFunction("quantile_over_time.99|max")
+            .setRange("true");
+    MetricConfigDefinition noRange =
+        new MetricConfigDefinition().setMetric("disk_used").setFunction("sum");
+    MetricConfigDefinition ratio =
+        new MetricConfigDefinition()
+            .setMetric("disk_used/disk_capacity")
+            .setFunction("avg_over_time|avg")
+            .setRange("true");
+
+    String rules =
+        MetricDownsampling.getRecordingRules(
+            ImmutableList.of(latency, cpu, percentile, noRange, ratio));
+
+    assertEquals(
+        "\n"
+            + "  - name: yugaware_downsampling_5m\n"
+            + "    interval: 5m\n"
+            + "    rules:\n"
+            + "      - record: node_cpu_usage:avg_5m\n"
+            + "        expr: 'avg_over_time(node_cpu_usage[5m])'\n\n"
+            + "      - record: rpc_irate_rps:last_5m\n"
+            + "        expr: 'last_over_time(rpc_irate_rps[300s])'\n\n"
+            + "      - record: rpc_latency_count:last_5m\n"
+            + "        expr: 'last_over_time(rpc_latency_count[300s])'\n\n"
+            + "      - record: rpc_latency_sum:last_5m\n"
+            + "        expr: 'last_over_time(rpc_latency_sum[300s])'\n\n"
+            + "\n"
+            + "  - name: yugaware_downsampling_1h\n"
+            + "    interval: 1h\n"
+            + "    rules:\n"
+            + "      - record: node_cpu_usage:avg_1h\n"
+            + "        expr: 'avg_over_time(node_cpu_usage:avg_5m[1h])'\n\n"
+            + "      - record: rpc_irate_rps:last_1h\n"
+            + "        expr: 'last_over_time(rpc_irate_rps:last_5m[600s])'\n\n"
+            + "      - record: rpc_latency_count:last_1h\n"
+            + "        expr: 'last_over_time(rpc_latency_count:last_5m[600s])'\n\n"
+            + "      - record: rpc_latency_sum:last_1h\n"
+            + "        expr: 'last_over_time(rpc_latency_sum:last_5m[600s])'\n\n",
+        rules);
+  }
+}
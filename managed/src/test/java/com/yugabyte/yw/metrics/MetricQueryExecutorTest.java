@@ -2,11 +2,14 @@
 
 package com.yugabyte.yw.metrics;
 
+import static com.yugabyte.yw.common.TestUtils.parseJsonResponse;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -22,6 +25,7 @@ import org.hamcrest.core.AllOf;
 import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsInstanceOf;
 import org.hamcrest.core.IsNull;
+import org.hamcrest.core.StringContains;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -80,8 +84,9 @@ public class MetricQueryExecutorTest extends FakeDBApplication {
                 + " {\"cpu\":\"system\"},\"value\":[1479278137,\"0.027751899056199826\"]},{\"metric\":\n"
                 + " {\"cpu\":\"system\"}, \"value\":[1479278137,\"0.04329469299783263\"]}]}}");
 
-    when(mockApiHelper.getRequest(eq("foo://bar/api/v1/query"), anyMap(), anyMap()))
-        .thenReturn(Json.toJson(responseJson));
+    when(mockApiHelper.getRequestAsync(
+            eq("foo://bar/api/v1/query"), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
 
     JsonNode result = qe.call();
     assertThat(
@@ -206,8 +211,9 @@ public class MetricQueryExecutorTest extends FakeDBApplication {
                 + " {\"cpu\":\"system\",\"exported_instance\":\"instance2\"},"
                 + "\"value\":[1479278137,\"0.04329469299783263\"]}]}}");
 
-    when(mockApiHelper.getRequest(eq("foo://bar/api/v1/query_range"), anyMap(), anyMap()))
-        .thenReturn(Json.toJson(responseJson));
+    when(mockApiHelper.getRequestAsync(
+            eq("foo://bar/api/v1/query_range"), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
 
     JsonNode result = qe.call();
     ArrayNode directUrls = (ArrayNode) result.get("directURLs");
@@ -222,6 +228,140 @@ public class MetricQueryExecutorTest extends FakeDBApplication {
         directUrls.get(0).asText());
   }
 
+  @Test
+  public void testTopNodesSelectionReused() {
+    HashMap<String, String> params = new HashMap<>();
+    params.put("start", "1479281737");
+    params.put("end", "1479381737");
+    params.put("step", "60");
+    params.put("range", "3600");
+    params.put("queryKey", "valid_range_metric");
+    MetricSettings settings =
+        new MetricSettings()
+            .setMetric("valid_range_metric")
+            .setSplitType(SplitType.NODE)
+            .setSplitMode(SplitMode.TOP)
+            .setSplitCount(2)
+            .setReturnAggregatedValue(false);
+    MetricQueryBatch queryBatch = MetricQueryBatch.sequential();
+
+    JsonNode selectionJson =
+        Json.parse(
+            "{\"status\":\"success\",\"data\":{\"resultType\":\"vector\",\"result\":["
+                + "{\"metric\":{\"exported_instance\":\"instance1\"},\"value\":[1479381737,\"5\"]},"
+                + "{\"metric\":{\"exported_instance\":\"instance3\"},\"value\":[1479381737,\"7\"]}"
+                + "]}}");
+    JsonNode rangeJson =
+        Json.parse(
+            "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":["
+                + "{\"metric\":{\"exported_instance\":\"instance1\"},"
+                + "\"values\":[[1479281737,\"1\"]]},"
+                + "{\"metric\":{\"exported_instance\":\"instance2\"},"
+                + "\"values\":[[1479281737,\"2\"]]},"
+                + "{\"metric\":{\"exported_instance\":\"instance3\"},"
+                + "\"values\":[[1479281737,\"3\"]]}"
+                + "]}}");
+    when(mockApiHelper.getRequestAsync(
+            eq("foo://bar/api/v1/query"), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(selectionJson));
+    when(mockApiHelper.getRequestAsync(
+            eq("foo://bar/api/v1/query_range"), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(rangeJson));
+
+    for (int i = 0; i < 2; i++) {
+      MetricQueryExecutor qe =
+          new MetricQueryExecutor(
+              metricUrlProvider,
+              mockApiHelper,
+              params,
+              new HashMap<>(),
+              settings,
+              false,
+              queryBatch);
+      JsonNode data = qe.call().get("data");
+      assertEquals(2, data.size());
+      assertEquals("instance1", data.get(0).get("instanceName").asText());
+      assertEquals("instance3", data.get(1).get("instanceName").asText());
+    }
+
+    // Selection is requested once, at the end of the range, split queries only ask for the
+    // selected nodes.
+    ArgumentCaptor<Map> selectionParam = ArgumentCaptor.forClass(Map.class);
+    verify(mockApiHelper, times(1))
+        .getRequestAsync(
+            eq("foo://bar/api/v1/query"),
+            anyMap(),
+            (Map<String, String>) selectionParam.capture(),
+            any(),
+            any());
+    assertEquals("1479381737", selectionParam.getValue().get("time"));
+    assertThat(
+        (String) selectionParam.getValue().get("query"),
+        StringContains.containsString("@1479381737"));
+    ArgumentCaptor<Map> queryParam = ArgumentCaptor.forClass(Map.class);
+    verify(mockApiHelper, times(2))
+        .getRequestAsync(
+            eq("foo://bar/api/v1/query_range"),
+            anyMap(),
+            (Map<String, String>) queryParam.capture(),
+            any(),
+            any());
+    for (Map<String, String> captured : queryParam.getAllValues()) {
+      assertThat(
+          captured.get("query"),
+          StringContains.containsString("exported_instance=~\"instance1|instance3\""));
+    }
+  }
+
+  @Test
+  public void testTopNodesInstantQuery() {
+    HashMap<String, String> params = new HashMap<>();
+    params.put("step", "60");
+    params.put("range", "3600");
+    params.put("queryKey", "valid_range_metric");
+    MetricQueryExecutor qe =
+        new MetricQueryExecutor(
+            metricUrlProvider,
+            mockApiHelper,
+            params,
+            new HashMap<>(),
+            new MetricSettings()
+                .setMetric("valid_range_metric")
+                .setSplitType(SplitType.NODE)
+                .setSplitMode(SplitMode.TOP)
+                .setSplitCount(2)
+                .setReturnAggregatedValue(false),
+            false);
+
+    JsonNode responseJson =
+        Json.parse(
+            "{\"status\":\"success\",\"data\":{\"resultType\":\"vector\",\"result\":["
+                + "{\"metric\":{\"exported_instance\":\"instance1\"},\"value\":[1479381737,\"5\"]}"
+                + "]}}");
+    when(mockApiHelper.getRequestAsync(
+            eq("foo://bar/api/v1/query"), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
+
+    long before = System.currentTimeMillis() / 1000;
+    JsonNode result = qe.call();
+    long after = System.currentTimeMillis() / 1000;
+    assertEquals(1, result.get("data").size());
+
+    // Without the end of a range, the selection is made now.
+    ArgumentCaptor<Map> queryParam = ArgumentCaptor.forClass(Map.class);
+    verify(mockApiHelper, times(2))
+        .getRequestAsync(
+            eq("foo://bar/api/v1/query"),
+            anyMap(),
+            (Map<String, String>) queryParam.capture(),
+            any(),
+            any());
+    Map<String, String> selectionParam = queryParam.getAllValues().get(0);
+    long time = Long.parseLong(selectionParam.get("time"));
+    assertEquals(true, time >= before && time <= after);
+    assertThat(selectionParam.get("query"), StringContains.containsString("@" + time));
+  }
+
   @Test
   public void testWithInvalidMetric() throws Exception {
     HashMap<String, String> params = new HashMap<>();
@@ -259,11 +399,16 @@ public class MetricQueryExecutorTest extends FakeDBApplication {
     ArgumentCaptor<String> queryUrl = ArgumentCaptor.forClass(String.class);
     ArgumentCaptor<Map> queryParam = ArgumentCaptor.forClass(Map.class);
 
-    when(mockApiHelper.getRequest(anyString(), anyMap(), anyMap()))
-        .thenReturn(Json.toJson(responseJson));
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
     qe.call();
     verify(mockApiHelper)
-        .getRequest(queryUrl.capture(), anyMap(), (Map<String, String>) queryParam.capture());
+        .getRequestAsync(
+            queryUrl.capture(),
+            anyMap(),
+            (Map<String, String>) queryParam.capture(),
+            any(),
+            any());
 
     assertThat(
         queryUrl.getValue(),
@@ -299,11 +444,16 @@ public class MetricQueryExecutorTest extends FakeDBApplication {
     ArgumentCaptor<String> queryUrl = ArgumentCaptor.forClass(String.class);
     ArgumentCaptor<Map> queryParam = ArgumentCaptor.forClass(Map.class);
 
-    when(mockApiHelper.getRequest(anyString(), anyMap(), anyMap()))
-        .thenReturn(Json.toJson(responseJson));
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
     qe.call();
     verify(mockApiHelper)
-        .getRequest(queryUrl.capture(), anyMap(), (Map<String, String>) queryParam.capture());
+        .getRequestAsync(
+            queryUrl.capture(),
+            anyMap(),
+            (Map<String, String>) queryParam.capture(),
+            any(),
+            any());
 
     assertThat(
         queryUrl.getValue(),
@@ -334,8 +484,8 @@ public class MetricQueryExecutorTest extends FakeDBApplication {
         Json.parse(
             "{\"status\":\"error\",\"errorType\":\"bad_data\","
                 + "\"error\":\"parse error at char 44: unexpected \\\"{\\\" in aggregation, expected \\\")\\\"\"}");
-    when(mockApiHelper.getRequest(anyString(), anyMap(), anyMap()))
-        .thenReturn(Json.toJson(responseJson));
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
     JsonNode response = qe.call();
     assertThat(
         response.get("error").asText(),
@@ -1,6 +1,7 @@
 // Copyright (c) YugaByte, Inc.
 package com.yugabyte.yw.metrics;
 
+import static com.yugabyte.yw.common.TestUtils.parseJsonResponse;
 import static com.yugabyte.yw.metrics.MetricQueryHelper.STEP_SIZE;
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -31,6 +32,7 @@ import com.yugabyte.yw.metrics.data.AlertState;
 import com.yugabyte.yw.models.MetricConfig;
 import com.yugabyte.yw.models.MetricConfigDefinition;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -38,6 +40,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.hamcrest.CoreMatchers;
@@ -73,6 +76,8 @@ public class MetricQueryHelperTest extends FakeDBApplication {
     ExecutorService executor = Executors.newFixedThreadPool(1);
     when(mockAppConfig.getString("yb.metrics.url")).thenReturn("foo://bar/api/v1");
     when(mockAppConfig.getString("yb.metrics.scrape_interval")).thenReturn("1s");
+    when(mockAppConfig.getDuration(MetricQueryHelper.QUERY_TIMEOUT))
+        .thenReturn(Duration.ofMinutes(1));
     when(mockPlatformExecutorFactory.createFixedExecutor(any(), anyInt(), any()))
         .thenReturn(executor);
 
@@ -169,10 +174,16 @@ public class MetricQueryHelperTest extends FakeDBApplication {
     ArgumentCaptor<String> queryUrl = ArgumentCaptor.forClass(String.class);
     ArgumentCaptor<Map> queryParam = ArgumentCaptor.forClass(Map.class);
 
-    when(mockApiHelper.getRequest(anyString(), anyMap(), anyMap())).thenReturn(responseJson);
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
     metricQueryHelper.query(ImmutableList.of("valid_metric"), params);
     verify(mockApiHelper)
-        .getRequest(queryUrl.capture(), anyMap(), (Map<String, String>) queryParam.capture());
+        .getRequestAsync(
+            queryUrl.capture(),
+            anyMap(),
+            (Map<String, String>) queryParam.capture(),
+            any(),
+            any());
 
     assertThat(queryUrl.getValue(), allOf(notNullValue(), equalTo("foo://bar/api/v1/query")));
     assertThat(
@@ -208,10 +219,16 @@ public class MetricQueryHelperTest extends FakeDBApplication {
     ArgumentCaptor<String> queryUrl = ArgumentCaptor.forClass(String.class);
     ArgumentCaptor<Map> queryParam = ArgumentCaptor.forClass(Map.class);
 
-    when(mockApiHelper.getRequest(anyString(), anyMap(), anyMap())).thenReturn(responseJson);
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
     metricQueryHelper.query(ImmutableList.of("valid_metric"), params);
     verify(mockApiHelper)
-        .getRequest(queryUrl.capture(), anyMap(), (Map<String, String>) queryParam.capture());
+        .getRequestAsync(
+            queryUrl.capture(),
+            anyMap(),
+            (Map<String, String>) queryParam.capture(),
+            any(),
+            any());
 
     assertThat(queryUrl.getValue(), allOf(notNullValue(), equalTo("foo://bar/api/v1/query_range")));
     assertThat(
@@ -250,10 +267,16 @@ public class MetricQueryHelperTest extends FakeDBApplication {
     ArgumentCaptor<String> queryUrl = ArgumentCaptor.forClass(String.class);
     ArgumentCaptor<Map> queryParam = ArgumentCaptor.forClass(Map.class);
 
-    when(mockApiHelper.getRequest(anyString(), anyMap(), anyMap())).thenReturn(responseJson);
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
     metricQueryHelper.query(ImmutableList.of("valid_metric"), params);
     verify(mockApiHelper)
-        .getRequest(queryUrl.capture(), anyMap(), (Map<String, String>) queryParam.capture());
+        .getRequestAsync(
+            queryUrl.capture(),
+            anyMap(),
+            (Map<String, String>) queryParam.capture(),
+            any(),
+            any());
 
     assertThat(queryUrl.getValue(), allOf(notNullValue(), equalTo("foo://bar/api/v1/query_range")));
     assertThat(
@@ -280,7 +303,8 @@ public class MetricQueryHelperTest extends FakeDBApplication {
                 + " {\"__name__\":\"foobar\", \"node_prefix\":\"yb-test-1\"},\"value\":"
                 + "[1479278137,\"0.027751899056199826\"]}]}}");
 
-    when(mockApiHelper.getRequest(anyString(), anyMap(), anyMap())).thenReturn(responseJson);
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any()))
+        .thenReturn(CompletableFuture.completedFuture(responseJson));
 
     ArrayList<MetricQueryResponse.Entry> results = metricQueryHelper.queryDirect("foobar");
     assertEquals(results.size(), 1);
@@ -301,7 +325,8 @@ public class MetricQueryHelperTest extends FakeDBApplication {
                 + "[[1479278132,\"0.037751899056199826\"], [1479278137,\"0.027751899056199826\"]"
                 + "]}]}}");
 
-    when(mockApiHelper.getRequest(anyString(), anyMap(), anyMap())).thenReturn(responseJson);
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any()))
+        .thenReturn(CompletableFuture.completedFuture(responseJson));
 
     ArrayList<MetricQueryResponse.Entry> results = metricQueryHelper.queryDirect("foobar");
     assertEquals(results.size(), 1);
@@ -334,10 +359,16 @@ public class MetricQueryHelperTest extends FakeDBApplication {
     ArgumentCaptor<Map> queryParam = ArgumentCaptor.forClass(Map.class);
     List<String> metricKeys = ImmutableList.of("valid_metric2", "valid_metric");
 
-    when(mockApiHelper.getRequest(anyString(), anyMap(), anyMap())).thenReturn(responseJson);
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any(), any()))
+        .thenAnswer(parseJsonResponse(responseJson));
     JsonNode result = metricQueryHelper.query(metricKeys, params);
     verify(mockApiHelper, times(2))
-        .getRequest(queryUrl.capture(), anyMap(), (Map<String, String>) queryParam.capture());
+        .getRequestAsync(
+            queryUrl.capture(),
+            anyMap(),
+            (Map<String, String>) queryParam.capture(),
+            any(),
+            any());
     assertThat(queryUrl.getValue(), allOf(notNullValue(), equalTo("foo://bar/api/v1/query_range")));
     assertThat(
         queryParam.getValue(), allOf(notNullValue(), IsInstanceOf.instanceOf(HashMap.class)));
@@ -367,9 +398,10 @@ public class MetricQueryHelperTest extends FakeDBApplication {
 
     ArgumentCaptor<String> queryUrl = ArgumentCaptor.forClass(String.class);
 
-    when(mockApiHelper.getRequest(anyString())).thenReturn(responseJson);
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any()))
+        .thenReturn(CompletableFuture.completedFuture(responseJson));
     List<AlertData> alerts = metricQueryHelper.queryAlerts();
-    verify(mockApiHelper).getRequest(queryUrl.capture());
+    verify(mockApiHelper).getRequestAsync(queryUrl.capture(), anyMap(), anyMap(), any());
 
     assertThat(queryUrl.getValue(), allOf(notNullValue(), equalTo("foo://bar/api/v1/alerts")));
 
@@ -396,13 +428,14 @@ public class MetricQueryHelperTest extends FakeDBApplication {
 
     ArgumentCaptor<String> queryUrl = ArgumentCaptor.forClass(String.class);
 
-    when(mockApiHelper.getRequest(anyString())).thenReturn(responseJson);
+    when(mockApiHelper.getRequestAsync(anyString(), anyMap(), anyMap(), any()))
+        .thenReturn(CompletableFuture.completedFuture(responseJson));
     try {
       metricQueryHelper.queryAlerts();
     } catch (Exception e) {
       assertThat(e, CoreMatchers.instanceOf(RuntimeException.class));
     }
-    verify(mockApiHelper).getRequest(queryUrl.capture());
+    verify(mockApiHelper).getRequestAsync(queryUrl.capture(), anyMap(), anyMap(), any());
 
     assertThat(queryUrl.getValue(), allOf(notNullValue(), equalTo("foo://bar/api/v1/alerts")));
   }
@@ -0,0 +1,101 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.yugabyte.yw.models.MetricConfigDefinition;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import lombok.extern.slf4j.Slf4j;
+import play.libs.Json;
+
+/**
+ * Compares streaming parsing with the JSON tree based one on a large range query response. It is
+ * not part of the test suite, run it manually with:
+ *
+ * <p>sbt "Test/runMain com.yugabyte.yw.metrics.PrometheusResponseParserBenchmark [nodes] [samples]"
+ */
+@Slf4j
+public class PrometheusResponseParserBenchmark {
+
+  public static void main(String[] args) throws IOException {
+    // 200 nodes, 6h range with 10s step by default.
+    int seriesCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    int samplesPerSeries = args.length > 1 ? Integer.parseInt(args[1]) : 2160;
+    byte[] bytes =
+        generateResponse(seriesCount, samplesPerSeries).getBytes(StandardCharsets.UTF_8);
+    MetricConfigDefinition config = new MetricConfigDefinition();
+    MetricSettings settings = MetricSettings.defaultSettings("metric");
+
+    for (int i = 0; i < 5; i++) {
+      long startAllocated = allocatedBytes();
+      long startNanos = System.nanoTime();
+      JsonNode tree = Json.parse(new String(bytes, StandardCharsets.UTF_8));
+      int treeSeries =
+          Json.fromJson(tree, MetricQueryResponse.class)
+              .getGraphData("metric", config, settings)
+              .size();
+      long treeNanos = System.nanoTime() - startNanos;
+      long treeAllocated = allocatedBytes() - startAllocated;
+
+      startAllocated = allocatedBytes();
+      startNanos = System.nanoTime();
+      int streamedSeries =
+          PrometheusResponseParser.parse(new ByteArrayInputStream(bytes))
+              .getGraphData("metric", config, settings)
+              .size();
+      long streamedNanos = System.nanoTime() - startNanos;
+      long streamedAllocated = allocatedBytes() - startAllocated;
+
+      if (treeSeries != streamedSeries) {
+        throw new IllegalStateException(
+            "Series count mismatch: " + treeSeries + " vs " + streamedSeries);
+      }
+      log.info(
+          "Parsed {} bytes: tree {} ms, {} MB allocated; streaming {} ms, {} MB allocated",
+          bytes.length,
+          treeNanos / 1_000_000,
+          treeAllocated >> 20,
+          streamedNanos / 1_000_000,
+          streamedAllocated >> 20);
+    }
+  }
+
+  private static String generateResponse(int seriesCount, int samplesPerSeries) {
+    StringBuilder sb =
+        new StringBuilder(
+            "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":[");
+    long start = 1479281730;
+    for (int s = 0; s < seriesCount; s++) {
+      if (s > 0) {
+        sb.append(',');
+      }
+      sb.append("{\"metric\":{\"exported_instance\":\"host-n")
+          .append(s)
+          .append("\",\"node_prefix\":\"yb-test\"},\"values\":[");
+      for (int i = 0; i < samplesPerSeries; i++) {
+        if (i > 0) {
+          sb.append(',');
+        }
+        sb.append('[')
+            .append(start + i * 10)
+            .append(",\"")
+            .append(i % 100 == 0 ? "NaN" : String.valueOf(s * 0.5 + i / 3.0))
+            .append("\"]");
+      }
+      sb.append("]}");
+    }
+    return sb.append("]}}").toString();
+  }
+
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean)
+          .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return 0;
+  }
+}
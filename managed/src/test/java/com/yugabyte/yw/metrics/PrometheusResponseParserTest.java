@@ -0,0 +1,126 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.yugabyte.yw.models.MetricConfigDefinition;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.Test;
+import play.libs.Json;
+
+public class PrometheusResponseParserTest {
+
+  private static MetricQueryResponse parse(String json) throws IOException {
+    return PrometheusResponseParser.parse(
+        new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testParseMatrix() throws IOException {
+    MetricQueryResponse response =
+        parse(
+            "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":["
+                + "{\"metric\":{\"exported_instance\":\"host-n1\",\"memory\":\"free\"},"
+                + "\"values\":[[1479281730,\"1.5\"],[1479281732.5,\"NaN\"],[1479281734,\"+Inf\"]]},"
+                + "{\"metric\":{},\"values\":[]}]}}");
+
+    assertEquals("success", response.status);
+    assertEquals("matrix", response.data.resultType);
+    assertNull(response.error);
+    List<MetricSeries> series = response.getSeries();
+    assertEquals(2, series.size());
+    MetricSeries first = series.get(0);
+    assertEquals("host-n1", first.getLabels().get("exported_instance"));
+    assertEquals("free", first.getLabels().get("memory"));
+    assertEquals(3, first.size());
+    assertEquals(1479281730000L, first.getTimestamp(0));
+    assertEquals(1.5, first.getValue(0), 0);
+    assertEquals(1479281732500L, first.getTimestamp(1));
+    assertTrue(Double.isNaN(first.getValue(1)));
+    assertEquals(Double.POSITIVE_INFINITY, first.getValue(2), 0);
+    assertEquals(0, series.get(1).size());
+  }
+
+  @Test
+  public void testParseVector() throws IOException {
+    MetricQueryResponse response =
+        parse(
+            "{\"status\":\"success\",\"data\":{\"resultType\":\"vector\",\"result\":["
+                + "{\"value\":[1479278137,\"0.25\"],\"metric\":{\"cpu\":\"system\"}}]}}");
+
+    List<MetricSeries> series = response.getSeries();
+    assertEquals(1, series.size());
+    assertEquals("system", series.get(0).getLabels().get("cpu"));
+    assertEquals(1, series.get(0).size());
+    assertEquals(0.25, series.get(0).getValue(0), 0);
+  }
+
+  @Test
+  public void testParseError() throws IOException {
+    MetricQueryResponse response =
+        parse(
+            "{\"status\":\"error\",\"errorType\":\"bad_data\","
+                + "\"error\":\"parse error\",\"warnings\":[\"ignored\"]}");
+
+    assertEquals("error", response.status);
+    assertEquals("bad_data", response.errorType);
+    assertEquals("parse error", response.error);
+    assertTrue(response.getSeries().isEmpty());
+  }
+
+  private static final String GRAPH_RESPONSE =
+      "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":["
+          + "{\"metric\":{},\"values\":[[1479281750,\"2\"]]},"
+          + "{\"metric\":{\"exported_instance\":\"host-n1\",\"node_prefix\":\"yb-test\"},"
+          + "\"values\":[[1479281730,\"1.5\"],[1479281740.5,\"NaN\"]]}]}}";
+
+  private static void assertGraphData(MetricQueryResponse response) {
+    List<MetricGraphData> graphData =
+        response.getGraphData(
+            "metric", new MetricConfigDefinition(), MetricSettings.defaultSettings("metric"));
+    assertEquals(2, graphData.size());
+
+    MetricGraphData node = graphData.get(0);
+    assertEquals("yb-test", node.name);
+    assertEquals("host-n1", node.instanceName);
+    assertNull(node.labels);
+    assertEquals("scatter", node.type);
+    assertEquals(Json.parse("[1479281730000,1479281740500]"), node.x);
+    assertEquals(Json.parse("[1.5,0]"), node.y);
+
+    MetricGraphData aggregated = graphData.get(1);
+    assertEquals("metric", aggregated.name);
+    assertNull(aggregated.instanceName);
+    assertEquals(Json.parse("[1479281750000]"), aggregated.x);
+    assertEquals(Json.parse("[2.0]"), aggregated.y);
+  }
+
+  @Test
+  public void testGraphData() throws IOException {
+    assertGraphData(parse(GRAPH_RESPONSE));
+  }
+
+  @Test
+  public void testGraphDataFromJsonTree() {
+    assertGraphData(Json.fromJson(Json.parse(GRAPH_RESPONSE), MetricQueryResponse.class));
+  }
+
+  @Test
+  public void testValues() throws IOException {
+    List<MetricQueryResponse.Entry> values = parse(GRAPH_RESPONSE).getValues();
+    assertEquals(2, values.size());
+    MetricQueryResponse.Entry entry = values.get(1);
+    assertEquals("host-n1", entry.labels.get("exported_instance"));
+    assertEquals(2, entry.values.size());
+    assertEquals(1479281730.0, entry.values.get(0).getLeft(), 0);
+    assertEquals(1.5, entry.values.get(0).getRight(), 0);
+    assertEquals(1479281740.5, entry.values.get(1).getLeft(), 0);
+    assertTrue(entry.values.get(1).getRight().isNaN());
+  }
+}
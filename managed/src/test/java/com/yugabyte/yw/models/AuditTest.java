@@ -5,23 +5,33 @@ package com.yugabyte.yw.models;
 import static com.yugabyte.yw.common.audit.AuditService.SECRET_REPLACEMENT;
 import static com.yugabyte.yw.models.Users.Role;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSet;
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
 import com.yugabyte.yw.common.audit.AuditService;
+import com.yugabyte.yw.common.audit.AuditWriter;
 import com.yugabyte.yw.controllers.RequestContext;
 import com.yugabyte.yw.controllers.TokenAuthenticator;
 import com.yugabyte.yw.models.extended.UserWithFeatures;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.junit.MockitoJUnitRunner;
 import play.libs.Json;
 import play.mvc.Http;
@@ -37,7 +47,7 @@ public class AuditTest extends FakeDBApplication {
 
   @Before
   public void setUp() {
-    auditService = new AuditService();
+    auditService = app.injector().instanceOf(AuditService.class);
 
     customer = ModelFactory.testCustomer("tc1", "Test Customer 1");
     user = ModelFactory.testUser(customer);
@@ -82,6 +92,33 @@ public class AuditTest extends FakeDBApplication {
     assertEquals(entries.get(0).getUserAddress(), request.remoteAddress());
   }
 
+  @Test
+  public void testAuditEntrySyncCommit() {
+    AuditWriter mockWriter = mock(AuditWriter.class);
+    AuditService service = new AuditService(mockWriter);
+    Date before = new Date();
+
+    service.createAuditEntry(request);
+    service.createAuditEntry(request, UUID.randomUUID());
+    RequestContext.put(AuditService.SYNC_COMMIT, true);
+    try {
+      service.createAuditEntry(request);
+    } finally {
+      RequestContext.clean(ImmutableSet.of(AuditService.SYNC_COMMIT));
+    }
+
+    ArgumentCaptor<Audit> entries = ArgumentCaptor.forClass(Audit.class);
+    InOrder inOrder = inOrder(mockWriter);
+    inOrder.verify(mockWriter).write(entries.capture(), eq(false));
+    // Task entries and the requests asking for it are committed before the response.
+    inOrder.verify(mockWriter, times(2)).write(entries.capture(), eq(true));
+    // Entries are stamped when created, not when the writer gets to insert them.
+    for (Audit entry : entries.getAllValues()) {
+      assertFalse(entry.getTimestamp().before(before));
+      assertFalse(entry.getTimestamp().after(new Date()));
+    }
+  }
+
   @Test
   public void testCreateAuditEntryWithTaskUUID() {
     UUID randUUID = UUID.randomUUID();
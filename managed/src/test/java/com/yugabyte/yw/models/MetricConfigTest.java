@@ -21,6 +21,7 @@ import com.yugabyte.yw.metrics.MetricQueryHelper;
 import com.yugabyte.yw.metrics.MetricSettings;
 import com.yugabyte.yw.metrics.SplitMode;
 import com.yugabyte.yw.metrics.SplitType;
+import com.yugabyte.yw.metrics.TimeAggregation;
 import com.yugabyte.yw.models.MetricConfigDefinition.Layout;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -408,4 +409,50 @@ public class MetricConfigTest extends FakeDBApplication {
         allOf(
             notNullValue(), equalTo("avg(sum without (device)(rate(node_disk_bytes_read[60s])))")));
   }
+
+  @Test
+  public void testDownsampledQuery() {
+    JsonNode configJson =
+        Json.parse(
+            "{\"metric\": \"rpc_latency.avg\", \"function\": \"rate|avg\", \"range\": true}");
+    MetricConfigDefinition config = MetricConfig.create("metric", configJson).getConfig();
+    MetricSettings settings = MetricSettings.defaultSettings("rpc_latency.avg");
+    MetricQueryContext.MetricQueryContextBuilder context =
+        MetricQueryContext.builder().downsampling(true);
+
+    // Range is too short for any of the tiers.
+    assertEquals(
+        "(avg(rate(rpc_latency_sum[600s]))) / (avg(rate(rpc_latency_count[600s])))",
+        config.getQuery(settings, context.queryRangeSecs(600).build()));
+    assertEquals(
+        "(avg(rate(rpc_latency_sum:last_5m[6048s]))) / "
+            + "(avg(rate(rpc_latency_count:last_5m[6048s])))",
+        config.getQuery(settings, context.queryRangeSecs(6048).build()));
+    assertEquals(
+        "(avg(rate(rpc_latency_sum:last_1h[25920s]))) / "
+            + "(avg(rate(rpc_latency_count:last_1h[25920s])))",
+        config.getQuery(settings, context.queryRangeSecs(25920).build()));
+  }
+
+  @Test
+  public void testDownsampledQueryTimeAggregation() {
+    JsonNode configJson =
+        Json.parse(
+            "{\"metric\": \"node_cpu_usage\", \"function\": \"avg_over_time|avg\","
+                + "\"range\": true}");
+    MetricConfigDefinition config = MetricConfig.create("metric", configJson).getConfig();
+    MetricQueryContext context =
+        MetricQueryContext.builder().downsampling(true).queryRangeSecs(6048).build();
+
+    assertEquals(
+        "avg(avg_over_time(node_cpu_usage:avg_5m[6048s]))",
+        config.getQuery(MetricSettings.defaultSettings("node_cpu_usage"), context));
+    // Averages can't be used to get maximum values.
+    assertEquals(
+        "avg(max_over_time(node_cpu_usage[6048s]))",
+        config.getQuery(
+            MetricSettings.defaultSettings("node_cpu_usage")
+                .setTimeAggregation(TimeAggregation.MAX),
+            context));
+  }
 }
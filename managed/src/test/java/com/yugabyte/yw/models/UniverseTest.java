@@ -48,6 +48,8 @@ import com.yugabyte.yw.models.helpers.CloudSpecificInfo;
 import com.yugabyte.yw.models.helpers.DeviceInfo;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.models.helpers.NodeDetails.NodeState;
+import com.yugabyte.yw.models.helpers.TaskType;
+import com.yugabyte.yw.models.helpers.UniverseProjection;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -167,6 +169,84 @@ public class UniverseTest extends FakeDBApplication {
     assertEquals(numNodes + 1, updUniv.getVersion());
   }
 
+  @Test
+  public void testGetProjections() {
+    Universe u = createUniverse(defaultCustomer.getId());
+    Universe.saveDetails(
+        u.getUniverseUUID(),
+        universe -> {
+          UniverseDefinitionTaskParams universeDetails = universe.getUniverseDetails();
+          universeDetails.updateInProgress = true;
+          universeDetails.updatingTask = TaskType.CreateBackup;
+          universeDetails.nodePrefix = "yb-test";
+          NodeDetails node = new NodeDetails();
+          node.nodeName = "host-n1";
+          node.cloudInfo = new CloudSpecificInfo();
+          node.cloudInfo.private_ip = "10.0.0.1";
+          universeDetails.nodeDetailsSet = new HashSet<>(ImmutableList.of(node));
+          universe.setUniverseDetails(universeDetails);
+        });
+    Universe other = createUniverse("Other Universe", defaultCustomer.getId());
+
+    List<UniverseProjection> projections =
+        Universe.getProjections(
+            ImmutableList.of(u.getUniverseUUID()),
+            ImmutableSet.of(
+                UniverseProjection.UPDATE_IN_PROGRESS,
+                UniverseProjection.UPDATING_TASK,
+                UniverseProjection.NODE_PREFIX,
+                UniverseProjection.NODE_DETAILS_SET));
+    assertEquals(1, projections.size());
+    UniverseProjection projection = projections.get(0);
+    assertEquals(u.getUniverseUUID(), projection.getUniverseUUID());
+    assertEquals("Test Universe", projection.getName());
+    assertTrue(projection.isUpdateInProgress());
+    assertEquals(TaskType.CreateBackup, projection.getUpdatingTask());
+    assertEquals("yb-test", projection.getNodePrefix());
+    assertEquals(ImmutableList.of("10.0.0.1"), projection.getNodeIps());
+    // Only the requested fields are loaded.
+    assertFalse(projection.getDetails().has(UniverseProjection.UPDATE_SUCCEEDED));
+    assertEquals(4, projection.getDetails().size());
+
+    Set<UUID> customerUniverses =
+        Universe.getProjections(defaultCustomer, UniverseProjection.STATE_FIELDS).stream()
+            .map(UniverseProjection::getUniverseUUID)
+            .collect(Collectors.toSet());
+    assertEquals(ImmutableSet.of(u.getUniverseUUID(), other.getUniverseUUID()), customerUniverses);
+  }
+
+  @Test
+  public void testGetCertificateProjections() {
+    UUID rootCA = UUID.randomUUID();
+    UUID clientRootCA = UUID.randomUUID();
+    Universe u = createUniverse(defaultCustomer.getId());
+    Universe.saveDetails(
+        u.getUniverseUUID(),
+        universe -> {
+          UniverseDefinitionTaskParams universeDetails = universe.getUniverseDetails();
+          universeDetails.rootCA = rootCA;
+          universeDetails.setClientRootCA(clientRootCA);
+          universe.setUniverseDetails(universeDetails);
+        });
+    UniverseProjection projection =
+        Universe.getProjections(defaultCustomer, UniverseProjection.CERTIFICATE_FIELDS).get(0);
+    assertEquals(rootCA, projection.getRootCA());
+    assertEquals(rootCA, projection.getClientRootCA());
+
+    Universe.saveDetails(
+        u.getUniverseUUID(),
+        universe -> {
+          UniverseDefinitionTaskParams universeDetails = universe.getUniverseDetails();
+          universeDetails.rootAndClientRootCASame = false;
+          universeDetails.setClientRootCA(clientRootCA);
+          universe.setUniverseDetails(universeDetails);
+        });
+    projection =
+        Universe.getProjections(defaultCustomer, UniverseProjection.CERTIFICATE_FIELDS).get(0);
+    assertEquals(rootCA, projection.getRootCA());
+    assertEquals(clientRootCA, projection.getClientRootCA());
+  }
+
   @Test
   public void testSaveDetails() {
     Universe u = createUniverse(defaultCustomer.getId());
@@ -15,22 +15,22 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.yugabyte.yw.common.ApiHelper;
 import com.yugabyte.yw.common.TestUtils;
 import com.yugabyte.yw.queries.QueryHelper.QueryApi;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
-import play.libs.ws.WSClient;
 
 public class LiveQueryExecutorTest {
 
-  @Mock WSClient mockClient;
+  @Mock ApiHelper mockApiHelper;
   private LiveQueryExecutor liveQueryExecutor;
 
   @Before
   public void setUp() {
     liveQueryExecutor =
-        new LiveQueryExecutor("test-node", "test-host", 12000, QueryApi.YCQL, mockClient);
+        new LiveQueryExecutor("test-node", "test-host", 12000, QueryApi.YCQL, mockApiHelper);
   }
 
   @Test
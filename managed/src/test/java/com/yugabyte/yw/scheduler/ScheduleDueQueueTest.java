@@ -0,0 +1,93 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.scheduler;
+
+import static com.yugabyte.yw.scheduler.ScheduleDueQueue.INITIAL_RETRY_DELAY_MS;
+import static com.yugabyte.yw.scheduler.ScheduleDueQueue.MAX_RETRY_DELAY_MS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.Schedule;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.configs.CustomerConfig;
+import java.util.Collections;
+import java.util.Date;
+import org.apache.commons.lang3.time.DateUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScheduleDueQueueTest extends FakeDBApplication {
+
+  private ScheduleDueQueue dueQueue;
+  private Schedule schedule;
+
+  @Before
+  public void setUp() {
+    Customer customer = ModelFactory.testCustomer();
+    CustomerConfig storageConfig = ModelFactory.createS3StorageConfig(customer, "TEST");
+    Universe universe = ModelFactory.createUniverse(customer.getId());
+    schedule =
+        ModelFactory.createScheduleBackup(
+            customer.getUuid(), universe.getUniverseUUID(), storageConfig.getConfigUUID());
+    schedule.updateNextScheduleTaskTime(new Date());
+    dueQueue = new ScheduleDueQueue();
+  }
+
+  @Test
+  public void testPollDue() {
+    long now = System.currentTimeMillis();
+    assertEquals(
+        Collections.singletonList(schedule.getScheduleUUID()), dueQueue.pollDue(now + 1000));
+
+    schedule.updateNextScheduleTaskTime(DateUtils.addHours(new Date(now), 1));
+    dueQueue.processed(schedule);
+    assertTrue(dueQueue.pollDue(now + 3000).isEmpty());
+    assertEquals(
+        Collections.singletonList(schedule.getScheduleUUID()),
+        dueQueue.pollDue(now + DateUtils.MILLIS_PER_HOUR + 1000));
+  }
+
+  @Test
+  public void testRetryWithBackoff() {
+    long now = System.currentTimeMillis() + 1000;
+    dueQueue.pollDue(now);
+
+    dueQueue.retry(schedule.getScheduleUUID(), now);
+    assertTrue(dueQueue.pollDue(now + INITIAL_RETRY_DELAY_MS - 1).isEmpty());
+    now += INITIAL_RETRY_DELAY_MS;
+    assertEquals(Collections.singletonList(schedule.getScheduleUUID()), dueQueue.pollDue(now));
+
+    // The delay doubles with each failure in a row.
+    dueQueue.retry(schedule.getScheduleUUID(), now);
+    assertTrue(dueQueue.pollDue(now + 2 * INITIAL_RETRY_DELAY_MS - 1).isEmpty());
+    now += 2 * INITIAL_RETRY_DELAY_MS;
+    assertEquals(Collections.singletonList(schedule.getScheduleUUID()), dueQueue.pollDue(now));
+
+    for (int i = 0; i < 20; i++) {
+      dueQueue.retry(schedule.getScheduleUUID(), now);
+      now += MAX_RETRY_DELAY_MS;
+      assertEquals(Collections.singletonList(schedule.getScheduleUUID()), dueQueue.pollDue(now));
+    }
+
+    // A processed schedule is due at its own time again.
+    dueQueue.processed(schedule);
+    assertEquals(Collections.singletonList(schedule.getScheduleUUID()), dueQueue.pollDue(now));
+  }
+
+  @Test
+  public void testUpdateKeepsRetryDelay() {
+    long now = System.currentTimeMillis() + 1000;
+    dueQueue.pollDue(now);
+    dueQueue.retry(schedule.getScheduleUUID(), now);
+
+    // Reading the schedule again, like after an update, does not skip the retry delay.
+    dueQueue.update(schedule);
+    assertTrue(dueQueue.pollDue(now + INITIAL_RETRY_DELAY_MS - 1).isEmpty());
+    assertEquals(
+        Collections.singletonList(schedule.getScheduleUUID()),
+        dueQueue.pollDue(now + INITIAL_RETRY_DELAY_MS));
+  }
+}
@@ -3,10 +3,14 @@
 package com.yugabyte.yw.scheduler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,6 +19,7 @@ import static play.mvc.Http.Status.SERVICE_UNAVAILABLE;
 import com.yugabyte.yw.commissioner.Commissioner;
 import com.yugabyte.yw.common.FakeDBApplication;
 import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.common.PlatformExecutorFactory;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.TestUtils;
@@ -25,6 +30,7 @@ import com.yugabyte.yw.models.ScheduleTask;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.Users;
 import com.yugabyte.yw.models.configs.CustomerConfig;
+import java.util.Collections;
 import java.util.Date;
 import java.util.UUID;
 import org.apache.commons.lang3.time.DateUtils;
@@ -53,7 +59,12 @@ public class SchedulerTest extends FakeDBApplication {
     defaultCustomer = ModelFactory.testCustomer();
     s3StorageConfig = ModelFactory.createS3StorageConfig(defaultCustomer, "TEST28");
     defaultUser = ModelFactory.testUser(defaultCustomer);
-    scheduler = new Scheduler(mockPlatformScheduler, mockCommissioner);
+    scheduler =
+        new Scheduler(
+            mockPlatformScheduler,
+            mockCommissioner,
+            app.injector().instanceOf(PlatformExecutorFactory.class),
+            app.config());
     // Set http context
     TestUtils.setFakeHttpContext(defaultUser);
   }
@@ -69,6 +80,25 @@ public class SchedulerTest extends FakeDBApplication {
     verify(mockCommissioner, times(0)).submit(any(), any());
   }
 
+  @Test
+  public void testScheduleMadeDueAfterRun() {
+    UUID fakeTaskUUID = UUID.randomUUID();
+    when(mockCommissioner.submit(any(), any())).thenReturn(fakeTaskUUID);
+    Universe universe = ModelFactory.createUniverse(defaultCustomer.getId());
+    Schedule s =
+        ModelFactory.createScheduleBackup(
+            defaultCustomer.getUuid(), universe.getUniverseUUID(), s3StorageConfig.getConfigUUID());
+    s.updateNextScheduleTaskTime(DateUtils.addHours(new Date(), 2));
+    scheduler.scheduleRunner();
+    verify(mockCommissioner, times(0)).submit(any(), any());
+    s.refresh();
+    assertFalse(s.isRunningState());
+
+    s.updateNextScheduleTaskTime(new Date());
+    scheduler.scheduleRunner();
+    verify(mockCommissioner, times(1)).submit(any(), any());
+  }
+
   @Test
   public void testClearScheduleBacklog() {
     UUID fakeTaskUUID = UUID.randomUUID();
@@ -127,6 +157,50 @@ public class SchedulerTest extends FakeDBApplication {
     assertTrue(next.before(DateUtils.addHours(new Date(), 1)));
   }
 
+  @Test
+  public void testFailedScheduleRetried() {
+    when(mockCommissioner.submit(any(), any())).thenReturn(UUID.randomUUID());
+    Universe universe = ModelFactory.createUniverse(defaultCustomer.getId());
+    Schedule s =
+        ModelFactory.createScheduleBackup(
+            defaultCustomer.getUuid(), universe.getUniverseUUID(), s3StorageConfig.getConfigUUID());
+    s.updateBacklogStatus(true);
+    scheduler.dueQueue = spy(new ScheduleDueQueue());
+    // Fails to put the schedule back to the queue after running it.
+    doThrow(new RuntimeException("Failed to read schedule"))
+        .doCallRealMethod()
+        .when(scheduler.dueQueue)
+        .processed(any());
+    scheduler.scheduleRunner();
+    verify(mockCommissioner, times(1)).submit(any(), any());
+    verify(scheduler.dueQueue).retry(eq(s.getScheduleUUID()), anyLong());
+
+    // The schedule is not lost, it is due again after the retry delay.
+    long now = System.currentTimeMillis();
+    assertTrue(scheduler.dueQueue.pollDue(now).isEmpty());
+    assertEquals(
+        Collections.singletonList(s.getScheduleUUID()),
+        scheduler.dueQueue.pollDue(now + ScheduleDueQueue.INITIAL_RETRY_DELAY_MS));
+  }
+
+  @Test
+  public void testScheduleWithoutRecurrenceRetried() {
+    Universe universe = ModelFactory.createUniverse(defaultCustomer.getId());
+    Schedule s =
+        ModelFactory.createScheduleBackup(
+            defaultCustomer.getUuid(), universe.getUniverseUUID(), s3StorageConfig.getConfigUUID());
+    s.setFrequency(0);
+    s.updateBacklogStatus(true);
+    scheduler.scheduleRunner();
+    verify(mockCommissioner, times(0)).submit(any(), any());
+
+    long now = System.currentTimeMillis();
+    assertTrue(scheduler.dueQueue.pollDue(now).isEmpty());
+    assertEquals(
+        Collections.singletonList(s.getScheduleUUID()),
+        scheduler.dueQueue.pollDue(now + ScheduleDueQueue.INITIAL_RETRY_DELAY_MS));
+  }
+
   public static void setUniverseBackupInProgress(boolean value, Universe universe) {
     Universe.UniverseUpdater updater =
         new Universe.UniverseUpdater() {
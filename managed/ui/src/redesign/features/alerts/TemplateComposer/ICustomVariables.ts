@@ -80,7 +80,8 @@ const AlertTemplateList = [
   'MASTER_UNDER_REPLICATED',
   'LEADERLESS_TABLETS',
   'UNDER_REPLICATED_TABLETS',
-  'PRIVATE_ACCESS_KEY_STATUS'
+  'PRIVATE_ACCESS_KEY_STATUS',
+  'XCLUSTER_CONFIG_TABLE_BAD_STATE'
 ] as const;
 export interface IAlertConfiguration {
   uuid: string;